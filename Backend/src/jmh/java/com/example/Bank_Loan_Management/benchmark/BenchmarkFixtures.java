@@ -0,0 +1,79 @@
+package com.example.Bank_Loan_Management.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.Bank_Loan_Management.entity.Document;
+import com.example.Bank_Loan_Management.entity.LoanApplication;
+import com.example.Bank_Loan_Management.entity.User;
+
+// Detached entities shaped like production rows: a customer per loan plus the two staff members who acted on it
+final class BenchmarkFixtures {
+
+    static final String[] DOCUMENT_TYPES = {"id-proof", "income-proof", "address-proof"};
+    private static final LoanApplication.Status[] STATUSES = LoanApplication.Status.values();
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user(long id, User.Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z7bp8gYbB8bFfS/tbGlWt8r2");
+        user.setRole(role);
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        return user;
+    }
+
+    static List<LoanApplication> loans(int count) {
+        User loanManager = user(1, User.Role.LOAN_MANAGER);
+        User manager = user(2, User.Role.MANAGER);
+        List<LoanApplication> loans = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LoanApplication loan = new LoanApplication();
+            loan.setId(1000L + i);
+            loan.setUser(user(100L + i, User.Role.USER));
+            loan.setLoanManager(loanManager);
+            loan.setManager(manager);
+            loan.setAmount(new BigDecimal("15000.00").add(BigDecimal.valueOf(i)));
+            loan.setTerm(12 + i % 48);
+            loan.setPurpose(i % 2 == 0 ? "home purchase" : "education");
+            loan.setStatus(STATUSES[i % STATUSES.length]);
+            loan.setCreditScore(520 + i % 100);
+            loan.setAppliedDate(LocalDateTime.of(2024, 3, 1, 10, 0).plusMinutes(i));
+            loan.setDecisionDate(LocalDateTime.of(2024, 3, 5, 10, 0).plusMinutes(i));
+            loan.setApprovedAmount(new BigDecimal("14000.00"));
+            loan.setPaidAmount(new BigDecimal("2000.00"));
+            loan.setPendingAmount(new BigDecimal("12000.00"));
+            loan.setInterestRate(new BigDecimal("8.50"));
+            loans.add(loan);
+        }
+        return loans;
+    }
+
+    // Documents cycle through the three types; every other round is still unverified, so each type has a
+    // verified copy and the grouping has to look at every document
+    static List<Document> documents(int count) {
+        User owner = user(100, User.Role.USER);
+        LoanApplication loan = loans(1).get(0);
+        List<Document> documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Document document = new Document();
+            document.setId(5000L + i);
+            document.setUser(owner);
+            document.setLoanApplication(i % 2 == 0 ? loan : null);
+            document.setDocumentType(DOCUMENT_TYPES[i % DOCUMENT_TYPES.length]);
+            document.setFileName("scan-" + i + ".pdf");
+            document.setFilePath("uploads/2024/03/" + i + "-scan.pdf");
+            document.setContentType("application/pdf");
+            document.setFileSize(250_000L + i);
+            document.setStatus((i / DOCUMENT_TYPES.length) % 2 == 1 ? Document.Status.UPLOADED : Document.Status.VERIFIED);
+            documents.add(document);
+        }
+        return documents;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.Bank_Loan_Management.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.tools.Server;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+
+// Inserts a block of document-shaped rows in one transaction, as document linking, seeding and bulk
+// imports do. H2 runs as a TCP server so every statement pays a socket round trip like MySQL would.
+// Client and server share the JIT, which on a small machine is still speeding up after a few warmup
+// iterations, so the defaults warm up for half a minute and average several forks.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 15, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class BulkInsertBenchmark {
+
+    @Param({"identity", "pooled-lo"})
+    public String idStrategy;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    @Param({"500"})
+    public int rows;
+
+    private Server server;
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        server = Server.createTcpServer("-tcpPort", String.valueOf(port), "-ifNotExists").start();
+
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(IdentityDocument.class)
+                .addAnnotatedClass(PooledDocument.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL,
+                        "jdbc:h2:tcp://localhost:" + port + "/mem:bulk;MODE=MySQL;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(batchSize))
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .setProperty(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo")
+                .setProperty(AvailableSettings.POOL_SIZE, "4")
+                .buildSessionFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public int insertRows() {
+        boolean identity = "identity".equals(idStrategy);
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            for (int i = 0; i < rows; i++) {
+                session.persist(identity ? new IdentityDocument("IDENTITY", "passport-" + i + ".pdf")
+                        : new PooledDocument("IDENTITY", "passport-" + i + ".pdf"));
+            }
+            session.getTransaction().commit();
+        }
+        return rows;
+    }
+
+    @Entity(name = "IdentityDocument")
+    @Table(name = "bench_identity_documents")
+    public static class IdentityDocument {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        String documentType;
+        String fileName;
+
+        public IdentityDocument() {
+        }
+
+        IdentityDocument(String documentType, String fileName) {
+            this.documentType = documentType;
+            this.fileName = fileName;
+        }
+    }
+
+    @Entity(name = "PooledDocument")
+    @Table(name = "bench_pooled_documents")
+    public static class PooledDocument {
+
+        // Same mapping as the application entities
+        @Id
+        @GeneratedValue(strategy = GenerationType.TABLE, generator = "bench_documents_id")
+        @TableGenerator(name = "bench_documents_id", table = "id_generators", pkColumnName = "sequence_name",
+                valueColumnName = "next_val", pkColumnValue = "bench_documents", allocationSize = 50)
+        Long id;
+
+        String documentType;
+        String fileName;
+
+        public PooledDocument() {
+        }
+
+        PooledDocument(String documentType, String fileName) {
+            this.documentType = documentType;
+            this.fileName = fileName;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.Bank_Loan_Management.benchmark;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Machine speed, not application code: a fixed sort and hash over the same data on every run. The perf
+// gate divides timings by how much slower this ran than in the baseline, so baselines recorded on another
+// machine still compare. Never change the work done here without re-recording every baseline.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalibrationBenchmark {
+
+    private long[] values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = new SplittableRandom(42).longs(16_384).toArray();
+    }
+
+    @Benchmark
+    public long calibrate() {
+        long[] sorted = Arrays.copyOf(values, values.length);
+        Arrays.sort(sorted);
+        long hash = 0xcbf29ce484222325L;
+        for (long value : sorted) {
+            hash ^= value;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
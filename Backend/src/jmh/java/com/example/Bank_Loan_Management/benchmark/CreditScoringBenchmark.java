@@ -0,0 +1,67 @@
+package com.example.Bank_Loan_Management.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.Bank_Loan_Management.entity.InterestRate;
+import com.example.Bank_Loan_Management.repository.InterestRateRepository;
+import com.example.Bank_Loan_Management.service.CreditScoringService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Scoring and rate lookup without the database: the repository answers from memory, so this is the
+// service's own cost (string handling, BigDecimal comparisons, timers)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreditScoringBenchmark {
+
+    private CreditScoringService creditScoringService;
+    private final BigDecimal amount = new BigDecimal("7500.00");
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InterestRate rate = new InterestRate("education", new BigDecimal("7.25"));
+        InterestRateRepository repository = (InterestRateRepository) Proxy.newProxyInstance(
+                InterestRateRepository.class.getClassLoader(), new Class<?>[]{InterestRateRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findByPurpose")) {
+                        return "education".equals(args[0]) ? Optional.of(rate) : Optional.empty();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        creditScoringService = new CreditScoringService(repository, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public int calculateCreditScore() {
+        return creditScoringService.calculateCreditScore(amount, 36, "Personal");
+    }
+
+    @Benchmark
+    public BigDecimal getInterestRateFromTable() {
+        return creditScoringService.getInterestRate("Education");
+    }
+
+    @Benchmark
+    public BigDecimal getInterestRateFallback() {
+        return creditScoringService.getInterestRate("Debt Consolidation");
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.Bank_Loan_Management.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.Bank_Loan_Management.entity.Document;
+import com.example.Bank_Loan_Management.service.DocumentService;
+
+// The per-type check verifyDocument runs over all of a customer's documents after each verification
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentGroupingBenchmark {
+
+    @Param({"3", "30"})
+    public int documentsPerUser;
+
+    private List<Document> documents;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        documents = BenchmarkFixtures.documents(documentsPerUser);
+    }
+
+    @Benchmark
+    public boolean allTypesVerified() {
+        return DocumentService.allTypesVerified(documents);
+    }
+}
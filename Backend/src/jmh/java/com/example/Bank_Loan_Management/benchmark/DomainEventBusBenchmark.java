@@ -0,0 +1,92 @@
+package com.example.Bank_Loan_Management.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.Bank_Loan_Management.entity.LoanApplication;
+import com.example.Bank_Loan_Management.event.DomainEventBus;
+import com.example.Bank_Loan_Management.event.DomainEventHandler;
+import com.example.Bank_Loan_Management.event.LoanStatusEvent;
+
+// Publish throughput with consumers attached; run with -prof gc to confirm 0 B/op on the publish path
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DomainEventBusBenchmark {
+
+    @Param({"1", "3"})
+    public int consumers;
+
+    private DomainEventBus bus;
+    private LoanStatusEvent event;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<CountingHandler> handlers = new ArrayList<>();
+        for (int i = 0; i < consumers; i++) {
+            handlers.add(new CountingHandler("consumer-" + i));
+        }
+        // A publish timeout long enough that producers always wait for the consumers instead of dropping
+        bus = new DomainEventBus(8192, 60_000, handlers);
+        bus.start();
+        event = new LoanStatusEvent(1L, 1L, LoanApplication.Status.VERIFIED, LoanApplication.Status.APPROVED,
+                BigDecimal.TEN, BigDecimal.TEN, BigDecimal.TEN, 0L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        bus.stop();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void publishSingleProducer() {
+        bus.publish(event);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void publishFourProducers() {
+        bus.publish(event);
+    }
+
+    static final class CountingHandler implements DomainEventHandler {
+
+        private final String name;
+        long count;
+
+        CountingHandler(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void onEvent(Object event, boolean endOfBatch) {
+            count++;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+    }
+}
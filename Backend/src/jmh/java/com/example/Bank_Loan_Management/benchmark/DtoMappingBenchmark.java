@@ -0,0 +1,60 @@
+package com.example.Bank_Loan_Management.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.Bank_Loan_Management.controller.LoanController.DocumentDTO;
+import com.example.Bank_Loan_Management.controller.LoanController.LoanManagerDTO;
+import com.example.Bank_Loan_Management.controller.LoanController.LoanSummaryDTO;
+import com.example.Bank_Loan_Management.entity.Document;
+import com.example.Bank_Loan_Management.entity.LoanApplication;
+
+// The entity-to-DTO mapping the listing endpoints run over every row they return
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"10", "1000"})
+    public int rows;
+
+    private List<LoanApplication> loans;
+    private List<Document> documents;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        loans = BenchmarkFixtures.loans(rows);
+        documents = BenchmarkFixtures.documents(rows);
+    }
+
+    @Benchmark
+    public List<LoanSummaryDTO> loanSummaries() {
+        return loans.stream().map(LoanSummaryDTO::from).toList();
+    }
+
+    @Benchmark
+    public List<LoanManagerDTO> loanManagerRows() {
+        return loans.stream().map(LoanManagerDTO::from).toList();
+    }
+
+    @Benchmark
+    public List<DocumentDTO> documentRows() {
+        return documents.stream().map(DocumentDTO::from).toList();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.Bank_Loan_Management.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.Bank_Loan_Management.controller.LoanController.DocumentDTO;
+import com.example.Bank_Loan_Management.controller.LoanController.LoanSummaryDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Response bodies of the loan and document listings, written the way Spring MVC writes them
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "1000"})
+    public int rows;
+
+    private ObjectMapper objectMapper;
+    private List<LoanSummaryDTO> loanSummaries;
+    private List<DocumentDTO> documents;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Same defaults as Boot's auto-configured mapper
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        loanSummaries = BenchmarkFixtures.loans(rows).stream().map(LoanSummaryDTO::from).toList();
+        documents = BenchmarkFixtures.documents(rows).stream().map(DocumentDTO::from).toList();
+    }
+
+    @Benchmark
+    public byte[] loanSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(loanSummaries);
+    }
+
+    @Benchmark
+    public byte[] documents() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(documents);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.Bank_Loan_Management.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.Bank_Loan_Management.util.JwtUtil;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Token signing (once per login) and parsing (on every authenticated request)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = new JwtUtil(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtil, "secret", "benchmark-secret-key-that-is-long-enough-for-hs256-signing");
+        ReflectionTestUtils.setField(jwtUtil, "expirationTime", 86_400_000L);
+        token = jwtUtil.generateToken("customer", "USER");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("customer", "USER");
+    }
+
+    @Benchmark
+    public String extractAllClaims() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    // What JwtAuthenticationFilter does per request: username, role, then validation
+    @Benchmark
+    public void authenticateRequest(Blackhole blackhole) {
+        String username = jwtUtil.extractUsername(token);
+        blackhole.consume(jwtUtil.extractRole(token));
+        blackhole.consume(jwtUtil.validateToken(token, username));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.Bank_Loan_Management.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.Bank_Loan_Management.controller.LoanController.LoanManagerDTO;
+import com.example.Bank_Loan_Management.controller.LoanController.LoanSummaryDTO;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+// CPU time and bytes on the wire per staff listing response. "reflective" writes the way Spring did before
+// JsonConfig (plain mapper, a new writer per response); "blackbird" the way it does now (generated accessors,
+// one writer per type). The gzip variants add what server.compression costs; response sizes are printed at setup.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    @Param({"100", "1000"})
+    public int rows;
+
+    @Param({"manager-rows", "loan-summaries"})
+    public String payload;
+
+    @Param({"reflective", "blackbird"})
+    public String serializer;
+
+    private Object body;
+    private JavaType type;
+    private ObjectMapper objectMapper;
+    private ObjectWriter writer;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1 << 20);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("blackbird".equals(serializer)) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+        if ("manager-rows".equals(payload)) {
+            body = BenchmarkFixtures.loans(rows).stream().map(LoanManagerDTO::from).toList();
+            type = objectMapper.getTypeFactory().constructCollectionType(List.class, LoanManagerDTO.class);
+        } else {
+            body = BenchmarkFixtures.loans(rows).stream().map(LoanSummaryDTO::from).toList();
+            type = objectMapper.getTypeFactory().constructCollectionType(List.class, LoanSummaryDTO.class);
+        }
+        writer = objectMapper.writerFor(type);
+        // Sizes do not vary between calls, so they are printed once instead of measured
+        int json = json();
+        int gzip = gzip();
+        System.out.printf("%n%s x %d: %,d bytes of JSON, %,d gzipped (%.0f%%)%n",
+                payload, rows, json, gzip, 100.0 * gzip / json);
+    }
+
+    @Benchmark
+    public int json() throws IOException {
+        buffer.reset();
+        writer().writeValue(buffer, body);
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int gzip() throws IOException {
+        buffer.reset();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer, 8192)) {
+            writer().writeValue(gzip, body);
+        }
+        return buffer.size();
+    }
+
+    private ObjectWriter writer() {
+        return "blackbird".equals(serializer) ? writer : objectMapper.writer().forType(type);
+    }
+}
@@ -0,0 +1,473 @@
+package com.example.Bank_Loan_Management.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.Bank_Loan_Management.BankLoanManagementApplication;
+import com.example.Bank_Loan_Management.config.ShardContext;
+import com.example.Bank_Loan_Management.config.ShardDataSources;
+import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.service.EntityCacheService;
+import com.example.Bank_Loan_Management.service.SqlStatementStatistics;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Drives the HTTP API with closed-loop virtual users and reports throughput and latency percentiles per
+// scenario. By default the application is started in this JVM on a random port (test classpath, so H2)
+// and seeded with SyntheticDataGenerator first. For local MySQL pass the usual --spring.datasource.*
+// overrides; for a server that is already running pass --base-url and --skip-seed.
+//
+//   mvn -B -Ploadtest -DskipTests verify -Dloadtest.args="--customers=100000 --users=64 --duration-seconds=120"
+//
+// Customers log in, open their dashboard (loans and documents), upload documents and now and then apply;
+// loan managers verify those applications and managers approve them, listing their work queue when
+// nothing is waiting. Results go to target/loadtest-result.json.
+public class LoadTestRunner {
+
+    enum Scenario {
+        LOGIN, DASHBOARD, UPLOAD, APPLY, VERIFY, APPROVE, WORK_QUEUE;
+
+        String key() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final String[] PURPOSES = {"home purchase", "car purchase", "education", "personal", "business"};
+    private static final int MAX_LOGGED_ERRORS = 10;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final String baseUrl;
+    private final String prefix;
+    private final int customers;
+    private final long seed;
+    private final long thinkMillis;
+    private final long workQueueRefreshNanos;
+    private final byte[] document;
+
+    private final BlockingQueue<Long> toVerify = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Long> toApprove = new LinkedBlockingQueue<>();
+    private final AtomicInteger loggedErrors = new AtomicInteger();
+    private volatile boolean measuring;
+    private volatile boolean stopping;
+
+    LoadTestRunner(String baseUrl, String prefix, int customers, long seed, long thinkMillis, long workQueueRefreshMillis,
+                   int documentKb) {
+        this.baseUrl = baseUrl;
+        this.prefix = prefix;
+        this.customers = customers;
+        this.seed = seed;
+        this.thinkMillis = thinkMillis;
+        this.workQueueRefreshNanos = TimeUnit.MILLISECONDS.toNanos(workQueueRefreshMillis);
+        // Incompressible body, so storage compression (if enabled) does not make uploads look cheap
+        this.document = new byte[documentKb * 1024];
+        new SplittableRandom(seed).nextBytes(document);
+        System.arraycopy("%PDF-1.4\n".getBytes(StandardCharsets.US_ASCII), 0, document, 0, 9);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        String prefix = options.get("prefix", "load-");
+        int customers = options.getInt("customers", 10_000);
+        long seed = options.getLong("seed", 42);
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.get("base-url", null);
+        if (baseUrl == null) {
+            context = start(options);
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            if (!options.getBoolean("skip-seed")) {
+                if (context == null) {
+                    throw new IllegalArgumentException(
+                            "With --base-url seed the database with SyntheticDataGenerator and pass --skip-seed");
+                }
+                seed(context, options, prefix, customers, seed);
+            }
+            LoadTestRunner runner = new LoadTestRunner(baseUrl, prefix, customers, seed,
+                    options.getLong("think-ms", 0), options.getLong("work-queue-refresh-ms", 5000),
+                    options.getInt("document-kb", 32));
+            Report report = runner.run(options.getInt("users", 32), options.getInt("staff", 4),
+                    options.getInt("warmup-seconds", 10), options.getInt("duration-seconds", 60));
+            report.print();
+            File output = new File(options.get("output", "target/loadtest-result.json"));
+            if (output.getParentFile() != null) {
+                output.getParentFile().mkdirs();
+            }
+            JSON.writeValue(output, report);
+            System.out.println("Results written to " + output);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    // Later values win; Spring would otherwise join repeated command line options into a list
+    private static ConfigurableApplicationContext start(Options options) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.example.Bank_Loan_Management", "WARN");
+        properties.put("document.storage.root", options.get("storage-root", "target/loadtest-uploads"));
+        for (String arg : options.applicationArgs()) {
+            int equals = arg.indexOf('=');
+            properties.put(arg.substring(2, equals < 0 ? arg.length() : equals), equals < 0 ? "true" : arg.substring(equals + 1));
+        }
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        return SpringApplication.run(new Class<?>[] {BankLoanManagementApplication.class, EntityPackage.class}, args);
+    }
+
+    // The perf-gate profile puts the benchmarks on the same classpath, and their throwaway entities sit
+    // under the application's package
+    @Configuration
+    @EntityScan(basePackageClasses = User.class)
+    static class EntityPackage {
+    }
+
+    // Everything lands on shard 0 with a directory entry saying so; the rebalancer can spread it afterwards
+    private static void seed(ConfigurableApplicationContext context, Options options, String prefix, int customers,
+                             long seed) throws SQLException {
+        DataSource dataSource = context.getBean(ShardDataSources.class).get(ShardContext.DEFAULT_SHARD);
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(dataSource, options.getInt("batch-size", 1000), seed);
+        System.out.printf("Seeding %,d customers...%n", customers);
+        System.out.println(generator.generate(prefix, customers));
+        // Rows went in behind Hibernate's back
+        context.getBean(EntityCacheService.class).evictAll();
+        // Seeding is not part of the measured workload
+        context.getBeanProvider(SqlStatementStatistics.class).ifAvailable(SqlStatementStatistics::reset);
+    }
+
+    Report run(int users, int staff, int warmupSeconds, int durationSeconds) throws InterruptedException {
+        if (customers <= 0) {
+            throw new IllegalArgumentException("--customers must be positive");
+        }
+        List<Recorder> recorders = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            Recorder recorder = new Recorder();
+            int vu = i;
+            recorders.add(recorder);
+            threads.add(new Thread(() -> customerLoop(vu, recorder), "vu-customer-" + i));
+        }
+        for (int i = 0; i < staff; i++) {
+            Recorder recorder = new Recorder();
+            boolean loanManager = i % 2 == 0;
+            recorders.add(recorder);
+            threads.add(new Thread(() -> staffLoop(loanManager, recorder), "vu-staff-" + i));
+        }
+
+        System.out.printf("Running %d customers and %d staff against %s: %d s warmup, %d s measured%n",
+                users, staff, baseUrl, warmupSeconds, durationSeconds);
+        threads.forEach(Thread::start);
+        Thread.sleep(warmupSeconds * 1000L);
+        Instant startedAt = Instant.now();
+        long started = System.nanoTime();
+        measuring = true;
+        Thread.sleep(durationSeconds * 1000L);
+        measuring = false;
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        stopping = true;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<ScenarioResult> scenarios = new ArrayList<>();
+        for (Scenario scenario : Scenario.values()) {
+            ScenarioResult result = ScenarioResult.of(scenario, recorders, elapsedSeconds);
+            if (result.count() > 0) {
+                scenarios.add(result);
+            }
+        }
+        return new Report(startedAt.toString(), baseUrl, customers, users, staff,
+                Math.round(elapsedSeconds * 100) / 100.0, scenarios);
+    }
+
+    private void customerLoop(int vu, Recorder recorder) {
+        SplittableRandom random = new SplittableRandom(seed * 31 + vu);
+        while (!stopping) {
+            String username = SyntheticDataGenerator.username(prefix, random.nextInt(customers));
+            String token = login(recorder, username, SyntheticDataGenerator.PASSWORD);
+            if (token == null) {
+                pause(100);
+                continue;
+            }
+            // A visit: a handful of actions, mostly reading the dashboard
+            int actions = 1 + random.nextInt(5);
+            for (int i = 0; i < actions && !stopping; i++) {
+                int roll = random.nextInt(100);
+                if (roll < 60) {
+                    timed(recorder, Scenario.DASHBOARD, () -> get(token, "/api/user/loans") != null
+                            && get(token, "/api/user/documents") != null);
+                } else if (roll < 85) {
+                    String type = SyntheticDataGenerator.DOCUMENT_TYPES[random.nextInt(SyntheticDataGenerator.DOCUMENT_TYPES.length)];
+                    timed(recorder, Scenario.UPLOAD, () -> upload(token, type, random.nextLong()) != null);
+                } else {
+                    apply(recorder, token, random);
+                }
+                pause(thinkMillis);
+            }
+        }
+    }
+
+    private void staffLoop(boolean loanManager, Recorder recorder) {
+        String username = loanManager ? "loanmanager" : "manager";
+        String token = null;
+        while (token == null && !stopping) {
+            token = login(recorder, username, username);
+        }
+        BlockingQueue<Long> queue = loanManager ? toVerify : toApprove;
+        String action = loanManager ? "/api/loan-manager/loans/verify/" : "/api/manager/loans/approve/";
+        String workQueue = loanManager ? "/api/loan-manager/loans" : "/api/manager/loans/status/VERIFIED";
+        String staffToken = token;
+        long lastListed = System.nanoTime() - workQueueRefreshNanos;
+        while (!stopping) {
+            Long id = take(queue);
+            if (id == null) {
+                // Idle staff refresh their queue page now and then
+                if (System.nanoTime() - lastListed >= workQueueRefreshNanos) {
+                    timed(recorder, Scenario.WORK_QUEUE, () -> get(staffToken, workQueue) != null);
+                    lastListed = System.nanoTime();
+                }
+                continue;
+            }
+            boolean decided = timed(recorder, loanManager ? Scenario.VERIFY : Scenario.APPROVE,
+                    () -> send(post(staffToken, action + id).build()) != null);
+            if (decided && loanManager) {
+                toApprove.offer(id);
+            }
+        }
+    }
+
+    private String login(Recorder recorder, String username, String password) {
+        String[] token = new String[1];
+        timed(recorder, Scenario.LOGIN, () -> {
+            HttpResponse<byte[]> response = send(HttpRequest.newBuilder(uri("/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+                    .build());
+            token[0] = response == null ? null : readJson(response).path("token").asText(null);
+            return token[0] != null;
+        });
+        return token[0];
+    }
+
+    private void apply(Recorder recorder, String token, SplittableRandom random) {
+        String body = String.format("{\"amount\":%d,\"term\":%d,\"purpose\":\"%s\"}",
+                1000 + random.nextInt(49) * 1000, 12 * (1 + random.nextInt(5)), PURPOSES[random.nextInt(PURPOSES.length)]);
+        Long[] id = new Long[1];
+        timed(recorder, Scenario.APPLY, () -> {
+            HttpResponse<byte[]> response = send(post(token, "/api/user/loans/apply")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build());
+            JsonNode application = response == null ? null : readJson(response);
+            id[0] = application == null || !application.hasNonNull("id") ? null : application.get("id").asLong();
+            return id[0] != null;
+        });
+        if (id[0] != null) {
+            toVerify.offer(id[0]);
+        }
+    }
+
+    private HttpResponse<byte[]> upload(String token, String documentType, long boundarySeed) {
+        String boundary = "loadtest" + Long.toHexString(boundarySeed);
+        ByteArrayOutputStream body = new ByteArrayOutputStream(document.length + 512);
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"documentType\"\r\n\r\n"
+                + documentType + "\r\n"
+                + "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + documentType + ".pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(document);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return send(post(token, "/api/user/documents/upload")
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build());
+    }
+
+    private HttpResponse<byte[]> get(String token, String path) {
+        return send(HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + token).GET().build());
+    }
+
+    private HttpRequest.Builder post(String token, String path) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.noBody());
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    // Returns the response only when it is a 2xx; anything else counts as an error
+    private HttpResponse<byte[]> send(HttpRequest request) {
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() / 100 == 2) {
+                return response;
+            }
+            logError(request.method() + " " + request.uri().getPath() + " -> " + response.statusCode() + " "
+                    + new String(response.body(), 0, Math.min(response.body().length, 200), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logError(request.method() + " " + request.uri().getPath() + " -> " + e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    private boolean timed(Recorder recorder, Scenario scenario, BooleanSupplier operation) {
+        boolean measured = measuring;
+        long started = System.nanoTime();
+        boolean ok = operation.getAsBoolean();
+        if (measured) {
+            recorder.record(scenario, System.nanoTime() - started, ok);
+        }
+        return ok;
+    }
+
+    private static Long take(BlockingQueue<Long> queue) {
+        try {
+            return queue.poll(250, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static JsonNode readJson(HttpResponse<byte[]> response) {
+        try {
+            return JSON.readTree(response.body());
+        } catch (IOException e) {
+            return JSON.missingNode();
+        }
+    }
+
+    private void logError(String message) {
+        if (loggedErrors.incrementAndGet() <= MAX_LOGGED_ERRORS) {
+            System.err.println("Request failed: " + message);
+        }
+    }
+
+    private static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // One per virtual user, so recording never contends; merged once the run is over
+    private static final class Recorder {
+
+        private final long[][] samples = new long[Scenario.values().length][1024];
+        private final int[] counts = new int[Scenario.values().length];
+        private final int[] errors = new int[Scenario.values().length];
+
+        void record(Scenario scenario, long nanos, boolean ok) {
+            int index = scenario.ordinal();
+            if (counts[index] == samples[index].length) {
+                samples[index] = Arrays.copyOf(samples[index], counts[index] * 2);
+            }
+            samples[index][counts[index]++] = nanos;
+            if (!ok) {
+                errors[index]++;
+            }
+        }
+    }
+
+    public record ScenarioResult(String scenario, long count, long errors, double throughputPerSecond, double meanMs,
+                                 double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+
+        static ScenarioResult of(Scenario scenario, List<Recorder> recorders, double elapsedSeconds) {
+            int index = scenario.ordinal();
+            int count = 0;
+            long errors = 0;
+            for (Recorder recorder : recorders) {
+                count += recorder.counts[index];
+                errors += recorder.errors[index];
+            }
+            long[] all = new long[count];
+            int offset = 0;
+            for (Recorder recorder : recorders) {
+                System.arraycopy(recorder.samples[index], 0, all, offset, recorder.counts[index]);
+                offset += recorder.counts[index];
+            }
+            Arrays.sort(all);
+            double mean = count == 0 ? 0 : Arrays.stream(all).average().orElse(0);
+            return new ScenarioResult(scenario.key(), count, errors, round(count / elapsedSeconds),
+                    millis(mean), millis(percentile(all, 0.50)), millis(percentile(all, 0.90)),
+                    millis(percentile(all, 0.99)), millis(count == 0 ? 0 : all[count - 1]));
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[Math.max(0, (int) Math.ceil(quantile * sorted.length) - 1)];
+        }
+
+        private static double millis(double nanos) {
+            return round(nanos / 1_000_000.0);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+    }
+
+    public record Report(String startedAt, String baseUrl, int customers, int virtualUsers, int staff,
+                         double durationSeconds, List<ScenarioResult> scenarios) {
+
+        void print() {
+            System.out.printf("%n%-12s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                    "scenario", "count", "errors", "ops/s", "mean ms", "p50 ms", "p90 ms", "p99 ms", "max ms");
+            for (ScenarioResult result : scenarios) {
+                System.out.printf("%-12s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                        result.scenario(), result.count(), result.errors(), result.throughputPerSecond(),
+                        result.meanMs(), result.p50Ms(), result.p90Ms(), result.p99Ms(), result.maxMs());
+            }
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.Bank_Loan_Management.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+// Compares a perf-gate run (JMH and load test result files) with the committed baselines and exits with 1
+// when any metric moved past its tolerance in the wrong direction. Bytes allocated per operation barely
+// depend on the machine and are compared as recorded. Timings do, so both runs include CalibrationBenchmark
+// and this run's timings are scaled by how much slower or faster it ran than in the baseline before they
+// are compared: benchmark scores once the two runs' error bars no longer overlap, load scenarios on
+// throughput and p50/p90 latency. Without a calibration result on both sides timings are left out. Load
+// errors are compared as counted. After a change that is meant to move the numbers, rerun with --update on
+// any machine and commit the baselines.
+//
+//   PerformanceGate --jmh-result=.. --jmh-baseline=.. --loadtest-result=.. --loadtest-baseline=..
+//                   [--score-tolerance=0.30] [--allocation-tolerance=0.10] [--throughput-tolerance=0.30]
+//                   [--latency-tolerance=0.50] [--min-latency-delta-ms=5] [--min-samples=20]
+//                   [--report=target/perf-gate-report.txt] [--update]
+public class PerformanceGate {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final String BENCHMARK_PACKAGE = "com.example.Bank_Loan_Management.benchmark.";
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    private static final String CALIBRATION_BENCHMARK = "CalibrationBenchmark.calibrate";
+    // Allocation changes smaller than this are noise from JIT and profiler sampling, not code changes
+    private static final double MIN_ALLOCATION_DELTA_BYTES = 64;
+
+    enum Verdict { OK, IMPROVED, REGRESSION, NEW }
+
+    record Comparison(String source, String name, String metric, double baseline, double current,
+                      double tolerance, double minDelta, boolean higherIsBetter) {
+
+        double change() {
+            return baseline == 0 ? 0 : (current - baseline) / baseline;
+        }
+
+        Verdict verdict() {
+            if (Double.isNaN(baseline)) {
+                return Verdict.NEW;
+            }
+            double delta = current - baseline;
+            if (Math.abs(delta) <= minDelta) {
+                return Verdict.OK;
+            }
+            if (baseline != 0 && Math.abs(delta / baseline) <= tolerance) {
+                return Verdict.OK;
+            }
+            boolean worse = higherIsBetter ? delta < 0 : delta > 0;
+            return worse ? Verdict.REGRESSION : Verdict.IMPROVED;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Options options = Options.parse(args);
+        File jmhResult = new File(options.require("jmh-result"));
+        File jmhBaseline = new File(options.require("jmh-baseline"));
+        File loadResult = new File(options.require("loadtest-result"));
+        File loadBaseline = new File(options.require("loadtest-baseline"));
+
+        if (options.getBoolean("update")) {
+            updateJmhBaseline(jmhResult, jmhBaseline);
+            Files.copy(loadResult.toPath(), loadBaseline.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baselines updated: " + jmhBaseline + ", " + loadBaseline);
+            return;
+        }
+
+        double scoreTolerance = Double.parseDouble(options.get("score-tolerance", "0.30"));
+        double allocationTolerance = Double.parseDouble(options.get("allocation-tolerance", "0.10"));
+        double throughputTolerance = Double.parseDouble(options.get("throughput-tolerance", "0.30"));
+        double latencyTolerance = Double.parseDouble(options.get("latency-tolerance", "0.50"));
+        double minLatencyDelta = Double.parseDouble(options.get("min-latency-delta-ms", "5"));
+        int minSamples = options.getInt("min-samples", 20);
+
+        List<Comparison> comparisons = new ArrayList<>();
+        List<String> notes = new ArrayList<>();
+        JsonNode jmhBaselineResults = read(jmhBaseline);
+        JsonNode jmhResults = read(jmhResult);
+        double slowdown = slowdown(jmhBaselineResults, jmhResults, notes);
+        compareBenchmarks(jmhBaselineResults, jmhResults, slowdown, scoreTolerance, allocationTolerance,
+                comparisons, notes);
+        compareScenarios(read(loadBaseline), read(loadResult), slowdown, throughputTolerance, latencyTolerance,
+                minLatencyDelta, minSamples, comparisons, notes);
+
+        String report = report(comparisons, notes, String.format(
+                "Tolerances: benchmark score %.0f%% outside the error bars, allocation %.0f%%, "
+                        + "load throughput %.0f%%, load latency %.0f%% (changes under %.0f ms ignored)",
+                scoreTolerance * 100, allocationTolerance * 100, throughputTolerance * 100, latencyTolerance * 100,
+                minLatencyDelta));
+        System.out.println(report);
+        File reportFile = new File(options.get("report", "target/perf-gate-report.txt"));
+        if (reportFile.getParentFile() != null) {
+            reportFile.getParentFile().mkdirs();
+        }
+        Files.writeString(reportFile.toPath(), report, StandardCharsets.UTF_8);
+
+        if (comparisons.stream().anyMatch(comparison -> comparison.verdict() == Verdict.REGRESSION)) {
+            System.exit(1);
+        }
+    }
+
+    // How many times longer the calibration took in this run than in the baseline's; NaN when either lacks it
+    private static double slowdown(JsonNode baseline, JsonNode current, List<String> notes) {
+        JsonNode reference = benchmarksByKey(baseline).get(CALIBRATION_BENCHMARK);
+        JsonNode run = benchmarksByKey(current).get(CALIBRATION_BENCHMARK);
+        if (reference == null || run == null || !reference.path("primaryMetric").path("scoreUnit")
+                .equals(run.path("primaryMetric").path("scoreUnit"))) {
+            notes.add("no matching " + CALIBRATION_BENCHMARK + " result in both runs, timings not compared");
+            return Double.NaN;
+        }
+        double slowdown = run.path("primaryMetric").path("score").asDouble()
+                / reference.path("primaryMetric").path("score").asDouble();
+        notes.add(String.format("this machine ran the calibration %.2fx as long as the baseline's; "
+                + "current timings are scaled to the baseline machine", slowdown));
+        return slowdown;
+    }
+
+    // Only benchmarks present in the run are compared; the baseline may hold more than the gate's subset
+    private static void compareBenchmarks(JsonNode baseline, JsonNode current, double slowdown,
+                                          double scoreTolerance, double allocationTolerance,
+                                          List<Comparison> comparisons, List<String> notes) {
+        Map<String, JsonNode> baselineByKey = benchmarksByKey(baseline);
+        for (Map.Entry<String, JsonNode> entry : benchmarksByKey(current).entrySet()) {
+            if (entry.getKey().equals(CALIBRATION_BENCHMARK)) {
+                continue;
+            }
+            JsonNode run = entry.getValue();
+            JsonNode reference = baselineByKey.get(entry.getKey());
+            String unit = run.path("primaryMetric").path("scoreUnit").asText();
+            if (reference != null && !unit.equals(reference.path("primaryMetric").path("scoreUnit").asText())) {
+                notes.add(entry.getKey() + ": unit changed from "
+                        + reference.path("primaryMetric").path("scoreUnit").asText() + " to " + unit + ", not compared");
+                continue;
+            }
+            boolean throughput = "thrpt".equals(run.path("mode").asText());
+            if (!Double.isNaN(slowdown)) {
+                // Throughput shrinks on a slower machine, times grow
+                double scale = throughput ? slowdown : 1 / slowdown;
+                // A score inside the other run's confidence interval is not a change JMH can tell from noise
+                double scoreError = scoreError(run) * scale + (reference == null ? 0 : scoreError(reference));
+                comparisons.add(new Comparison("jmh", entry.getKey(), unit,
+                        reference == null ? Double.NaN : reference.path("primaryMetric").path("score").asDouble(),
+                        run.path("primaryMetric").path("score").asDouble() * scale, scoreTolerance, scoreError,
+                        throughput));
+            }
+            JsonNode allocation = run.path("secondaryMetrics").path(ALLOCATION_METRIC);
+            if (!allocation.isMissingNode()) {
+                JsonNode referenceAllocation = reference == null
+                        ? null : reference.path("secondaryMetrics").path(ALLOCATION_METRIC);
+                comparisons.add(new Comparison("jmh", entry.getKey(), "B/op",
+                        referenceAllocation == null || referenceAllocation.isMissingNode()
+                                ? Double.NaN : referenceAllocation.path("score").asDouble(),
+                        allocation.path("score").asDouble(), allocationTolerance, MIN_ALLOCATION_DELTA_BYTES, false));
+            }
+        }
+    }
+
+    private static void compareScenarios(JsonNode baseline, JsonNode current, double slowdown,
+                                         double throughputTolerance, double latencyTolerance, double minLatencyDelta,
+                                         int minSamples, List<Comparison> comparisons, List<String> notes) {
+        Map<String, JsonNode> baselineByName = new LinkedHashMap<>();
+        baseline.path("scenarios").forEach(scenario -> baselineByName.put(scenario.path("scenario").asText(), scenario));
+        for (JsonNode run : current.path("scenarios")) {
+            String name = run.path("scenario").asText();
+            JsonNode reference = baselineByName.get(name);
+            long samples = Math.min(run.path("count").asLong(), reference == null ? Long.MAX_VALUE : reference.path("count").asLong());
+            if (samples < minSamples) {
+                notes.add(name + ": only " + samples + " samples, not compared");
+                continue;
+            }
+            if (!Double.isNaN(slowdown)) {
+                comparisons.add(new Comparison("load", name, "ops/s", value(reference, "throughputPerSecond"),
+                        run.path("throughputPerSecond").asDouble() * slowdown, throughputTolerance, 0, true));
+                comparisons.add(new Comparison("load", name, "p50 ms", value(reference, "p50Ms"),
+                        run.path("p50Ms").asDouble() / slowdown, latencyTolerance, minLatencyDelta, false));
+                comparisons.add(new Comparison("load", name, "p90 ms", value(reference, "p90Ms"),
+                        run.path("p90Ms").asDouble() / slowdown, latencyTolerance, minLatencyDelta, false));
+            }
+            // Any new failure is a regression
+            comparisons.add(new Comparison("load", name, "errors", value(reference, "errors"),
+                    run.path("errors").asDouble(), 0, 0, false));
+        }
+    }
+
+    private static String report(List<Comparison> comparisons, List<String> notes, String tolerances) {
+        long regressions = comparisons.stream().filter(comparison -> comparison.verdict() == Verdict.REGRESSION).count();
+        long improvements = comparisons.stream().filter(comparison -> comparison.verdict() == Verdict.IMPROVED).count();
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Performance gate: %d metrics compared, %d regressions, %d improvements%n",
+                comparisons.size(), regressions, improvements));
+        report.append(tolerances).append(System.lineSeparator()).append(System.lineSeparator());
+        report.append(String.format("%-5s %-58s %-7s %14s %14s %9s  %s%n",
+                "", "benchmark / scenario", "metric", "baseline", "current", "change", ""));
+        for (Comparison comparison : comparisons) {
+            Verdict verdict = comparison.verdict();
+            report.append(String.format("%-5s %-58s %-7s %14s %14s %9s  %s%n",
+                    comparison.source(), comparison.name(), comparison.metric(),
+                    Double.isNaN(comparison.baseline()) ? "-" : format(comparison.baseline()),
+                    format(comparison.current()),
+                    verdict == Verdict.NEW ? "" : String.format("%+.1f%%", comparison.change() * 100),
+                    verdict == Verdict.OK ? "" : verdict.name()));
+        }
+        for (String note : notes) {
+            report.append("note: ").append(note).append(System.lineSeparator());
+        }
+        if (regressions > 0) {
+            report.append(System.lineSeparator()).append("Regressions:").append(System.lineSeparator());
+            for (Comparison comparison : comparisons) {
+                if (comparison.verdict() == Verdict.REGRESSION) {
+                    report.append(String.format("  %s %s %s: %s -> %s (%+.1f%%, tolerance %.0f%%)%n",
+                            comparison.source(), comparison.name(), comparison.metric(), format(comparison.baseline()),
+                            format(comparison.current()), comparison.change() * 100, comparison.tolerance() * 100));
+                }
+            }
+        }
+        return report.toString();
+    }
+
+    // Replaces the baseline entries this run measured and keeps the rest
+    private static void updateJmhBaseline(File result, File baseline) throws IOException {
+        Map<String, JsonNode> merged = baseline.exists() ? benchmarksByKey(read(baseline)) : new LinkedHashMap<>();
+        merged.putAll(benchmarksByKey(read(result)));
+        ArrayNode entries = JSON.createArrayNode();
+        merged.values().forEach(entries::add);
+        JSON.writeValue(baseline, entries);
+    }
+
+    private static Map<String, JsonNode> benchmarksByKey(JsonNode results) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode benchmark : results) {
+            byKey.put(key(benchmark), benchmark);
+        }
+        return byKey;
+    }
+
+    // DtoMappingBenchmark.loanSummaries(rows=1000)
+    private static String key(JsonNode benchmark) {
+        String name = benchmark.path("benchmark").asText().replace(BENCHMARK_PACKAGE, "");
+        JsonNode params = benchmark.path("params");
+        if (!(params instanceof ObjectNode) || params.isEmpty()) {
+            return name;
+        }
+        StringBuilder key = new StringBuilder(name).append('(');
+        Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            key.append(field.getKey()).append('=').append(field.getValue().asText());
+            if (fields.hasNext()) {
+                key.append(", ");
+            }
+        }
+        return key.append(')').toString();
+    }
+
+    // JMH writes NaN when there were too few iterations to estimate one
+    private static double scoreError(JsonNode benchmark) {
+        double error = benchmark.path("primaryMetric").path("scoreError").asDouble();
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static double value(JsonNode node, String field) {
+        return node == null ? Double.NaN : node.path(field).asDouble();
+    }
+
+    private static String format(double value) {
+        return Math.abs(value) >= 1000 ? String.format("%,.0f", value) : String.format("%.3f", value);
+    }
+
+    private static JsonNode read(File file) throws IOException {
+        if (!file.exists()) {
+            throw new IOException(file + " does not exist");
+        }
+        return JSON.readTree(file);
+    }
+}
@@ -0,0 +1,341 @@
+package com.example.Bank_Loan_Management.loadtest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// Bulk-inserts customers with loans and documents over plain batched JDBC, bypassing JPA. Ids are taken
+// from id_generators (see V3) so the application keeps allocating above them afterwards. Targets an
+// unsharded database; on MySQL add rewriteBatchedStatements=true to the URL.
+//
+// Standalone: SyntheticDataGenerator --url=jdbc:mysql://localhost:3306/bank --username=.. --password=..
+//                                    [--customers=1000000] [--batch-size=1000] [--prefix=load-] [--seed=42]
+public class SyntheticDataGenerator {
+
+    // Every generated customer logs in with this password
+    public static final String PASSWORD = "password";
+    public static final String[] DOCUMENT_TYPES = {"id-proof", "income-proof", "address-proof"};
+
+    private static final int CUSTOMERS_PER_CHUNK = 1000;
+    private static final int[] TERMS = {6, 12, 24, 36, 60};
+    private static final Map<String, BigDecimal> RATES = Map.of(
+            "home purchase", new BigDecimal("8.50"),
+            "car purchase", new BigDecimal("9.50"),
+            "education", new BigDecimal("7.50"),
+            "business", new BigDecimal("10.50"),
+            "personal", new BigDecimal("12.00"),
+            "health", new BigDecimal("8.00"),
+            "travel", new BigDecimal("11.00"),
+            "wedding", new BigDecimal("9.00"),
+            "home renovation", new BigDecimal("8.75"),
+            "debt consolidation", new BigDecimal("11.50"));
+    private static final String[] PURPOSES = RATES.keySet().stream().sorted().toArray(String[]::new);
+
+    private final DataSource dataSource;
+    private final int batchSize;
+    private final SplittableRandom random;
+    private final String passwordHash;
+
+    public SyntheticDataGenerator(DataSource dataSource, int batchSize, long seed) {
+        this.dataSource = dataSource;
+        this.batchSize = batchSize;
+        this.random = new SplittableRandom(seed);
+        // One hash for everybody; bcrypt per row would dominate the run
+        this.passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+    }
+
+    public static String username(String prefix, long index) {
+        return prefix + index;
+    }
+
+    public Summary generate(String prefix, int customers) throws SQLException {
+        long started = System.nanoTime();
+        long loans = 0;
+        long documents = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            Long loanManagerId = staffId(connection, "loanmanager");
+            Long managerId = staffId(connection, "manager");
+            for (int first = 0; first < customers; first += CUSTOMERS_PER_CHUNK) {
+                int count = Math.min(CUSTOMERS_PER_CHUNK, customers - first);
+                Chunk chunk = buildChunk(prefix, first, count, loanManagerId, managerId);
+                long userIds = reserveIds(connection, "users", count);
+                long loanIds = reserveIds(connection, "loan_applications", chunk.loanCount);
+                long documentIds = reserveIds(connection, "documents", chunk.documentCount);
+                connection.commit();
+                insertChunk(connection, chunk, userIds, loanIds, documentIds);
+                connection.commit();
+                loans += chunk.loanCount;
+                documents += chunk.documentCount;
+                if ((first / CUSTOMERS_PER_CHUNK) % 100 == 99) {
+                    System.out.printf("  %,d customers inserted%n", first + count);
+                }
+            }
+        }
+        return new Summary(customers, loans, documents, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // Takes a block of ids the same way Hibernate's pooled-lo optimizer does
+    private static long reserveIds(Connection connection, String table, int count) throws SQLException {
+        long next;
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT next_val FROM id_generators WHERE sequence_name = ? FOR UPDATE")) {
+            select.setString(1, table);
+            try (ResultSet rs = select.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("No id_generators row for " + table);
+                }
+                next = rs.getLong(1);
+            }
+        }
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE id_generators SET next_val = ? WHERE sequence_name = ?")) {
+            update.setLong(1, next + count);
+            update.setString(2, table);
+            update.executeUpdate();
+        }
+        return next;
+    }
+
+    private static Long staffId(Connection connection, String username) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement("SELECT id FROM users WHERE username = ?")) {
+            select.setString(1, username);
+            try (ResultSet rs = select.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        }
+    }
+
+    // Status mix of a book that has been running for two years: most loans decided, a quarter still open
+    private LoanRow randomLoan(Long loanManagerId, Long managerId, LocalDateTime now) {
+        LoanRow loan = new LoanRow();
+        int roll = random.nextInt(100);
+        loan.status = roll < 25 ? "APPLIED" : roll < 40 ? "VERIFIED" : roll < 85 ? "APPROVED" : "REJECTED";
+        loan.purpose = PURPOSES[random.nextInt(PURPOSES.length)];
+        loan.term = TERMS[random.nextInt(TERMS.length)];
+        // Skewed towards small loans: 1k to 50k
+        double scale = Math.pow(random.nextDouble(), 2);
+        loan.amount = BigDecimal.valueOf(1000 + scale * 49_000).setScale(2, RoundingMode.HALF_UP);
+        loan.creditScore = 300 + random.nextInt(551);
+        loan.appliedDate = now.minusMinutes(random.nextLong(2L * 365 * 24 * 60));
+        loan.documentsVerified = !loan.status.equals("APPLIED");
+        if (!loan.status.equals("APPLIED")) {
+            loan.loanManagerId = loanManagerId;
+        }
+        if (loan.status.equals("APPROVED") || loan.status.equals("REJECTED")) {
+            loan.managerId = loan.status.equals("APPROVED") || random.nextBoolean() ? managerId : null;
+            loan.decisionDate = loan.appliedDate.plusDays(1 + random.nextInt(10));
+        }
+        if (loan.status.equals("APPROVED")) {
+            loan.interestRate = RATES.get(loan.purpose);
+            loan.approvedAmount = loan.amount;
+            BigDecimal paid = loan.amount.multiply(BigDecimal.valueOf(random.nextDouble())).setScale(2, RoundingMode.HALF_UP);
+            loan.paidAmount = paid;
+            loan.pendingAmount = loan.amount.subtract(paid);
+        }
+        return loan;
+    }
+
+    private Chunk buildChunk(String prefix, int first, int count, Long loanManagerId, Long managerId) {
+        LocalDateTime now = LocalDateTime.now();
+        Chunk chunk = new Chunk(count);
+        for (int i = 0; i < count; i++) {
+            // 0 to 3 loans, 1.5 on average
+            int loanCount = random.nextInt(4);
+            LoanRow[] loans = new LoanRow[loanCount];
+            for (int l = 0; l < loanCount; l++) {
+                loans[l] = randomLoan(loanManagerId, managerId, now);
+            }
+            chunk.usernames[i] = username(prefix, first + i);
+            chunk.loans[i] = loans;
+            chunk.loanCount += loanCount;
+            chunk.documentCount += DOCUMENT_TYPES.length;
+        }
+        return chunk;
+    }
+
+    // Parents before children so foreign keys resolve: users, then their loans, then their documents
+    private void insertChunk(Connection connection, Chunk chunk, long userIds, long loanIds, long documentIds)
+            throws SQLException {
+        try (PreparedStatement users = connection.prepareStatement(
+                "INSERT INTO users (id, username, password, email, role, created_at) VALUES (?, ?, ?, ?, 'USER', ?)");
+             PreparedStatement directory = connection.prepareStatement(
+                     "INSERT INTO user_shards (username, user_id, shard, replicated, moving) VALUES (?, ?, 0, FALSE, FALSE)")) {
+            int pending = 0;
+            for (int i = 0; i < chunk.usernames.length; i++) {
+                String username = chunk.usernames[i];
+                LoanRow[] userLoans = chunk.loans[i];
+                LocalDateTime createdAt = userLoans.length > 0 ? userLoans[0].appliedDate.minusDays(1) : LocalDateTime.now();
+                users.setLong(1, userIds + i);
+                users.setString(2, username);
+                users.setString(3, passwordHash);
+                users.setString(4, username + "@load.example.com");
+                users.setTimestamp(5, Timestamp.valueOf(createdAt));
+                users.addBatch();
+                directory.setString(1, username);
+                directory.setLong(2, userIds + i);
+                directory.addBatch();
+                if (++pending == batchSize) {
+                    users.executeBatch();
+                    directory.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                users.executeBatch();
+                directory.executeBatch();
+            }
+        }
+
+        try (PreparedStatement loans = connection.prepareStatement(
+                "INSERT INTO loan_applications (id, user_id, loan_manager_id, manager_id, documents_verified, amount, term,"
+                        + " purpose, status, credit_score, applied_date, decision_date, approved_amount, paid_amount,"
+                        + " pending_amount, interest_rate) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            int pending = 0;
+            long loanId = loanIds;
+            for (int i = 0; i < chunk.loans.length; i++) {
+                for (LoanRow loan : chunk.loans[i]) {
+                    bindLoan(loans, loanId++, userIds + i, loan);
+                    loans.addBatch();
+                    pending = flushIfFull(loans, pending + 1);
+                }
+            }
+            if (pending > 0) {
+                loans.executeBatch();
+            }
+        }
+
+        // Each customer's documents back their first loan; verified once that loan got past APPLIED
+        try (PreparedStatement documents = connection.prepareStatement(
+                "INSERT INTO documents (id, loan_application_id, user_id, document_type, file_name, file_path,"
+                        + " content_type, file_size, storage_codec, stored_size, status)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, 'application/pdf', ?, 'NONE', ?, ?)")) {
+            int pending = 0;
+            long loanId = loanIds;
+            long documentId = documentIds;
+            for (int i = 0; i < chunk.loans.length; i++) {
+                long userId = userIds + i;
+                LoanRow[] userLoans = chunk.loans[i];
+                Long firstLoanId = userLoans.length > 0 ? loanId : null;
+                boolean verified = userLoans.length > 0 && userLoans[0].documentsVerified;
+                loanId += userLoans.length;
+                for (String type : DOCUMENT_TYPES) {
+                    long size = 40_000 + random.nextInt(2_000_000);
+                    documents.setLong(1, documentId);
+                    setNullableLong(documents, 2, firstLoanId);
+                    documents.setLong(3, userId);
+                    documents.setString(4, type);
+                    documents.setString(5, type + ".pdf");
+                    documents.setString(6, "synthetic/" + userId + "/" + documentId + "-" + type + ".pdf");
+                    documents.setLong(7, size);
+                    documents.setLong(8, size);
+                    documents.setString(9, verified ? "VERIFIED" : random.nextInt(10) == 0 ? "REJECTED" : "UPLOADED");
+                    documents.addBatch();
+                    documentId++;
+                    pending = flushIfFull(documents, pending + 1);
+                }
+            }
+            if (pending > 0) {
+                documents.executeBatch();
+            }
+        }
+    }
+
+    private int flushIfFull(PreparedStatement statement, int pending) throws SQLException {
+        if (pending < batchSize) {
+            return pending;
+        }
+        statement.executeBatch();
+        return 0;
+    }
+
+    private static void bindLoan(PreparedStatement statement, long id, long userId, LoanRow loan) throws SQLException {
+        statement.setLong(1, id);
+        statement.setLong(2, userId);
+        setNullableLong(statement, 3, loan.loanManagerId);
+        setNullableLong(statement, 4, loan.managerId);
+        statement.setBoolean(5, loan.documentsVerified);
+        statement.setBigDecimal(6, loan.amount);
+        statement.setInt(7, loan.term);
+        statement.setString(8, loan.purpose);
+        statement.setString(9, loan.status);
+        statement.setInt(10, loan.creditScore);
+        statement.setTimestamp(11, Timestamp.valueOf(loan.appliedDate));
+        statement.setTimestamp(12, loan.decisionDate == null ? null : Timestamp.valueOf(loan.decisionDate));
+        statement.setBigDecimal(13, loan.approvedAmount);
+        statement.setBigDecimal(14, loan.paidAmount);
+        statement.setBigDecimal(15, loan.pendingAmount);
+        statement.setBigDecimal(16, loan.interestRate);
+    }
+
+    private static void setNullableLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, java.sql.Types.BIGINT);
+        } else {
+            statement.setLong(index, value);
+        }
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Options options = Options.parse(args);
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                options.require("url"), options.get("username", ""), options.get("password", ""));
+        int customers = options.getInt("customers", 1_000_000);
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(dataSource,
+                options.getInt("batch-size", 1000), options.getLong("seed", 42));
+        System.out.printf("Generating %,d customers...%n", customers);
+        System.out.println(generator.generate(options.get("prefix", "load-"), customers));
+    }
+
+    public record Summary(long customers, long loans, long documents, long elapsedMs) {
+
+        @Override
+        public String toString() {
+            double seconds = Math.max(elapsedMs, 1) / 1000.0;
+            return String.format("Inserted %,d customers, %,d loans and %,d documents in %.1f s (%,.0f rows/s)",
+                    customers, loans, documents, seconds, (customers + loans + documents) / seconds);
+        }
+    }
+
+    private static final class Chunk {
+
+        final String[] usernames;
+        final LoanRow[][] loans;
+        int loanCount;
+        int documentCount;
+
+        Chunk(int customers) {
+            usernames = new String[customers];
+            loans = new LoanRow[customers][];
+        }
+    }
+
+    private static final class LoanRow {
+        String status;
+        String purpose;
+        int term;
+        BigDecimal amount;
+        int creditScore;
+        LocalDateTime appliedDate;
+        LocalDateTime decisionDate;
+        boolean documentsVerified;
+        Long loanManagerId;
+        Long managerId;
+        BigDecimal interestRate;
+        BigDecimal approvedAmount;
+        BigDecimal paidAmount;
+        BigDecimal pendingAmount;
+    }
+}
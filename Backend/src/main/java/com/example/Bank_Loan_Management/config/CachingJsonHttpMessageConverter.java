@@ -0,0 +1,73 @@
+package com.example.Bank_Loan_Management.config;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.util.TypeUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+
+// Spring builds a new ObjectWriter for every collection it writes and resolves the root serializer again;
+// here collections go through a writer kept per declared type. Declared types come from controller method
+// signatures, so the map stays small. Bodies are also written with a Content-Length, without which Tomcat
+// compresses every response however small it is. Views, filters and charsets other than UTF-8 are left to
+// the default path, as are responses already committed, such as event streams.
+public class CachingJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final Map<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public CachingJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (object instanceof MappingJacksonValue || !isUtf8(outputMessage.getHeaders().getContentType())
+                || !(outputMessage instanceof ServletServerHttpResponse response)
+                || response.getServletResponse().isCommitted()) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        byte[] json;
+        try {
+            json = writerFor(type, object).writeValueAsBytes(object);
+        } catch (InvalidDefinitionException ex) {
+            throw new HttpMessageConversionException("Type definition error: " + ex.getType(), ex);
+        } catch (JsonProcessingException ex) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + ex.getOriginalMessage(), ex);
+        }
+        outputMessage.getHeaders().setContentLength(json.length);
+        outputMessage.getBody().write(json);
+    }
+
+    // Like the default path, only collections are written for their declared type, and only when it fits
+    private ObjectWriter writerFor(Type type, Object object) {
+        if (type == null || !TypeUtils.isAssignable(type, object.getClass())) {
+            return getObjectMapper().writer();
+        }
+        return writers.computeIfAbsent(type, key -> {
+            JavaType javaType = getJavaType(key, null);
+            return javaType.isContainerType() ? getObjectMapper().writerFor(javaType) : getObjectMapper().writer();
+        });
+    }
+
+    private static boolean isUtf8(MediaType contentType) {
+        return contentType == null || contentType.getCharset() == null
+                || StandardCharsets.UTF_8.equals(contentType.getCharset());
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.Bank_Loan_Management.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.Bank_Loan_Management.event.DomainEventBus;
+import com.example.Bank_Loan_Management.event.DomainEventHandler;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class EventBusConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public DomainEventBus domainEventBus(@Value("${events.bus.capacity:8192}") int capacity,
+                                         @Value("${events.bus.publish-timeout-ms:100}") long publishTimeoutMillis,
+                                         List<DomainEventHandler> handlers,
+                                         MeterRegistry meterRegistry) {
+        DomainEventBus bus = new DomainEventBus(capacity, publishTimeoutMillis, handlers);
+        FunctionCounter.builder("events.bus.dropped", bus, DomainEventBus::getDroppedCount).register(meterRegistry);
+        return bus;
+    }
+}
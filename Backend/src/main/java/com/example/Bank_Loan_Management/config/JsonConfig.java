@@ -0,0 +1,26 @@
+package com.example.Bank_Loan_Management.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+// Boot registers every Module bean on its ObjectMapper. Blackbird replaces reflective getter calls with
+// generated lambdas; the converter bean takes the place of Boot's own so list responses reuse one
+// ObjectWriter per element type.
+@Configuration
+public class JsonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new CachingJsonHttpMessageConverter(objectMapper);
+    }
+}
@@ -15,6 +15,9 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.example.Bank_Loan_Management.util.JwtUtil;
 
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,18 +26,32 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String STREAM_PATH = "/api/stream";
+
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final Tracer tracer;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService, Tracer tracer) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.tracer = tracer;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
+        // The span covers token parsing and the user lookup only, not the rest of the chain
+        Span span = tracer.spanBuilder("JwtAuthenticationFilter.authenticate").startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            authenticate(request);
+        } finally {
+            span.end();
+        }
+        chain.doFilter(request, response);
+    }
 
+    private void authenticate(HttpServletRequest request) {
         final String authorizationHeader = request.getHeader("Authorization");
 
         String username = null;
@@ -43,6 +60,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             jwt = authorizationHeader.substring(7);
+            // Stream tickets open the status stream and nothing else
+            if (!jwt.isEmpty() && jwtUtil.isStreamTicket(jwt)) {
+                jwt = null;
+            }
+        } else if (STREAM_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()))) {
+            // EventSource cannot set headers, so the status stream takes a short-lived ticket as a query
+            // parameter; a login token there would end up in access logs
+            jwt = request.getParameter("ticket");
+            if (jwt != null && !jwt.isEmpty() && !jwtUtil.isStreamTicket(jwt)) {
+                jwt = null;
+            }
+        }
+
+        if (jwt != null && !jwt.isEmpty()) {
             username = jwtUtil.extractUsername(jwt);
             role = jwtUtil.extractRole(jwt);
         }
@@ -76,6 +107,5 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(authenticationToken);
             }
         }
-        chain.doFilter(request, response);
     }
 }
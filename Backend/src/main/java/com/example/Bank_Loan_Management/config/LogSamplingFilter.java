@@ -0,0 +1,72 @@
+package com.example.Bank_Loan_Management.config;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+// Keeps one in N INFO/DEBUG/TRACE events from chatty categories; WARN and ERROR always pass. Configured in
+// logback-spring.xml as <sample>logger.prefix=N</sample>, the longest matching prefix wins. As a turbo filter it
+// runs before the event is built, so a dropped line costs a map lookup and an increment.
+public class LogSamplingFilter extends TurboFilter {
+
+    private static final Rule UNSAMPLED = new Rule("", 1);
+
+    private final List<Rule> rules = new CopyOnWriteArrayList<>();
+    private final Map<String, Rule> rulesByLogger = new ConcurrentHashMap<>();
+
+    public void addSample(String sample) {
+        int separator = sample.lastIndexOf('=');
+        try {
+            if (separator < 0) {
+                throw new NumberFormatException("missing '='");
+            }
+            int oneIn = Integer.parseInt(sample.substring(separator + 1).trim());
+            if (oneIn < 1) {
+                throw new NumberFormatException("rate must be at least 1");
+            }
+            rules.add(new Rule(sample.substring(0, separator).trim(), oneIn));
+            rulesByLogger.clear();
+        } catch (NumberFormatException e) {
+            addError("Ignoring log sample '" + sample + "', expected <logger>=<n>: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // A null format is an isXxxEnabled() check, not an event
+        if (format == null || level == null || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Rule rule = rulesByLogger.computeIfAbsent(logger.getName(), this::ruleFor);
+        if (rule.oneIn() == 1) {
+            return FilterReply.NEUTRAL;
+        }
+        return rule.seen().getAndIncrement() % rule.oneIn() == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private Rule ruleFor(String loggerName) {
+        Rule match = UNSAMPLED;
+        for (Rule rule : rules) {
+            if (loggerName.startsWith(rule.prefix()) && rule.prefix().length() >= match.prefix().length()) {
+                match = rule;
+            }
+        }
+        return match;
+    }
+
+    private record Rule(String prefix, int oneIn, AtomicLong seen) {
+        Rule(String prefix, int oneIn) {
+            this(prefix, oneIn, new AtomicLong());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.Bank_Loan_Management.config;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+// Polls the replica's replication lag; reads only go to the replica while the last check was within tolerance.
+// Starts unusable so nothing is routed to a replica whose lag has not been measured yet.
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String[] LAG_COLUMNS = {"Seconds_Behind_Source", "Seconds_Behind_Master"};
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+
+    private volatile boolean replicaUsable;
+    private volatile long lastLagSeconds = -1;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, String lagQuery, long maxLagSeconds) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public long getLastLagSeconds() {
+        return lastLagSeconds;
+    }
+
+    @Scheduled(initialDelayString = "${datasource.replica.lag-check-initial-delay-ms:1000}",
+            fixedDelayString = "${datasource.replica.lag-check-ms:5000}")
+    public void check() {
+        Long lag;
+        try {
+            lag = replica.query(lagQuery, rs -> rs.next() ? readLag(rs) : null);
+        } catch (DataAccessException e) {
+            logger.warn("Replica lag check failed: {}", e.getMessage());
+            lag = null;
+        }
+        // A null lag means replication is stopped or the replica is unreachable
+        boolean usable = lag != null && lag <= maxLagSeconds;
+        lastLagSeconds = lag != null ? lag : -1;
+        if (usable != replicaUsable) {
+            if (usable) {
+                logger.info("Routing read-only transactions to the replica (lag {}s)", lag);
+            } else {
+                logger.warn("Routing read-only transactions to the primary (replica lag {}s, tolerance {}s)",
+                        lag, maxLagSeconds);
+            }
+        }
+        replicaUsable = usable;
+    }
+
+    private static Long readLag(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int column = 1;
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            for (String name : LAG_COLUMNS) {
+                if (name.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                    column = i;
+                }
+            }
+        }
+        long lag = rs.getLong(column);
+        return rs.wasNull() ? null : lag;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.Bank_Loan_Management.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Routes read-only transactions to the replica pool and everything else to the primary. Must sit behind a
+// LazyConnectionDataSourceProxy so the lookup happens after the transaction's read-only flag is set.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private static final int STICKY_PURGE_THRESHOLD = 1024;
+
+    // Set while a read must see the primary without counting as the user's write
+    private static final ThreadLocal<Boolean> PRIMARY_READ = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final long stickyWindowMillis;
+
+    // Username -> time until which that user's reads stay on the primary after a committed write
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final AtomicLong primaryConnections = new AtomicLong();
+    private final AtomicLong replicaConnections = new AtomicLong();
+
+    public ReplicaRoutingDataSource(ReplicaLagMonitor lagMonitor, long stickyWindowMillis) {
+        this.lagMonitor = lagMonitor;
+        this.stickyWindowMillis = stickyWindowMillis;
+    }
+
+    // Runs a read-only transaction against the primary, e.g. a lookup whose result is cached and must not
+    // capture replica lag. Only transactions that may write make the user sticky.
+    public static <T> T onPrimary(Supplier<T> read) {
+        Boolean previous = PRIMARY_READ.get();
+        PRIMARY_READ.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_READ.remove();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String username = currentUsername();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (PRIMARY_READ.get() == null && lagMonitor.isReplicaUsable() && !isSticky(username)) {
+                replicaConnections.incrementAndGet();
+                return Route.REPLICA;
+            }
+        } else if (username != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordWrite(username);
+                }
+            });
+        }
+        primaryConnections.incrementAndGet();
+        return Route.PRIMARY;
+    }
+
+    public Map<String, Object> getRoutingStats() {
+        return Map.of(
+                "primaryConnections", primaryConnections.get(),
+                "replicaConnections", replicaConnections.get(),
+                "stickyUsers", stickyUntil.size(),
+                "replicaUsable", lagMonitor.isReplicaUsable(),
+                "replicaLagSeconds", lagMonitor.getLastLagSeconds());
+    }
+
+    private boolean isSticky(String username) {
+        if (username == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(username);
+        if (until == null) {
+            return false;
+        }
+        if (until < System.currentTimeMillis()) {
+            stickyUntil.remove(username, until);
+            return false;
+        }
+        return true;
+    }
+
+    private void recordWrite(String username) {
+        long now = System.currentTimeMillis();
+        stickyUntil.put(username, now + stickyWindowMillis);
+        if (stickyUntil.size() > STICKY_PURGE_THRESHOLD) {
+            stickyUntil.values().removeIf(until -> until < now);
+        }
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.Bank_Loan_Management.config;
+
+import javax.sql.DataSource;
+
+import org.hibernate.engine.jdbc.connections.spi.AbstractDataSourceBasedMultiTenantConnectionProviderImpl;
+
+// Hibernate tenant == shard number; each session takes its connections from that shard's pool
+public class ShardConnectionProvider extends AbstractDataSourceBasedMultiTenantConnectionProviderImpl<String> {
+
+    private final transient ShardDataSources shardDataSources;
+
+    public ShardConnectionProvider(ShardDataSources shardDataSources) {
+        this.shardDataSources = shardDataSources;
+    }
+
+    @Override
+    protected DataSource selectAnyDataSource() {
+        return shardDataSources.get(ShardContext.DEFAULT_SHARD);
+    }
+
+    @Override
+    protected DataSource selectDataSource(String tenantIdentifier) {
+        return shardDataSources.get(Integer.parseInt(tenantIdentifier));
+    }
+}
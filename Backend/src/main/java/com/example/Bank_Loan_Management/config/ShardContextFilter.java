@@ -0,0 +1,66 @@
+package com.example.Bank_Loan_Management.config;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.Bank_Loan_Management.service.ShardDirectory;
+import com.example.Bank_Loan_Management.service.ShardRouter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Runs after the security chain and pins the request thread to the authenticated user's shard, so
+// everything the user does to their own loans and documents goes to that shard without further routing
+@Component
+public class ShardContextFilter extends OncePerRequestFilter {
+
+    private final ShardRouter shardRouter;
+    private final ShardDirectory shardDirectory;
+
+    public ShardContextFilter(ShardRouter shardRouter, ShardDirectory shardDirectory) {
+        this.shardRouter = shardRouter;
+        this.shardDirectory = shardDirectory;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !shardRouter.isSharded();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // The placement may be up to sharding.directory-cache-ms old; the rebalancer waits that long after
+        // flagging a user before it copies their rows, so a flag set on another instance is seen in time
+        ShardDirectory.Placement placement = shardDirectory.find(authentication.getName());
+        if (placement != null && placement.moving()) {
+            // The rebalancer holds this user's rows; writes now could land on the shard being vacated
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "5");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Account is being moved, please retry shortly\"}");
+            return;
+        }
+
+        ShardContext.set(placement != null ? placement.shard() : ShardContext.DEFAULT_SHARD);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ShardContext.clear();
+        }
+    }
+}
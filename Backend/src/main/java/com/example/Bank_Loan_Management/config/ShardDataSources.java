@@ -0,0 +1,40 @@
+package com.example.Bank_Loan_Management.config;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+// Connection pools by shard number. Shard 0 is always the application's own DataSource, so with
+// sharding disabled this holds just that one pool and every caller behaves as before.
+public class ShardDataSources {
+
+    private final List<DataSource> dataSources;
+
+    public ShardDataSources(List<DataSource> dataSources) {
+        this.dataSources = List.copyOf(dataSources);
+    }
+
+    public int count() {
+        return dataSources.size();
+    }
+
+    public DataSource get(int shard) {
+        if (shard < 0 || shard >= dataSources.size()) {
+            throw new IllegalArgumentException("No such shard: " + shard);
+        }
+        return dataSources.get(shard);
+    }
+
+    public List<DataSource> all() {
+        return dataSources;
+    }
+
+    // Shard 0 belongs to Spring Boot and is closed by it
+    public void close() throws Exception {
+        for (int shard = 1; shard < dataSources.size(); shard++) {
+            if (dataSources.get(shard) instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
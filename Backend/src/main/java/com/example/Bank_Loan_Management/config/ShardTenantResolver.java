@@ -0,0 +1,16 @@
+package com.example.Bank_Loan_Management.config;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+public class ShardTenantResolver implements CurrentTenantIdentifierResolver<String> {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return String.valueOf(ShardContext.current());
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+}
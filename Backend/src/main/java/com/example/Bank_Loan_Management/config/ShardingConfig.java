@@ -0,0 +1,100 @@
+package com.example.Bank_Loan_Management.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.Bank_Loan_Management.service.SqlStatementStatistics;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// With sharding.enabled=true users, their loans and their documents are spread over sharding.count
+// databases. Shard 0 is spring.datasource (and also holds the shard directory); shards 1..n-1 come from
+// sharding.shards.<n>.url and are migrated here with the same Flyway scripts.
+@Configuration
+public class ShardingConfig {
+
+    // Ids allocated on shard n start at n << ID_SHARD_SHIFT, so an id tells which shard created the row
+    public static final int ID_SHARD_SHIFT = 40;
+
+    private static final String[] GENERATED_TABLES = {"users", "interest_rates", "loan_applications", "documents"};
+
+    @Bean(destroyMethod = "close")
+    public ShardDataSources shardDataSources(DataSource dataSource, DataSourceProperties properties, Environment environment,
+                                             MeterRegistry meterRegistry,
+                                             SqlStatementStatistics sqlStatementStatistics,
+                                             @Value("${sharding.enabled:false}") boolean enabled,
+                                             @Value("${sharding.count:1}") int count,
+                                             @Value("${sharding.pool-size:10}") int poolSize,
+                                             @Value("${sql.statistics.enabled:true}") boolean statementStatistics) {
+        List<DataSource> dataSources = new ArrayList<>();
+        dataSources.add(dataSource);
+        if (!enabled) {
+            return new ShardDataSources(dataSources);
+        }
+        for (int shard = 1; shard < count; shard++) {
+            String prefix = "sharding.shards." + shard + ".";
+            String url = environment.getProperty(prefix + "url");
+            if (url == null) {
+                throw new IllegalStateException(prefix + "url must be set when sharding.count is " + count);
+            }
+            HikariDataSource shardDataSource = new HikariDataSource();
+            shardDataSource.setPoolName("shard-" + shard);
+            shardDataSource.setDriverClassName(properties.determineDriverClassName());
+            shardDataSource.setJdbcUrl(url);
+            shardDataSource.setUsername(environment.getProperty(prefix + "username", properties.getUsername()));
+            shardDataSource.setPassword(environment.getProperty(prefix + "password", properties.getPassword()));
+            shardDataSource.setMaximumPoolSize(poolSize);
+            // Not a bean, so Boot's pool metrics do not see it; reported as hikaricp.* with pool=shard-n
+            shardDataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            migrate(shardDataSource, shard, environment);
+            // Shard 0 is the dataSource bean, which SqlStatisticsConfig has already wrapped
+            dataSources.add(statementStatistics
+                    ? new StatementStatisticsDataSource(shardDataSource, sqlStatementStatistics)
+                    : shardDataSource);
+        }
+        return new ShardDataSources(dataSources);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+    public HibernatePropertiesCustomizer shardingHibernateProperties(ShardDataSources shardDataSources) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER, new ShardConnectionProvider(shardDataSources));
+            hibernateProperties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, new ShardTenantResolver());
+        };
+    }
+
+    // Shard 0 is migrated by Spring Boot's Flyway initializer; the others are migrated here
+    private static void migrate(DataSource dataSource, int shard, Environment environment) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations(environment.getProperty("spring.flyway.locations", String[].class,
+                        new String[] {"classpath:db/migration"}))
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        long floor = ((long) shard << ID_SHARD_SHIFT) + 1;
+        for (String table : GENERATED_TABLES) {
+            jdbcTemplate.update("UPDATE id_generators SET next_val = ? WHERE sequence_name = ? AND next_val < ?",
+                    floor, table, floor);
+        }
+    }
+}
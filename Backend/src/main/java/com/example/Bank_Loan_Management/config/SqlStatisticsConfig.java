@@ -0,0 +1,32 @@
+package com.example.Bank_Loan_Management.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.Bank_Loan_Management.service.SqlStatementStatistics;
+
+// Wraps the application's DataSource (whether Boot's pool or the replica router) so every statement is
+// counted in SqlStatementStatistics; ShardingConfig wraps the extra shard pools the same way
+@Configuration
+@ConditionalOnProperty(name = "sql.statistics.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatisticsConfig {
+
+    @Bean
+    public static BeanPostProcessor statementStatisticsPostProcessor(ObjectProvider<SqlStatementStatistics> statistics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof StatementStatisticsDataSource)) {
+                    return new StatementStatisticsDataSource(dataSource, statistics.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.Bank_Loan_Management.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.example.Bank_Loan_Management.service.SqlStatementStatistics;
+
+// Times every statement executed through the wrapped pool and counts the rows it returned or changed.
+// Connections, statements and result sets are JDK proxies; everything else passes straight through.
+public class StatementStatisticsDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final SqlStatementStatistics statistics;
+
+    public StatementStatisticsDataSource(DataSource target, SqlStatementStatistics statistics) {
+        super(target);
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    // Wrapping hides the pool's own close method from Spring's destroy-method inference
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(StatementStatisticsDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private abstract static class DelegatingHandler implements InvocationHandler {
+
+        private final Object target;
+
+        DelegatingHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> handle(method, args);
+            };
+        }
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        final Object delegate(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private final class ConnectionHandler extends DelegatingHandler {
+
+        ConnectionHandler(Connection target) {
+            super(target);
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = delegate(method, args);
+            return switch (method.getName()) {
+                case "prepareStatement", "prepareCall" ->
+                        proxy(method.getReturnType(), new StatementHandler((Statement) result, (String) args[0]));
+                case "createStatement" -> proxy(Statement.class, new StatementHandler((Statement) result, null));
+                default -> result;
+            };
+        }
+    }
+
+    private final class StatementHandler extends DelegatingHandler {
+
+        private String sql;
+        // Bound values are kept only so a slow statement can report their types and sizes, never the values
+        private final List<Object> binds = new ArrayList<>();
+        private int batchSize;
+        private SqlStatementStatistics.Entry lastEntry;
+
+        StatementHandler(Statement target, String sql) {
+            super(target);
+            this.sql = sql;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                binds.clear();
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+                if (args != null && args.length == 1 && args[0] instanceof String batchSql) {
+                    sql = batchSql;
+                }
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+            }
+            Object result = delegate(method, args);
+            if (name.equals("getResultSet") && result instanceof ResultSet resultSet && lastEntry != null) {
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet, lastEntry));
+            }
+            return result;
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            String executed = args != null && args.length > 0 && args[0] instanceof String statementSql ? statementSql : sql;
+            int batched = batchSize;
+            batchSize = 0;
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = delegate(method, args);
+            } catch (Throwable e) {
+                record(executed, System.nanoTime() - start, false, batched);
+                throw e;
+            }
+            SqlStatementStatistics.Entry entry = record(executed, System.nanoTime() - start, true, batched);
+            if (result instanceof ResultSet resultSet) {
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet, entry));
+            }
+            if (result instanceof Number updated) {
+                entry.addRows(updated.longValue());
+            } else if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    entry.addRows(count);
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    entry.addRows(count);
+                }
+            }
+            return result;
+        }
+
+        private SqlStatementStatistics.Entry record(String executed, long elapsedNanos, boolean success, int batched) {
+            if (executed == null) {
+                executed = "<unknown>";
+            }
+            lastEntry = statistics.record(executed, elapsedNanos, success, () -> bindShape(batched));
+            return lastEntry;
+        }
+
+        private void bind(int index, Object value) {
+            while (binds.size() < index) {
+                binds.add(null);
+            }
+            binds.set(index - 1, value);
+        }
+
+        private String bindShape(int batched) {
+            StringJoiner shape = new StringJoiner(", ", batched > 0 ? batched + " x [" : "[", "]");
+            for (Object value : binds) {
+                if (value == null) {
+                    shape.add("null");
+                } else if (value instanceof CharSequence text) {
+                    shape.add("String(" + text.length() + ")");
+                } else if (value instanceof byte[] bytes) {
+                    shape.add("bytes(" + bytes.length + ")");
+                } else {
+                    shape.add(value.getClass().getSimpleName());
+                }
+            }
+            return shape.toString();
+        }
+    }
+
+    private static final class ResultSetHandler extends DelegatingHandler {
+
+        private final SqlStatementStatistics.Entry entry;
+        private long rows;
+        private boolean reported;
+
+        ResultSetHandler(ResultSet target, SqlStatementStatistics.Entry entry) {
+            super(target);
+            this.entry = entry;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = delegate(method, args);
+            switch (method.getName()) {
+                case "next" -> {
+                    if (Boolean.TRUE.equals(result)) {
+                        rows++;
+                    } else {
+                        report();
+                    }
+                }
+                case "close" -> report();
+                default -> {
+                }
+            }
+            return result;
+        }
+
+        private void report() {
+            if (!reported) {
+                reported = true;
+                entry.addRows(rows);
+            }
+        }
+    }
+}
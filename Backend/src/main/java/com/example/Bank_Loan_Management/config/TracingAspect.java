@@ -0,0 +1,82 @@
+package com.example.Bank_Loan_Management.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+
+// One span per call into the loan controller, the loan and document services, file storage, the
+// notification sink and the repositories. Only public calls through the Spring proxy are seen.
+@Aspect
+@Component
+public class TracingAspect {
+
+    private static final String BASE_PACKAGE = "com.example.Bank_Loan_Management";
+
+    private final Tracer tracer;
+    private final Map<Class<?>, String> componentNames = new ConcurrentHashMap<>();
+
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("within(com.example.Bank_Loan_Management.controller.LoanController)"
+            + " || within(com.example.Bank_Loan_Management.service.LoanService)"
+            + " || within(com.example.Bank_Loan_Management.service.DocumentService)"
+            + " || within(com.example.Bank_Loan_Management.service.DocumentStorageService)"
+            + " || within(com.example.Bank_Loan_Management.service.NotificationSink+)")
+    public Object traceComponent(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint);
+    }
+
+    // Repository calls only join a trace that is already open; the outbox relay polls every few hundred
+    // milliseconds and each poll would otherwise start a trace of its own
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!Span.current().getSpanContext().isValid()) {
+            return joinPoint.proceed();
+        }
+        return trace(joinPoint);
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        String component = componentName(joinPoint.getTarget());
+        String method = joinPoint.getSignature().getName();
+        Span span = tracer.spanBuilder(component + "." + method)
+                .setAttribute("code.namespace", component)
+                .setAttribute("code.function", method)
+                .startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR, e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    // Repositories are JDK proxies, so name them after the repository interface they implement
+    private String componentName(Object target) {
+        return componentNames.computeIfAbsent(target.getClass(), type -> {
+            if (target instanceof Repository<?, ?>) {
+                for (Class<?> contract : type.getInterfaces()) {
+                    if (contract.getName().startsWith(BASE_PACKAGE)) {
+                        return contract.getSimpleName();
+                    }
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.Bank_Loan_Management.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Tracer;
+
+// Boot wires the OpenTelemetry SDK (and the Micrometer bridge that opens the HTTP server spans); our own
+// spans come from this tracer so they nest under the request span and share its trace id
+@Configuration
+public class TracingConfig {
+
+    public static final String INSTRUMENTATION_NAME = "com.example.Bank_Loan_Management";
+
+    @Bean
+    public Tracer tracer(ObjectProvider<OpenTelemetry> openTelemetry) {
+        return openTelemetry.getIfAvailable(OpenTelemetry::noop).getTracer(INSTRUMENTATION_NAME);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.Bank_Loan_Management.controller;
+
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.Bank_Loan_Management.service.ArchivalService;
+
+@RestController
+@RequestMapping("/api/admin/archive")
+public class ArchiveAdminController {
+
+    private final ArchivalService archivalService;
+
+    public ArchiveAdminController(ArchivalService archivalService) {
+        this.archivalService = archivalService;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getLastArchival() {
+        ArchivalService.ArchivalReport report = archivalService.getLastReport();
+        if (report == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Archival has not run yet"));
+        }
+        return ResponseEntity.ok(report);
+    }
+
+    @PostMapping
+    public ResponseEntity<?> runArchival() {
+        try {
+            return ResponseEntity.ok(archivalService.archive());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+}
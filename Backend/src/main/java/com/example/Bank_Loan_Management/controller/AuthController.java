@@ -1,5 +1,6 @@
 package com.example.Bank_Loan_Management.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -7,7 +8,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -18,21 +18,19 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.Bank_Loan_Management.entity.User;
-import com.example.Bank_Loan_Management.repository.UserRepository;
 import com.example.Bank_Loan_Management.service.AuthService;
+import com.example.Bank_Loan_Management.service.EntityCacheService;
 
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
 
     private final AuthService authService;
-    private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final EntityCacheService entityCacheService;
 
-    public AuthController(AuthService authService, UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public AuthController(AuthService authService, EntityCacheService entityCacheService) {
         this.authService = authService;
-        this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.entityCacheService = entityCacheService;
     }
 
     @PostMapping("/register")
@@ -66,8 +64,10 @@ public class AuthController {
     // Admin endpoints for user management
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin/users")
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userRepository.findAll();
+    public ResponseEntity<List<UserDTO>> getAllUsers() {
+        List<UserDTO> users = authService.getAllUsers().stream()
+                .map(UserDTO::from)
+                .toList();
         return ResponseEntity.ok(users);
     }
 
@@ -87,15 +87,9 @@ public class AuthController {
     @PutMapping("/admin/users/{id}")
     public ResponseEntity<?> updateUser(@PathVariable Long id, @RequestBody UpdateUserRequest request) {
         try {
-            User user = userRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-            if (request.getUsername() != null) user.setUsername(request.getUsername());
-            if (request.getEmail() != null) user.setEmail(request.getEmail());
-            if (request.getRole() != null) user.setRole(User.Role.valueOf(request.getRole().toUpperCase()));
-            if (request.getPassword() != null && !request.getPassword().isEmpty()) {
-                user.setPassword(passwordEncoder.encode(request.getPassword()));
-            }
-            User savedUser = userRepository.save(user);
+            User savedUser = authService.updateUser(id, request.getUsername(), request.getEmail(),
+                    request.getRole(), request.getPassword());
+            entityCacheService.evictUser(id);
             return ResponseEntity.ok(savedUser);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -106,13 +100,21 @@ public class AuthController {
     @DeleteMapping("/admin/users/{id}")
     public ResponseEntity<?> deleteUser(@PathVariable Long id) {
         try {
-            userRepository.deleteById(id);
+            authService.deleteUser(id);
+            entityCacheService.evictUser(id);
             return ResponseEntity.ok(Map.of("message", "User deleted successfully"));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
+    public record UserDTO(Long id, String username, String email, User.Role role, LocalDateTime createdAt) {
+
+        public static UserDTO from(User user) {
+            return new UserDTO(user.getId(), user.getUsername(), user.getEmail(), user.getRole(), user.getCreatedAt());
+        }
+    }
+
     public static class RegisterRequest {
         private String username;
         private String password;
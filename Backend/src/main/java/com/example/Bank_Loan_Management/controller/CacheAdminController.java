@@ -0,0 +1,33 @@
+package com.example.Bank_Loan_Management.controller;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.Bank_Loan_Management.service.EntityCacheService;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+public class CacheAdminController {
+
+    private final EntityCacheService entityCacheService;
+
+    public CacheAdminController(EntityCacheService entityCacheService) {
+        this.entityCacheService = entityCacheService;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(entityCacheService.getStatistics());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Map<String, String>> evictAll() {
+        entityCacheService.evictAll();
+        return ResponseEntity.ok(Map.of("message", "Second-level cache cleared"));
+    }
+}
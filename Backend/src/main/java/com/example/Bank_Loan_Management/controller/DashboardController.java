@@ -0,0 +1,112 @@
+package com.example.Bank_Loan_Management.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.Bank_Loan_Management.controller.AuthController.UserDTO;
+import com.example.Bank_Loan_Management.controller.LoanController.DocumentDTO;
+import com.example.Bank_Loan_Management.controller.LoanController.LoanManagerDTO;
+import com.example.Bank_Loan_Management.controller.LoanController.LoanSummaryDTO;
+import com.example.Bank_Loan_Management.entity.Document;
+import com.example.Bank_Loan_Management.entity.InterestRate;
+import com.example.Bank_Loan_Management.entity.LoanApplication;
+import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.repository.UserRepository;
+import com.example.Bank_Loan_Management.service.DashboardService;
+
+// One request per dashboard load: the signed-in user plus whatever the role's dashboard shows first, in the
+// same shapes as the separate endpoints
+@RestController
+@RequestMapping("/api")
+public class DashboardController {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardController.class);
+
+    private final DashboardService dashboardService;
+    private final UserRepository userRepository;
+
+    public DashboardController(DashboardService dashboardService, UserRepository userRepository) {
+        this.dashboardService = dashboardService;
+        this.userRepository = userRepository;
+    }
+
+    @GetMapping("/user/dashboard")
+    public ResponseEntity<?> getCustomerDashboard(@AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            User user = currentUser(userDetails);
+            DashboardService.CustomerView view = dashboardService.customer(user);
+            return ResponseEntity.ok(new CustomerDashboard(
+                    UserDTO.from(user),
+                    view.loans().stream().map(LoanSummaryDTO::from).toList(),
+                    view.documents(),
+                    view.interestRates()));
+        } catch (RuntimeException e) {
+            return failed(userDetails, e);
+        }
+    }
+
+    @GetMapping("/loan-manager/dashboard")
+    public ResponseEntity<?> getLoanManagerDashboard(@AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            User user = currentUser(userDetails);
+            DashboardService.LoanManagerView view = dashboardService.loanManager();
+            return ResponseEntity.ok(new LoanManagerDashboard(
+                    UserDTO.from(user),
+                    view.loanCounts(),
+                    view.documentCounts(),
+                    view.loanQueue().stream().map(LoanManagerDTO::from).toList(),
+                    view.documentQueue().stream().map(DocumentDTO::from).toList()));
+        } catch (RuntimeException e) {
+            return failed(userDetails, e);
+        }
+    }
+
+    @GetMapping("/manager/dashboard")
+    public ResponseEntity<?> getManagerDashboard(@AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            User user = currentUser(userDetails);
+            DashboardService.ManagerView view = dashboardService.manager();
+            return ResponseEntity.ok(new ManagerDashboard(
+                    UserDTO.from(user),
+                    view.loanCounts(),
+                    view.loanQueue().stream().map(LoanManagerDTO::from).toList(),
+                    view.interestRates()));
+        } catch (RuntimeException e) {
+            return failed(userDetails, e);
+        }
+    }
+
+    private User currentUser(UserDetails userDetails) {
+        return userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    private ResponseEntity<?> failed(UserDetails userDetails, RuntimeException e) {
+        logger.error("Error building the dashboard for user: {}", userDetails.getUsername(), e);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
+    }
+
+    public record CustomerDashboard(UserDTO user, List<LoanSummaryDTO> loans, List<Document> documents,
+                                    List<InterestRate> interestRates) {
+    }
+
+    // Counts cover every status; the queues hold the first dashboard.queue-size rows, oldest first
+    public record LoanManagerDashboard(UserDTO user, Map<LoanApplication.Status, Long> loanCounts,
+                                       Map<Document.Status, Long> documentCounts, List<LoanManagerDTO> loanQueue,
+                                       List<DocumentDTO> documentQueue) {
+    }
+
+    public record ManagerDashboard(UserDTO user, Map<LoanApplication.Status, Long> loanCounts,
+                                   List<LoanManagerDTO> loanQueue, List<InterestRate> interestRates) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.Bank_Loan_Management.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.Bank_Loan_Management.config.ReplicaRoutingDataSource;
+
+@RestController
+@RequestMapping("/api/admin/datasource")
+public class DataSourceAdminController {
+
+    private final ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource;
+
+    public DataSourceAdminController(ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource) {
+        this.replicaRoutingDataSource = replicaRoutingDataSource;
+    }
+
+    @GetMapping("/routing")
+    public ResponseEntity<Map<String, Object>> getRoutingStats() {
+        ReplicaRoutingDataSource routing = replicaRoutingDataSource.getIfAvailable();
+        if (routing == null) {
+            return ResponseEntity.ok(Map.of("replicaConfigured", false));
+        }
+        return ResponseEntity.ok(Map.of("replicaConfigured", true, "routing", routing.getRoutingStats()));
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.Bank_Loan_Management.controller;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.Bank_Loan_Management.event.DomainEventBus;
+import com.example.Bank_Loan_Management.service.EventStatisticsService;
+import com.example.Bank_Loan_Management.service.StatusStreamService;
+
+@RestController
+@RequestMapping("/api/admin/events")
+public class EventAdminController {
+
+    private final DomainEventBus domainEventBus;
+    private final EventStatisticsService eventStatisticsService;
+    private final StatusStreamService statusStreamService;
+
+    public EventAdminController(DomainEventBus domainEventBus, EventStatisticsService eventStatisticsService,
+                                StatusStreamService statusStreamService) {
+        this.domainEventBus = domainEventBus;
+        this.eventStatisticsService = eventStatisticsService;
+        this.statusStreamService = statusStreamService;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getEventStats() {
+        return ResponseEntity.ok(Map.of(
+                "capacity", domainEventBus.getCapacity(),
+                "published", domainEventBus.getPublishedCount(),
+                "dropped", domainEventBus.getDroppedCount(),
+                "backlog", domainEventBus.getBacklog(),
+                "transitions", eventStatisticsService.getTransitionCounts(),
+                "streamSubscribers", statusStreamService.getSubscriberCount()));
+    }
+}
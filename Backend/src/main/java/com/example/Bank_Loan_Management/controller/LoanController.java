@@ -1,14 +1,17 @@
 package com.example.Bank_Loan_Management.controller;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -22,6 +25,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.example.Bank_Loan_Management.entity.Document;
@@ -30,8 +34,12 @@ import com.example.Bank_Loan_Management.entity.LoanApplication;
 import com.example.Bank_Loan_Management.entity.User;
 import com.example.Bank_Loan_Management.repository.InterestRateRepository;
 import com.example.Bank_Loan_Management.repository.UserRepository;
+import com.example.Bank_Loan_Management.service.ChangeStampService;
 import com.example.Bank_Loan_Management.service.DocumentService;
+import com.example.Bank_Loan_Management.service.EntityCacheService;
 import com.example.Bank_Loan_Management.service.LoanService;
+import com.example.Bank_Loan_Management.service.ShardRouter;
+import com.example.Bank_Loan_Management.service.SparseFieldsetService;
 
 @RestController
 @RequestMapping("/api")
@@ -39,16 +47,30 @@ public class LoanController {
 
     private static final Logger logger = LoggerFactory.getLogger(LoanController.class);
 
+    // Replaces Spring Security's no-store on the polled lists so browsers keep the body and revalidate it
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final LoanService loanService;
     private final UserRepository userRepository;
     private final DocumentService documentService;
     private final InterestRateRepository interestRateRepository;
-
-    public LoanController(LoanService loanService, UserRepository userRepository, DocumentService documentService, InterestRateRepository interestRateRepository) {
+    private final EntityCacheService entityCacheService;
+    private final ShardRouter shardRouter;
+    private final ChangeStampService changeStampService;
+    private final SparseFieldsetService sparseFieldsetService;
+
+    public LoanController(LoanService loanService, UserRepository userRepository, DocumentService documentService,
+                          InterestRateRepository interestRateRepository, EntityCacheService entityCacheService,
+                          ShardRouter shardRouter, ChangeStampService changeStampService,
+                          SparseFieldsetService sparseFieldsetService) {
         this.loanService = loanService;
         this.userRepository = userRepository;
         this.documentService = documentService;
         this.interestRateRepository = interestRateRepository;
+        this.entityCacheService = entityCacheService;
+        this.shardRouter = shardRouter;
+        this.changeStampService = changeStampService;
+        this.sparseFieldsetService = sparseFieldsetService;
     }
 
     // User endpoints
@@ -57,9 +79,6 @@ public class LoanController {
                                             @RequestParam("file") MultipartFile file,
                                             @RequestParam("documentType") String documentType) {
         try {
-            logger.info("Document upload request for user: {}, documentType: {}", 
-                       userDetails.getUsername(), documentType);
-            
             if (userDetails == null) {
                 logger.warn("Unauthorized document upload attempt - no authentication");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Authentication required");
@@ -72,7 +91,6 @@ public class LoanController {
             }
             
             User user = userOpt.get();
-            logger.info("Found user: {} (ID: {})", user.getUsername(), user.getId());
             
             if (file.isEmpty()) {
                 logger.warn("Empty file uploaded for user: {}", user.getUsername());
@@ -85,7 +103,7 @@ public class LoanController {
             }
             
             Document document = documentService.uploadDocument(user, file, documentType);
-            logger.info("Document uploaded successfully: {} for user: {}", document.getFileName(), user.getUsername());
+            logger.info("Document {} ({}, {} bytes) uploaded by {}", document.getId(), documentType, file.getSize(), user.getUsername());
             return ResponseEntity.ok(document);
             
         } catch (IOException e) {
@@ -100,13 +118,17 @@ public class LoanController {
     }
 
     @GetMapping("/user/documents")
-    public ResponseEntity<?> getMyDocuments(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<?> getMyDocuments(@AuthenticationPrincipal UserDetails userDetails, WebRequest webRequest) {
         try {
-            logger.info("Fetching documents for user: {}", userDetails.getUsername());
-            
             if (userDetails == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Authentication required");
             }
+
+            // Taken before the lookup so a change committed while the list is read gets a newer stamp
+            ChangeStampService.Stamp stamp = changeStampService.documents(userDetails.getUsername());
+            if (webRequest.checkNotModified(stamp.etag(), stamp.lastModified())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+            }
             
             Optional<User> userOpt = userRepository.findByUsername(userDetails.getUsername());
             if (userOpt.isEmpty()) {
@@ -115,8 +137,8 @@ public class LoanController {
             
             User user = userOpt.get();
             List<Document> documents = documentService.getDocumentsByUser(user);
-            logger.info("Found {} documents for user: {}", documents.size(), user.getUsername());
-            return ResponseEntity.ok(documents);
+            logger.debug("Found {} documents for user: {}", documents.size(), user.getUsername());
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(documents);
             
         } catch (Exception e) {
             logger.error("Error fetching documents for user: {}", userDetails.getUsername(), e);
@@ -129,8 +151,8 @@ public class LoanController {
     public ResponseEntity<?> applyForLoan(@AuthenticationPrincipal UserDetails userDetails,
                                            @RequestBody LoanApplicationRequest request) {
         try {
-            logger.info("Loan application request for user: {}", userDetails != null ? userDetails.getUsername() : "null");
-            logger.info("Request data - amount: {}, term: {}, purpose: {}", request.getAmount(), request.getTerm(), request.getPurpose());
+            logger.debug("Loan application request from {}: amount {}, term {}, purpose {}",
+                    userDetails != null ? userDetails.getUsername() : "null", request.getAmount(), request.getTerm(), request.getPurpose());
 
             if (userDetails == null) {
                 logger.warn("No authentication provided");
@@ -144,14 +166,10 @@ public class LoanController {
             }
 
             User user = userOpt.get();
-            logger.info("Found user: {} (ID: {})", user.getUsername(), user.getId());
 
             // Check if user has uploaded at least one document
             List<Document> userDocuments = documentService.getDocumentsByUser(user);
-            logger.info("User {} has {} documents", user.getUsername(), userDocuments.size());
-            for (Document doc : userDocuments) {
-                logger.info("Document: ID={}, Type={}, Status={}", doc.getId(), doc.getDocumentType(), doc.getStatus());
-            }
+            logger.debug("User {} has {} documents", user.getUsername(), userDocuments.size());
 
             if (userDocuments.isEmpty()) {
                 // Check if user has any previous loan applications
@@ -160,17 +178,16 @@ public class LoanController {
                     logger.warn("User {} has no documents uploaded and no previous loans - rejecting application", user.getUsername());
                     return ResponseEntity.badRequest().body("Please upload at least one document before applying for loan.");
                 } else {
-                    logger.info("User {} has previous loans, allowing application without new documents", user.getUsername());
+                    logger.debug("User {} has previous loans, allowing application without new documents", user.getUsername());
                 }
             }
 
-            logger.info("Creating loan application for user {}", user.getUsername());
             LoanApplication application = loanService.applyForLoan(user, request.getAmount(), request.getTerm(), request.getPurpose());
             logger.info("Loan application created successfully: {} for user: {}", application.getId(), user.getUsername());
 
             // Associate uploaded documents with the loan application
             documentService.associateDocumentsWithLoan(user, application);
-            logger.info("Documents associated with loan application {}", application.getId());
+            logger.debug("Documents associated with loan application {}", application.getId());
 
             return ResponseEntity.ok(application);
 
@@ -183,36 +200,29 @@ public class LoanController {
 
     // Public interest rates endpoint for all authenticated users
     @GetMapping("/user/interest-rates")
-    public ResponseEntity<List<InterestRate>> getInterestRatesForUsers() {
+    public ResponseEntity<List<InterestRate>> getInterestRatesForUsers(WebRequest webRequest) {
+        ChangeStampService.Stamp stamp = changeStampService.interestRates();
+        if (webRequest.checkNotModified(stamp.etag(), stamp.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
         List<InterestRate> rates = interestRateRepository.findAll();
-        return ResponseEntity.ok(rates);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(rates);
     }
 
     @GetMapping("/user/loans")
-    public ResponseEntity<List<LoanSummaryDTO>> getMyLoans(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<List<LoanSummaryDTO>> getMyLoans(@AuthenticationPrincipal UserDetails userDetails,
+                                                           WebRequest webRequest) {
+        ChangeStampService.Stamp stamp = changeStampService.loans(userDetails.getUsername());
+        if (webRequest.checkNotModified(stamp.etag(), stamp.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
         User user = userRepository.findByUsername(userDetails.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found"));
         List<LoanApplication> loans = loanService.getLoansByUser(user);
         List<LoanSummaryDTO> loanSummaries = loans.stream()
-                .map(loan -> new LoanSummaryDTO(
-                        loan.getId(),
-                        loan.getAmount(),
-                        loan.getTerm(),
-                        loan.getPurpose(),
-                        loan.getStatus(),
-                        loan.getCreditScore(),
-                        loan.getAppliedDate(),
-                        loan.getDecisionDate(),
-                        loan.getApprovedAmount(),
-                        loan.getPaidAmount(),
-                        loan.getPendingAmount(),
-                        loan.getInterestRate(),
-                        loan.getUser(),
-                        loan.getLoanManager(),
-                        loan.getManager()
-                ))
+                .map(LoanSummaryDTO::from)
                 .toList();
-        return ResponseEntity.ok(loanSummaries);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(loanSummaries);
     }
 
     // Admin endpoints
@@ -220,23 +230,7 @@ public class LoanController {
     public ResponseEntity<List<LoanSummaryDTO>> getAllLoans() {
         List<LoanApplication> loans = loanService.getAllLoans();
         List<LoanSummaryDTO> loanSummaries = loans.stream()
-                .map(loan -> new LoanSummaryDTO(
-                        loan.getId(),
-                        loan.getAmount(),
-                        loan.getTerm(),
-                        loan.getPurpose(),
-                        loan.getStatus(),
-                        loan.getCreditScore(),
-                        loan.getAppliedDate(),
-                        loan.getDecisionDate(),
-                        loan.getApprovedAmount(),
-                        loan.getPaidAmount(),
-                        loan.getPendingAmount(),
-                        loan.getInterestRate(),
-                        loan.getUser(),
-                        loan.getLoanManager(),
-                        loan.getManager()
-                ))
+                .map(LoanSummaryDTO::from)
                 .toList();
         return ResponseEntity.ok(loanSummaries);
     }
@@ -246,23 +240,7 @@ public class LoanController {
         LoanApplication.Status enumStatus = LoanApplication.Status.valueOf(status.toUpperCase());
         List<LoanApplication> loans = loanService.getLoansByStatus(enumStatus);
         List<LoanSummaryDTO> loanSummaries = loans.stream()
-                .map(loan -> new LoanSummaryDTO(
-                        loan.getId(),
-                        loan.getAmount(),
-                        loan.getTerm(),
-                        loan.getPurpose(),
-                        loan.getStatus(),
-                        loan.getCreditScore(),
-                        loan.getAppliedDate(),
-                        loan.getDecisionDate(),
-                        loan.getApprovedAmount(),
-                        loan.getPaidAmount(),
-                        loan.getPendingAmount(),
-                        loan.getInterestRate(),
-                        loan.getUser(),
-                        loan.getLoanManager(),
-                        loan.getManager()
-                ))
+                .map(LoanSummaryDTO::from)
                 .toList();
         return ResponseEntity.ok(loanSummaries);
     }
@@ -276,36 +254,24 @@ public class LoanController {
     // Loan Manager endpoints
     @PostMapping("/loan-manager/documents/verify/{id}")
     public ResponseEntity<Document> verifyDocument(@PathVariable Long id) {
-        Document document = documentService.verifyDocument(id);
+        Document document = shardRouter.onShard(documentService.shardOfDocument(id), () -> documentService.verifyDocument(id));
         return ResponseEntity.ok(document);
     }
 
     @PostMapping("/loan-manager/documents/reject/{id}")
     public ResponseEntity<Document> rejectDocument(@PathVariable Long id) {
-        Document document = documentService.rejectDocument(id);
+        Document document = shardRouter.onShard(documentService.shardOfDocument(id), () -> documentService.rejectDocument(id));
         return ResponseEntity.ok(document);
     }
 
     @GetMapping("/loan-manager/documents")
     public ResponseEntity<List<DocumentDTO>> getAllDocumentsForVerification() {
-        logger.info("Fetching all documents for verification");
         try {
             List<Document> documents = documentService.getAllDocuments();
-            logger.info("Found {} documents in database", documents.size());
             List<DocumentDTO> documentDTOs = documents.stream()
-                    .map(doc -> new DocumentDTO(
-                            doc.getId(),
-                            doc.getUser().getId(),
-                            doc.getLoanApplication() != null ? doc.getLoanApplication().getId() : null,
-                            doc.getDocumentType(),
-                            doc.getFileName(),
-                            doc.getFilePath(),
-                            doc.getContentType(),
-                            doc.getFileSize(),
-                            doc.getStatus()
-                    ))
+                    .map(DocumentDTO::from)
                     .toList();
-            logger.info("Returning {} document DTOs", documentDTOs.size());
+            logger.debug("Returning {} documents for verification", documentDTOs.size());
             return ResponseEntity.ok(documentDTOs);
         } catch (Exception e) {
             logger.error("Error fetching documents for verification", e);
@@ -315,16 +281,17 @@ public class LoanController {
 
     @GetMapping("/loan-manager/documents/view/{id}")
     public ResponseEntity<Resource> viewDocument(@PathVariable Long id) {
-        logger.info("Viewing document with ID: {}", id);
         try {
-            Document document = documentService.getAllDocuments().stream()
-                    .filter(doc -> doc.getId().equals(id))
-                    .findFirst()
-                    .orElseThrow(() -> new RuntimeException("Document not found"));
-            logger.info("Found document: {} (file: {})", document.getId(), document.getFileName());
-
-            Resource resource = documentService.downloadDocument(id);
-            logger.info("Downloaded resource for document: {}", document.getFileName());
+            int shard = documentService.shardOfDocument(id);
+            Document document = shardRouter.onShard(shard, () -> documentService.getDocument(id));
+            Resource resource = shardRouter.onShard(shard, () -> {
+                try {
+                    return documentService.downloadDocument(id);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            logger.debug("Serving document {} ({})", id, document.getFileName());
 
             return ResponseEntity.ok()
                     .contentType(MediaType.parseMediaType(document.getContentType()))
@@ -340,23 +307,7 @@ public class LoanController {
     public ResponseEntity<List<LoanManagerDTO>> getLoansForVerification() {
         List<LoanApplication> loans = loanService.getAllLoans();
         List<LoanManagerDTO> loanSummaries = loans.stream()
-                .map(loan -> new LoanManagerDTO(
-                        loan.getId(),
-                        loan.getAmount(),
-                        loan.getTerm(),
-                        loan.getPurpose(),
-                        loan.getStatus(),
-                        loan.getCreditScore(),
-                        loan.getAppliedDate(),
-                        loan.getDecisionDate(),
-                        loan.getApprovedAmount(),
-                        loan.getPaidAmount(),
-                        loan.getPendingAmount(),
-                        loan.getInterestRate(),
-                        loan.getUser().getId(),
-                        loan.getUser().getUsername(),
-                        loan.getUser().getEmail()
-                ))
+                .map(LoanManagerDTO::from)
                 .toList();
         return ResponseEntity.ok(loanSummaries);
     }
@@ -365,7 +316,8 @@ public class LoanController {
     public ResponseEntity<LoanApplication> verifyLoanApplication(@PathVariable Long id, @AuthenticationPrincipal UserDetails userDetails) {
         User loanManager = userRepository.findByUsername(userDetails.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        LoanApplication application = loanService.verifyLoanApplication(id, loanManager);
+        LoanApplication application = shardRouter.onShard(loanService.shardOfApplication(id),
+                () -> loanService.verifyLoanApplication(id, loanManager));
         return ResponseEntity.ok(application);
     }
 
@@ -373,7 +325,8 @@ public class LoanController {
     public ResponseEntity<LoanApplication> rejectLoanApplication(@PathVariable Long id, @AuthenticationPrincipal UserDetails userDetails) {
         User loanManager = userRepository.findByUsername(userDetails.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        LoanApplication application = loanService.rejectLoanApplication(id, loanManager);
+        LoanApplication application = shardRouter.onShard(loanService.shardOfApplication(id),
+                () -> loanService.rejectLoanApplication(id, loanManager));
         return ResponseEntity.ok(application);
     }
 
@@ -382,7 +335,8 @@ public class LoanController {
     public ResponseEntity<LoanApplication> approveLoan(@PathVariable Long id, @AuthenticationPrincipal UserDetails userDetails) {
         User manager = userRepository.findByUsername(userDetails.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        LoanApplication application = loanService.approveLoan(id, manager);
+        LoanApplication application = shardRouter.onShard(loanService.shardOfApplication(id),
+                () -> loanService.approveLoan(id, manager));
         return ResponseEntity.ok(application);
     }
 
@@ -390,7 +344,8 @@ public class LoanController {
     public ResponseEntity<LoanApplication> rejectLoan(@PathVariable Long id, @AuthenticationPrincipal UserDetails userDetails) {
         User manager = userRepository.findByUsername(userDetails.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        LoanApplication application = loanService.rejectLoan(id, manager);
+        LoanApplication application = shardRouter.onShard(loanService.shardOfApplication(id),
+                () -> loanService.rejectLoan(id, manager));
         return ResponseEntity.ok(application);
     }
 
@@ -398,23 +353,7 @@ public class LoanController {
     public ResponseEntity<List<LoanManagerDTO>> getLoansForApproval() {
         List<LoanApplication> loans = loanService.getAllLoans();
         List<LoanManagerDTO> loanSummaries = loans.stream()
-                .map(loan -> new LoanManagerDTO(
-                        loan.getId(),
-                        loan.getAmount(),
-                        loan.getTerm(),
-                        loan.getPurpose(),
-                        loan.getStatus(),
-                        loan.getCreditScore(),
-                        loan.getAppliedDate(),
-                        loan.getDecisionDate(),
-                        loan.getApprovedAmount(),
-                        loan.getPaidAmount(),
-                        loan.getPendingAmount(),
-                        loan.getInterestRate(),
-                        loan.getUser().getId(),
-                        loan.getUser().getUsername(),
-                        loan.getUser().getEmail()
-                ))
+                .map(LoanManagerDTO::from)
                 .toList();
         return ResponseEntity.ok(loanSummaries);
     }
@@ -424,46 +363,123 @@ public class LoanController {
         LoanApplication.Status enumStatus = LoanApplication.Status.valueOf(status.toUpperCase());
         List<LoanApplication> loans = loanService.getLoansByStatus(enumStatus);
         List<LoanManagerDTO> loanSummaries = loans.stream()
-                .map(loan -> new LoanManagerDTO(
-                        loan.getId(),
-                        loan.getAmount(),
-                        loan.getTerm(),
-                        loan.getPurpose(),
-                        loan.getStatus(),
-                        loan.getCreditScore(),
-                        loan.getAppliedDate(),
-                        loan.getDecisionDate(),
-                        loan.getApprovedAmount(),
-                        loan.getPaidAmount(),
-                        loan.getPendingAmount(),
-                        loan.getInterestRate(),
-                        loan.getUser().getId(),
-                        loan.getUser().getUsername(),
-                        loan.getUser().getEmail()
-                ))
+                .map(LoanManagerDTO::from)
                 .toList();
         return ResponseEntity.ok(loanSummaries);
     }
 
     // Interest Rate Management endpoints
     @GetMapping("/manager/interest-rates")
-    public ResponseEntity<List<InterestRate>> getInterestRates() {
+    public ResponseEntity<List<InterestRate>> getInterestRates(WebRequest webRequest) {
+        ChangeStampService.Stamp stamp = changeStampService.interestRates();
+        if (webRequest.checkNotModified(stamp.etag(), stamp.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
         List<InterestRate> rates = interestRateRepository.findAll();
-        return ResponseEntity.ok(rates);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(rates);
     }
 
     @PostMapping("/manager/interest-rates")
     public ResponseEntity<InterestRate> updateInterestRate(@RequestBody InterestRateUpdateRequest request) {
-        Optional<InterestRate> existingRate = interestRateRepository.findByPurpose(request.getPurpose().toLowerCase());
-        InterestRate rate;
-        if (existingRate.isPresent()) {
-            rate = existingRate.get();
-            rate.setRate(request.getRate());
-        } else {
-            rate = new InterestRate(request.getPurpose().toLowerCase(), request.getRate());
+        // Every shard scores applications against its own copy of the rate table
+        List<InterestRate> saved = shardRouter.onEveryShard(() -> {
+            Optional<InterestRate> existingRate = interestRateRepository.findByPurpose(request.getPurpose().toLowerCase());
+            InterestRate rate;
+            if (existingRate.isPresent()) {
+                rate = existingRate.get();
+                rate.setRate(request.getRate());
+            } else {
+                rate = new InterestRate(request.getPurpose().toLowerCase(), request.getRate());
+            }
+            InterestRate savedRate = interestRateRepository.save(rate);
+            changeStampService.interestRatesChanged();
+            return savedRate;
+        });
+        entityCacheService.evictInterestRates();
+        return ResponseEntity.ok(saved.get(0));
+    }
+
+    // Sparse fieldsets: the listings above with ?fields=a,b select and write only those properties (plus id)
+    @GetMapping(value = "/user/loans", params = "fields")
+    public ResponseEntity<?> getMyLoanFields(@AuthenticationPrincipal UserDetails userDetails,
+                                             @RequestParam("fields") String fields, WebRequest webRequest) {
+        try {
+            SparseFieldsetService.Selection selection = sparseFieldsetService.select(
+                    SparseFieldsetService.LOAN_SUMMARIES, fields, userDetails.getAuthorities());
+            ChangeStampService.Stamp stamp = changeStampService.loans(userDetails.getUsername());
+            if (webRequest.checkNotModified(stamp.etag(), stamp.lastModified())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+            }
+            User user = userRepository.findByUsername(userDetails.getUsername())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            return ResponseEntity.ok().cacheControl(REVALIDATE)
+                    .body(sparseFieldsetService.customerLoans(selection, user.getId()));
+        } catch (SparseFieldsetService.InvalidListingRequestException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error fetching loan fields {} for user: {}", fields, userDetails.getUsername(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping(value = "/admin/loans", params = "fields")
+    public ResponseEntity<?> getAllLoanFields(@AuthenticationPrincipal UserDetails userDetails,
+                                              @RequestParam("fields") String fields) {
+        return loanFields(SparseFieldsetService.LOAN_SUMMARIES, userDetails, fields, null);
+    }
+
+    @GetMapping(value = "/admin/loans/status/{status}", params = "fields")
+    public ResponseEntity<?> getLoanFieldsByStatus(@AuthenticationPrincipal UserDetails userDetails,
+                                                   @PathVariable String status, @RequestParam("fields") String fields) {
+        return loanFields(SparseFieldsetService.LOAN_SUMMARIES, userDetails, fields, status);
+    }
+
+    @GetMapping(value = "/loan-manager/loans", params = "fields")
+    public ResponseEntity<?> getLoanFieldsForVerification(@AuthenticationPrincipal UserDetails userDetails,
+                                                          @RequestParam("fields") String fields) {
+        return loanFields(SparseFieldsetService.LOAN_QUEUE, userDetails, fields, null);
+    }
+
+    @GetMapping(value = "/manager/loans", params = "fields")
+    public ResponseEntity<?> getLoanFieldsForApproval(@AuthenticationPrincipal UserDetails userDetails,
+                                                      @RequestParam("fields") String fields) {
+        return loanFields(SparseFieldsetService.LOAN_QUEUE, userDetails, fields, null);
+    }
+
+    @GetMapping(value = "/manager/loans/status/{status}", params = "fields")
+    public ResponseEntity<?> getLoanFieldsByStatusForApproval(@AuthenticationPrincipal UserDetails userDetails,
+                                                              @PathVariable String status, @RequestParam("fields") String fields) {
+        return loanFields(SparseFieldsetService.LOAN_QUEUE, userDetails, fields, status);
+    }
+
+    @GetMapping(value = "/loan-manager/documents", params = "fields")
+    public ResponseEntity<?> getDocumentFieldsForVerification(@AuthenticationPrincipal UserDetails userDetails,
+                                                              @RequestParam("fields") String fields) {
+        try {
+            SparseFieldsetService.Selection selection = sparseFieldsetService.select(
+                    SparseFieldsetService.DOCUMENTS, fields, userDetails.getAuthorities());
+            return ResponseEntity.ok(sparseFieldsetService.documents(selection));
+        } catch (SparseFieldsetService.InvalidListingRequestException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error fetching document fields {} for verification", fields, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    private ResponseEntity<?> loanFields(SparseFieldsetService.Listing listing, UserDetails userDetails,
+                                         String fields, String status) {
+        try {
+            SparseFieldsetService.Selection selection = sparseFieldsetService.select(
+                    listing, fields, userDetails.getAuthorities());
+            LoanApplication.Status enumStatus = SparseFieldsetService.parseStatus(status);
+            return ResponseEntity.ok(sparseFieldsetService.loans(selection, enumStatus));
+        } catch (SparseFieldsetService.InvalidListingRequestException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error fetching {} fields {} with status {}", listing.name(), fields, status, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
-        InterestRate saved = interestRateRepository.save(rate);
-        return ResponseEntity.ok(saved);
     }
 
     public static class LoanApplicationRequest {
@@ -480,192 +496,74 @@ public class LoanController {
         public void setPurpose(String purpose) { this.purpose = purpose; }
     }
 
-    public static class LoanSummaryDTO {
-        private Long id;
-        private BigDecimal amount;
-        private Integer term;
-        private String purpose;
-        private LoanApplication.Status status;
-        private Integer creditScore;
-        private LocalDateTime appliedDate;
-        private LocalDateTime decisionDate;
-        private BigDecimal approvedAmount;
-        private BigDecimal paidAmount;
-        private BigDecimal pendingAmount;
-        private BigDecimal interestRate;
-        private User user;
-        private User loanManager;
-        private User manager;
-
-        public LoanSummaryDTO(Long id, BigDecimal amount, Integer term, String purpose,
-                            LoanApplication.Status status, Integer creditScore, LocalDateTime appliedDate,
-                            LocalDateTime decisionDate, BigDecimal approvedAmount, BigDecimal paidAmount,
-                            BigDecimal pendingAmount, BigDecimal interestRate, User user, User loanManager, User manager) {
-            this.id = id;
-            this.amount = amount;
-            this.term = term;
-            this.purpose = purpose;
-            this.status = status;
-            this.creditScore = creditScore;
-            this.appliedDate = appliedDate;
-            this.decisionDate = decisionDate;
-            this.approvedAmount = approvedAmount;
-            this.paidAmount = paidAmount;
-            this.pendingAmount = pendingAmount;
-            this.interestRate = interestRate;
-            this.user = user;
-            this.loanManager = loanManager;
-            this.manager = manager;
+    public record LoanSummaryDTO(Long id, BigDecimal amount, Integer term, String purpose,
+                                 LoanApplication.Status status, Integer creditScore, LocalDateTime appliedDate,
+                                 LocalDateTime decisionDate, BigDecimal approvedAmount, BigDecimal paidAmount,
+                                 BigDecimal pendingAmount, BigDecimal interestRate, User user, User loanManager,
+                                 User manager) {
+
+        public static LoanSummaryDTO from(LoanApplication loan) {
+            return new LoanSummaryDTO(
+                    loan.getId(),
+                    loan.getAmount(),
+                    loan.getTerm(),
+                    loan.getPurpose(),
+                    loan.getStatus(),
+                    loan.getCreditScore(),
+                    loan.getAppliedDate(),
+                    loan.getDecisionDate(),
+                    loan.getApprovedAmount(),
+                    loan.getPaidAmount(),
+                    loan.getPendingAmount(),
+                    loan.getInterestRate(),
+                    loan.getUser(),
+                    loan.getLoanManager(),
+                    loan.getManager());
         }
+    }
 
-        // getters and setters
-        public Long getId() { return id; }
-        public void setId(Long id) { this.id = id; }
-        public BigDecimal getAmount() { return amount; }
-        public void setAmount(BigDecimal amount) { this.amount = amount; }
-        public Integer getTerm() { return term; }
-        public void setTerm(Integer term) { this.term = term; }
-        public String getPurpose() { return purpose; }
-        public void setPurpose(String purpose) { this.purpose = purpose; }
-        public LoanApplication.Status getStatus() { return status; }
-        public void setStatus(LoanApplication.Status status) { this.status = status; }
-        public Integer getCreditScore() { return creditScore; }
-        public void setCreditScore(Integer creditScore) { this.creditScore = creditScore; }
-        public LocalDateTime getAppliedDate() { return appliedDate; }
-        public void setAppliedDate(LocalDateTime appliedDate) { this.appliedDate = appliedDate; }
-        public LocalDateTime getDecisionDate() { return decisionDate; }
-        public void setDecisionDate(LocalDateTime decisionDate) { this.decisionDate = decisionDate; }
-        public BigDecimal getApprovedAmount() { return approvedAmount; }
-        public void setApprovedAmount(BigDecimal approvedAmount) { this.approvedAmount = approvedAmount; }
-        public BigDecimal getPaidAmount() { return paidAmount; }
-        public void setPaidAmount(BigDecimal paidAmount) { this.paidAmount = paidAmount; }
-        public BigDecimal getPendingAmount() { return pendingAmount; }
-        public void setPendingAmount(BigDecimal pendingAmount) { this.pendingAmount = pendingAmount; }
-        public BigDecimal getInterestRate() { return interestRate; }
-        public void setInterestRate(BigDecimal interestRate) { this.interestRate = interestRate; }
-        public User getUser() { return user; }
-        public void setUser(User user) { this.user = user; }
-        public User getLoanManager() { return loanManager; }
-        public void setLoanManager(User loanManager) { this.loanManager = loanManager; }
-        public User getManager() { return manager; }
-        public void setManager(User manager) { this.manager = manager; }
-    }
-
-    public static class DocumentDTO {
-        private Long id;
-        private Long userId;
-        private Long loanApplicationId;
-        private String documentType;
-        private String fileName;
-        private String filePath;
-        private String contentType;
-        private Long fileSize;
-        private Document.Status status;
-
-        public DocumentDTO(Long id, Long userId, Long loanApplicationId, String documentType,
-                          String fileName, String filePath, String contentType, Long fileSize,
-                          Document.Status status) {
-            this.id = id;
-            this.userId = userId;
-            this.loanApplicationId = loanApplicationId;
-            this.documentType = documentType;
-            this.fileName = fileName;
-            this.filePath = filePath;
-            this.contentType = contentType;
-            this.fileSize = fileSize;
-            this.status = status;
+    public record DocumentDTO(Long id, Long userId, Long loanApplicationId, String documentType,
+                              String fileName, String filePath, String contentType, Long fileSize,
+                              Document.Status status) {
+
+        public static DocumentDTO from(Document doc) {
+            return new DocumentDTO(
+                    doc.getId(),
+                    doc.getUser().getId(),
+                    doc.getLoanApplication() != null ? doc.getLoanApplication().getId() : null,
+                    doc.getDocumentType(),
+                    doc.getFileName(),
+                    doc.getFilePath(),
+                    doc.getContentType(),
+                    doc.getFileSize(),
+                    doc.getStatus());
         }
+    }
 
-        // getters and setters
-        public Long getId() { return id; }
-        public void setId(Long id) { this.id = id; }
-        public Long getUserId() { return userId; }
-        public void setUserId(Long userId) { this.userId = userId; }
-        public Long getLoanApplicationId() { return loanApplicationId; }
-        public void setLoanApplicationId(Long loanApplicationId) { this.loanApplicationId = loanApplicationId; }
-        public String getDocumentType() { return documentType; }
-        public void setDocumentType(String documentType) { this.documentType = documentType; }
-        public String getFileName() { return fileName; }
-        public void setFileName(String fileName) { this.fileName = fileName; }
-        public String getFilePath() { return filePath; }
-        public void setFilePath(String filePath) { this.filePath = filePath; }
-        public String getContentType() { return contentType; }
-        public void setContentType(String contentType) { this.contentType = contentType; }
-        public Long getFileSize() { return fileSize; }
-        public void setFileSize(Long fileSize) { this.fileSize = fileSize; }
-        public Document.Status getStatus() { return status; }
-        public void setStatus(Document.Status status) { this.status = status; }
-    }
-
-    public static class LoanManagerDTO {
-        private Long id;
-        private BigDecimal amount;
-        private Integer term;
-        private String purpose;
-        private LoanApplication.Status status;
-        private Integer creditScore;
-        private LocalDateTime appliedDate;
-        private LocalDateTime decisionDate;
-        private BigDecimal approvedAmount;
-        private BigDecimal paidAmount;
-        private BigDecimal pendingAmount;
-        private BigDecimal interestRate;
-        private Long userId;
-        private String username;
-        private String userEmail;
-
-        public LoanManagerDTO(Long id, BigDecimal amount, Integer term, String purpose,
-                            LoanApplication.Status status, Integer creditScore, LocalDateTime appliedDate,
-                            LocalDateTime decisionDate, BigDecimal approvedAmount, BigDecimal paidAmount,
-                            BigDecimal pendingAmount, BigDecimal interestRate, Long userId, String username, String userEmail) {
-            this.id = id;
-            this.amount = amount;
-            this.term = term;
-            this.purpose = purpose;
-            this.status = status;
-            this.creditScore = creditScore;
-            this.appliedDate = appliedDate;
-            this.decisionDate = decisionDate;
-            this.approvedAmount = approvedAmount;
-            this.paidAmount = paidAmount;
-            this.pendingAmount = pendingAmount;
-            this.interestRate = interestRate;
-            this.userId = userId;
-            this.username = username;
-            this.userEmail = userEmail;
+    public record LoanManagerDTO(Long id, BigDecimal amount, Integer term, String purpose,
+                                 LoanApplication.Status status, Integer creditScore, LocalDateTime appliedDate,
+                                 LocalDateTime decisionDate, BigDecimal approvedAmount, BigDecimal paidAmount,
+                                 BigDecimal pendingAmount, BigDecimal interestRate, Long userId, String username,
+                                 String userEmail) {
+
+        public static LoanManagerDTO from(LoanApplication loan) {
+            return new LoanManagerDTO(
+                    loan.getId(),
+                    loan.getAmount(),
+                    loan.getTerm(),
+                    loan.getPurpose(),
+                    loan.getStatus(),
+                    loan.getCreditScore(),
+                    loan.getAppliedDate(),
+                    loan.getDecisionDate(),
+                    loan.getApprovedAmount(),
+                    loan.getPaidAmount(),
+                    loan.getPendingAmount(),
+                    loan.getInterestRate(),
+                    loan.getUser().getId(),
+                    loan.getUser().getUsername(),
+                    loan.getUser().getEmail());
         }
-
-        // getters and setters
-        public Long getId() { return id; }
-        public void setId(Long id) { this.id = id; }
-        public BigDecimal getAmount() { return amount; }
-        public void setAmount(BigDecimal amount) { this.amount = amount; }
-        public Integer getTerm() { return term; }
-        public void setTerm(Integer term) { this.term = term; }
-        public String getPurpose() { return purpose; }
-        public void setPurpose(String purpose) { this.purpose = purpose; }
-        public LoanApplication.Status getStatus() { return status; }
-        public void setStatus(LoanApplication.Status status) { this.status = status; }
-        public Integer getCreditScore() { return creditScore; }
-        public void setCreditScore(Integer creditScore) { this.creditScore = creditScore; }
-        public LocalDateTime getAppliedDate() { return appliedDate; }
-        public void setAppliedDate(LocalDateTime appliedDate) { this.appliedDate = appliedDate; }
-        public LocalDateTime getDecisionDate() { return decisionDate; }
-        public void setDecisionDate(LocalDateTime decisionDate) { this.decisionDate = decisionDate; }
-        public BigDecimal getApprovedAmount() { return approvedAmount; }
-        public void setApprovedAmount(BigDecimal approvedAmount) { this.approvedAmount = approvedAmount; }
-        public BigDecimal getPaidAmount() { return paidAmount; }
-        public void setPaidAmount(BigDecimal paidAmount) { this.paidAmount = paidAmount; }
-        public BigDecimal getPendingAmount() { return pendingAmount; }
-        public void setPendingAmount(BigDecimal pendingAmount) { this.pendingAmount = pendingAmount; }
-        public BigDecimal getInterestRate() { return interestRate; }
-        public void setInterestRate(BigDecimal interestRate) { this.interestRate = interestRate; }
-        public Long getUserId() { return userId; }
-        public void setUserId(Long userId) { this.userId = userId; }
-        public String getUsername() { return username; }
-        public void setUsername(String username) { this.username = username; }
-        public String getUserEmail() { return userEmail; }
-        public void setUserEmail(String userEmail) { this.userEmail = userEmail; }
     }
 
     public static class InterestRateUpdateRequest {
@@ -0,0 +1,56 @@
+package com.example.Bank_Loan_Management.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.Bank_Loan_Management.entity.ArchivedDocument;
+import com.example.Bank_Loan_Management.entity.ArchivedLoanApplication;
+import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.repository.UserRepository;
+import com.example.Bank_Loan_Management.service.LoanHistoryService;
+
+@RestController
+@RequestMapping("/api")
+public class LoanHistoryController {
+
+    private final LoanHistoryService loanHistoryService;
+    private final UserRepository userRepository;
+
+    public LoanHistoryController(LoanHistoryService loanHistoryService, UserRepository userRepository) {
+        this.loanHistoryService = loanHistoryService;
+        this.userRepository = userRepository;
+    }
+
+    @GetMapping("/user/loans/history")
+    public ResponseEntity<List<ArchivedLoanApplication>> getMyLoanHistory(@AuthenticationPrincipal UserDetails userDetails) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return ResponseEntity.ok(loanHistoryService.getArchivedLoansByUser(user.getId()));
+    }
+
+    @GetMapping("/manager/loans/history")
+    public ResponseEntity<Map<String, Object>> getLoanHistory(@RequestParam(defaultValue = "0") int page,
+                                                              @RequestParam(defaultValue = "50") int size) {
+        Page<ArchivedLoanApplication> result = loanHistoryService.getArchivedLoans(page, size);
+        return ResponseEntity.ok(Map.of(
+                "content", result.getContent(),
+                "page", result.getNumber(),
+                "size", result.getSize(),
+                "totalElements", result.getTotalElements()));
+    }
+
+    @GetMapping("/manager/loans/history/{id}/documents")
+    public ResponseEntity<List<ArchivedDocument>> getArchivedDocuments(@PathVariable Long id) {
+        return ResponseEntity.ok(loanHistoryService.getArchivedDocuments(id));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.Bank_Loan_Management.controller;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.Bank_Loan_Management.service.FlightRecorderService;
+
+@RestController
+@RequestMapping("/api/admin/profiling/recordings")
+public class ProfilingAdminController {
+
+    private static final Map<String, String> NOT_FOUND = Map.of("error", "Recording not found");
+
+    private final FlightRecorderService flightRecorderService;
+
+    public ProfilingAdminController(FlightRecorderService flightRecorderService) {
+        this.flightRecorderService = flightRecorderService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<FlightRecorderService.RecordingInfo>> getRecordings() {
+        return ResponseEntity.ok(flightRecorderService.list());
+    }
+
+    @PostMapping
+    public ResponseEntity<?> startRecording(@RequestParam(defaultValue = "CPU") String preset,
+                                            @RequestParam(defaultValue = "60") long durationSeconds,
+                                            @RequestParam(defaultValue = "64") long maxSizeMb) {
+        try {
+            return ResponseEntity.ok(flightRecorderService.start(preset, durationSeconds, maxSizeMb));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/{id}/stop")
+    public ResponseEntity<?> stopRecording(@PathVariable long id) {
+        FlightRecorderService.RecordingInfo info = flightRecorderService.stop(id);
+        if (info == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(NOT_FOUND);
+        }
+        return ResponseEntity.ok(info);
+    }
+
+    @GetMapping("/{id}/file")
+    public ResponseEntity<?> downloadRecording(@PathVariable long id) {
+        try {
+            Path file = flightRecorderService.file(id);
+            if (file == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(NOT_FOUND);
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                    .body(new FileSystemResource(file));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<?> summarizeRecording(@PathVariable long id, @RequestParam(defaultValue = "20") int top) {
+        try {
+            FlightRecorderService.Summary summary = flightRecorderService.summarize(id, top);
+            if (summary == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(NOT_FOUND);
+            }
+            return ResponseEntity.ok(summary);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.Bank_Loan_Management.controller;
+
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.Bank_Loan_Management.service.ShardRebalancer;
+
+@RestController
+@RequestMapping("/api/admin/shards")
+public class ShardAdminController {
+
+    private final ShardRebalancer shardRebalancer;
+
+    public ShardAdminController(ShardRebalancer shardRebalancer) {
+        this.shardRebalancer = shardRebalancer;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getShardStatus() {
+        return ResponseEntity.ok(shardRebalancer.getStatus());
+    }
+
+    @PostMapping("/move")
+    public ResponseEntity<?> moveUser(@RequestBody MoveUserRequest request) {
+        try {
+            return ResponseEntity.ok(shardRebalancer.moveUser(request.getUsername(), request.getShard()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/rebalance")
+    public ResponseEntity<?> getLastRebalance() {
+        ShardRebalancer.RebalanceReport report = shardRebalancer.getLastReport();
+        if (report == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Rebalancing has not run yet"));
+        }
+        return ResponseEntity.ok(report);
+    }
+
+    @PostMapping("/rebalance")
+    public ResponseEntity<?> rebalance(@RequestParam(defaultValue = "1000") int maxMoves) {
+        try {
+            return ResponseEntity.ok(shardRebalancer.rebalance(maxMoves));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    public static class MoveUserRequest {
+        private String username;
+        private int shard;
+
+        // getters and setters
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+        public int getShard() { return shard; }
+        public void setShard(int shard) { this.shard = shard; }
+    }
+}
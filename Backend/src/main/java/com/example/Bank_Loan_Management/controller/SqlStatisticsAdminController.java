@@ -0,0 +1,41 @@
+package com.example.Bank_Loan_Management.controller;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.Bank_Loan_Management.service.SqlStatementStatistics;
+
+@RestController
+@RequestMapping("/api/admin/sql/statements")
+public class SqlStatisticsAdminController {
+
+    private final SqlStatementStatistics sqlStatementStatistics;
+
+    public SqlStatisticsAdminController(SqlStatementStatistics sqlStatementStatistics) {
+        this.sqlStatementStatistics = sqlStatementStatistics;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getTopStatements(@RequestParam(defaultValue = "20") int limit,
+                                              @RequestParam(defaultValue = "total") String sort) {
+        try {
+            return ResponseEntity.ok(Map.of(
+                    "fingerprints", sqlStatementStatistics.fingerprintCount(),
+                    "statements", sqlStatementStatistics.top(limit, sort)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Map<String, String>> reset() {
+        sqlStatementStatistics.reset();
+        return ResponseEntity.ok(Map.of("message", "Statement statistics cleared"));
+    }
+}
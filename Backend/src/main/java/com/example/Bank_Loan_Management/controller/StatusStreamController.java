@@ -0,0 +1,52 @@
+package com.example.Bank_Loan_Management.controller;
+
+import java.util.Map;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.repository.UserRepository;
+import com.example.Bank_Loan_Management.service.StatusStreamService;
+import com.example.Bank_Loan_Management.util.JwtUtil;
+
+@RestController
+@RequestMapping("/api")
+public class StatusStreamController {
+
+    private final StatusStreamService statusStreamService;
+    private final UserRepository userRepository;
+    private final JwtUtil jwtUtil;
+
+    public StatusStreamController(StatusStreamService statusStreamService, UserRepository userRepository,
+                                  JwtUtil jwtUtil) {
+        this.statusStreamService = statusStreamService;
+        this.userRepository = userRepository;
+        this.jwtUtil = jwtUtil;
+    }
+
+    // Exchanged for the login token just before opening the stream, which takes it as ?ticket=
+    @PostMapping("/stream/ticket")
+    public ResponseEntity<?> ticket(@AuthenticationPrincipal UserDetails userDetails) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return ResponseEntity.ok(Map.of(
+                "ticket", jwtUtil.generateStreamTicket(user.getUsername(), user.getRole().name()),
+                "expiresInMs", jwtUtil.getStreamTicketExpirationTime()));
+    }
+
+    // Server-Sent Events: "loan" and "document" events carry deltas scoped to the caller's role
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal UserDetails userDetails) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return statusStreamService.subscribe(user);
+    }
+}
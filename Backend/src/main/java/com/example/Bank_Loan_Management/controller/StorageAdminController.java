@@ -0,0 +1,41 @@
+package com.example.Bank_Loan_Management.controller;
+
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.Bank_Loan_Management.service.StorageReconciliationService;
+
+@RestController
+@RequestMapping("/api/admin/storage")
+public class StorageAdminController {
+
+    private final StorageReconciliationService storageReconciliationService;
+
+    public StorageAdminController(StorageReconciliationService storageReconciliationService) {
+        this.storageReconciliationService = storageReconciliationService;
+    }
+
+    @GetMapping("/reconciliation")
+    public ResponseEntity<?> getLastReconciliation() {
+        StorageReconciliationService.ReconciliationReport report = storageReconciliationService.getLastReport();
+        if (report == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Reconciliation has not run yet"));
+        }
+        return ResponseEntity.ok(report);
+    }
+
+    @PostMapping("/reconciliation")
+    public ResponseEntity<?> runReconciliation() {
+        try {
+            return ResponseEntity.ok(storageReconciliationService.reconcile());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.Bank_Loan_Management.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.Bank_Loan_Management.service.SlowTraceRecorder;
+
+@RestController
+@RequestMapping("/api/admin/traces")
+public class TraceAdminController {
+
+    private final SlowTraceRecorder slowTraceRecorder;
+
+    public TraceAdminController(SlowTraceRecorder slowTraceRecorder) {
+        this.slowTraceRecorder = slowTraceRecorder;
+    }
+
+    @GetMapping("/slow")
+    public ResponseEntity<List<SlowTraceRecorder.SlowTrace>> getSlowTraces(@RequestParam(defaultValue = "20") int limit,
+                                                                           @RequestParam(defaultValue = "0") long minMs) {
+        return ResponseEntity.ok(slowTraceRecorder.getRecent(limit, minMs));
+    }
+
+    @GetMapping("/{traceId}")
+    public ResponseEntity<?> getTrace(@PathVariable String traceId) {
+        SlowTraceRecorder.SlowTrace trace = slowTraceRecorder.find(traceId);
+        if (trace == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Trace not found"));
+        }
+        return ResponseEntity.ok(trace);
+    }
+}
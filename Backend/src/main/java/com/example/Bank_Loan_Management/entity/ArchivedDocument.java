@@ -0,0 +1,62 @@
+package com.example.Bank_Loan_Management.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Metadata of a document whose loan application was archived; the file itself stays in storage
+@Entity
+@Immutable
+@Table(name = "documents_archive")
+@Data
+@NoArgsConstructor
+public class ArchivedDocument {
+
+    @Id
+    private Long id;
+
+    private Long loanApplicationId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String documentType;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    @Column(nullable = false)
+    @JsonIgnore
+    private String filePath;
+
+    @Column(nullable = false)
+    private String contentType;
+
+    @Column(nullable = false)
+    private Long fileSize;
+
+    @Enumerated(EnumType.STRING)
+    @JsonIgnore
+    private Document.StorageCodec storageCodec;
+
+    @JsonIgnore
+    private Long storedSize;
+
+    @Enumerated(EnumType.STRING)
+    private Document.Status status;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,67 @@
+package com.example.Bank_Loan_Management.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Closed application moved out of loan_applications by ArchivalService; read-only history
+@Entity
+@Immutable
+@Table(name = "loan_applications_archive")
+@Data
+@NoArgsConstructor
+public class ArchivedLoanApplication {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    private Long loanManagerId;
+
+    private Long managerId;
+
+    @Column(nullable = false)
+    private boolean documentsVerified;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    private Integer term;
+
+    @Column(nullable = false)
+    private String purpose;
+
+    @Enumerated(EnumType.STRING)
+    private LoanApplication.Status status;
+
+    private Integer creditScore;
+
+    private LocalDateTime appliedDate;
+
+    private LocalDateTime decisionDate;
+
+    private BigDecimal approvedAmount;
+
+    private BigDecimal paidAmount;
+
+    private BigDecimal pendingAmount;
+
+    @Column(precision = 5, scale = 2)
+    private BigDecimal interestRate;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,30 @@
+package com.example.Bank_Loan_Management.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Written only through ChangeStampRepository.bump
+@Entity
+@Table(name = "change_stamps")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeStamp {
+
+    // "loans:<username>", "documents:<username>", "rates" or "all"
+    @Id
+    @Column(length = 320)
+    private String scope;
+
+    @Column(nullable = false)
+    private long version;
+
+    // Epoch millis, whole seconds like the Last-Modified header it feeds
+    @Column(nullable = false)
+    private long lastModified;
+}
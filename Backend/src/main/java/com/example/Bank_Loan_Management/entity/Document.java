@@ -12,6 +12,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -24,7 +25,9 @@ import lombok.NoArgsConstructor;
 public class Document {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "documents_id")
+    @TableGenerator(name = "documents_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "documents", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -53,9 +56,18 @@ public class Document {
     @Column(nullable = false)
     private String contentType;
 
+    // Original (uncompressed) size in bytes
     @Column(nullable = false)
     private Long fileSize;
 
+    // How the bytes are stored on disk; null for rows written before compression existed
+    @Enumerated(EnumType.STRING)
+    @JsonIgnore
+    private StorageCodec storageCodec;
+
+    @JsonIgnore
+    private Long storedSize;
+
     @Enumerated(EnumType.STRING)
     private Status status;
 
@@ -67,4 +79,8 @@ public class Document {
     public enum Status {
         UPLOADED, VERIFIED, REJECTED
     }
+
+    public enum StorageCodec {
+        NONE, GZIP
+    }
 }
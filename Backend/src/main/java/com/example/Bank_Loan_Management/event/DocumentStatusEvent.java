@@ -0,0 +1,17 @@
+package com.example.Bank_Loan_Management.event;
+
+import com.example.Bank_Loan_Management.entity.Document;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// A document upload or review decision; occurredAt is epoch millis
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DocumentStatusEvent(Long documentId, Long userId, Long loanApplicationId, String documentType,
+                                  Document.Status oldStatus, Document.Status newStatus,
+                                  long occurredAt) {
+
+    public static DocumentStatusEvent of(Document document, Document.Status oldStatus) {
+        return new DocumentStatusEvent(document.getId(), document.getUser().getId(),
+                document.getLoanApplicationId(), document.getDocumentType(),
+                oldStatus, document.getStatus(), System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.Bank_Loan_Management.event;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Preallocated ring buffer with one consumer thread per handler.
+//
+// Publishers claim a sequence with a single atomic increment and write only their own slot; each
+// consumer sequence has exactly one writer, its thread. Publishing allocates nothing: the slot
+// array and availability flags are created once. When the slowest consumer is a full lap behind,
+// publishers wait, which is the bus's backpressure; they publish on request threads, so the wait is
+// bounded by publishTimeoutMillis, after which the event is dropped and counted. The last consumer
+// to pass a slot clears it, so the ring does not keep handled events reachable.
+public class DomainEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomainEventBus.class);
+
+    // Idle consumers spin briefly, then park with a backoff capped at one millisecond
+    private static final int SPIN_TRIES = 100;
+    private static final long MIN_PARK_NANOS = 10_000L;
+    private static final long MAX_PARK_NANOS = 1_000_000L;
+
+    private final int capacity;
+    private final int mask;
+    private final int indexShift;
+    private final Object[] entries;
+    private final AtomicIntegerArray published;
+    // Consumers still to handle each slot's event
+    private final AtomicIntegerArray pending;
+    private final long publishTimeoutNanos;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final List<Consumer> consumers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    // Cached minimum consumer sequence so publishers rarely scan every consumer
+    private final AtomicLong gatingCache = new AtomicLong(-1);
+
+    public DomainEventBus(int capacity, long publishTimeoutMillis, List<? extends DomainEventHandler> handlers) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Event bus capacity must be a power of two: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(capacity);
+        this.entries = new Object[capacity];
+        this.published = new AtomicIntegerArray(capacity);
+        this.pending = new AtomicIntegerArray(capacity);
+        this.publishTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(publishTimeoutMillis);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+        for (DomainEventHandler handler : handlers) {
+            consumers.add(new Consumer(handler));
+        }
+    }
+
+    public void start() {
+        for (Consumer consumer : consumers) {
+            consumer.thread.start();
+        }
+    }
+
+    // Lets consumers drain what was already published, then stops them
+    public void stop() {
+        running = false;
+        for (Consumer consumer : consumers) {
+            LockSupport.unpark(consumer.thread);
+            try {
+                consumer.thread.join(5_000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // False when the ring stayed full for the whole publish timeout and the event was dropped
+    public boolean publish(Object event) {
+        long sequence;
+        long deadline = 0L;
+        boolean waiting = false;
+        while (true) {
+            long current = claimed.get();
+            sequence = current + 1;
+            long wrapPoint = sequence - capacity;
+            if (wrapPoint > gatingCache.get()) {
+                long minimum = minimumConsumerSequence();
+                gatingCache.set(minimum);
+                if (wrapPoint > minimum) {
+                    // A sequence is only claimed once its slot is free, so giving up leaves no gap for consumers
+                    long now = System.nanoTime();
+                    if (!waiting) {
+                        waiting = true;
+                        deadline = now + publishTimeoutNanos;
+                    } else if (now - deadline >= 0) {
+                        long count = dropped.incrementAndGet();
+                        logger.warn("Event bus full for {} ms, dropped {} ({} dropped so far)",
+                                TimeUnit.NANOSECONDS.toMillis(publishTimeoutNanos), event, count);
+                        return false;
+                    }
+                    LockSupport.parkNanos(MIN_PARK_NANOS);
+                    continue;
+                }
+            }
+            if (claimed.compareAndSet(current, sequence)) {
+                break;
+            }
+        }
+        int index = (int) sequence & mask;
+        entries[index] = event;
+        pending.lazySet(index, consumers.size());
+        published.lazySet(index, (int) (sequence >>> indexShift));
+        return true;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getPublishedCount() {
+        return claimed.get() + 1;
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    // Events each handler has yet to process
+    public Map<String, Long> getBacklog() {
+        long cursor = claimed.get();
+        Map<String, Long> backlog = new LinkedHashMap<>();
+        for (Consumer consumer : consumers) {
+            backlog.put(consumer.handler.name(), cursor - consumer.sequence.get());
+        }
+        return backlog;
+    }
+
+    private long minimumConsumerSequence() {
+        long minimum = Long.MAX_VALUE;
+        for (Consumer consumer : consumers) {
+            minimum = Math.min(minimum, consumer.sequence.get());
+        }
+        return consumers.isEmpty() ? claimed.get() : minimum;
+    }
+
+    private boolean isPublished(long sequence) {
+        return published.get((int) sequence & mask) == (int) (sequence >>> indexShift);
+    }
+
+    private final class Consumer implements Runnable {
+
+        private final DomainEventHandler handler;
+        private final AtomicLong sequence = new AtomicLong(-1);
+        private final Thread thread;
+
+        Consumer(DomainEventHandler handler) {
+            this.handler = handler;
+            this.thread = new Thread(this, "event-bus-" + handler.name());
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long next = 0;
+            int idle = 0;
+            long parkNanos = MIN_PARK_NANOS;
+            while (true) {
+                long available = highestPublished(next, claimed.get());
+                if (available < next) {
+                    if (!running) {
+                        return;
+                    }
+                    if (++idle > SPIN_TRIES) {
+                        LockSupport.parkNanos(parkNanos);
+                        parkNanos = Math.min(parkNanos << 1, MAX_PARK_NANOS);
+                    } else {
+                        Thread.onSpinWait();
+                    }
+                    continue;
+                }
+                idle = 0;
+                parkNanos = MIN_PARK_NANOS;
+                // Hand over everything available as one batch, then release the slots in one write
+                for (long current = next; current <= available; current++) {
+                    int index = (int) current & mask;
+                    Object event = entries[index];
+                    try {
+                        handler.onEvent(event, current == available);
+                    } catch (RuntimeException e) {
+                        logger.error("Event handler {} failed on {}", handler.name(), event, e);
+                    }
+                    if (pending.decrementAndGet(index) == 0) {
+                        entries[index] = null;
+                    }
+                }
+                sequence.lazySet(available);
+                next = available + 1;
+            }
+        }
+
+        private long highestPublished(long from, long to) {
+            for (long current = from; current <= to; current++) {
+                if (!isPublished(current)) {
+                    return current - 1;
+                }
+            }
+            return to;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.Bank_Loan_Management.event;
+
+// Consumes events from DomainEventBus on its own thread; endOfBatch marks the last event currently available
+public interface DomainEventHandler {
+
+    void onEvent(Object event, boolean endOfBatch);
+
+    default String name() {
+        return getClass().getSimpleName();
+    }
+}
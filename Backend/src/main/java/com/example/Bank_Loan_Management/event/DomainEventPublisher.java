@@ -0,0 +1,29 @@
+package com.example.Bank_Loan_Management.event;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Hands events to the bus once the surrounding transaction commits, so handlers never see rolled-back work
+@Component
+public class DomainEventPublisher {
+
+    private final DomainEventBus domainEventBus;
+
+    public DomainEventPublisher(DomainEventBus domainEventBus) {
+        this.domainEventBus = domainEventBus;
+    }
+
+    public void publish(Object event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            domainEventBus.publish(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                domainEventBus.publish(event);
+            }
+        });
+    }
+}
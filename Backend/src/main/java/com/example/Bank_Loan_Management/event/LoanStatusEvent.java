@@ -0,0 +1,27 @@
+package com.example.Bank_Loan_Management.event;
+
+import java.math.BigDecimal;
+
+import com.example.Bank_Loan_Management.entity.LoanApplication;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// A single loan status transition; occurredAt is epoch millis and null fields are omitted on the wire
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LoanStatusEvent(Long loanId, Long userId,
+                              LoanApplication.Status oldStatus, LoanApplication.Status newStatus,
+                              BigDecimal amount, BigDecimal approvedAmount, BigDecimal pendingAmount,
+                              long occurredAt) {
+
+    public static LoanStatusEvent of(LoanApplication application, LoanApplication.Status oldStatus) {
+        return new LoanStatusEvent(application.getId(), application.getUser().getId(),
+                oldStatus, application.getStatus(),
+                application.getAmount(), application.getApprovedAmount(), application.getPendingAmount(),
+                System.currentTimeMillis());
+    }
+
+    // Collapses two transitions of the same loan into one spanning both
+    public LoanStatusEvent mergeWith(LoanStatusEvent later) {
+        return new LoanStatusEvent(loanId, userId, oldStatus, later.newStatus,
+                later.amount, later.approvedAmount, later.pendingAmount, later.occurredAt);
+    }
+}
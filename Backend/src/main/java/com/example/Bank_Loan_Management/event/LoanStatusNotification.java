@@ -0,0 +1,7 @@
+package com.example.Bank_Loan_Management.event;
+
+import java.util.List;
+
+// Message published to loan-notifications, keyed by userId; carries one merged event per loan
+public record LoanStatusNotification(Long userId, List<LoanStatusEvent> events) {
+}
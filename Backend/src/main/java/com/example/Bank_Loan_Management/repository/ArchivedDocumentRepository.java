@@ -0,0 +1,20 @@
+package com.example.Bank_Loan_Management.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.Bank_Loan_Management.entity.ArchivedDocument;
+
+@Repository
+public interface ArchivedDocumentRepository extends JpaRepository<ArchivedDocument, Long> {
+
+    List<ArchivedDocument> findByLoanApplicationId(Long loanApplicationId);
+
+    @Query("SELECT d.id AS id, d.filePath AS filePath FROM ArchivedDocument d WHERE d.id > :afterId ORDER BY d.id")
+    List<DocumentPathView> findPathsAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
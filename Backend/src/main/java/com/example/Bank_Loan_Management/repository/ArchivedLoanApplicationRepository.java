@@ -0,0 +1,18 @@
+package com.example.Bank_Loan_Management.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.Bank_Loan_Management.entity.ArchivedLoanApplication;
+
+@Repository
+public interface ArchivedLoanApplicationRepository extends JpaRepository<ArchivedLoanApplication, Long> {
+
+    List<ArchivedLoanApplication> findByUserIdOrderByDecisionDateDesc(Long userId);
+
+    Page<ArchivedLoanApplication> findAllByOrderByDecisionDateDesc(Pageable pageable);
+}
@@ -0,0 +1,6 @@
+package com.example.Bank_Loan_Management.repository;
+
+public interface DocumentPathView {
+    Long getId();
+    String getFilePath();
+}
@@ -2,6 +2,8 @@ package com.example.Bank_Loan_Management.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,11 +14,35 @@ import com.example.Bank_Loan_Management.entity.User;
 
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, Long> {
-    List<Document> findByLoanApplication_Id(Long loanApplicationId);
-    List<Document> findByLoanApplication_IdAndStatus(Long loanApplicationId, Document.Status status);
+    // Explicit queries filter on the foreign key column; the derived versions joined loan_applications
+    // and filtered on the joined id, which forced a scan of documents
+    @Query("SELECT d FROM Document d WHERE d.loanApplication.id = :loanApplicationId")
+    List<Document> findByLoanApplication_Id(@Param("loanApplicationId") Long loanApplicationId);
+
+    @Query("SELECT d FROM Document d WHERE d.loanApplication.id = :loanApplicationId AND d.status = :status")
+    List<Document> findByLoanApplication_IdAndStatus(@Param("loanApplicationId") Long loanApplicationId,
+                                                     @Param("status") Document.Status status);
 
     @Query("SELECT d FROM Document d LEFT JOIN FETCH d.loanApplication WHERE d.user = :user")
     List<Document> findByUser(@Param("user") User user);
 
-    List<Document> findByUser_IdAndLoanApplicationIsNull(Long userId);
+    @Query("SELECT d FROM Document d WHERE d.user.id = :userId AND d.loanApplication IS NULL")
+    List<Document> findByUser_IdAndLoanApplicationIsNull(@Param("userId") Long userId);
+
+    // Staff listings show the owner and application of every document; fetched together, as for loans
+    @Override
+    @EntityGraph(attributePaths = {"user", "loanApplication", "loanApplication.user",
+            "loanApplication.loanManager", "loanApplication.manager"})
+    List<Document> findAll();
+
+    @EntityGraph(attributePaths = {"user", "loanApplication", "loanApplication.user",
+            "loanApplication.loanManager", "loanApplication.manager"})
+    List<Document> findByStatusOrderByIdAsc(Document.Status status, Pageable pageable);
+
+    // Rows of (status, count)
+    @Query("SELECT d.status, COUNT(d) FROM Document d GROUP BY d.status")
+    List<Object[]> countByStatus();
+
+    @Query("SELECT d.id AS id, d.filePath AS filePath FROM Document d WHERE d.id > :afterId ORDER BY d.id")
+    List<DocumentPathView> findPathsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
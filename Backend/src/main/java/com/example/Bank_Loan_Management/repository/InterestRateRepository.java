@@ -1,13 +1,34 @@
 package com.example.Bank_Loan_Management.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.Bank_Loan_Management.entity.InterestRate;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface InterestRateRepository extends JpaRepository<InterestRate, Long> {
+
+    // Cached queries read from the primary so a lagging replica's answer is never cached past the lag
+    @Transactional
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "interest-rates-by-purpose")
+    })
     Optional<InterestRate> findByPurpose(String purpose);
-}
\ No newline at end of file
+
+    @Override
+    @Transactional
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "interest-rates-by-purpose")
+    })
+    List<InterestRate> findAll();
+}
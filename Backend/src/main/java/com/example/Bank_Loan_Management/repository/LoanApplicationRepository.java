@@ -2,10 +2,30 @@ package com.example.Bank_Loan_Management.repository;
 
 import com.example.Bank_Loan_Management.entity.LoanApplication;
 import com.example.Bank_Loan_Management.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import java.util.List;
 
 public interface LoanApplicationRepository extends JpaRepository<LoanApplication, Long> {
+    // Listings fetch the applicant and the staff who handled each application in the same statement;
+    // otherwise the eager associations cost one select per distinct user
+    @EntityGraph(attributePaths = {"user", "loanManager", "manager"})
     List<LoanApplication> findByUser(User user);
+
+    @EntityGraph(attributePaths = {"user", "loanManager", "manager"})
     List<LoanApplication> findByStatus(LoanApplication.Status status);
+
+    @Override
+    @EntityGraph(attributePaths = {"user", "loanManager", "manager"})
+    List<LoanApplication> findAll();
+
+    // Dashboard work queues, oldest application first
+    @EntityGraph(attributePaths = {"user", "loanManager", "manager"})
+    List<LoanApplication> findByStatusOrderByAppliedDateAscIdAsc(LoanApplication.Status status, Pageable pageable);
+
+    // Rows of (status, count)
+    @Query("SELECT l.status, COUNT(l) FROM LoanApplication l GROUP BY l.status")
+    List<Object[]> countByStatus();
 }
@@ -0,0 +1,54 @@
+package com.example.Bank_Loan_Management.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.Bank_Loan_Management.entity.NotificationOutbox;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    // Pending rows of keys that have been quiet since settledBefore; a key still receiving rows is held
+    // back whole so a burst goes out as one coalesced message, unless it has waited since heldSince.
+    // Keys in busyKeys still have sends in flight and are skipped entirely
+    @Query("SELECT o FROM NotificationOutbox o WHERE o.deliveredAt IS NULL AND o.deadLetteredAt IS NULL "
+            + "AND o.messageKey NOT IN :busyKeys "
+            + "AND (NOT EXISTS (SELECT n.id FROM NotificationOutbox n WHERE n.messageKey = o.messageKey "
+            + "AND n.deliveredAt IS NULL AND n.deadLetteredAt IS NULL AND n.createdAt >= :settledBefore) "
+            + "OR EXISTS (SELECT h.id FROM NotificationOutbox h WHERE h.messageKey = o.messageKey "
+            + "AND h.deliveredAt IS NULL AND h.deadLetteredAt IS NULL AND h.createdAt < :heldSince)) "
+            + "ORDER BY o.id")
+    List<NotificationOutbox> findSettledPending(@Param("settledBefore") LocalDateTime settledBefore,
+                                                @Param("heldSince") LocalDateTime heldSince,
+                                                @Param("busyKeys") Collection<String> busyKeys,
+                                                Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.deliveredAt = :deliveredAt WHERE o.id IN :ids")
+    int markDelivered(@Param("ids") Collection<Long> ids, @Param("deliveredAt") LocalDateTime deliveredAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.attempts = o.attempts + 1, o.lastError = :error WHERE o.id IN :ids")
+    int markFailed(@Param("ids") Collection<Long> ids, @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.deadLetteredAt = :deadLetteredAt "
+            + "WHERE o.id IN :ids AND o.attempts >= :maxAttempts AND o.deadLetteredAt IS NULL")
+    int markDeadLettered(@Param("ids") Collection<Long> ids, @Param("maxAttempts") int maxAttempts,
+                         @Param("deadLetteredAt") LocalDateTime deadLetteredAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox o WHERE o.deliveredAt < :before")
+    int deleteDeliveredBefore(@Param("before") LocalDateTime before);
+}
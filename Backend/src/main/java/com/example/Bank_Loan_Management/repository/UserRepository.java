@@ -1,10 +1,28 @@
 package com.example.Bank_Loan_Management.repository;
 
+import com.example.Bank_Loan_Management.config.ReplicaRoutingDataSource;
 import com.example.Bank_Loan_Management.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByUsername(String username);
+
+    // Resolved on every authenticated request; the result is invalidated whenever the users table changes.
+    // Read from the primary so a lagging replica's answer is never cached past the lag.
+    default Optional<User> findByUsername(String username) {
+        return ReplicaRoutingDataSource.onPrimary(() -> findCachedByUsername(username));
+    }
+
+    @Transactional(readOnly = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "users-by-username")
+    })
+    Optional<User> findCachedByUsername(String username);
+
     Optional<User> findByEmail(String email);
 }
@@ -0,0 +1,163 @@
+package com.example.Bank_Loan_Management.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.Bank_Loan_Management.config.ShardDataSources;
+
+// Moves closed loan applications (REJECTED, or APPROVED and fully paid) and their documents' metadata
+// into the *_archive tables so the hot tables only hold work that can still change. Each batch is one
+// short transaction, with a pause between batches so the copy does not crowd out live traffic. A loan
+// and its documents always share a shard, so each shard is archived on its own.
+@Service
+public class ArchivalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchivalService.class);
+
+    private static final String LOAN_COLUMNS = "id, user_id, loan_manager_id, manager_id, documents_verified, amount, "
+            + "term, purpose, status, credit_score, applied_date, decision_date, approved_amount, paid_amount, "
+            + "pending_amount, interest_rate";
+    private static final String DOCUMENT_COLUMNS = "id, loan_application_id, user_id, document_type, file_name, "
+            + "file_path, content_type, file_size, storage_codec, stored_size, status";
+
+    private final List<JdbcTemplate> shardJdbcTemplates = new ArrayList<>();
+    private final List<TransactionTemplate> shardTransactionTemplates = new ArrayList<>();
+    private final ChangeStampService changeStampService;
+    private final boolean enabled;
+    private final long minAgeDays;
+    private final int batchSize;
+    private final long batchPauseMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile ArchivalReport lastReport;
+
+    public ArchivalService(ShardDataSources shardDataSources,
+                           ChangeStampService changeStampService,
+                           @Value("${loan.archive.enabled:true}") boolean enabled,
+                           @Value("${loan.archive.min-age-days:90}") long minAgeDays,
+                           @Value("${loan.archive.batch-size:500}") int batchSize,
+                           @Value("${loan.archive.batch-pause-ms:200}") long batchPauseMillis) {
+        for (DataSource dataSource : shardDataSources.all()) {
+            shardJdbcTemplates.add(new JdbcTemplate(dataSource));
+            shardTransactionTemplates.add(new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        }
+        this.changeStampService = changeStampService;
+        this.enabled = enabled;
+        this.minAgeDays = minAgeDays;
+        this.batchSize = Math.max(1, batchSize);
+        this.batchPauseMillis = batchPauseMillis;
+    }
+
+    @Scheduled(cron = "${loan.archive.cron:0 0 4 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    public ArchivalReport getLastReport() {
+        return lastReport;
+    }
+
+    public ArchivalReport archive() {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("Loan archival is already running");
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            LocalDateTime cutoff = startedAt.minusDays(minAgeDays);
+            int batches = 0;
+            long loans = 0;
+            long documents = 0;
+            for (int shard = 0; shard < shardJdbcTemplates.size(); shard++) {
+                JdbcTemplate jdbcTemplate = shardJdbcTemplates.get(shard);
+                TransactionTemplate transactionTemplate = shardTransactionTemplates.get(shard);
+                while (true) {
+                    BatchResult batch = transactionTemplate.execute(status -> archiveBatch(jdbcTemplate, cutoff, startedAt));
+                    if (batch == null || batch.loans() == 0) {
+                        break;
+                    }
+                    batches++;
+                    loans += batch.loans();
+                    documents += batch.documents();
+                    if (batch.loans() < batchSize) {
+                        break;
+                    }
+                    pause(batchPauseMillis);
+                }
+            }
+            ArchivalReport report = new ArchivalReport(startedAt, LocalDateTime.now(), cutoff, batches, loans, documents);
+            lastReport = report;
+            if (loans > 0) {
+                changeStampService.invalidateAll();
+            }
+            logger.info("Loan archival finished: {} loan applications and {} documents in {} batches",
+                    loans, documents, batches);
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private BatchResult archiveBatch(JdbcTemplate jdbcTemplate, LocalDateTime cutoff, LocalDateTime archivedAt) {
+        // Lock the batch so a concurrent transition cannot change a row between copy and delete
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM loan_applications WHERE decision_date < ? "
+                        + "AND (status = 'REJECTED' OR (status = 'APPROVED' AND pending_amount <= 0)) "
+                        + "ORDER BY id LIMIT ? FOR UPDATE",
+                Long.class, Timestamp.valueOf(cutoff), batchSize);
+        if (ids.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+
+        String in = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        List<Object> params = new ArrayList<>(ids.size() + 1);
+        params.add(Timestamp.valueOf(archivedAt));
+        params.addAll(ids);
+        Object[] withTimestamp = params.toArray();
+        Object[] idsOnly = ids.toArray();
+
+        int documents = jdbcTemplate.update("INSERT INTO documents_archive (" + DOCUMENT_COLUMNS + ", archived_at) "
+                + "SELECT " + DOCUMENT_COLUMNS + ", ? FROM documents WHERE loan_application_id IN (" + in + ")",
+                withTimestamp);
+        int loans = jdbcTemplate.update("INSERT INTO loan_applications_archive (" + LOAN_COLUMNS + ", archived_at) "
+                + "SELECT " + LOAN_COLUMNS + ", ? FROM loan_applications WHERE id IN (" + in + ")",
+                withTimestamp);
+        jdbcTemplate.update("DELETE FROM documents WHERE loan_application_id IN (" + in + ")", idsOnly);
+        jdbcTemplate.update("DELETE FROM loan_applications WHERE id IN (" + in + ")", idsOnly);
+        return new BatchResult(loans, documents);
+    }
+
+    private static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record BatchResult(int loans, int documents) {
+    }
+
+    public record ArchivalReport(LocalDateTime startedAt, LocalDateTime finishedAt, LocalDateTime cutoff,
+                                 int batches, long loanApplicationsArchived, long documentsArchived) {
+    }
+}
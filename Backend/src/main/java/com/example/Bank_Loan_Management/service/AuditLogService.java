@@ -0,0 +1,36 @@
+package com.example.Bank_Loan_Management.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.example.Bank_Loan_Management.event.DocumentStatusEvent;
+import com.example.Bank_Loan_Management.event.DomainEventHandler;
+import com.example.Bank_Loan_Management.event.LoanStatusEvent;
+
+// Writes an audit trail of status transitions; lines are buffered and flushed once per bus batch
+@Service
+public class AuditLogService implements DomainEventHandler {
+
+    private static final Logger audit = LoggerFactory.getLogger("audit");
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    @Override
+    public void onEvent(Object event, boolean endOfBatch) {
+        if (event instanceof LoanStatusEvent loan) {
+            buffer.append("loan=").append(loan.loanId()).append(" user=").append(loan.userId())
+                    .append(' ').append(loan.oldStatus()).append("->").append(loan.newStatus())
+                    .append(" at=").append(loan.occurredAt()).append('\n');
+        } else if (event instanceof DocumentStatusEvent document) {
+            buffer.append("document=").append(document.documentId()).append(" user=").append(document.userId())
+                    .append(' ').append(document.oldStatus()).append("->").append(document.newStatus())
+                    .append(" at=").append(document.occurredAt()).append('\n');
+        }
+        if (endOfBatch && buffer.length() > 0) {
+            buffer.setLength(buffer.length() - 1);
+            audit.info(buffer.toString());
+            buffer.setLength(0);
+        }
+    }
+}
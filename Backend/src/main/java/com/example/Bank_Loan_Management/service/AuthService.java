@@ -1,7 +1,10 @@
 package com.example.Bank_Loan_Management.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -10,12 +13,15 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import com.example.Bank_Loan_Management.config.ShardContext;
 import com.example.Bank_Loan_Management.entity.User;
 import com.example.Bank_Loan_Management.repository.UserRepository;
 import com.example.Bank_Loan_Management.util.JwtUtil;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 @Service
 public class AuthService {
 
@@ -23,60 +29,101 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final ShardRouter shardRouter;
+    private final ShardDirectory shardDirectory;
+    private final MeterRegistry meterRegistry;
+    private final ChangeStampService changeStampService;
 
     public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder,
-                       AuthenticationManager authenticationManager, JwtUtil jwtUtil) {
+                       AuthenticationManager authenticationManager, JwtUtil jwtUtil,
+                       ShardRouter shardRouter, ShardDirectory shardDirectory, MeterRegistry meterRegistry,
+                       ChangeStampService changeStampService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
+        this.shardRouter = shardRouter;
+        this.shardDirectory = shardDirectory;
+        this.meterRegistry = meterRegistry;
+        this.changeStampService = changeStampService;
     }
 
-    @Transactional
     public User register(String username, String password, String email) {
-        if (userRepository.findByUsername(username).isPresent()) {
-            throw new RuntimeException("Username already exists");
-        }
-        if (userRepository.findByEmail(email).isPresent()) {
-            throw new RuntimeException("Email already exists");
-        }
+        // Only testuser gets ADMIN role, all others get USER role
+        User.Role role = "testuser".equals(username) ? User.Role.ADMIN : User.Role.USER;
+        return register(username, password, email, role);
+    }
 
+    public User register(String username, String password, String email, User.Role role) {
         User user = new User();
         user.setUsername(username);
         user.setPassword(passwordEncoder.encode(password));
         user.setEmail(email);
-        // Only testuser gets ADMIN role, all others get USER role
-        if ("testuser".equals(username)) {
-            user.setRole(User.Role.ADMIN);
-        } else {
-            user.setRole(User.Role.USER);
-        }
+        user.setRole(role);
         user.setCreatedAt(LocalDateTime.now());
 
-        return userRepository.save(user);
+        if (!shardRouter.isSharded()) {
+            return shardRouter.inTransaction(ShardContext.DEFAULT_SHARD, () -> insertUser(user));
+        }
+
+        // Customers are spread by the directory's hash; staff live on shard 0 with a copy on every other shard
+        boolean staff = role != User.Role.USER;
+        int shard = staff ? ShardContext.DEFAULT_SHARD : shardDirectory.placeNewUser(username);
+        if (!shardRouter.scatterGather(() -> userRepository.findByEmail(email).stream().toList()).isEmpty()) {
+            throw new RuntimeException("Email already exists");
+        }
+        // Claiming the name in the directory first keeps usernames unique across shards
+        shardDirectory.claim(username, shard, staff);
+        User saved;
+        try {
+            saved = shardRouter.inTransaction(shard, () -> insertUser(user));
+        } catch (RuntimeException e) {
+            shardDirectory.release(username);
+            throw e;
+        }
+        shardDirectory.assignUserId(username, saved.getId());
+        if (staff) {
+            shardRouter.replicateUser(saved, shard);
+        }
+        stampsChanged(saved, username);
+        return saved;
     }
 
-    @Transactional
-    public User register(String username, String password, String email, User.Role role) {
-        if (userRepository.findByUsername(username).isPresent()) {
+    // Stamps are kept by username, so after a rename the old name's stamps must not outlive it in case
+    // the name is taken again
+    private void stampsChanged(User saved, String username) {
+        if (username != null) {
+            changeStampService.invalidateAll();
+        } else {
+            changeStampService.userChanged(saved);
+        }
+    }
+
+    private User insertUser(User user) {
+        if (userRepository.findByUsername(user.getUsername()).isPresent()) {
             throw new RuntimeException("Username already exists");
         }
-        if (userRepository.findByEmail(email).isPresent()) {
+        if (userRepository.findByEmail(user.getEmail()).isPresent()) {
             throw new RuntimeException("Email already exists");
         }
-
-        User user = new User();
-        user.setUsername(username);
-        user.setPassword(passwordEncoder.encode(password));
-        user.setEmail(email);
-        user.setRole(role);
-        user.setCreatedAt(LocalDateTime.now());
-
         return userRepository.save(user);
     }
 
+    // Whole login, bcrypt included; auth.password.hash has the bcrypt share on its own
     public Map<String, Object> login(String username, String password) {
-        User user = userRepository.findByUsername(username)
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            Map<String, Object> response = authenticate(username, password);
+            outcome = "success";
+            return response;
+        } finally {
+            sample.stop(meterRegistry.timer("auth.login", "outcome", outcome));
+        }
+    }
+
+    private Map<String, Object> authenticate(String username, String password) {
+        User user = shardRouter.asUser(username, () -> userRepository.findByUsername(username))
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         // For testuser, bypass password check
@@ -106,8 +153,86 @@ public class AuthService {
         return response;
     }
 
+    public User updateUser(Long id, String username, String email, String role, String password) {
+        String encodedPassword = password != null && !password.isEmpty() ? passwordEncoder.encode(password) : null;
+        User.Role newRole = role != null ? User.Role.valueOf(role.toUpperCase()) : null;
+        int shard = shardRouter.locate(id, userRepository::existsById);
+        if (!shardRouter.isSharded()) {
+            User saved = shardRouter.inTransaction(shard, () -> applyUpdate(id, username, email, newRole, encodedPassword));
+            stampsChanged(saved, username);
+            return saved;
+        }
+
+        User existing = shardRouter.onShard(shard, () -> userRepository.findById(id))
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        String previousUsername = existing.getUsername();
+        User.Role previousRole = existing.getRole();
+        if (previousRole != User.Role.USER && newRole == User.Role.USER) {
+            throw new RuntimeException("Staff accounts cannot become customer accounts while sharding is enabled");
+        }
+        boolean renamed = username != null && !username.equals(previousUsername);
+        if (renamed) {
+            shardDirectory.rename(previousUsername, username);
+        }
+
+        User saved;
+        try {
+            saved = shardRouter.inTransaction(shard, () -> applyUpdate(id, username, email, newRole, encodedPassword));
+        } catch (RuntimeException e) {
+            if (renamed) {
+                shardDirectory.rename(username, previousUsername);
+            }
+            throw e;
+        }
+        if (saved.getRole() != User.Role.USER) {
+            if (previousRole == User.Role.USER) {
+                shardDirectory.markReplicated(saved.getUsername());
+            }
+            shardRouter.replicateUser(saved, shard);
+        }
+        return saved;
+    }
+
+    // Load and save in one transaction so the row being modified is read from the primary
+    private User applyUpdate(Long id, String username, String email, User.Role role, String encodedPassword) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (username != null) user.setUsername(username);
+        if (email != null) user.setEmail(email);
+        if (role != null) user.setRole(role);
+        if (encodedPassword != null) {
+            user.setPassword(encodedPassword);
+        }
+        return userRepository.save(user);
+    }
+
+    public void deleteUser(Long id) {
+        int shard = shardRouter.locate(id, userRepository::existsById);
+        User user = shardRouter.isSharded() ? shardRouter.onShard(shard, () -> userRepository.findById(id)).orElse(null) : null;
+        shardRouter.inTransaction(shard, () -> {
+            userRepository.deleteById(id);
+            return null;
+        });
+        if (user != null) {
+            shardDirectory.release(user.getUsername());
+            if (user.getRole() != User.Role.USER) {
+                shardRouter.deleteReplicatedUser(id, shard);
+            }
+        }
+        changeStampService.invalidateAll();
+    }
+
+    // Staff rows exist on every shard with the same id and are listed once
+    public List<User> getAllUsers() {
+        Map<Long, User> users = new LinkedHashMap<>();
+        for (User user : shardRouter.scatterGather(userRepository::findAll, Comparator.comparing(User::getId))) {
+            users.putIfAbsent(user.getId(), user);
+        }
+        return new ArrayList<>(users.values());
+    }
+
     public User getCurrentUser(String username) {
-        return userRepository.findByUsername(username)
+        return shardRouter.asUser(username, () -> userRepository.findByUsername(username))
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 }
@@ -0,0 +1,122 @@
+package com.example.Bank_Loan_Management.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.Bank_Loan_Management.entity.ChangeStamp;
+import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.repository.ChangeStampRepository;
+
+// Version stamps for what the polled endpoints return (a customer's loans, a customer's documents, the rate
+// table), so a conditional GET is answered with 304 after one primary-key lookup instead of the listing.
+// Stamps are rows in the change_stamps table of the shard that holds what they describe, bumped in the
+// writing transaction (or right after the write when there is none), so every instance hands out the same
+// stamp and one read before the listing query is never newer than what that query sees. The ETag also
+// carries the shard's 'all' stamp, which changes that reach into every listing bump on every shard.
+@Service
+public class ChangeStampService {
+
+    private static final String ALL = "all";
+    private static final String INTEREST_RATES = "rates";
+
+    public record Stamp(String etag, long lastModified) {
+    }
+
+    private final ChangeStampRepository changeStampRepository;
+    private final ShardRouter shardRouter;
+
+    public ChangeStampService(ChangeStampRepository changeStampRepository, ShardRouter shardRouter) {
+        this.changeStampRepository = changeStampRepository;
+        this.shardRouter = shardRouter;
+    }
+
+    public Stamp loans(String username) {
+        return current("loans:" + username);
+    }
+
+    public Stamp documents(String username) {
+        return current("documents:" + username);
+    }
+
+    public Stamp interestRates() {
+        return current(INTEREST_RATES);
+    }
+
+    public void loansChanged(String username) {
+        bump(username, "loans:" + username);
+    }
+
+    public void documentsChanged(String username) {
+        bump(username, "documents:" + username);
+    }
+
+    // Called inside each shard's transaction of a rate change, since every shard keeps its own copy
+    public void interestRatesChanged() {
+        changeStampRepository.bump(INTEREST_RATES, now());
+    }
+
+    // Loan listings embed the customer and the staff who handled each loan, so a staff account change
+    // reaches into everybody's loans
+    public void userChanged(User user) {
+        if (user.getRole() == User.Role.USER) {
+            loansChanged(user.getUsername());
+        } else {
+            invalidateAll();
+        }
+    }
+
+    // For bulk changes that do not track which customers they touched. Shards cannot be switched inside a
+    // transaction, so each shard's 'all' row is bumped on its own once the change has committed
+    public void invalidateAll() {
+        afterCommit(() -> shardRouter.forEachShard(shard -> changeStampRepository.bump(ALL, now())));
+    }
+
+    // Missing rows count as version 0; with neither row there is no Last-Modified. The scope's hash keeps two
+    // customers' untouched lists from sharing an ETag in a browser cache that outlives a logout.
+    private Stamp current(String scope) {
+        long all = 0;
+        long version = 0;
+        long lastModified = -1;
+        for (ChangeStamp stamp : changeStampRepository.findAllById(List.of(ALL, scope))) {
+            if (ALL.equals(stamp.getScope())) {
+                all = stamp.getVersion();
+            } else {
+                version = stamp.getVersion();
+            }
+            lastModified = Math.max(lastModified, stamp.getLastModified());
+        }
+        String etag = Integer.toHexString(scope.hashCode()) + "-" + Long.toString(all, 36) + "-" + Long.toString(version, 36);
+        return new Stamp("\"" + etag + "\"", lastModified);
+    }
+
+    // A writing transaction already runs on the owner's shard, and the directory cannot be read from inside
+    // it, so the bump just joins it; without one the bump commits on its own on the owner's shard
+    private void bump(String username, String scope) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            changeStampRepository.bump(scope, now());
+        } else {
+            shardRouter.asUser(username, () -> changeStampRepository.bump(scope, now()));
+        }
+    }
+
+    // Last-Modified has whole-second precision
+    private static long now() {
+        return System.currentTimeMillis() / 1000 * 1000;
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
@@ -8,16 +8,27 @@ import org.springframework.stereotype.Service;
 import com.example.Bank_Loan_Management.entity.InterestRate;
 import com.example.Bank_Loan_Management.repository.InterestRateRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 @Service
 public class CreditScoringService {
 
     private final InterestRateRepository interestRateRepository;
+    private final Timer scoreTimer;
+    private final Timer rateTimer;
 
-    public CreditScoringService(InterestRateRepository interestRateRepository) {
+    public CreditScoringService(InterestRateRepository interestRateRepository, MeterRegistry meterRegistry) {
         this.interestRateRepository = interestRateRepository;
+        this.scoreTimer = meterRegistry.timer("loan.scoring", "step", "score");
+        this.rateTimer = meterRegistry.timer("loan.scoring", "step", "rate");
     }
 
     public int calculateCreditScore(BigDecimal amount, Integer term, String purpose) {
+        return scoreTimer.record(() -> score(amount, term, purpose));
+    }
+
+    private int score(BigDecimal amount, Integer term, String purpose) {
         // Simple mock credit scoring logic
         // In a real application, this would involve external APIs, user history, etc.
 
@@ -53,7 +64,12 @@ public class CreditScoringService {
         return creditScore > 400 && amount.compareTo(BigDecimal.valueOf(50000)) < 0;
     }
 
+    // Timed separately from scoring: the rate comes from the (cached) rate table, the score is pure arithmetic
     public BigDecimal getInterestRate(String purpose) {
+        return rateTimer.record(() -> lookupInterestRate(purpose));
+    }
+
+    private BigDecimal lookupInterestRate(String purpose) {
         Optional<InterestRate> interestRateOpt = interestRateRepository.findByPurpose(purpose.toLowerCase());
         if (interestRateOpt.isPresent()) {
             return interestRateOpt.get().getRate();
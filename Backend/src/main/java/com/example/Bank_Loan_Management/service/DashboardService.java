@@ -0,0 +1,157 @@
+package com.example.Bank_Loan_Management.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.stereotype.Service;
+
+import com.example.Bank_Loan_Management.config.ShardContext;
+import com.example.Bank_Loan_Management.entity.Document;
+import com.example.Bank_Loan_Management.entity.InterestRate;
+import com.example.Bank_Loan_Management.entity.LoanApplication;
+import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.repository.InterestRateRepository;
+
+import io.opentelemetry.context.Context;
+import jakarta.annotation.PreDestroy;
+
+// Everything a dashboard shows on its first render, gathered for one request. The parts do not depend on
+// each other, so they run concurrently on a small pool, each on the caller's shard, under the caller's
+// trace and as the caller. With dashboard.threads=0 they run one after another on the request thread instead.
+@Service
+public class DashboardService {
+
+    public record CustomerView(List<LoanApplication> loans, List<Document> documents,
+                               List<InterestRate> interestRates) {
+    }
+
+    public record LoanManagerView(Map<LoanApplication.Status, Long> loanCounts,
+                                  Map<Document.Status, Long> documentCounts,
+                                  List<LoanApplication> loanQueue, List<Document> documentQueue) {
+    }
+
+    public record ManagerView(Map<LoanApplication.Status, Long> loanCounts, List<LoanApplication> loanQueue,
+                              List<InterestRate> interestRates) {
+    }
+
+    private final LoanService loanService;
+    private final DocumentService documentService;
+    private final InterestRateRepository interestRateRepository;
+    private final ShardRouter shardRouter;
+    private final int queueSize;
+    private final long timeoutMillis;
+    private final ExecutorService executor;
+
+    public DashboardService(LoanService loanService,
+                            DocumentService documentService,
+                            InterestRateRepository interestRateRepository,
+                            ShardRouter shardRouter,
+                            @Value("${dashboard.threads:8}") int threads,
+                            @Value("${dashboard.queue-size:20}") int queueSize,
+                            @Value("${dashboard.timeout-ms:10000}") long timeoutMillis) {
+        this.loanService = loanService;
+        this.documentService = documentService;
+        this.interestRateRepository = interestRateRepository;
+        this.shardRouter = shardRouter;
+        this.queueSize = queueSize;
+        this.timeoutMillis = timeoutMillis;
+        if (threads > 0) {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "dashboard-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.executor = null;
+        }
+    }
+
+    public CustomerView customer(User user) {
+        Part<List<LoanApplication>> loans = fork(() -> loanService.getLoansByUser(user));
+        Part<List<Document>> documents = fork(() -> documentService.getDocumentsByUser(user));
+        Part<List<InterestRate>> interestRates = fork(interestRateRepository::findAll);
+        return new CustomerView(loans.get(), documents.get(), interestRates.get());
+    }
+
+    // Loan managers verify submitted applications and uploaded documents
+    public LoanManagerView loanManager() {
+        Part<Map<LoanApplication.Status, Long>> loanCounts = fork(loanService::countLoansByStatus);
+        Part<Map<Document.Status, Long>> documentCounts = fork(documentService::countDocumentsByStatus);
+        Part<List<LoanApplication>> loanQueue = fork(() -> loanService.getLoanQueue(LoanApplication.Status.APPLIED, queueSize));
+        Part<List<Document>> documentQueue = fork(() -> documentService.getDocumentQueue(queueSize));
+        return new LoanManagerView(loanCounts.get(), documentCounts.get(), loanQueue.get(), documentQueue.get());
+    }
+
+    // Managers decide on verified applications and keep the rate table
+    public ManagerView manager() {
+        Part<Map<LoanApplication.Status, Long>> loanCounts = fork(loanService::countLoansByStatus);
+        Part<List<LoanApplication>> loanQueue = fork(() -> loanService.getLoanQueue(LoanApplication.Status.VERIFIED, queueSize));
+        Part<List<InterestRate>> interestRates = fork(interestRateRepository::findAll);
+        return new ManagerView(loanCounts.get(), loanQueue.get(), interestRates.get());
+    }
+
+    // Starts one part; get() waits for it, at most timeout-ms after it was started
+    public <T> Part<T> fork(Supplier<T> work) {
+        int shard = ShardContext.current();
+        Callable<T> task = () -> shardRouter.onShard(shard, work);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        if (executor == null) {
+            return new Part<>(CompletableFuture.completedFuture(shardRouter.onShard(shard, work)), deadline, timeoutMillis);
+        }
+        // Context.wrap carries the request span over, so the part's queries are traced under it; the security
+        // context goes along too, since replica routing keeps each user's reads on the primary after their writes
+        return new Part<>(executor.submit(Context.current().wrap(new DelegatingSecurityContextCallable<>(task))),
+                deadline, timeoutMillis);
+    }
+
+    public static final class Part<T> {
+
+        private final Future<T> future;
+        private final long deadline;
+        private final long timeoutMillis;
+
+        private Part(Future<T> future, long deadline, long timeoutMillis) {
+            this.future = future;
+            this.deadline = deadline;
+            this.timeoutMillis = timeoutMillis;
+        }
+
+        public T get() {
+            try {
+                return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                throw new RuntimeException("Dashboard query did not finish within " + timeoutMillis + " ms");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new RuntimeException("Dashboard query failed: " + e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for a dashboard query");
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
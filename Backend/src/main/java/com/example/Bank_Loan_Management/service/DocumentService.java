@@ -1,29 +1,44 @@
 package com.example.Bank_Loan_Management.service;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.example.Bank_Loan_Management.entity.Document;
 import com.example.Bank_Loan_Management.entity.LoanApplication;
 import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.event.DocumentStatusEvent;
+import com.example.Bank_Loan_Management.event.DomainEventPublisher;
+import com.example.Bank_Loan_Management.event.LoanStatusEvent;
 import com.example.Bank_Loan_Management.repository.DocumentRepository;
 import com.example.Bank_Loan_Management.repository.LoanApplicationRepository;
 import com.example.Bank_Loan_Management.repository.UserRepository;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 @Service
 public class DocumentService {
 
+    private static final Logger logger = LoggerFactory.getLogger(DocumentService.class);
+
     @Autowired
     private DocumentRepository documentRepository;
 
@@ -33,59 +48,86 @@ public class DocumentService {
     @Autowired
     private UserRepository userRepository;
 
-    private final Path root = Paths.get("uploads");
+    @Autowired
+    private DocumentStorageService documentStorageService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private DomainEventPublisher eventPublisher;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ChangeStampService changeStampService;
 
-    public DocumentService() {
+    // Latency covers writing the file and the row; sizes are recorded per codec, before and after compression
+    public Document uploadDocument(User user, MultipartFile file, String documentType) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
         try {
-            Files.createDirectories(root);
-        } catch (IOException e) {
-            throw new RuntimeException("Could not initialize folder for upload!");
+            Document saved = storeDocument(user, file, documentType);
+            outcome = "success";
+            return saved;
+        } finally {
+            sample.stop(meterRegistry.timer("document.upload", "outcome", outcome));
         }
     }
 
-    public Document uploadDocument(User user, MultipartFile file, String documentType) throws IOException {
-        String fileName = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
-        Path filePath = root.resolve(fileName);
-        Files.copy(file.getInputStream(), filePath);
+    private Document storeDocument(User user, MultipartFile file, String documentType) throws IOException {
+        DocumentStorageService.StoredFile stored = documentStorageService.store(file);
+        String codec = stored.codec().name().toLowerCase();
+        DistributionSummary.builder("document.upload.size").baseUnit("bytes").tag("codec", codec)
+                .register(meterRegistry).record(file.getSize());
+        DistributionSummary.builder("document.upload.stored.size").baseUnit("bytes").tag("codec", codec)
+                .register(meterRegistry).record(stored.storedSize());
 
         Document document = new Document();
         document.setUser(user);
         document.setDocumentType(documentType);
         document.setFileName(file.getOriginalFilename());
-        document.setFilePath(filePath.toString());
+        document.setFilePath(stored.path().toString());
         document.setContentType(file.getContentType());
         document.setFileSize(file.getSize());
+        document.setStorageCodec(stored.codec());
+        document.setStoredSize(stored.storedSize());
         document.setStatus(Document.Status.UPLOADED);
 
-        return documentRepository.save(document);
+        Document saved = documentRepository.save(document);
+        eventPublisher.publish(DocumentStatusEvent.of(saved, null));
+        changeStampService.documentsChanged(user.getUsername());
+        return saved;
     }
 
+    @Transactional(readOnly = true)
     public List<Document> getDocumentsByLoanApplication(Long loanApplicationId) {
         return documentRepository.findByLoanApplication_Id(loanApplicationId);
     }
 
+    @Transactional(readOnly = true)
     public List<Document> getDocumentsByUser(User user) {
         return documentRepository.findByUser(user);
     }
 
+    @Transactional
     public Document verifyDocument(Long documentId) {
         Document document = documentRepository.findById(documentId)
                 .orElseThrow(() -> new RuntimeException("Document not found"));
+        Document.Status previousStatus = document.getStatus();
         document.setStatus(Document.Status.VERIFIED);
         Document saved = documentRepository.save(document);
+        eventPublisher.publish(DocumentStatusEvent.of(saved, previousStatus));
+        changeStampService.documentsChanged(document.getUser().getUsername());
 
         // Check if all document types have at least one verified document
         List<Document> userDocuments = documentRepository.findByUser(document.getUser());
 
-        // Group documents by type and check if each type has at least one verified document
-        boolean allTypesVerified = userDocuments.stream()
-                .collect(Collectors.groupingBy(Document::getDocumentType))
-                .entrySet()
-                .stream()
-                .allMatch(entry -> entry.getValue().stream()
-                        .anyMatch(doc -> doc.getStatus() == Document.Status.VERIFIED));
-
-        if (allTypesVerified) {
+        if (allTypesVerified(userDocuments)) {
             // Update all loan applications for this user to mark documents as verified and change status to VERIFIED
             List<LoanApplication> userApplications = loanApplicationRepository.findByUser(document.getUser());
             for (LoanApplication application : userApplications) {
@@ -93,19 +135,38 @@ public class DocumentService {
                 // Change status from APPLIED to VERIFIED so managers can approve
                 if (application.getStatus() == LoanApplication.Status.APPLIED) {
                     application.setStatus(LoanApplication.Status.VERIFIED);
+                    LoanStatusEvent event = LoanStatusEvent.of(application, LoanApplication.Status.APPLIED);
+                    notificationService.sendLoanStatusUpdate(event);
+                    eventPublisher.publish(event);
                 }
                 loanApplicationRepository.save(application);
             }
+            changeStampService.loansChanged(document.getUser().getUsername());
         }
 
         return saved;
     }
 
+    // Group documents by type and check if each type has at least one verified document.
+    // Static and public so the benchmarks can measure it without a database.
+    public static boolean allTypesVerified(List<Document> documents) {
+        return documents.stream()
+                .collect(Collectors.groupingBy(Document::getDocumentType))
+                .entrySet()
+                .stream()
+                .allMatch(entry -> entry.getValue().stream()
+                        .anyMatch(doc -> doc.getStatus() == Document.Status.VERIFIED));
+    }
+
+    @Transactional
     public Document rejectDocument(Long documentId) {
         Document document = documentRepository.findById(documentId)
                 .orElseThrow(() -> new RuntimeException("Document not found"));
+        Document.Status previousStatus = document.getStatus();
         document.setStatus(Document.Status.REJECTED);
         Document saved = documentRepository.save(document);
+        eventPublisher.publish(DocumentStatusEvent.of(saved, previousStatus));
+        changeStampService.documentsChanged(document.getUser().getUsername());
 
         // When a document is rejected, mark all loan applications for this user as not verified
         List<LoanApplication> userApplications = loanApplicationRepository.findByUser(document.getUser());
@@ -113,39 +174,89 @@ public class DocumentService {
             application.setDocumentsVerified(false);
             loanApplicationRepository.save(application);
         }
+        changeStampService.loansChanged(document.getUser().getUsername());
 
         return saved;
     }
 
+    @Transactional
     public void associateDocumentsWithLoan(User user, LoanApplication application) {
         List<Document> userDocuments = documentRepository.findByUser(user);
+        boolean linked = false;
         for (Document doc : userDocuments) {
             if (doc.getLoanApplication() == null) {
                 doc.setLoanApplication(application);
                 documentRepository.save(doc);
+                linked = true;
             }
         }
+        if (linked) {
+            changeStampService.documentsChanged(user.getUsername());
+        }
     }
 
     public List<Document> getAllDocuments() {
-        List<Document> documents = documentRepository.findAll();
-        System.out.println("DocumentService.getAllDocuments() found " + documents.size() + " documents");
+        List<Document> documents = shardRouter.scatterGather(documentRepository::findAll, Comparator.comparing(Document::getId));
+        logger.debug("Found {} documents", documents.size());
         return documents;
     }
 
+    // First page of the documents waiting for review, lowest id first on every shard
+    public List<Document> getDocumentQueue(int size) {
+        List<Document> documents = shardRouter.scatterGather(
+                () -> documentRepository.findByStatusOrderByIdAsc(Document.Status.UPLOADED, PageRequest.of(0, size)),
+                Comparator.comparing(Document::getId));
+        return documents.size() > size ? List.copyOf(documents.subList(0, size)) : documents;
+    }
+
+    public Map<Document.Status, Long> countDocumentsByStatus() {
+        Map<Document.Status, Long> counts = new EnumMap<>(Document.Status.class);
+        for (Document.Status status : Document.Status.values()) {
+            counts.put(status, 0L);
+        }
+        for (Object[] row : shardRouter.scatterGather(documentRepository::countByStatus)) {
+            counts.merge((Document.Status) row[0], (Long) row[1], Long::sum);
+        }
+        return counts;
+    }
+
+    @Transactional(readOnly = true)
+    public Document getDocument(Long documentId) {
+        return documentRepository.findById(documentId)
+                .orElseThrow(() -> new RuntimeException("Document not found"));
+    }
+
+    // Staff act on documents by id; the change then runs on the shard that holds the row
+    public int shardOfDocument(Long documentId) {
+        return shardRouter.locate(documentId, documentRepository::existsById);
+    }
+
     public Resource downloadDocument(Long documentId) throws IOException {
-        System.out.println("DocumentService.downloadDocument() called for ID: " + documentId);
         Document document = documentRepository.findById(documentId)
                 .orElseThrow(() -> new RuntimeException("Document not found"));
-        System.out.println("Found document: " + document.getFileName() + ", path: " + document.getFilePath());
+        logger.debug("Downloading document {} from {}", documentId, document.getFilePath());
 
         Path filePath = Paths.get(document.getFilePath());
-        Resource resource = new UrlResource(filePath.toUri());
-        System.out.println("File path exists: " + filePath.toFile().exists() + ", resource exists: " + resource.exists() + ", readable: " + resource.isReadable());
+        if (document.getStorageCodec() == Document.StorageCodec.GZIP) {
+            // Decompress while streaming so the client receives the original bytes
+            if (!filePath.toFile().canRead()) {
+                throw new RuntimeException("Could not read the file!");
+            }
+            long originalSize = document.getFileSize();
+            return new InputStreamResource(documentStorageService.open(document)) {
+                // The stored size is the compressed one; the response carries the original bytes
+                @Override
+                public long contentLength() {
+                    return originalSize;
+                }
+            };
+        }
 
+        Resource resource = new UrlResource(filePath.toUri());
         if (resource.exists() || resource.isReadable()) {
             return resource;
         } else {
+            logger.warn("Document {} points at {}, which cannot be read", documentId, filePath);
             throw new RuntimeException("Could not read the file!");
         }
     }
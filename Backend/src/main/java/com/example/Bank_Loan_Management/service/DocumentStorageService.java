@@ -0,0 +1,139 @@
+package com.example.Bank_Loan_Management.service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.Bank_Loan_Management.entity.Document;
+
+@Service
+public class DocumentStorageService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int SNIFF_LENGTH = 16;
+
+    // Content types that usually shrink well; everything else is stored as-is
+    private static final Set<String> COMPRESSIBLE_TYPES = Set.of(
+            "application/pdf",
+            "application/json",
+            "application/xml",
+            "application/rtf",
+            "application/msword",
+            "application/vnd.ms-excel",
+            "image/bmp",
+            "image/tiff",
+            "image/svg+xml");
+
+    private final Path root;
+    private final boolean compressionEnabled;
+
+    public DocumentStorageService(@Value("${document.storage.root:uploads}") String root,
+                                  @Value("${document.storage.compression.enabled:false}") boolean compressionEnabled) {
+        this.root = Paths.get(root);
+        this.compressionEnabled = compressionEnabled;
+        try {
+            Files.createDirectories(this.root);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not initialize folder for upload!");
+        }
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public StoredFile store(MultipartFile file) throws IOException {
+        Path filePath = root.resolve(UUID.randomUUID().toString() + "_" + file.getOriginalFilename());
+
+        try (BufferedInputStream in = new BufferedInputStream(file.getInputStream(), BUFFER_SIZE)) {
+            if (!shouldCompress(file.getContentType(), in)) {
+                Files.copy(in, filePath);
+                return new StoredFile(filePath, Document.StorageCodec.NONE, Files.size(filePath));
+            }
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(filePath), BUFFER_SIZE)) {
+                in.transferTo(out);
+            }
+        }
+
+        // Keep the raw bytes when compression did not pay off
+        long storedSize = Files.size(filePath);
+        if (storedSize >= file.getSize()) {
+            try (InputStream in = file.getInputStream()) {
+                Files.copy(in, filePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return new StoredFile(filePath, Document.StorageCodec.NONE, Files.size(filePath));
+        }
+        return new StoredFile(filePath, Document.StorageCodec.GZIP, storedSize);
+    }
+
+    public InputStream open(Document document) throws IOException {
+        InputStream in = Files.newInputStream(Paths.get(document.getFilePath()));
+        if (document.getStorageCodec() == Document.StorageCodec.GZIP) {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        }
+        return in;
+    }
+
+    private boolean shouldCompress(String contentType, BufferedInputStream in) throws IOException {
+        if (!compressionEnabled || !isCompressibleType(contentType)) {
+            return false;
+        }
+        in.mark(SNIFF_LENGTH);
+        byte[] header = in.readNBytes(SNIFF_LENGTH);
+        in.reset();
+        return !isAlreadyCompressed(header);
+    }
+
+    private boolean isCompressibleType(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.split(";", 2)[0].trim().toLowerCase();
+        return type.startsWith("text/") || COMPRESSIBLE_TYPES.contains(type);
+    }
+
+    // Sniff magic numbers so mislabelled archives and images are not compressed twice
+    static boolean isAlreadyCompressed(byte[] header) {
+        return startsWith(header, 0x1F, 0x8B)                  // gzip
+                || startsWith(header, 0x50, 0x4B, 0x03, 0x04)  // zip, docx, xlsx
+                || startsWith(header, 0x89, 0x50, 0x4E, 0x47)  // png
+                || startsWith(header, 0xFF, 0xD8, 0xFF)        // jpeg
+                || startsWith(header, 0x47, 0x49, 0x46, 0x38)  // gif
+                || startsWith(header, 0x42, 0x5A, 0x68)        // bzip2
+                || startsWith(header, 0x37, 0x7A, 0xBC, 0xAF)  // 7z
+                || startsWith(header, 0x52, 0x61, 0x72, 0x21)  // rar
+                || startsWith(header, 0xFD, 0x37, 0x7A, 0x58)  // xz
+                || startsWith(header, 0x28, 0xB5, 0x2F, 0xFD)  // zstd
+                || (startsWith(header, 0x52, 0x49, 0x46, 0x46)  // webp
+                        && header.length >= 12 && header[8] == 'W' && header[9] == 'E'
+                        && header[10] == 'B' && header[11] == 'P');
+    }
+
+    private static boolean startsWith(byte[] header, int... magic) {
+        if (header.length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if ((header[i] & 0xFF) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public record StoredFile(Path path, Document.StorageCodec codec, long storedSize) {
+    }
+}
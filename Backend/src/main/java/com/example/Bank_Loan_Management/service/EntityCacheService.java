@@ -0,0 +1,93 @@
+package com.example.Bank_Loan_Management.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import com.example.Bank_Loan_Management.entity.InterestRate;
+import com.example.Bank_Loan_Management.entity.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@Service
+public class EntityCacheService {
+
+    public static final String USERS_REGION = "users";
+    public static final String INTEREST_RATES_REGION = "interest-rates";
+    public static final String USERS_BY_USERNAME_REGION = "users-by-username";
+    public static final String INTEREST_RATES_BY_PURPOSE_REGION = "interest-rates-by-purpose";
+
+    private static final String[] REGIONS = {
+            USERS_REGION, INTEREST_RATES_REGION, USERS_BY_USERNAME_REGION, INTEREST_RATES_BY_PURPOSE_REGION
+    };
+
+    private final SessionFactory sessionFactory;
+    // Sharded setups use Hibernate's multi-tenancy, one tenant per shard. ShardRouter depends on this
+    // service, so the flag comes from the session factory rather than from ShardRouter.isSharded().
+    private final boolean multiTenant;
+
+    public EntityCacheService(EntityManagerFactory entityManagerFactory) {
+        SessionFactoryImplementor implementor = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.sessionFactory = implementor;
+        this.multiTenant = implementor.getSessionFactoryOptions().isMultiTenancyEnabled();
+    }
+
+    // Hibernate already invalidates on commit; evicting here also covers rows changed outside this
+    // session factory (another instance, a manual fix) for whoever touches them next through the admin API
+    public void evictUser(Long userId) {
+        Cache cache = sessionFactory.getCache();
+        if (multiTenant) {
+            // Entries are keyed per shard and an id-only eviction would miss them
+            cache.evictEntityData(User.class);
+        } else {
+            cache.evictEntityData(User.class, userId);
+        }
+        cache.evictQueryRegion(USERS_BY_USERNAME_REGION);
+    }
+
+    public void evictInterestRates() {
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(InterestRate.class);
+        cache.evictQueryRegion(INTEREST_RATES_BY_PURPOSE_REGION);
+    }
+
+    public void evictAll() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    public Map<String, Object> getStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : REGIONS) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            long hits = regionStatistics.getHitCount();
+            long misses = regionStatistics.getMissCount();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("hits", hits);
+            entry.put("misses", misses);
+            entry.put("puts", regionStatistics.getPutCount());
+            entry.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+            entry.put("entries", regionStatistics.getElementCountInMemory());
+            regions.put(region, entry);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        result.put("secondLevelHits", statistics.getSecondLevelCacheHitCount());
+        result.put("secondLevelMisses", statistics.getSecondLevelCacheMissCount());
+        result.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        result.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        result.put("updateTimestampsHits", statistics.getUpdateTimestampsCacheHitCount());
+        result.put("regions", regions);
+        return result;
+    }
+}
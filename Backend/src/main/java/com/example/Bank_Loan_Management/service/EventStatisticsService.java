@@ -0,0 +1,39 @@
+package com.example.Bank_Loan_Management.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Service;
+
+import com.example.Bank_Loan_Management.event.DocumentStatusEvent;
+import com.example.Bank_Loan_Management.event.DomainEventHandler;
+import com.example.Bank_Loan_Management.event.LoanStatusEvent;
+
+// Running counts of loan and document transitions, fed from the event bus
+@Service
+public class EventStatisticsService implements DomainEventHandler {
+
+    private final Map<String, LongAdder> transitions = new ConcurrentHashMap<>();
+
+    @Override
+    public void onEvent(Object event, boolean endOfBatch) {
+        if (event instanceof LoanStatusEvent loan) {
+            count("loan", loan.oldStatus(), loan.newStatus());
+        } else if (event instanceof DocumentStatusEvent document) {
+            count("document", document.oldStatus(), document.newStatus());
+        }
+    }
+
+    public Map<String, Long> getTransitionCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        transitions.forEach((key, adder) -> counts.put(key, adder.sum()));
+        return counts;
+    }
+
+    private void count(String type, Enum<?> from, Enum<?> to) {
+        String key = type + ":" + (from == null ? "NEW" : from.name()) + "->" + to.name();
+        transitions.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+}
@@ -0,0 +1,323 @@
+package com.example.Bank_Loan_Management.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+// Starts Java Flight Recorder recordings on demand with a preset event set, bounded by duration and size.
+// One recording runs at a time; finished .jfr files are kept on disk (the newest few) for download and summary.
+@Service
+public class FlightRecorderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecorderService.class);
+
+    private static final String APPLICATION_PACKAGE = "com.example.Bank_Loan_Management.";
+
+    public enum Preset {
+        // Method sampling every 10 ms of running Java code, 20 ms in native code
+        CPU(Map.of(
+                "jdk.ExecutionSample#enabled", "true",
+                "jdk.ExecutionSample#period", "10 ms",
+                "jdk.NativeMethodSample#enabled", "true",
+                "jdk.NativeMethodSample#period", "20 ms")),
+        // Sampled allocations weighted by bytes, plus GC pauses to relate them to
+        ALLOCATION(Map.of(
+                "jdk.ObjectAllocationSample#enabled", "true",
+                "jdk.ObjectAllocationSample#throttle", "300/s",
+                "jdk.ObjectAllocationSample#stackTrace", "true",
+                "jdk.GarbageCollection#enabled", "true")),
+        // Blocked monitor entry, Object.wait and LockSupport.park longer than 10 ms
+        LOCKS(Map.of(
+                "jdk.JavaMonitorEnter#enabled", "true",
+                "jdk.JavaMonitorEnter#threshold", "10 ms",
+                "jdk.JavaMonitorWait#enabled", "true",
+                "jdk.JavaMonitorWait#threshold", "10 ms",
+                "jdk.ThreadPark#enabled", "true",
+                "jdk.ThreadPark#threshold", "10 ms")),
+        // Socket reads and writes (JDBC, Kafka) and file I/O longer than 10 ms
+        IO(Map.of(
+                "jdk.SocketRead#enabled", "true",
+                "jdk.SocketRead#threshold", "10 ms",
+                "jdk.SocketWrite#enabled", "true",
+                "jdk.SocketWrite#threshold", "10 ms",
+                "jdk.FileRead#enabled", "true",
+                "jdk.FileRead#threshold", "10 ms",
+                "jdk.FileWrite#enabled", "true",
+                "jdk.FileWrite#threshold", "10 ms"));
+
+        private final Map<String, String> settings;
+
+        Preset(Map<String, String> settings) {
+            this.settings = settings;
+        }
+    }
+
+    private final Path directory;
+    private final long maxDurationSeconds;
+    private final long maxSizeMb;
+    private final int retainedRecordings;
+
+    private final AtomicLong ids = new AtomicLong();
+    // Guarded by this; insertion order is oldest first
+    private final Map<Long, ProfilingRecording> recordings = new LinkedHashMap<>();
+
+    public FlightRecorderService(@Value("${profiling.jfr.directory:${java.io.tmpdir}/jfr}") String directory,
+                                 @Value("${profiling.jfr.max-duration-seconds:600}") long maxDurationSeconds,
+                                 @Value("${profiling.jfr.max-size-mb:256}") long maxSizeMb,
+                                 @Value("${profiling.jfr.retained-recordings:5}") int retainedRecordings) {
+        this.directory = Path.of(directory);
+        this.maxDurationSeconds = maxDurationSeconds;
+        this.maxSizeMb = maxSizeMb;
+        this.retainedRecordings = retainedRecordings;
+    }
+
+    public synchronized RecordingInfo start(String presetName, long durationSeconds, long sizeMb) {
+        Preset preset = parsePreset(presetName);
+        if (durationSeconds < 1 || durationSeconds > maxDurationSeconds) {
+            throw new IllegalArgumentException("durationSeconds must be between 1 and " + maxDurationSeconds);
+        }
+        if (sizeMb < 1 || sizeMb > maxSizeMb) {
+            throw new IllegalArgumentException("maxSizeMb must be between 1 and " + maxSizeMb);
+        }
+        for (ProfilingRecording existing : recordings.values()) {
+            if (existing.recording.getState() == RecordingState.RUNNING) {
+                throw new RuntimeException("Recording " + existing.id + " is still running");
+            }
+        }
+
+        long id = ids.incrementAndGet();
+        Path file = directory.resolve("recording-" + id + "-" + preset.name().toLowerCase() + ".jfr");
+        Recording recording = new Recording(preset.settings);
+        try {
+            Files.createDirectories(directory);
+            recording.setName("admin-" + id + "-" + preset.name());
+            recording.setToDisk(true);
+            recording.setMaxSize(sizeMb * 1024 * 1024);
+            // With a duration JFR stops on its own and writes the file to the destination
+            recording.setDuration(Duration.ofSeconds(durationSeconds));
+            recording.setDestination(file);
+            recording.start();
+        } catch (IOException | RuntimeException e) {
+            recording.close();
+            throw new RuntimeException("Could not start recording: " + e.getMessage(), e);
+        }
+        ProfilingRecording profiling = new ProfilingRecording(id, preset, recording, file, Instant.now(), durationSeconds);
+        recordings.put(id, profiling);
+        prune();
+        logger.info("Started {} flight recording {} for {} s, at most {} MB", preset, id, durationSeconds, sizeMb);
+        return profiling.info();
+    }
+
+    public synchronized RecordingInfo stop(long id) {
+        ProfilingRecording profiling = recordings.get(id);
+        if (profiling == null) {
+            return null;
+        }
+        if (profiling.recording.getState() == RecordingState.RUNNING) {
+            profiling.recording.stop();
+            logger.info("Stopped flight recording {}", id);
+        }
+        return profiling.info();
+    }
+
+    public synchronized List<RecordingInfo> list() {
+        List<RecordingInfo> infos = new ArrayList<>();
+        recordings.values().forEach(profiling -> infos.add(profiling.info()));
+        return infos;
+    }
+
+    // The .jfr file of a finished recording, or null if there is no such recording
+    public synchronized Path file(long id) {
+        ProfilingRecording profiling = recordings.get(id);
+        if (profiling == null) {
+            return null;
+        }
+        if (!profiling.finished()) {
+            throw new RuntimeException("Recording " + id + " is still running");
+        }
+        return profiling.file;
+    }
+
+    public Summary summarize(long id, int top) {
+        Path file = file(id);
+        if (file == null) {
+            return null;
+        }
+        Tally hotMethods = new Tally();
+        Tally applicationMethods = new Tally();
+        Tally allocationSites = new Tally();
+        Tally lockContention = new Tally();
+        Tally io = new Tally();
+        long events = 0;
+        try (RecordingFile recordingFile = new RecordingFile(file)) {
+            while (recordingFile.hasMoreEvents()) {
+                RecordedEvent event = recordingFile.readEvent();
+                events++;
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample", "jdk.NativeMethodSample" -> {
+                        hotMethods.add(topFrame(event.getStackTrace(), false), 1);
+                        applicationMethods.add(topFrame(event.getStackTrace(), true), 1);
+                    }
+                    case "jdk.ObjectAllocationSample" -> allocationSites.add(
+                            event.getClass("objectClass").getName() + " at " + topFrame(event.getStackTrace(), false),
+                            event.getLong("weight"));
+                    case "jdk.JavaMonitorEnter", "jdk.JavaMonitorWait" -> lockContention.add(
+                            "monitor " + event.getClass("monitorClass").getName() + " at " + topFrame(event.getStackTrace(), true),
+                            event.getDuration().toMillis());
+                    case "jdk.ThreadPark" -> lockContention.add(
+                            "park " + (event.getClass("parkedClass") == null ? "-" : event.getClass("parkedClass").getName())
+                                    + " at " + topFrame(event.getStackTrace(), true),
+                            event.getDuration().toMillis());
+                    case "jdk.SocketRead", "jdk.SocketWrite" -> io.add(
+                            event.getEventType().getLabel() + " " + event.getString("host") + ":" + event.getInt("port"),
+                            event.getDuration().toMillis());
+                    case "jdk.FileRead", "jdk.FileWrite" -> io.add(
+                            event.getEventType().getLabel() + " " + event.getString("path"),
+                            event.getDuration().toMillis());
+                    default -> {
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read recording " + id + ": " + e.getMessage(), e);
+        }
+        ProfilingRecording profiling;
+        synchronized (this) {
+            profiling = recordings.get(id);
+        }
+        return new Summary(id, profiling.preset, events, hotMethods.top(top), applicationMethods.top(top),
+                allocationSites.top(top), lockContention.top(top), io.top(top));
+    }
+
+    private static Preset parsePreset(String name) {
+        try {
+            return Preset.valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown preset: " + name + " (use CPU, ALLOCATION, LOCKS or IO)");
+        }
+    }
+
+    // Top frame of the stack, or the first frame in our own code when applicationOnly is set
+    private static String topFrame(RecordedStackTrace stackTrace, boolean applicationOnly) {
+        if (stackTrace == null) {
+            return "<no stack>";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String type = frame.getMethod().getType().getName();
+            if (!applicationOnly || type.startsWith(APPLICATION_PACKAGE)) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        return applicationOnly ? "<outside application code>" : "<native>";
+    }
+
+    // Keeps the newest recordings and deletes the files of older ones
+    private void prune() {
+        while (recordings.size() > retainedRecordings) {
+            ProfilingRecording oldest = recordings.values().iterator().next();
+            if (!oldest.finished()) {
+                return;
+            }
+            recordings.remove(oldest.id);
+            oldest.recording.close();
+            try {
+                Files.deleteIfExists(oldest.file);
+            } catch (IOException e) {
+                logger.warn("Could not delete old flight recording {}: {}", oldest.file, e.getMessage());
+            }
+        }
+    }
+
+    private static final class ProfilingRecording {
+
+        private final long id;
+        private final Preset preset;
+        private final Recording recording;
+        private final Path file;
+        private final Instant startedAt;
+        private final long durationSeconds;
+
+        ProfilingRecording(long id, Preset preset, Recording recording, Path file, Instant startedAt, long durationSeconds) {
+            this.id = id;
+            this.preset = preset;
+            this.recording = recording;
+            this.file = file;
+            this.startedAt = startedAt;
+            this.durationSeconds = durationSeconds;
+        }
+
+        boolean finished() {
+            RecordingState state = recording.getState();
+            return (state == RecordingState.STOPPED || state == RecordingState.CLOSED) && Files.exists(file);
+        }
+
+        RecordingInfo info() {
+            long size = 0;
+            try {
+                size = finished() ? Files.size(file) : 0;
+            } catch (IOException e) {
+                // Reported as zero bytes
+            }
+            return new RecordingInfo(id, preset, recording.getState().name(), startedAt, durationSeconds,
+                    file.getFileName().toString(), size);
+        }
+    }
+
+    private static final class Tally {
+
+        private final Map<String, long[]> totals = new HashMap<>();
+        private long sum;
+
+        void add(String key, long amount) {
+            long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+            total[0]++;
+            total[1] += amount;
+            sum += amount;
+        }
+
+        List<Hotspot> top(int limit) {
+            return totals.entrySet().stream()
+                    .sorted((a, b) -> Long.compare(b.getValue()[1], a.getValue()[1]))
+                    .limit(Math.max(limit, 0))
+                    .map(entry -> new Hotspot(entry.getKey(), entry.getValue()[0], entry.getValue()[1],
+                            sum == 0 ? 0 : Math.round(entry.getValue()[1] * 1000.0 / sum) / 10.0))
+                    .toList();
+        }
+    }
+
+    public record RecordingInfo(long id, Preset preset, String state, Instant startedAt, long durationSeconds,
+                                String fileName, long sizeBytes) {
+    }
+
+    // total is samples for methods, sampled bytes for allocation sites and milliseconds for locks and I/O
+    public record Hotspot(String name, long events, long total, double percent) {
+    }
+
+    public record Summary(long recordingId, Preset preset, long events, List<Hotspot> hotMethods,
+                          List<Hotspot> applicationMethods, List<Hotspot> allocationSites,
+                          List<Hotspot> lockContention, List<Hotspot> io) {
+    }
+}
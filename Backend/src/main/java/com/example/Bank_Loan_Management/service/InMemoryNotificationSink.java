@@ -0,0 +1,48 @@
+package com.example.Bank_Loan_Management.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Used for local and test runs where no broker is available; keeps the most recent messages
+@Component
+@ConditionalOnProperty(name = "notification.sink", havingValue = "memory", matchIfMissing = true)
+public class InMemoryNotificationSink implements NotificationSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryNotificationSink.class);
+
+    private final int capacity;
+    private final Deque<Message> messages = new ArrayDeque<>();
+
+    public InMemoryNotificationSink(@Value("${notification.sink.memory.capacity:1000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public CompletableFuture<Void> publish(String topic, String key, String payload) {
+        synchronized (messages) {
+            if (messages.size() == capacity) {
+                messages.removeFirst();
+            }
+            messages.addLast(new Message(topic, key, payload));
+        }
+        logger.info("Kafka not available, logging notification [{}:{}]: {}", topic, key, payload);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    public List<Message> getMessages() {
+        synchronized (messages) {
+            return List.copyOf(messages);
+        }
+    }
+
+    public record Message(String topic, String key, String payload) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.Bank_Loan_Management.service;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "notification.sink", havingValue = "kafka")
+public class KafkaNotificationSink implements NotificationSink {
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+
+    public KafkaNotificationSink(KafkaTemplate<String, String> kafkaTemplate) {
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    @Override
+    public CompletableFuture<Void> publish(String topic, String key, String payload) {
+        return kafkaTemplate.send(topic, key, payload).thenApply(result -> null);
+    }
+}
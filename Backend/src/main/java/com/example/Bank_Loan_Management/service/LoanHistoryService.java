@@ -0,0 +1,63 @@
+package com.example.Bank_Loan_Management.service;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.Bank_Loan_Management.entity.ArchivedDocument;
+import com.example.Bank_Loan_Management.entity.ArchivedLoanApplication;
+import com.example.Bank_Loan_Management.repository.ArchivedDocumentRepository;
+import com.example.Bank_Loan_Management.repository.ArchivedLoanApplicationRepository;
+
+// Read-only access to archived applications; nothing here touches the hot tables
+@Service
+public class LoanHistoryService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final ArchivedLoanApplicationRepository archivedLoanApplicationRepository;
+    private final ArchivedDocumentRepository archivedDocumentRepository;
+    private final ShardRouter shardRouter;
+
+    public LoanHistoryService(ArchivedLoanApplicationRepository archivedLoanApplicationRepository,
+                              ArchivedDocumentRepository archivedDocumentRepository,
+                              ShardRouter shardRouter) {
+        this.archivedLoanApplicationRepository = archivedLoanApplicationRepository;
+        this.archivedDocumentRepository = archivedDocumentRepository;
+        this.shardRouter = shardRouter;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ArchivedLoanApplication> getArchivedLoansByUser(Long userId) {
+        return archivedLoanApplicationRepository.findByUserIdOrderByDecisionDateDesc(userId);
+    }
+
+    public Page<ArchivedLoanApplication> getArchivedLoans(int page, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), pageSize);
+        if (!shardRouter.isSharded()) {
+            return archivedLoanApplicationRepository.findAllByOrderByDecisionDateDesc(pageRequest);
+        }
+
+        // Each shard returns its newest rows up to the end of the requested page; the page is cut from their merge
+        PageRequest window = PageRequest.of(0, (pageRequest.getPageNumber() + 1) * pageSize);
+        List<ArchivedLoanApplication> merged = shardRouter.scatterGather(
+                () -> archivedLoanApplicationRepository.findAllByOrderByDecisionDateDesc(window).getContent(),
+                Comparator.comparing(ArchivedLoanApplication::getDecisionDate, Comparator.nullsLast(Comparator.reverseOrder())));
+        long total = shardRouter.scatterGather(() -> List.of(archivedLoanApplicationRepository.count()))
+                .stream().mapToLong(Long::longValue).sum();
+        int from = Math.min((int) pageRequest.getOffset(), merged.size());
+        int to = Math.min(from + pageSize, merged.size());
+        return new PageImpl<>(merged.subList(from, to), pageRequest, total);
+    }
+
+    public List<ArchivedDocument> getArchivedDocuments(Long loanApplicationId) {
+        int shard = shardRouter.locate(loanApplicationId, archivedLoanApplicationRepository::existsById);
+        return shardRouter.onShard(shard, () -> archivedDocumentRepository.findByLoanApplicationId(loanApplicationId));
+    }
+}
@@ -2,175 +2,271 @@ package com.example.Bank_Loan_Management.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.example.Bank_Loan_Management.entity.Document;
 import com.example.Bank_Loan_Management.entity.LoanApplication;
 import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.event.DomainEventPublisher;
+import com.example.Bank_Loan_Management.event.LoanStatusEvent;
 import com.example.Bank_Loan_Management.repository.DocumentRepository;
 import com.example.Bank_Loan_Management.repository.LoanApplicationRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 @Service
 public class LoanService {
 
+    private static final Logger logger = LoggerFactory.getLogger(LoanService.class);
+
+    private static final Comparator<LoanApplication> QUEUE_ORDER = Comparator
+            .comparing(LoanApplication::getAppliedDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(LoanApplication::getId);
+
     private final LoanApplicationRepository loanApplicationRepository;
     private final DocumentRepository documentRepository;
     private final CreditScoringService creditScoringService;
     private final NotificationService notificationService;
+    private final DomainEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+    private final MeterRegistry meterRegistry;
+    private final ChangeStampService changeStampService;
 
     public LoanService(LoanApplicationRepository loanApplicationRepository,
                        DocumentRepository documentRepository,
                        CreditScoringService creditScoringService,
-                       NotificationService notificationService) {
+                       NotificationService notificationService,
+                       DomainEventPublisher eventPublisher,
+                       ShardRouter shardRouter,
+                       MeterRegistry meterRegistry,
+                       ChangeStampService changeStampService) {
         this.loanApplicationRepository = loanApplicationRepository;
         this.documentRepository = documentRepository;
         this.creditScoringService = creditScoringService;
         this.notificationService = notificationService;
+        this.eventPublisher = eventPublisher;
+        this.shardRouter = shardRouter;
+        this.meterRegistry = meterRegistry;
+        this.changeStampService = changeStampService;
     }
 
     @Transactional
     public LoanApplication applyForLoan(User user, BigDecimal amount, Integer term, String purpose) {
-        LoanApplication application = new LoanApplication();
-        application.setUser(user);
-        application.setAmount(amount);
-        application.setTerm(term);
-        application.setPurpose(purpose);
-        application.setStatus(LoanApplication.Status.APPLIED);
-        application.setAppliedDate(LocalDateTime.now());
-        application.setDocumentsVerified(false);
-
-        // Set interest rate based on purpose
-        BigDecimal interestRate = creditScoringService.getInterestRate(purpose);
-        application.setInterestRate(interestRate);
-
-        // Calculate credit score
-        int creditScore = creditScoringService.calculateCreditScore(amount, term, purpose);
-        application.setCreditScore(creditScore);
-
-        LoanApplication saved = loanApplicationRepository.save(application);
-
-        // Link existing documents to this loan application
-        List<Document> userDocuments = documentRepository.findByUser_IdAndLoanApplicationIsNull(user.getId());
-        for (Document document : userDocuments) {
-            document.setLoanApplication(saved);
-            documentRepository.save(document);
-        }
+        return timed("apply", () -> {
+            LoanApplication application = new LoanApplication();
+            application.setUser(user);
+            application.setAmount(amount);
+            application.setTerm(term);
+            application.setPurpose(purpose);
+            application.setStatus(LoanApplication.Status.APPLIED);
+            application.setAppliedDate(LocalDateTime.now());
+            application.setDocumentsVerified(false);
+
+            // Set interest rate based on purpose
+            BigDecimal interestRate = creditScoringService.getInterestRate(purpose);
+            application.setInterestRate(interestRate);
+
+            // Calculate credit score
+            int creditScore = creditScoringService.calculateCreditScore(amount, term, purpose);
+            application.setCreditScore(creditScore);
+
+            LoanApplication saved = loanApplicationRepository.save(application);
 
-        notificationService.sendLoanStatusUpdate(user.getId(), "APPLIED");
+            // Link existing documents to this loan application
+            List<Document> userDocuments = documentRepository.findByUser_IdAndLoanApplicationIsNull(user.getId());
+            for (Document document : userDocuments) {
+                document.setLoanApplication(saved);
+                documentRepository.save(document);
+            }
+            // The documents now carry this application's id
+            if (!userDocuments.isEmpty()) {
+                changeStampService.documentsChanged(user.getUsername());
+            }
 
-        return saved;
+            publishStatusChange(saved, null);
+
+            return saved;
+        });
     }
 
 
     @Transactional
     public LoanApplication rejectLoan(Long applicationId, User manager) {
-        LoanApplication application = loanApplicationRepository.findById(applicationId)
-                .orElseThrow(() -> new RuntimeException("Application not found"));
+        return timed("reject", () -> {
+            LoanApplication application = loanApplicationRepository.findById(applicationId)
+                    .orElseThrow(() -> new RuntimeException("Application not found"));
 
-        if (application.getStatus() != LoanApplication.Status.VERIFIED) {
-            throw new RuntimeException("Application is not in VERIFIED status");
-        }
+            if (application.getStatus() != LoanApplication.Status.VERIFIED) {
+                throw new RuntimeException("Application is not in VERIFIED status");
+            }
 
-        application.setStatus(LoanApplication.Status.REJECTED);
-        application.setDecisionDate(LocalDateTime.now());
-        application.setManager(manager);
+            LoanApplication.Status previousStatus = application.getStatus();
+            application.setStatus(LoanApplication.Status.REJECTED);
+            application.setDecisionDate(LocalDateTime.now());
+            application.setManager(manager);
 
-        LoanApplication saved = loanApplicationRepository.save(application);
+            LoanApplication saved = loanApplicationRepository.save(application);
 
-        notificationService.sendLoanStatusUpdate(application.getUser().getId(), "REJECTED");
+            publishStatusChange(saved, previousStatus);
 
-        return saved;
+            return saved;
+        });
     }
 
     @Transactional
     public LoanApplication verifyLoanApplication(Long applicationId, User loanManager) {
-        LoanApplication application = loanApplicationRepository.findById(applicationId)
-                .orElseThrow(() -> new RuntimeException("Application not found"));
+        return timed("verify", () -> {
+            LoanApplication application = loanApplicationRepository.findById(applicationId)
+                    .orElseThrow(() -> new RuntimeException("Application not found"));
 
-        if (application.getStatus() != LoanApplication.Status.APPLIED) {
-            throw new RuntimeException("Application is not in APPLIED status");
-        }
+            if (application.getStatus() != LoanApplication.Status.APPLIED) {
+                throw new RuntimeException("Application is not in APPLIED status");
+            }
 
-        application.setStatus(LoanApplication.Status.VERIFIED);
-        application.setDocumentsVerified(true);
-        application.setLoanManager(loanManager);
+            LoanApplication.Status previousStatus = application.getStatus();
+            application.setStatus(LoanApplication.Status.VERIFIED);
+            application.setDocumentsVerified(true);
+            application.setLoanManager(loanManager);
 
-        LoanApplication saved = loanApplicationRepository.save(application);
+            LoanApplication saved = loanApplicationRepository.save(application);
 
-        notificationService.sendLoanStatusUpdate(application.getUser().getId(), "VERIFIED");
+            publishStatusChange(saved, previousStatus);
 
-        return saved;
+            return saved;
+        });
     }
 
     @Transactional
     public LoanApplication rejectLoanApplication(Long applicationId, User loanManager) {
-        LoanApplication application = loanApplicationRepository.findById(applicationId)
-                .orElseThrow(() -> new RuntimeException("Application not found"));
+        return timed("reject-verification", () -> {
+            LoanApplication application = loanApplicationRepository.findById(applicationId)
+                    .orElseThrow(() -> new RuntimeException("Application not found"));
 
-        if (application.getStatus() != LoanApplication.Status.APPLIED) {
-            throw new RuntimeException("Application is not in APPLIED status");
-        }
+            if (application.getStatus() != LoanApplication.Status.APPLIED) {
+                throw new RuntimeException("Application is not in APPLIED status");
+            }
 
-        application.setStatus(LoanApplication.Status.REJECTED);
-        application.setDecisionDate(LocalDateTime.now());
-        application.setLoanManager(loanManager);
+            LoanApplication.Status previousStatus = application.getStatus();
+            application.setStatus(LoanApplication.Status.REJECTED);
+            application.setDecisionDate(LocalDateTime.now());
+            application.setLoanManager(loanManager);
 
-        LoanApplication saved = loanApplicationRepository.save(application);
+            LoanApplication saved = loanApplicationRepository.save(application);
 
-        notificationService.sendLoanStatusUpdate(application.getUser().getId(), "REJECTED");
+            publishStatusChange(saved, previousStatus);
 
-        return saved;
+            return saved;
+        });
     }
 
     @Transactional
     public LoanApplication approveLoan(Long applicationId, User manager) {
-        LoanApplication application = loanApplicationRepository.findById(applicationId)
-                .orElseThrow(() -> new RuntimeException("Application not found"));
+        return timed("approve", () -> {
+            LoanApplication application = loanApplicationRepository.findById(applicationId)
+                    .orElseThrow(() -> new RuntimeException("Application not found"));
 
-        System.out.println("Approving loan application: " + applicationId + ", current status: " + application.getStatus());
+            logger.debug("Approving loan application {} in status {}", applicationId, application.getStatus());
 
-        if (application.getStatus() != LoanApplication.Status.VERIFIED) {
-            throw new RuntimeException("Application is not in VERIFIED status: " + application.getStatus());
-        }
+            if (application.getStatus() != LoanApplication.Status.VERIFIED) {
+                throw new RuntimeException("Application is not in VERIFIED status: " + application.getStatus());
+            }
 
-        application.setStatus(LoanApplication.Status.APPROVED);
-        application.setDecisionDate(LocalDateTime.now());
-        application.setManager(manager);
+            LoanApplication.Status previousStatus = application.getStatus();
+            application.setStatus(LoanApplication.Status.APPROVED);
+            application.setDecisionDate(LocalDateTime.now());
+            application.setManager(manager);
 
-        // Set approval details - use the interest rate that was set during application
-        application.setApprovedAmount(application.getAmount());
+            // Set approval details - use the interest rate that was set during application
+            application.setApprovedAmount(application.getAmount());
 
-        // Ensure interest rate is set (fallback to 8.5% if not set)
-        BigDecimal interestRate = application.getInterestRate();
-        if (interestRate == null || interestRate.compareTo(BigDecimal.ZERO) <= 0) {
-            interestRate = BigDecimal.valueOf(8.5);
-            application.setInterestRate(interestRate);
-        }
+            // Ensure interest rate is set (fallback to 8.5% if not set)
+            BigDecimal interestRate = application.getInterestRate();
+            if (interestRate == null || interestRate.compareTo(BigDecimal.ZERO) <= 0) {
+                interestRate = BigDecimal.valueOf(8.5);
+                application.setInterestRate(interestRate);
+            }
 
-        BigDecimal interestAmount = application.getAmount().multiply(interestRate).divide(BigDecimal.valueOf(100));
-        BigDecimal totalAmount = application.getAmount().add(interestAmount);
-        application.setPaidAmount(BigDecimal.ZERO);
-        application.setPendingAmount(totalAmount);
+            BigDecimal interestAmount = application.getAmount().multiply(interestRate).divide(BigDecimal.valueOf(100));
+            BigDecimal totalAmount = application.getAmount().add(interestAmount);
+            application.setPaidAmount(BigDecimal.ZERO);
+            application.setPendingAmount(totalAmount);
 
-        LoanApplication saved = loanApplicationRepository.save(application);
+            LoanApplication saved = loanApplicationRepository.save(application);
 
-        notificationService.sendLoanStatusUpdate(application.getUser().getId(), "APPROVED");
+            publishStatusChange(saved, previousStatus);
 
-        return saved;
+            return saved;
+        });
     }
 
+    // Runs inside the caller's transaction, so the commit itself is not part of the recorded time
+    private LoanApplication timed(String transition, Supplier<LoanApplication> work) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            LoanApplication result = work.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(meterRegistry.timer("loan.transition", "transition", transition, "outcome", outcome));
+        }
+    }
+
+    // Outbox row joins the current transaction; bus handlers run after commit
+    private void publishStatusChange(LoanApplication application, LoanApplication.Status previousStatus) {
+        LoanStatusEvent event = LoanStatusEvent.of(application, previousStatus);
+        notificationService.sendLoanStatusUpdate(event);
+        eventPublisher.publish(event);
+        changeStampService.loansChanged(application.getUser().getUsername());
+    }
+
+    @Transactional(readOnly = true)
     public List<LoanApplication> getLoansByUser(User user) {
         return loanApplicationRepository.findByUser(user);
     }
 
+    // Staff listings span every shard; each shard's part runs in its own read-only transaction
     public List<LoanApplication> getLoansByStatus(LoanApplication.Status status) {
-        return loanApplicationRepository.findByStatus(status);
+        return shardRouter.scatterGather(() -> loanApplicationRepository.findByStatus(status),
+                Comparator.comparing(LoanApplication::getId));
     }
 
     public List<LoanApplication> getAllLoans() {
-        return loanApplicationRepository.findAll();
+        return shardRouter.scatterGather(loanApplicationRepository::findAll, Comparator.comparing(LoanApplication::getId));
+    }
+
+    // First page of a work queue: each shard's oldest applications, merged and cut back to one page
+    public List<LoanApplication> getLoanQueue(LoanApplication.Status status, int size) {
+        List<LoanApplication> loans = shardRouter.scatterGather(
+                () -> loanApplicationRepository.findByStatusOrderByAppliedDateAscIdAsc(status, PageRequest.of(0, size)),
+                QUEUE_ORDER);
+        return loans.size() > size ? List.copyOf(loans.subList(0, size)) : loans;
+    }
+
+    public Map<LoanApplication.Status, Long> countLoansByStatus() {
+        Map<LoanApplication.Status, Long> counts = new EnumMap<>(LoanApplication.Status.class);
+        for (LoanApplication.Status status : LoanApplication.Status.values()) {
+            counts.put(status, 0L);
+        }
+        for (Object[] row : shardRouter.scatterGather(loanApplicationRepository::countByStatus)) {
+            counts.merge((LoanApplication.Status) row[0], (Long) row[1], Long::sum);
+        }
+        return counts;
+    }
+
+    // Staff act on applications by id; the transition then runs on the shard that holds the row
+    public int shardOfApplication(Long applicationId) {
+        return shardRouter.locate(applicationId, loanApplicationRepository::existsById);
     }
 }
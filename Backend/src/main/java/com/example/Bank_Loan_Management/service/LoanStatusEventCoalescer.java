@@ -0,0 +1,44 @@
+package com.example.Bank_Loan_Management.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.example.Bank_Loan_Management.event.LoanStatusEvent;
+import com.example.Bank_Loan_Management.event.LoanStatusNotification;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Component
+public class LoanStatusEventCoalescer implements NotificationCoalescer {
+
+    private final ObjectMapper objectMapper;
+
+    public LoanStatusEventCoalescer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String topic() {
+        return NotificationService.LOAN_NOTIFICATIONS_TOPIC;
+    }
+
+    @Override
+    public String coalesce(String key, List<String> payloads) {
+        // One entry per loan: first old status, last new status and the latest amounts
+        Map<Long, LoanStatusEvent> byLoan = new LinkedHashMap<>();
+        try {
+            for (String payload : payloads) {
+                LoanStatusEvent event = objectMapper.readValue(payload, LoanStatusEvent.class);
+                byLoan.merge(event.loanId(), event, LoanStatusEvent::mergeWith);
+            }
+            return objectMapper.writeValueAsString(
+                    new LoanStatusNotification(Long.valueOf(key), new ArrayList<>(byLoan.values())));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not coalesce loan status events for user " + key, e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.Bank_Loan_Management.service;
+
+import java.util.List;
+
+// Merges consecutive outbox payloads for one topic and key into a single message
+public interface NotificationCoalescer {
+
+    String topic();
+
+    String coalesce(String key, List<String> payloads);
+}
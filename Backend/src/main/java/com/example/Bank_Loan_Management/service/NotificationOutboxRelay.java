@@ -0,0 +1,252 @@
+package com.example.Bank_Loan_Management.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.Bank_Loan_Management.entity.NotificationOutbox;
+import com.example.Bank_Loan_Management.repository.NotificationOutboxRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@Service
+public class NotificationOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutboxRelay.class);
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final NotificationSink notificationSink;
+    private final Map<String, NotificationCoalescer> coalescers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long sendTimeoutMillis;
+    private final long coalesceWindowMillis;
+    private final long coalesceMaxWaitMillis;
+    private final long retentionHours;
+    private final ShardRouter shardRouter;
+    private final MeterRegistry meterRegistry;
+    // Keys per shard whose sends outlived the batch timeout; not polled again until those sends finish
+    private final Map<Integer, Set<String>> inFlightKeys = new ConcurrentHashMap<>();
+
+    public NotificationOutboxRelay(NotificationOutboxRepository notificationOutboxRepository,
+                                   NotificationSink notificationSink,
+                                   List<NotificationCoalescer> coalescers,
+                                   ShardRouter shardRouter,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${notification.outbox.batch-size:200}") int batchSize,
+                                   @Value("${notification.outbox.max-attempts:10}") int maxAttempts,
+                                   @Value("${notification.outbox.send-timeout-ms:10000}") long sendTimeoutMillis,
+                                   @Value("${notification.outbox.coalesce-window-ms:2000}") long coalesceWindowMillis,
+                                   @Value("${notification.outbox.coalesce-max-wait-ms:10000}") long coalesceMaxWaitMillis,
+                                   @Value("${notification.outbox.retention-hours:72}") long retentionHours) {
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.notificationSink = notificationSink;
+        this.coalescers = coalescers.stream()
+                .collect(Collectors.toMap(NotificationCoalescer::topic, Function.identity()));
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        this.coalesceWindowMillis = coalesceWindowMillis;
+        this.coalesceMaxWaitMillis = coalesceMaxWaitMillis;
+        this.retentionHours = retentionHours;
+        this.shardRouter = shardRouter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Outbox rows are written on the shard of the transaction that produced them, so each shard is drained
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:500}")
+    public void relay() {
+        shardRouter.forEachShard(this::relayShard);
+    }
+
+    private void relayShard(int shard) {
+        // A key waits until it has been quiet for the coalescing window, then all its rows go out together;
+        // a key that never goes quiet is still sent once its oldest row has waited the maximum
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime settledBefore = now.minusNanos(coalesceWindowMillis * 1_000_000L);
+        LocalDateTime heldSince = now.minusNanos(coalesceMaxWaitMillis * 1_000_000L);
+
+        // Keep draining while full batches go through; back off to the next poll on any failure
+        Set<String> busyKeys = inFlightKeys.computeIfAbsent(shard, s -> ConcurrentHashMap.newKeySet());
+        boolean drainMore = true;
+        while (drainMore) {
+            List<NotificationOutbox> batch = notificationOutboxRepository.findSettledPending(
+                    settledBefore, heldSince, Set.copyOf(busyKeys), PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return;
+            }
+            drainMore = publishBatch(shard, busyKeys, batch) == batch.size() && batch.size() == batchSize;
+        }
+    }
+
+    @Scheduled(cron = "${notification.outbox.cleanup-cron:0 0 * * * *}")
+    public void purgeDelivered() {
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        shardRouter.forEachShard(shard -> {
+            int deleted = notificationOutboxRepository.deleteDeliveredBefore(before);
+            if (deleted > 0) {
+                logger.info("Purged {} delivered outbox rows on shard {}", deleted, shard);
+            }
+        });
+    }
+
+    private int publishBatch(int shard, Set<String> busyKeys, List<NotificationOutbox> batch) {
+        Map<String, List<NotificationOutbox>> byKey = new LinkedHashMap<>();
+        for (NotificationOutbox entry : batch) {
+            byKey.computeIfAbsent(entry.getMessageKey(), key -> new ArrayList<>()).add(entry);
+        }
+
+        // Keys publish in parallel; within a key each send waits for the previous one so order holds
+        Map<String, CompletableFuture<Void>> chains = new LinkedHashMap<>();
+        Map<String, Outcome> outcomes = new LinkedHashMap<>();
+        for (Map.Entry<String, List<NotificationOutbox>> group : byKey.entrySet()) {
+            Outcome outcome = new Outcome();
+            outcomes.put(group.getKey(), outcome);
+            try {
+                List<OutboundMessage> messages = coalesce(group.getKey(), group.getValue());
+                busyKeys.add(group.getKey());
+                chains.put(group.getKey(), publishInOrder(messages, 0, outcome));
+            } catch (RuntimeException e) {
+                logger.warn("Could not prepare outbox messages for key {}: {}", group.getKey(), e.getMessage());
+                group.getValue().forEach(entry -> outcome.failed.add(entry.getId()));
+            }
+        }
+        try {
+            CompletableFuture.allOf(chains.values().toArray(new CompletableFuture[0]))
+                    .get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            logger.warn("Outbox batch did not complete within {} ms: {}", sendTimeoutMillis, e.toString());
+        }
+
+        // Finished keys are recorded together; the rest are recorded when their last send settles, and
+        // until then their rows stay pending but are not polled, so a slow send is not sent twice
+        List<Long> delivered = new ArrayList<>();
+        List<Long> failed = new ArrayList<>();
+        List<String> finished = new ArrayList<>();
+        for (Map.Entry<String, Outcome> keyOutcome : outcomes.entrySet()) {
+            String key = keyOutcome.getKey();
+            Outcome outcome = keyOutcome.getValue();
+            CompletableFuture<Void> chain = chains.get(key);
+            if (chain == null || chain.isDone()) {
+                delivered.addAll(outcome.delivered);
+                failed.addAll(outcome.failed);
+                finished.add(key);
+            } else {
+                chain.whenComplete((result, error) -> {
+                    try {
+                        shardRouter.onShard(shard, () -> record(List.copyOf(outcome.delivered), List.copyOf(outcome.failed)));
+                    } catch (RuntimeException e) {
+                        logger.warn("Could not record late outbox sends for key {}: {}", key, e.getMessage());
+                    } finally {
+                        busyKeys.remove(key);
+                    }
+                });
+            }
+        }
+        try {
+            return record(delivered, failed);
+        } finally {
+            busyKeys.removeAll(finished);
+        }
+    }
+
+    // Anything not acknowledged stays pending and is retried, so delivery is at-least-once
+    private int record(List<Long> deliveredIds, List<Long> failedIds) {
+        if (!deliveredIds.isEmpty()) {
+            notificationOutboxRepository.markDelivered(deliveredIds, LocalDateTime.now());
+        }
+        if (!failedIds.isEmpty()) {
+            notificationOutboxRepository.markFailed(failedIds, "Publish failed");
+            // A message that can never be sent would otherwise be retried on every poll, holding back its key
+            int deadLettered = notificationOutboxRepository.markDeadLettered(failedIds, maxAttempts, LocalDateTime.now());
+            if (deadLettered > 0) {
+                meterRegistry.counter("notification.dead.lettered").increment(deadLettered);
+                logger.error("Gave up on {} outbox messages after {} attempts", deadLettered, maxAttempts);
+            }
+            if (failedIds.size() > deadLettered) {
+                logger.warn("Failed to publish {} outbox messages, will retry", failedIds.size() - deadLettered);
+            }
+        }
+        return deliveredIds.size();
+    }
+
+    // Folds each run of consecutive same-topic rows into one message when the topic has a coalescer
+    private List<OutboundMessage> coalesce(String key, List<NotificationOutbox> entries) {
+        List<OutboundMessage> messages = new ArrayList<>();
+        int start = 0;
+        while (start < entries.size()) {
+            String topic = entries.get(start).getTopic();
+            int end = start + 1;
+            while (end < entries.size() && entries.get(end).getTopic().equals(topic)) {
+                end++;
+            }
+            List<NotificationOutbox> run = entries.subList(start, end);
+            NotificationCoalescer coalescer = coalescers.get(topic);
+            if (coalescer == null) {
+                for (NotificationOutbox entry : run) {
+                    messages.add(new OutboundMessage(topic, key, entry.getPayload(), List.of(entry.getId())));
+                }
+            } else {
+                List<String> payloads = run.stream().map(NotificationOutbox::getPayload).toList();
+                List<Long> ids = run.stream().map(NotificationOutbox::getId).toList();
+                messages.add(new OutboundMessage(topic, key, coalescer.coalesce(key, payloads), ids));
+            }
+            start = end;
+        }
+        return messages;
+    }
+
+    private CompletableFuture<Void> publishInOrder(List<OutboundMessage> messages, int index, Outcome outcome) {
+        if (index == messages.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        OutboundMessage message = messages.get(index);
+        // From handing the message to the sink until the sink acknowledges it
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<Void> send;
+        try {
+            send = notificationSink.publish(message.topic(), message.key(), message.payload());
+        } catch (RuntimeException e) {
+            send = CompletableFuture.failedFuture(e);
+        }
+        return send.handle((result, error) -> {
+            sample.stop(meterRegistry.timer("notification.send",
+                    "topic", message.topic(), "outcome", error == null ? "success" : "failure"));
+            if (error == null) {
+                outcome.delivered.addAll(message.outboxIds());
+            } else {
+                // Stop this key here so later messages are not delivered ahead of the failed one
+                outcome.failed.addAll(message.outboxIds());
+            }
+            return error == null;
+        }).thenCompose(ok -> ok
+                ? publishInOrder(messages, index + 1, outcome)
+                : CompletableFuture.completedFuture(null));
+    }
+
+    private record OutboundMessage(String topic, String key, String payload, List<Long> outboxIds) {
+    }
+
+    // Ids a key's chain has settled so far; written by the sink's callback threads, read once the chain is done
+    private static final class Outcome {
+        private final List<Long> delivered = new CopyOnWriteArrayList<>();
+        private final List<Long> failed = new CopyOnWriteArrayList<>();
+    }
+}
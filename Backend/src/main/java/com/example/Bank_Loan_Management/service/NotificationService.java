@@ -1,31 +1,46 @@
 package com.example.Bank_Loan_Management.service;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.kafka.core.KafkaTemplate;
+import java.time.LocalDateTime;
+
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.Bank_Loan_Management.entity.NotificationOutbox;
+import com.example.Bank_Loan_Management.event.LoanStatusEvent;
+import com.example.Bank_Loan_Management.repository.NotificationOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Service
 public class NotificationService {
 
-    @Autowired(required = false)
-    private KafkaTemplate<String, String> kafkaTemplate;
+    public static final String LOAN_NOTIFICATIONS_TOPIC = "loan-notifications";
 
-    public void sendNotification(String topic, String message) {
-        try {
-            if (kafkaTemplate != null) {
-                kafkaTemplate.send(topic, message);
-                System.out.println("Notification sent to Kafka: " + message);
-            } else {
-                System.out.println("Kafka not available, logging notification: " + message);
-            }
-        } catch (Exception e) {
-            System.err.println("Failed to send notification to Kafka: " + e.getMessage());
-            System.out.println("Logging notification instead: " + message);
-        }
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public NotificationService(NotificationOutboxRepository notificationOutboxRepository, ObjectMapper objectMapper) {
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.objectMapper = objectMapper;
     }
 
-    public void sendLoanStatusUpdate(Long userId, String status) {
-        String message = String.format("Loan application for user %d has been %s", userId, status);
-        sendNotification("loan-notifications", message);
+    // Written in the caller's transaction; NotificationOutboxRelay publishes after commit
+    @Transactional
+    public void sendNotification(String topic, String key, String message) {
+        NotificationOutbox entry = new NotificationOutbox();
+        entry.setTopic(topic);
+        entry.setMessageKey(key);
+        entry.setPayload(message);
+        entry.setCreatedAt(LocalDateTime.now());
+        entry.setAttempts(0);
+        notificationOutboxRepository.save(entry);
+    }
+
+    public void sendLoanStatusUpdate(LoanStatusEvent event) {
+        try {
+            sendNotification(LOAN_NOTIFICATIONS_TOPIC, String.valueOf(event.userId()), objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize loan status event", e);
+        }
     }
 }
@@ -0,0 +1,9 @@
+package com.example.Bank_Loan_Management.service;
+
+import java.util.concurrent.CompletableFuture;
+
+// Destination for relayed outbox messages; the future completes once the message is durably accepted
+public interface NotificationSink {
+
+    CompletableFuture<Void> publish(String topic, String key, String payload);
+}
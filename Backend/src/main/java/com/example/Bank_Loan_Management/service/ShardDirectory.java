@@ -0,0 +1,198 @@
+package com.example.Bank_Loan_Management.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.example.Bank_Loan_Management.config.ShardContext;
+import com.example.Bank_Loan_Management.config.ShardDataSources;
+
+// username -> shard, kept in user_shards on shard 0. New customers are placed by a jump consistent hash
+// of their username (their id is only allocated once the shard is chosen); after that the directory
+// entry is authoritative, so the rebalancer can move a user without rehashing anyone else.
+@Service
+public class ShardDirectory {
+
+    private static final int CACHE_LIMIT = 100_000;
+
+    public record Placement(int shard, boolean replicated, boolean moving) {
+    }
+
+    public record MisplacedScan(List<String> usernames, String lastUsername) {
+    }
+
+    private record CachedPlacement(Placement placement, long loadedAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int shardCount;
+    private final long cacheMillis;
+    private final Map<String, CachedPlacement> cache = new ConcurrentHashMap<>();
+
+    public ShardDirectory(ShardDataSources shardDataSources,
+                          @Value("${sharding.directory-cache-ms:30000}") long cacheMillis) {
+        this.jdbcTemplate = new JdbcTemplate(shardDataSources.get(ShardContext.DEFAULT_SHARD));
+        this.shardCount = shardDataSources.count();
+        this.cacheMillis = cacheMillis;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    // How long any instance may go on using a placement it has already read
+    public long cacheMillis() {
+        return cacheMillis;
+    }
+
+    // Shard for a user with no directory entry yet
+    public int placeNewUser(String username) {
+        return jumpHash(stableHash(username), shardCount);
+    }
+
+    public Placement find(String username) {
+        long now = System.currentTimeMillis();
+        CachedPlacement cached = cache.get(username);
+        if (cached != null && now - cached.loadedAt() < cacheMillis) {
+            return cached.placement();
+        }
+        return load(username, now);
+    }
+
+    // Bypasses the cache, for callers about to change the entry
+    public Placement findFresh(String username) {
+        return load(username, System.currentTimeMillis());
+    }
+
+    private Placement load(String username, long now) {
+        List<Placement> rows = jdbcTemplate.query(
+                "SELECT shard, replicated, moving FROM user_shards WHERE username = ?",
+                (rs, rowNum) -> new Placement(rs.getInt("shard"), rs.getBoolean("replicated"), rs.getBoolean("moving")),
+                username);
+        Placement placement = rows.isEmpty() ? null : rows.get(0);
+        if (placement != null) {
+            if (cache.size() >= CACHE_LIMIT) {
+                cache.clear();
+            }
+            cache.put(username, new CachedPlacement(placement, now));
+        }
+        return placement;
+    }
+
+    // Reserves the username across all shards before the user row is written
+    public void claim(String username, int shard, boolean replicated) {
+        try {
+            jdbcTemplate.update("INSERT INTO user_shards (username, user_id, shard, replicated, moving) VALUES (?, NULL, ?, ?, FALSE)",
+                    username, shard, replicated);
+        } catch (DuplicateKeyException e) {
+            throw new RuntimeException("Username already exists");
+        }
+        cache.remove(username);
+    }
+
+    public void assignUserId(String username, long userId) {
+        jdbcTemplate.update("UPDATE user_shards SET user_id = ? WHERE username = ?", userId, username);
+    }
+
+    public void release(String username) {
+        jdbcTemplate.update("DELETE FROM user_shards WHERE username = ?", username);
+        cache.remove(username);
+    }
+
+    public void rename(String from, String to) {
+        try {
+            jdbcTemplate.update("UPDATE user_shards SET username = ? WHERE username = ?", to, from);
+        } catch (DuplicateKeyException e) {
+            throw new RuntimeException("Username already exists");
+        }
+        cache.remove(from);
+        cache.remove(to);
+    }
+
+    public void markReplicated(String username) {
+        jdbcTemplate.update("UPDATE user_shards SET replicated = TRUE WHERE username = ?", username);
+        cache.remove(username);
+    }
+
+    public void setMoving(String username, boolean moving) {
+        jdbcTemplate.update("UPDATE user_shards SET moving = ? WHERE username = ?", moving, username);
+        cache.remove(username);
+    }
+
+    public void moveTo(String username, int shard) {
+        jdbcTemplate.update("UPDATE user_shards SET shard = ?, moving = FALSE WHERE username = ?", shard, username);
+        cache.remove(username);
+    }
+
+    // Customers whose entry differs from where the hash would place them today, e.g. after adding a shard.
+    // Scans one keyset page of the directory; lastUsername is null once the end is reached.
+    public MisplacedScan findMisplaced(String afterUsername, int limit) {
+        List<String> misplaced = new ArrayList<>();
+        List<String> usernames = jdbcTemplate.query(
+                "SELECT username, shard FROM user_shards WHERE replicated = FALSE AND username > ? ORDER BY username LIMIT ?",
+                (rs, rowNum) -> {
+                    String username = rs.getString("username");
+                    if (rs.getInt("shard") != placeNewUser(username)) {
+                        misplaced.add(username);
+                    }
+                    return username;
+                },
+                afterUsername, limit);
+        return new MisplacedScan(misplaced, usernames.size() < limit ? null : usernames.get(usernames.size() - 1));
+    }
+
+    public Map<Integer, Long> countByShard() {
+        Map<Integer, Long> counts = new LinkedHashMap<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            counts.put(shard, 0L);
+        }
+        jdbcTemplate.query("SELECT shard, COUNT(*) AS users FROM user_shards WHERE replicated = FALSE GROUP BY shard",
+                rs -> {
+                    counts.put(rs.getInt("shard"), rs.getLong("users"));
+                });
+        return counts;
+    }
+
+    // Entries for users created before sharding was switched on; they all live on shard 0
+    public int backfill() {
+        int added = jdbcTemplate.update("INSERT INTO user_shards (username, user_id, shard, replicated, moving) "
+                + "SELECT u.username, u.id, 0, u.role <> 'USER', FALSE FROM users u "
+                + "WHERE NOT EXISTS (SELECT 1 FROM user_shards s WHERE s.username = u.username)");
+        cache.clear();
+        return added;
+    }
+
+    static long stableHash(String value) {
+        // FNV-1a followed by the murmur3 finalizer so short, similar usernames still spread out
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    // Lamping & Veach jump consistent hash: growing from n to n+1 buckets moves only 1/(n+1) of the keys
+    static int jumpHash(long key, int buckets) {
+        long bucket = -1;
+        long next = 0;
+        while (next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+}
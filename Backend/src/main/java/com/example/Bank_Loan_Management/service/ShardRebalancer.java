@@ -0,0 +1,358 @@
+package com.example.Bank_Loan_Management.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.Bank_Loan_Management.config.ShardContext;
+import com.example.Bank_Loan_Management.config.ShardDataSources;
+
+// Moves customers between shards: copies the user's rows to the target shard, repoints the directory,
+// then deletes the source copy. Rows keep their ids, so lookups by id fall back past the id's shard.
+// While a move runs the user's requests get 503 and the source rows stay locked against staff writes.
+// A source copy that cannot be deleted is recorded in shard_cleanups and retried until it is gone.
+@Service
+public class ShardRebalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    private static final int SAMPLE_LIMIT = 100;
+    private static final int SCAN_PAGE_SIZE = 500;
+    // Users marked moving together; each waits at most for the rest of its batch
+    private static final int MOVE_BATCH_SIZE = 50;
+
+    // Parents before children; deletes run in reverse
+    private static final String[][] OWNED_TABLES = {
+            {"users", "id"},
+            {"loan_applications", "user_id"},
+            {"documents", "user_id"},
+            {"loan_applications_archive", "user_id"},
+            {"documents_archive", "user_id"}
+    };
+
+    private final ShardDataSources shardDataSources;
+    private final ShardDirectory shardDirectory;
+    private final EntityCacheService entityCacheService;
+    private final long movePauseMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile RebalanceReport lastReport;
+
+    public ShardRebalancer(ShardDataSources shardDataSources,
+                           ShardDirectory shardDirectory,
+                           EntityCacheService entityCacheService,
+                           @Value("${sharding.rebalance.move-pause-ms:100}") long movePauseMillis) {
+        this.shardDataSources = shardDataSources;
+        this.shardDirectory = shardDirectory;
+        this.entityCacheService = entityCacheService;
+        this.movePauseMillis = movePauseMillis;
+    }
+
+    public RebalanceReport getLastReport() {
+        return lastReport;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("shards", shardDataSources.count());
+        status.put("customersPerShard", shardDirectory.countByShard());
+        status.put("rebalancing", running.get());
+        status.put("pendingCleanups", directoryJdbc().queryForObject("SELECT COUNT(*) FROM shard_cleanups", Long.class));
+        return status;
+    }
+
+    public MoveResult moveUser(String username, int targetShard) {
+        Move move = prepare(username, targetShard);
+        if (move.sourceShard() == targetShard) {
+            return new MoveResult(username, move.sourceShard(), targetShard, 0);
+        }
+        shardDirectory.setMoving(username, true);
+        awaitDirectoryCaches();
+        return finish(move);
+    }
+
+    // Moves every customer whose directory entry no longer matches the hash placement, e.g. after a shard
+    // was added; jump hashing keeps that to about 1/n of the customers. Users are marked moving a batch at
+    // a time, so the wait for other instances' directory caches is paid once per batch.
+    public RebalanceReport rebalance(int maxMoves) {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("Rebalancing is already running");
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            int moved = 0;
+            long rows = 0;
+            List<String> failures = new ArrayList<>();
+            String after = "";
+            while (after != null && moved < maxMoves) {
+                ShardDirectory.MisplacedScan page = shardDirectory.findMisplaced(after, SCAN_PAGE_SIZE);
+                List<String> usernames = page.usernames();
+                for (int from = 0; from < usernames.size() && moved < maxMoves; from += MOVE_BATCH_SIZE) {
+                    List<Move> batch = new ArrayList<>();
+                    for (String username : usernames.subList(from, Math.min(from + MOVE_BATCH_SIZE, usernames.size()))) {
+                        if (moved + batch.size() >= maxMoves) {
+                            break;
+                        }
+                        try {
+                            Move move = prepare(username, shardDirectory.placeNewUser(username));
+                            if (move.sourceShard() == move.targetShard()) {
+                                continue;
+                            }
+                            shardDirectory.setMoving(username, true);
+                            batch.add(move);
+                        } catch (RuntimeException e) {
+                            addFailure(failures, username, e);
+                        }
+                    }
+                    if (batch.isEmpty()) {
+                        continue;
+                    }
+                    awaitDirectoryCaches();
+                    for (Move move : batch) {
+                        try {
+                            rows += finish(move).rowsCopied();
+                            moved++;
+                        } catch (RuntimeException e) {
+                            addFailure(failures, move.username(), e);
+                        }
+                        pause(movePauseMillis);
+                    }
+                }
+                after = page.lastUsername();
+            }
+            RebalanceReport report = new RebalanceReport(startedAt, LocalDateTime.now(), moved, rows, List.copyOf(failures));
+            lastReport = report;
+            logger.info("Shard rebalance finished: {} users moved, {} rows copied, {} failures", moved, rows, failures.size());
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // Source copies whose delete failed after a move. Until they are gone, lookups by id could find the stale
+    // rows on the id's original shard before the moved ones.
+    @Scheduled(fixedDelayString = "${sharding.rebalance.cleanup-retry-ms:60000}")
+    public void retryCleanups() {
+        if (shardDataSources.count() < 2) {
+            return;
+        }
+        List<PendingCleanup> pending = directoryJdbc().query(
+                "SELECT username, user_id, shard FROM shard_cleanups ORDER BY failed_at",
+                (rs, rowNum) -> new PendingCleanup(rs.getString("username"), rs.getLong("user_id"), rs.getInt("shard")));
+        for (PendingCleanup cleanup : pending) {
+            try (Connection source = shardDataSources.get(cleanup.shard()).getConnection()) {
+                source.setAutoCommit(false);
+                try {
+                    deleteOwnedRows(source, cleanup.userId());
+                    source.commit();
+                } catch (SQLException e) {
+                    source.rollback();
+                    throw e;
+                }
+                directoryJdbc().update("DELETE FROM shard_cleanups WHERE username = ? AND shard = ?",
+                        cleanup.username(), cleanup.shard());
+                entityCacheService.evictAll();
+                logger.info("Removed the copy of moved user {} left on shard {}", cleanup.username(), cleanup.shard());
+            } catch (SQLException e) {
+                directoryJdbc().update("UPDATE shard_cleanups SET last_error = ? WHERE username = ? AND shard = ?",
+                        truncate(e.getMessage()), cleanup.username(), cleanup.shard());
+                logger.warn("Still could not remove the copy of moved user {} on shard {}: {}",
+                        cleanup.username(), cleanup.shard(), e.getMessage());
+            }
+        }
+    }
+
+    private Move prepare(String username, int targetShard) {
+        if (shardDataSources.count() < 2) {
+            throw new RuntimeException("Sharding is not enabled");
+        }
+        if (targetShard < 0 || targetShard >= shardDataSources.count()) {
+            throw new RuntimeException("No such shard: " + targetShard);
+        }
+        ShardDirectory.Placement placement = shardDirectory.findFresh(username);
+        if (placement == null) {
+            throw new RuntimeException("User not found");
+        }
+        if (placement.replicated()) {
+            throw new RuntimeException("Staff accounts are kept on every shard and cannot be moved");
+        }
+        int sourceShard = placement.shard();
+        if (sourceShard == targetShard) {
+            return new Move(username, null, sourceShard, targetShard);
+        }
+        Long userId = new JdbcTemplate(shardDataSources.get(sourceShard))
+                .query("SELECT id FROM users WHERE username = ?", rs -> rs.next() ? rs.getLong(1) : null, username);
+        if (userId == null) {
+            throw new RuntimeException("User not found on shard " + sourceShard);
+        }
+        Long leftOver = directoryJdbc().queryForObject(
+                "SELECT COUNT(*) FROM shard_cleanups WHERE username = ? AND shard = ?", Long.class, username, targetShard);
+        if (leftOver != null && leftOver > 0) {
+            throw new RuntimeException("An earlier copy of " + username + " on shard " + targetShard + " has not been removed yet");
+        }
+        return new Move(username, userId, sourceShard, targetShard);
+    }
+
+    // Copies, repoints and deletes a user already marked moving
+    private MoveResult finish(Move move) {
+        String username = move.username();
+        int sourceShard = move.sourceShard();
+        int targetShard = move.targetShard();
+        int copied;
+        try (Connection source = shardDataSources.get(sourceShard).getConnection();
+             Connection target = shardDataSources.get(targetShard).getConnection()) {
+            source.setAutoCommit(false);
+            target.setAutoCommit(false);
+            try {
+                copied = 0;
+                for (String[] table : OWNED_TABLES) {
+                    copied += copyRows(source, target, table[0], table[1], move.userId());
+                }
+                target.commit();
+            } catch (SQLException | RuntimeException e) {
+                target.rollback();
+                source.rollback();
+                shardDirectory.setMoving(username, false);
+                throw new RuntimeException("Could not copy " + username + " to shard " + targetShard + ": " + e.getMessage(), e);
+            }
+
+            // From here on the target copy is authoritative
+            shardDirectory.moveTo(username, targetShard);
+            try {
+                deleteOwnedRows(source, move.userId());
+                source.commit();
+            } catch (SQLException e) {
+                source.rollback();
+                recordCleanup(move, e);
+            }
+        } catch (SQLException e) {
+            shardDirectory.setMoving(username, false);
+            throw new RuntimeException("Could not move " + username + ": " + e.getMessage(), e);
+        }
+
+        // Rows changed behind Hibernate's back
+        entityCacheService.evictAll();
+        logger.info("Moved user {} from shard {} to shard {} ({} rows)", username, sourceShard, targetShard, copied);
+        return new MoveResult(username, sourceShard, targetShard, copied);
+    }
+
+    private void recordCleanup(Move move, SQLException cause) {
+        try {
+            directoryJdbc().update("INSERT INTO shard_cleanups (username, user_id, shard, failed_at, last_error) "
+                            + "VALUES (?, ?, ?, ?, ?)",
+                    move.username(), move.userId(), move.sourceShard(), LocalDateTime.now(), truncate(cause.getMessage()));
+            logger.error("Moved {} to shard {} but could not remove the copy on shard {}, will retry: {}",
+                    move.username(), move.targetShard(), move.sourceShard(), cause.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Moved {} to shard {} but could not remove the copy on shard {} ({}) nor record it for retry",
+                    move.username(), move.targetShard(), move.sourceShard(), cause.getMessage(), e);
+        }
+    }
+
+    // Other instances may still hold the user's old placement for one directory cache lifetime, and would
+    // let the user write to the source shard. Once it has passed they all see the move flag and answer 503.
+    private void awaitDirectoryCaches() {
+        pause(shardDirectory.cacheMillis());
+    }
+
+    private JdbcTemplate directoryJdbc() {
+        return new JdbcTemplate(shardDataSources.get(ShardContext.DEFAULT_SHARD));
+    }
+
+    private static void addFailure(List<String> failures, String username, RuntimeException e) {
+        if (failures.size() < SAMPLE_LIMIT) {
+            failures.add(username + ": " + e.getMessage());
+        }
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    // Locks the source rows while copying so nothing changes them before they are deleted
+    private static int copyRows(Connection source, Connection target, String table, String column, long userId)
+            throws SQLException {
+        try (PreparedStatement select = source.prepareStatement(
+                "SELECT * FROM " + table + " WHERE " + column + " = ? FOR UPDATE")) {
+            select.setLong(1, userId);
+            try (ResultSet rows = select.executeQuery()) {
+                ResultSetMetaData metaData = rows.getMetaData();
+                int columnCount = metaData.getColumnCount();
+                StringJoiner columns = new StringJoiner(", ");
+                StringJoiner placeholders = new StringJoiner(", ");
+                for (int i = 1; i <= columnCount; i++) {
+                    columns.add(metaData.getColumnName(i));
+                    placeholders.add("?");
+                }
+                int copied = 0;
+                try (PreparedStatement insert = target.prepareStatement(
+                        "INSERT INTO " + table + " (" + columns + ") VALUES (" + placeholders + ")")) {
+                    while (rows.next()) {
+                        for (int i = 1; i <= columnCount; i++) {
+                            insert.setObject(i, rows.getObject(i));
+                        }
+                        insert.addBatch();
+                        copied++;
+                    }
+                    if (copied > 0) {
+                        insert.executeBatch();
+                    }
+                }
+                return copied;
+            }
+        }
+    }
+
+    private static void deleteOwnedRows(Connection source, long userId) throws SQLException {
+        for (int i = OWNED_TABLES.length - 1; i >= 0; i--) {
+            deleteRows(source, OWNED_TABLES[i][0], OWNED_TABLES[i][1], userId);
+        }
+    }
+
+    private static void deleteRows(Connection source, String table, String column, long userId) throws SQLException {
+        try (PreparedStatement delete = source.prepareStatement("DELETE FROM " + table + " WHERE " + column + " = ?")) {
+            delete.setLong(1, userId);
+            delete.executeUpdate();
+        }
+    }
+
+    private static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Move(String username, Long userId, int sourceShard, int targetShard) {
+    }
+
+    private record PendingCleanup(String username, long userId, int shard) {
+    }
+
+    public record MoveResult(String username, int fromShard, int toShard, int rowsCopied) {
+    }
+
+    public record RebalanceReport(LocalDateTime startedAt, LocalDateTime finishedAt, int usersMoved, long rowsCopied,
+                                  List<String> failures) {
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.Bank_Loan_Management.service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.Bank_Loan_Management.config.ShardContext;
+import com.example.Bank_Loan_Management.config.ShardDataSources;
+import com.example.Bank_Loan_Management.config.ShardingConfig;
+import com.example.Bank_Loan_Management.entity.User;
+
+import jakarta.annotation.PreDestroy;
+
+// Runs persistence work on the right shard. A shard has to be chosen before a transaction opens, so
+// callers switch shards around service calls, never inside them. With a single shard every method
+// runs the work inline and behaves exactly like the unsharded code did.
+@Service
+public class ShardRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardRouter.class);
+
+    private final ShardDataSources shardDataSources;
+    private final ShardDirectory shardDirectory;
+    private final EntityCacheService entityCacheService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final long scatterTimeoutMillis;
+    private final ExecutorService scatterExecutor;
+
+    public ShardRouter(ShardDataSources shardDataSources,
+                       ShardDirectory shardDirectory,
+                       EntityCacheService entityCacheService,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${sharding.scatter-timeout-ms:10000}") long scatterTimeoutMillis,
+                       @Value("${sharding.scatter-threads:0}") int scatterThreads) {
+        this.shardDataSources = shardDataSources;
+        this.shardDirectory = shardDirectory;
+        this.entityCacheService = entityCacheService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.scatterTimeoutMillis = scatterTimeoutMillis;
+        if (shardDataSources.count() > 1) {
+            AtomicInteger threadCount = new AtomicInteger();
+            int threads = scatterThreads > 0 ? scatterThreads : 2 * shardDataSources.count();
+            this.scatterExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "shard-scatter-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.scatterExecutor = null;
+        }
+    }
+
+    public boolean isSharded() {
+        return shardDataSources.count() > 1;
+    }
+
+    public int shardCount() {
+        return shardDataSources.count();
+    }
+
+    public static int shardOfId(long id) {
+        return (int) (id >>> ShardingConfig.ID_SHARD_SHIFT);
+    }
+
+    // Home shard of an existing user; staff accounts and unknown names resolve to shard 0
+    public int shardOfUsername(String username) {
+        if (!isSharded() || username == null) {
+            return ShardContext.DEFAULT_SHARD;
+        }
+        ShardDirectory.Placement placement = shardDirectory.find(username);
+        return placement != null ? placement.shard() : ShardContext.DEFAULT_SHARD;
+    }
+
+    public <T> T onShard(int shard, Supplier<T> work) {
+        Integer previous = ShardContext.get();
+        if (ShardContext.current() == shard) {
+            return work.get();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Cannot switch to shard " + shard + " inside a transaction");
+        }
+        ShardContext.set(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    public <T> T asUser(String username, Supplier<T> work) {
+        return onShard(shardOfUsername(username), work);
+    }
+
+    public <T> T inTransaction(int shard, Supplier<T> work) {
+        return onShard(shard, () -> writeTransaction.execute(status -> work.get()));
+    }
+
+    // Runs the write on every shard in turn, e.g. for reference data each shard keeps a copy of
+    public <T> List<T> onEveryShard(Supplier<T> work) {
+        List<T> results = new ArrayList<>(shardCount());
+        for (int shard = 0; shard < shardCount(); shard++) {
+            results.add(inTransaction(shard, work));
+        }
+        return results;
+    }
+
+    public void forEachShard(IntConsumer work) {
+        for (int shard = 0; shard < shardCount(); shard++) {
+            int current = shard;
+            onShard(shard, () -> {
+                work.accept(current);
+                return null;
+            });
+        }
+    }
+
+    // Shard holding the row with this id: the shard encoded in the id first, then the others, since
+    // the rebalancer moves rows without renumbering them
+    public int locate(Long id, Predicate<Long> exists) {
+        if (!isSharded() || id == null) {
+            return ShardContext.DEFAULT_SHARD;
+        }
+        int hinted = shardOfId(id);
+        if (hinted < shardCount() && onShard(hinted, () -> exists.test(id))) {
+            return hinted;
+        }
+        for (int shard = 0; shard < shardCount(); shard++) {
+            if (shard != hinted && onShard(shard, () -> exists.test(id))) {
+                return shard;
+            }
+        }
+        return hinted < shardCount() ? hinted : ShardContext.DEFAULT_SHARD;
+    }
+
+    public <T> List<T> scatterGather(Supplier<List<T>> query) {
+        return scatterGather(query, null);
+    }
+
+    // Runs the read-only query on every shard in parallel and merges the results in the given order
+    public <T> List<T> scatterGather(Supplier<List<T>> query, Comparator<? super T> order) {
+        if (!isSharded()) {
+            return readOnlyTransaction.execute(status -> query.get());
+        }
+        List<Future<List<T>>> futures = new ArrayList<>(shardCount());
+        for (int shard = 0; shard < shardCount(); shard++) {
+            int target = shard;
+            futures.add(scatterExecutor.submit(() -> onShard(target, () -> readOnlyTransaction.execute(status -> query.get()))));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(scatterTimeoutMillis);
+        List<T> merged = new ArrayList<>();
+        for (int shard = 0; shard < futures.size(); shard++) {
+            try {
+                merged.addAll(futures.get(shard).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                futures.forEach(future -> future.cancel(true));
+                throw new RuntimeException("Shard " + shard + " did not answer within " + scatterTimeoutMillis + " ms");
+            } catch (ExecutionException e) {
+                futures.forEach(future -> future.cancel(true));
+                throw new RuntimeException("Query on shard " + shard + " failed: " + e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                futures.forEach(future -> future.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for shard " + shard);
+            }
+        }
+        if (order != null) {
+            merged.sort(order);
+        }
+        return merged;
+    }
+
+    // Staff accounts are referenced by loans on every shard, so each shard keeps a copy with the same id
+    public void replicateUser(User user, int homeShard) {
+        if (!isSharded()) {
+            return;
+        }
+        for (int shard = 0; shard < shardCount(); shard++) {
+            if (shard == homeShard) {
+                continue;
+            }
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shardDataSources.get(shard));
+            Timestamp createdAt = Timestamp.valueOf(user.getCreatedAt());
+            int updated = jdbcTemplate.update("UPDATE users SET username = ?, password = ?, email = ?, role = ?, created_at = ? WHERE id = ?",
+                    user.getUsername(), user.getPassword(), user.getEmail(), user.getRole().name(), createdAt, user.getId());
+            if (updated == 0) {
+                jdbcTemplate.update("INSERT INTO users (id, username, password, email, role, created_at) VALUES (?, ?, ?, ?, ?, ?)",
+                        user.getId(), user.getUsername(), user.getPassword(), user.getEmail(), user.getRole().name(), createdAt);
+            }
+        }
+        // Copies were written past Hibernate, so cached entities and query results may be stale
+        entityCacheService.evictAll();
+    }
+
+    public void deleteReplicatedUser(Long userId, int homeShard) {
+        if (!isSharded()) {
+            return;
+        }
+        for (int shard = 0; shard < shardCount(); shard++) {
+            if (shard != homeShard) {
+                new JdbcTemplate(shardDataSources.get(shard)).update("DELETE FROM users WHERE id = ?", userId);
+            }
+        }
+        entityCacheService.evictAll();
+    }
+
+    // Runs before the CommandLineRunners so default accounts are created against a complete directory
+    @EventListener(ApplicationStartedEvent.class)
+    public void synchronizeDirectory() {
+        if (!isSharded()) {
+            return;
+        }
+        int added = shardDirectory.backfill();
+        List<User> staff = new JdbcTemplate(shardDataSources.get(ShardContext.DEFAULT_SHARD)).query(
+                "SELECT id, username, password, email, role, created_at FROM users WHERE role <> 'USER'",
+                (rs, rowNum) -> {
+                    User user = new User();
+                    user.setId(rs.getLong("id"));
+                    user.setUsername(rs.getString("username"));
+                    user.setPassword(rs.getString("password"));
+                    user.setEmail(rs.getString("email"));
+                    user.setRole(User.Role.valueOf(rs.getString("role")));
+                    user.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+                    return user;
+                });
+        staff.forEach(user -> replicateUser(user, ShardContext.DEFAULT_SHARD));
+        logger.info("Shard directory ready: {} shards, {} entries backfilled, {} staff accounts replicated",
+                shardCount(), added, staff.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.Bank_Loan_Management.service;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+// In-memory span exporter: buffers spans per trace until the root span ends, then keeps the whole trace
+// if it ran longer than the threshold. Boot registers every SpanExporter bean with its batch processor,
+// so no collector is needed to see where a slow request spent its time.
+@Service
+public class SlowTraceRecorder implements SpanExporter {
+
+    private final long thresholdNanos;
+    private final int capacity;
+    private final int pendingLimit;
+
+    // Both guarded by this; spans of one trace can arrive across several export batches
+    private final Map<String, List<SpanData>> pending = new LinkedHashMap<>();
+    private final Deque<SlowTrace> slowTraces = new ArrayDeque<>();
+
+    public SlowTraceRecorder(@Value("${tracing.slow-traces.threshold-ms:500}") long thresholdMillis,
+                             @Value("${tracing.slow-traces.capacity:200}") int capacity,
+                             @Value("${tracing.slow-traces.pending-limit:10000}") int pendingLimit) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.capacity = capacity;
+        this.pendingLimit = pendingLimit;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        for (SpanData span : spans) {
+            if (isRoot(span)) {
+                complete(span, pending.remove(span.getTraceId()));
+            } else {
+                pending.computeIfAbsent(span.getTraceId(), traceId -> new ArrayList<>()).add(span);
+            }
+        }
+        // Children that end after their root (async work) never complete a trace; drop the oldest
+        Iterator<String> oldest = pending.keySet().iterator();
+        while (pending.size() > pendingLimit && oldest.hasNext()) {
+            oldest.next();
+            oldest.remove();
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        pending.clear();
+        return CompletableResultCode.ofSuccess();
+    }
+
+    // Newest first
+    public synchronized List<SlowTrace> getRecent(int limit, long minMillis) {
+        return slowTraces.stream()
+                .filter(trace -> trace.durationMs() >= minMillis)
+                .limit(Math.max(limit, 0))
+                .toList();
+    }
+
+    public synchronized SlowTrace find(String traceId) {
+        return slowTraces.stream().filter(trace -> trace.traceId().equals(traceId)).findFirst().orElse(null);
+    }
+
+    private void complete(SpanData root, List<SpanData> children) {
+        long duration = root.getEndEpochNanos() - root.getStartEpochNanos();
+        if (duration < thresholdNanos) {
+            return;
+        }
+        List<SpanData> spans = new ArrayList<>();
+        spans.add(root);
+        if (children != null) {
+            spans.addAll(children);
+        }
+        spans.sort(Comparator.comparingLong(SpanData::getStartEpochNanos));
+        long traceStart = root.getStartEpochNanos();
+        List<SpanView> views = spans.stream().map(span -> SpanView.of(span, traceStart)).toList();
+
+        slowTraces.addFirst(new SlowTrace(root.getTraceId(), root.getName(),
+                Instant.ofEpochSecond(0, traceStart), millis(duration), views));
+        while (slowTraces.size() > capacity) {
+            slowTraces.removeLast();
+        }
+    }
+
+    private static boolean isRoot(SpanData span) {
+        SpanContext parent = span.getParentSpanContext();
+        return !parent.isValid() || parent.isRemote();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    public record SlowTrace(String traceId, String name, Instant startedAt, double durationMs, List<SpanView> spans) {
+    }
+
+    public record SpanView(String spanId, String parentSpanId, String name, double startOffsetMs, double durationMs,
+                           String status, Map<String, String> attributes) {
+
+        static SpanView of(SpanData span, long traceStart) {
+            Map<String, String> attributes = new LinkedHashMap<>();
+            span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+            String parent = span.getParentSpanContext().isValid() ? span.getParentSpanId() : null;
+            return new SpanView(span.getSpanId(), parent, span.getName(),
+                    millis(span.getStartEpochNanos() - traceStart),
+                    millis(span.getEndEpochNanos() - span.getStartEpochNanos()),
+                    span.getStatus().getStatusCode().name(), attributes);
+        }
+    }
+}
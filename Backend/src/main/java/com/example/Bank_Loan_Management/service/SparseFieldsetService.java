@@ -0,0 +1,232 @@
+package com.example.Bank_Loan_Management.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.Bank_Loan_Management.entity.LoanApplication;
+import com.example.Bank_Loan_Management.entity.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+// Sparse fieldsets for the loan and document listings: ?fields=a,b names properties of LoanSummaryDTO,
+// LoanManagerDTO or DocumentDTO, the query selects only the columns (and joins) behind them, and rows come
+// back as ordered maps so only those properties are written. id is always included, since sharded results
+// are merged on it. Each role may only ask for the fields on its whitelist.
+@Service
+public class SparseFieldsetService {
+
+    // One property of a listing: its select expressions, and the join they need (null for none)
+    private record Field(String name, String join, List<String> expressions) {
+
+        Object read(Object[] row, int offset) {
+            if (expressions.size() == 1) {
+                return row[offset];
+            }
+            // Users are written like the entity, without the password
+            if (row[offset] == null) {
+                return null;
+            }
+            Map<String, Object> user = new LinkedHashMap<>();
+            for (int i = 0; i < USER_PROPERTIES.size(); i++) {
+                user.put(USER_PROPERTIES.get(i), row[offset + i]);
+            }
+            return user;
+        }
+    }
+
+    public record Listing(String name, String from, Map<String, String> joins, Map<String, Field> fields,
+                          Map<User.Role, Set<String>> whitelist) {
+    }
+
+    public record Selection(Listing listing, List<Field> fields) {
+    }
+
+    // A request the caller can fix: fields outside the listing or the role's whitelist, or an unknown status
+    public static class InvalidListingRequestException extends RuntimeException {
+        public InvalidListingRequestException(String message) {
+            super(message);
+        }
+    }
+
+    private static final List<String> USER_PROPERTIES = List.of("id", "username", "email", "role", "createdAt");
+    private static final List<String> LOAN_PROPERTIES = List.of("id", "amount", "term", "purpose", "status",
+            "creditScore", "appliedDate", "decisionDate", "approvedAmount", "paidAmount", "pendingAmount", "interestRate");
+
+    public static final Listing LOAN_SUMMARIES = listing("loan summaries", "LoanApplication l",
+            Map.of("u", "JOIN l.user u", "lm", "LEFT JOIN l.loanManager lm", "m", "LEFT JOIN l.manager m"),
+            concat(loanFields(), List.of(user("user", "u"), user("loanManager", "lm"), user("manager", "m"))),
+            // Customers see their own loans' figures; who handled them is for the admin views
+            Map.of(User.Role.USER, Set.copyOf(LOAN_PROPERTIES),
+                    User.Role.ADMIN, Set.of()));
+
+    public static final Listing LOAN_QUEUE = listing("loan queue", "LoanApplication l",
+            Map.of("u", "JOIN l.user u"),
+            concat(loanFields(), List.of(scalar("userId", null, "l.user.id"),
+                    scalar("username", "u", "u.username"), scalar("userEmail", "u", "u.email"))),
+            Map.of(User.Role.LOAN_MANAGER, Set.of(),
+                    User.Role.MANAGER, Set.of(),
+                    User.Role.ADMIN, Set.of()));
+
+    public static final Listing DOCUMENTS = listing("documents", "Document d",
+            Map.of(),
+            List.of(scalar("id", null, "d.id"), scalar("userId", null, "d.user.id"),
+                    scalar("loanApplicationId", null, "d.loanApplication.id"), scalar("documentType", null, "d.documentType"),
+                    scalar("fileName", null, "d.fileName"), scalar("filePath", null, "d.filePath"),
+                    scalar("contentType", null, "d.contentType"), scalar("fileSize", null, "d.fileSize"),
+                    scalar("status", null, "d.status")),
+            // Reviewers open files through the view endpoint; where they are stored is for admins
+            Map.of(User.Role.LOAN_MANAGER, Set.of("id", "userId", "loanApplicationId", "documentType", "fileName",
+                            "contentType", "fileSize", "status"),
+                    User.Role.ADMIN, Set.of()));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ShardRouter shardRouter;
+
+    public SparseFieldsetService(ShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
+    }
+
+    // Fields come back in the listing's own order whatever order they were asked for in. An empty set on
+    // the whitelist means every field.
+    public Selection select(Listing listing, String fields, Collection<? extends GrantedAuthority> authorities) {
+        Set<String> allowed = allowedFields(listing, authorities);
+        Set<String> requested = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        List<String> unknown = requested.stream()
+                .filter(name -> !listing.fields().containsKey(name) || !allowed.contains(name))
+                .toList();
+        if (!unknown.isEmpty()) {
+            throw new InvalidListingRequestException("Unknown or unavailable fields for " + listing.name() + ": "
+                    + String.join(", ", unknown));
+        }
+        requested.add("id");
+        List<Field> selected = listing.fields().values().stream()
+                .filter(field -> requested.contains(field.name()))
+                .toList();
+        return new Selection(listing, selected);
+    }
+
+    // null stays null, for every loan
+    public static LoanApplication.Status parseStatus(String status) {
+        if (status == null) {
+            return null;
+        }
+        try {
+            return LoanApplication.Status.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidListingRequestException("Unknown loan status: " + status);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> customerLoans(Selection selection, Long userId) {
+        return query(selection, "l.user.id = :userId", Map.of("userId", userId));
+    }
+
+    // status may be null for every loan
+    public List<Map<String, Object>> loans(Selection selection, LoanApplication.Status status) {
+        return shardRouter.scatterGather(() -> status == null
+                        ? query(selection, null, Map.of())
+                        : query(selection, "l.status = :status", Map.of("status", status)),
+                Comparator.comparing(row -> (Long) row.get("id")));
+    }
+
+    public List<Map<String, Object>> documents(Selection selection) {
+        return shardRouter.scatterGather(() -> query(selection, null, Map.of()),
+                Comparator.comparing(row -> (Long) row.get("id")));
+    }
+
+    private List<Map<String, Object>> query(Selection selection, String where, Map<String, Object> parameters) {
+        Listing listing = selection.listing();
+        List<String> expressions = new ArrayList<>();
+        Set<String> joins = new LinkedHashSet<>();
+        for (Field field : selection.fields()) {
+            expressions.addAll(field.expressions());
+            if (field.join() != null) {
+                joins.add(listing.joins().get(field.join()));
+            }
+        }
+        String alias = listing.from().substring(listing.from().indexOf(' ') + 1);
+        StringBuilder jpql = new StringBuilder("SELECT ").append(String.join(", ", expressions))
+                .append(" FROM ").append(listing.from());
+        joins.forEach(join -> jpql.append(' ').append(join));
+        if (where != null) {
+            jpql.append(" WHERE ").append(where);
+        }
+        jpql.append(" ORDER BY ").append(alias).append(".id");
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        parameters.forEach(query::setParameter);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Object[] row : query.getResultList()) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            int offset = 0;
+            for (Field field : selection.fields()) {
+                values.put(field.name(), field.read(row, offset));
+                offset += field.expressions().size();
+            }
+            rows.add(values);
+        }
+        return rows;
+    }
+
+    private static Set<String> allowedFields(Listing listing, Collection<? extends GrantedAuthority> authorities) {
+        Set<String> allowed = new LinkedHashSet<>();
+        for (GrantedAuthority authority : authorities) {
+            String name = authority.getAuthority();
+            if (!name.startsWith("ROLE_")) {
+                continue;
+            }
+            Set<String> fields = listing.whitelist().get(User.Role.valueOf(name.substring("ROLE_".length())));
+            if (fields != null) {
+                allowed.addAll(fields.isEmpty() ? listing.fields().keySet() : fields);
+            }
+        }
+        return allowed;
+    }
+
+    private static List<Field> loanFields() {
+        return LOAN_PROPERTIES.stream()
+                .map(name -> scalar(name, null, "l." + name))
+                .toList();
+    }
+
+    private static Field scalar(String name, String join, String expression) {
+        return new Field(name, join, List.of(expression));
+    }
+
+    private static Field user(String name, String alias) {
+        return new Field(name, alias, USER_PROPERTIES.stream().map(property -> alias + "." + property).toList());
+    }
+
+    private static List<Field> concat(List<Field> first, List<Field> second) {
+        List<Field> fields = new ArrayList<>(first);
+        fields.addAll(second);
+        return fields;
+    }
+
+    private static Listing listing(String name, String from, Map<String, String> joins, List<Field> fields,
+                                   Map<User.Role, Set<String>> whitelist) {
+        Map<String, Field> byName = new LinkedHashMap<>();
+        fields.forEach(field -> byName.put(field.name(), field));
+        return new Listing(name, from, joins, byName, whitelist);
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.Bank_Loan_Management.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+// Per-statement execution statistics fed by StatementStatisticsDataSource. Statements are grouped by
+// fingerprint (literals and IN lists folded away), so every call of a derived query lands in one entry.
+@Service
+public class SqlStatementStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementStatistics.class);
+
+    private static final String OVERFLOW_FINGERPRINT = "<other statements>";
+    private static final int MAX_LOGGED_SQL_LENGTH = 2000;
+    // Latency histogram: four buckets per power of two of microseconds, so p99 is within ~25%
+    static final int BUCKETS = 4 * 40;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final long slowThresholdNanos;
+    private final int maxFingerprints;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Hibernate reuses the same SQL strings, so the regex work is done once per distinct statement
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+
+    public SqlStatementStatistics(@Value("${sql.statistics.slow-threshold-ms:200}") long slowThresholdMillis,
+                                  @Value("${sql.statistics.max-fingerprints:2000}") int maxFingerprints) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.maxFingerprints = maxFingerprints;
+    }
+
+    // The bind shape is only built when the statement is slow enough to be logged
+    public Entry record(String sql, long elapsedNanos, boolean success, Supplier<String> bindShape) {
+        Entry entry = entryFor(sql);
+        entry.record(elapsedNanos, success);
+        if (elapsedNanos >= slowThresholdNanos) {
+            logger.warn("Slow SQL statement took {} ms with binds {}: {}",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), bindShape.get(), truncate(sql));
+        }
+        return entry;
+    }
+
+    public List<StatementStats> top(int limit, String sort) {
+        Comparator<StatementStats> order = switch (sort) {
+            case "total" -> Comparator.comparingDouble(StatementStats::totalMs);
+            case "count" -> Comparator.comparingLong(StatementStats::count);
+            case "mean" -> Comparator.comparingDouble(StatementStats::meanMs);
+            case "p99" -> Comparator.comparingDouble(StatementStats::p99Ms);
+            case "max" -> Comparator.comparingDouble(StatementStats::maxMs);
+            case "rows" -> Comparator.comparingLong(StatementStats::rows);
+            default -> throw new RuntimeException("Unknown sort: " + sort + " (use total, count, mean, p99, max or rows)");
+        };
+        List<StatementStats> snapshot = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            snapshot.add(entry.snapshot());
+        }
+        return snapshot.stream().sorted(order.reversed()).limit(Math.max(limit, 0)).toList();
+    }
+
+    public int fingerprintCount() {
+        return entries.size();
+    }
+
+    public void reset() {
+        entries.clear();
+    }
+
+    static String fingerprint(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (?...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    private Entry entryFor(String sql) {
+        String fingerprint = fingerprints.get(sql);
+        if (fingerprint == null) {
+            fingerprint = fingerprint(sql);
+            if (fingerprints.size() < maxFingerprints * 4) {
+                fingerprints.put(sql, fingerprint);
+            }
+        }
+        Entry entry = entries.get(fingerprint);
+        if (entry != null) {
+            return entry;
+        }
+        // Past the cap everything new shares one entry, so ad-hoc SQL cannot grow the map without bound
+        if (entries.size() >= maxFingerprints) {
+            return entries.computeIfAbsent(OVERFLOW_FINGERPRINT, Entry::new);
+        }
+        return entries.computeIfAbsent(fingerprint, Entry::new);
+    }
+
+    private static String truncate(String sql) {
+        return sql.length() <= MAX_LOGGED_SQL_LENGTH ? sql : sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    static int bucket(long nanos) {
+        long micros = Math.max(1, nanos / 1000);
+        int log = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = log >= 2 ? (int) ((micros >> (log - 2)) & 3) : 0;
+        return Math.min(BUCKETS - 1, log * 4 + sub);
+    }
+
+    static long bucketUpperBoundNanos(int bucket) {
+        int log = bucket / 4;
+        int sub = bucket % 4;
+        long base = 1L << log;
+        long upperMicros = log >= 2 ? base + (sub + 1) * (base >> 2) : base * 2;
+        return upperMicros * 1000;
+    }
+
+    public static final class Entry {
+
+        private final String fingerprint;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        void record(long elapsedNanos, boolean success) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+            buckets.incrementAndGet(bucket(elapsedNanos));
+            if (!success) {
+                errors.increment();
+            }
+        }
+
+        public void addRows(long rowCount) {
+            if (rowCount > 0) {
+                rows.add(rowCount);
+            }
+        }
+
+        StatementStats snapshot() {
+            long executions = count.sum();
+            long total = totalNanos.sum();
+            long max = maxNanos.get();
+            return new StatementStats(fingerprint, executions, errors.sum(), millis(total),
+                    executions == 0 ? 0 : millis(total / executions), millis(Math.min(p99Nanos(executions), max)),
+                    millis(max), rows.sum());
+        }
+
+        private long p99Nanos(long executions) {
+            long target = (long) Math.ceil(executions * 0.99);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= target && seen > 0) {
+                    return bucketUpperBoundNanos(i);
+                }
+            }
+            return maxNanos.get();
+        }
+    }
+
+    public record StatementStats(String fingerprint, long count, long errors, double totalMs, double meanMs,
+                                 double p99Ms, double maxMs, long rows) {
+    }
+}
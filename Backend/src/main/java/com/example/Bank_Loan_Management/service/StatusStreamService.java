@@ -0,0 +1,116 @@
+package com.example.Bank_Loan_Management.service;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.event.DocumentStatusEvent;
+import com.example.Bank_Loan_Management.event.DomainEventHandler;
+import com.example.Bank_Loan_Management.event.LoanStatusEvent;
+
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class StatusStreamService implements DomainEventHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatusStreamService.class);
+
+    private final long timeoutMillis;
+
+    // Idle connections hold no thread: subscribers are indexed by owner and by staff role
+    private final Map<Long, Set<Subscriber>> byUser = new ConcurrentHashMap<>();
+    private final Map<User.Role, Set<Subscriber>> byRole = new ConcurrentHashMap<>();
+
+    public StatusStreamService(@Value("${status.stream.timeout-ms:1800000}") long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public SseEmitter subscribe(User user) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(user.getId(), user.getRole(), emitter);
+        Set<Subscriber> bucket = user.getRole() == User.Role.USER
+                ? byUser.computeIfAbsent(user.getId(), id -> ConcurrentHashMap.newKeySet())
+                : byRole.computeIfAbsent(user.getRole(), role -> ConcurrentHashMap.newKeySet());
+        bucket.add(subscriber);
+
+        Runnable remove = () -> bucket.remove(subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        send(subscriber, SseEmitter.event().name("ready").data(Map.of("userId", user.getId())));
+        return emitter;
+    }
+
+    // Runs on the bus consumer thread, after the transaction that produced the event committed
+    @Override
+    public void onEvent(Object event, boolean endOfBatch) {
+        if (event instanceof LoanStatusEvent loan) {
+            dispatch(loan.userId(), "loan", loan, User.Role.LOAN_MANAGER, User.Role.MANAGER, User.Role.ADMIN);
+        } else if (event instanceof DocumentStatusEvent document) {
+            dispatch(document.userId(), "document", document, User.Role.LOAN_MANAGER, User.Role.ADMIN);
+        }
+    }
+
+    // Comment frames keep proxies from closing idle streams and flush out dead connections
+    @Scheduled(fixedDelayString = "${status.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        forEachSubscriber(subscriber -> send(subscriber, SseEmitter.event().comment("ping")));
+    }
+
+    public int getSubscriberCount() {
+        int[] count = {0};
+        forEachSubscriber(subscriber -> count[0]++);
+        return count[0];
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        forEachSubscriber(subscriber -> subscriber.emitter().complete());
+    }
+
+    private void dispatch(Long ownerId, String name, Object delta, User.Role... staffRoles) {
+        Set<Subscriber> owners = byUser.get(ownerId);
+        if (owners != null) {
+            owners.forEach(subscriber -> send(subscriber, event(name, delta)));
+        }
+        for (User.Role role : staffRoles) {
+            Set<Subscriber> staff = byRole.get(role);
+            if (staff != null) {
+                staff.forEach(subscriber -> send(subscriber, event(name, delta)));
+            }
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder event(String name, Object delta) {
+        return SseEmitter.event().name(name).data(delta, MediaType.APPLICATION_JSON);
+    }
+
+    private void forEachSubscriber(Consumer<Subscriber> action) {
+        byUser.values().forEach(bucket -> bucket.forEach(action));
+        byRole.values().forEach(bucket -> bucket.forEach(action));
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter().send(event);
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping status stream subscriber for user {}: {}", subscriber.userId(), e.getMessage());
+            subscriber.emitter().completeWithError(e);
+        }
+    }
+
+    private record Subscriber(Long userId, User.Role role, SseEmitter emitter) {
+    }
+}
@@ -0,0 +1,313 @@
+package com.example.Bank_Loan_Management.service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.Bank_Loan_Management.repository.ArchivedDocumentRepository;
+import com.example.Bank_Loan_Management.repository.DocumentPathView;
+import com.example.Bank_Loan_Management.repository.DocumentRepository;
+import com.example.Bank_Loan_Management.util.LongHashSet;
+
+@Service
+public class StorageReconciliationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageReconciliationService.class);
+
+    private static final String QUARANTINE_DIR = ".quarantine";
+    private static final int SAMPLE_LIMIT = 100;
+
+    public enum Mode {
+        REPORT, QUARANTINE
+    }
+
+    private final DocumentRepository documentRepository;
+    private final ArchivedDocumentRepository archivedDocumentRepository;
+    private final DocumentStorageService documentStorageService;
+    private final ShardRouter shardRouter;
+    private final boolean enabled;
+    private final Mode mode;
+    private final int parallelism;
+    private final int chunkSize;
+    private final long chunkPauseMillis;
+    private final int maxFilesPerSecond;
+    private final Duration gracePeriod;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile ReconciliationReport lastReport;
+
+    public StorageReconciliationService(DocumentRepository documentRepository,
+                                        ArchivedDocumentRepository archivedDocumentRepository,
+                                        DocumentStorageService documentStorageService,
+                                        ShardRouter shardRouter,
+                                        @Value("${document.storage.reconciliation.enabled:true}") boolean enabled,
+                                        @Value("${document.storage.reconciliation.mode:REPORT}") Mode mode,
+                                        @Value("${document.storage.reconciliation.parallelism:2}") int parallelism,
+                                        @Value("${document.storage.reconciliation.chunk-size:1000}") int chunkSize,
+                                        @Value("${document.storage.reconciliation.chunk-pause-ms:50}") long chunkPauseMillis,
+                                        @Value("${document.storage.reconciliation.max-files-per-second:2000}") int maxFilesPerSecond,
+                                        @Value("${document.storage.reconciliation.grace-minutes:60}") long graceMinutes) {
+        this.documentRepository = documentRepository;
+        this.archivedDocumentRepository = archivedDocumentRepository;
+        this.documentStorageService = documentStorageService;
+        this.shardRouter = shardRouter;
+        this.enabled = enabled;
+        this.mode = mode;
+        this.parallelism = Math.max(1, parallelism);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.chunkPauseMillis = chunkPauseMillis;
+        this.maxFilesPerSecond = maxFilesPerSecond;
+        this.gracePeriod = Duration.ofMinutes(graceMinutes);
+    }
+
+    @Scheduled(cron = "${document.storage.reconciliation.cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        if (enabled) {
+            reconcile();
+        }
+    }
+
+    public ReconciliationReport getLastReport() {
+        return lastReport;
+    }
+
+    public ReconciliationReport reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("Storage reconciliation is already running");
+        }
+        try {
+            ReconciliationReport report = doReconcile();
+            lastReport = report;
+            logger.info("Storage reconciliation finished: {} files, {} rows, {} orphan files, {} dangling rows, {} quarantined",
+                    report.filesScanned(), report.rowsScanned(), report.orphanFileCount(),
+                    report.danglingDocumentCount(), report.quarantinedCount());
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ReconciliationReport doReconcile() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        Path root = documentStorageService.getRoot().toAbsolutePath().normalize();
+        Throttle throttle = new Throttle(maxFilesPerSecond);
+
+        // Pass 1: hash every stored file
+        LongHashSet onDisk = new LongHashSet(1024);
+        AtomicLong filesScanned = new AtomicLong();
+        scan(root, throttle, file -> {
+            long hash = hash64(file.toString());
+            synchronized (onDisk) {
+                onDisk.add(hash);
+            }
+            filesScanned.incrementAndGet();
+        });
+
+        // Live and archived rows both keep their files referenced
+        LongHashSet referenced = new LongHashSet(onDisk.size());
+        RowScan rows = new RowScan();
+        shardRouter.forEachShard(shard -> {
+            scanRows(documentRepository::findPathsAfter, root, onDisk, referenced, rows);
+            scanRows(archivedDocumentRepository::findPathsAfter, root, onDisk, referenced, rows);
+        });
+        onDisk.clear();
+
+        // Pass 2: files no row points at are orphans, unless they may belong to an in-flight upload
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        List<String> orphanSample = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong orphanCount = new AtomicLong();
+        AtomicLong quarantined = new AtomicLong();
+        Path quarantineDir = root.resolve(QUARANTINE_DIR);
+        scan(root, throttle, file -> {
+            if (referenced.contains(hash64(file.toString())) || !isOlderThan(file, cutoff)) {
+                return;
+            }
+            orphanCount.incrementAndGet();
+            if (orphanSample.size() < SAMPLE_LIMIT) {
+                orphanSample.add(root.relativize(file).toString());
+            }
+            if (mode == Mode.QUARANTINE && quarantine(file, quarantineDir)) {
+                quarantined.incrementAndGet();
+            }
+        });
+
+        return new ReconciliationReport(startedAt, LocalDateTime.now(), mode, filesScanned.get(), rows.scanned,
+                orphanCount.get(), List.copyOf(orphanSample), rows.dangling, List.copyOf(rows.danglingSample),
+                quarantined.get());
+    }
+
+    // Stream rows in keyset chunks; rows whose file is missing are dangling
+    private void scanRows(BiFunction<Long, Pageable, List<DocumentPathView>> source, Path root,
+                          LongHashSet onDisk, LongHashSet referenced, RowScan rows) {
+        long afterId = 0L;
+        while (true) {
+            List<DocumentPathView> chunk = source.apply(afterId, PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            for (DocumentPathView row : chunk) {
+                Path path = Paths.get(row.getFilePath()).toAbsolutePath().normalize();
+                long hash = hash64(path.toString());
+                boolean present = path.startsWith(root) ? onDisk.contains(hash) : Files.exists(path);
+                if (present) {
+                    referenced.add(hash);
+                } else {
+                    rows.dangling++;
+                    if (rows.danglingSample.size() < SAMPLE_LIMIT) {
+                        rows.danglingSample.add(row.getId());
+                    }
+                }
+            }
+            rows.scanned += chunk.size();
+            afterId = chunk.get(chunk.size() - 1).getId();
+            pause(chunkPauseMillis);
+        }
+    }
+
+    private void scan(Path root, Throttle throttle, Consumer<Path> visitor) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new DirectoryScan(root, throttle, visitor));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private boolean isOlderThan(Path file, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private boolean quarantine(Path file, Path quarantineDir) {
+        try {
+            Files.createDirectories(quarantineDir);
+            Files.move(file, quarantineDir.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (IOException e) {
+            logger.warn("Failed to quarantine orphan file {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    private static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 64-bit FNV-1a; a collision can only hide an orphan, never flag a live file
+    static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static class RowScan {
+        long scanned;
+        long dangling;
+        final List<Long> danglingSample = new ArrayList<>();
+    }
+
+    private static class DirectoryScan extends RecursiveAction {
+
+        private final Path directory;
+        private final Throttle throttle;
+        private final Consumer<Path> visitor;
+
+        DirectoryScan(Path directory, Throttle throttle, Consumer<Path> visitor) {
+            this.directory = directory;
+            this.throttle = throttle;
+            this.visitor = visitor;
+        }
+
+        @Override
+        protected void compute() {
+            List<DirectoryScan> subdirectories = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                    if (attributes.isDirectory()) {
+                        if (!QUARANTINE_DIR.equals(entry.getFileName().toString())) {
+                            subdirectories.add(new DirectoryScan(entry, throttle, visitor));
+                        }
+                    } else if (attributes.isRegularFile()) {
+                        throttle.acquire();
+                        visitor.accept(entry.toAbsolutePath().normalize());
+                    }
+                }
+            } catch (IOException e) {
+                logger.warn("Failed to scan storage directory {}: {}", directory, e.getMessage());
+            }
+            invokeAll(subdirectories);
+        }
+    }
+
+    // Caps file visits per second across all scanning threads so live uploads keep their I/O
+    private static class Throttle {
+
+        private final long intervalNanos;
+        private long nextSlot = System.nanoTime();
+
+        Throttle(int permitsPerSecond) {
+            this.intervalNanos = permitsPerSecond > 0 ? 1_000_000_000L / permitsPerSecond : 0L;
+        }
+
+        void acquire() {
+            if (intervalNanos == 0L) {
+                return;
+            }
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                nextSlot = Math.max(nextSlot, now) + intervalNanos;
+                waitNanos = nextSlot - intervalNanos - now;
+            }
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+        }
+    }
+
+    public record ReconciliationReport(LocalDateTime startedAt, LocalDateTime finishedAt, Mode mode,
+                                       long filesScanned, long rowsScanned,
+                                       long orphanFileCount, List<String> orphanFileSample,
+                                       long danglingDocumentCount, List<Long> danglingDocumentSample,
+                                       long quarantinedCount) {
+    }
+}
@@ -10,28 +10,65 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Component
 public class JwtUtil {
 
+    private static final String STREAM_SCOPE = "stream";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private long expirationTime;
 
+    @Value("${jwt.stream-ticket-expiration:30000}")
+    private long streamTicketExpirationTime;
+
+    // Every authenticated request parses its token; signing happens once per login
+    private final Timer parseTimer;
+    private final Timer signTimer;
+
+    public JwtUtil(MeterRegistry meterRegistry) {
+        this.parseTimer = meterRegistry.timer("auth.jwt", "operation", "parse");
+        this.signTimer = meterRegistry.timer("auth.jwt", "operation", "sign");
+    }
+
     private Key getSigningKey() {
         return Keys.hmacShaKeyFor(secret.getBytes());
     }
 
     public String generateToken(String username, String role) {
-        return Jwts.builder()
+        return signTimer.record(() -> Jwts.builder()
                 .setSubject(username)
                 .claim("role", role)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expirationTime))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+                .compact());
+    }
+
+    // Short-lived token that only opens the status stream. EventSource has to send it in the URL, where
+    // proxies and access logs may keep it, so it must not be worth anything once the stream is open.
+    public String generateStreamTicket(String username, String role) {
+        return signTimer.record(() -> Jwts.builder()
+                .setSubject(username)
+                .claim("role", role)
+                .claim("scope", STREAM_SCOPE)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + streamTicketExpirationTime))
+                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .compact());
+    }
+
+    public long getStreamTicketExpirationTime() {
+        return streamTicketExpirationTime;
+    }
+
+    public boolean isStreamTicket(String token) {
+        return STREAM_SCOPE.equals(extractAllClaims(token).get("scope", String.class));
     }
 
     public String extractUsername(String token) {
@@ -51,10 +88,10 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
+        return parseTimer.record(() -> Jwts.parserBuilder()
                 .setSigningKey(getSigningKey())
                 .build()
                 .parseClaimsJws(token)
-                .getBody();
+                .getBody());
     }
 }
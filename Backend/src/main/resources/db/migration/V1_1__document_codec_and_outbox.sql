@@ -0,0 +1,19 @@
+-- Columns and tables the entities gained after the baseline. Runs before V2, whose
+-- indexes cover them, on both fresh and baselined databases.
+
+-- DocumentStorageService records how each file was written
+ALTER TABLE documents ADD COLUMN storage_codec VARCHAR(16);
+ALTER TABLE documents ADD COLUMN stored_size BIGINT;
+
+-- NotificationOutboxRelay
+CREATE TABLE notification_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    topic VARCHAR(255) NOT NULL,
+    message_key VARCHAR(255) NOT NULL,
+    payload VARCHAR(4000) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    delivered_at DATETIME(6),
+    attempts INTEGER NOT NULL,
+    last_error VARCHAR(255),
+    PRIMARY KEY (id)
+);
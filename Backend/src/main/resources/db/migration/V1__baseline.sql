@@ -0,0 +1,61 @@
+-- Schema as previously generated by hibernate.ddl-auto=update, constraint names included.
+-- Existing databases are baselined at this version and skip it, so nothing added since
+-- belongs here; later changes go in their own versioned migrations. Enum columns are
+-- VARCHAR rather than MySQL ENUM so the same script validates against H2 in the tests.
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    role VARCHAR(32),
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UK_r43af9ap4edm43mmtq01oddj6 UNIQUE (username),
+    CONSTRAINT UK_6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+);
+
+CREATE TABLE interest_rates (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    purpose VARCHAR(255),
+    rate DECIMAL(38, 2),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE loan_applications (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    loan_manager_id BIGINT,
+    manager_id BIGINT,
+    documents_verified BIT NOT NULL,
+    amount DECIMAL(38, 2) NOT NULL,
+    term INTEGER NOT NULL,
+    purpose VARCHAR(255) NOT NULL,
+    status VARCHAR(32),
+    credit_score INTEGER,
+    applied_date DATETIME(6),
+    decision_date DATETIME(6),
+    approved_amount DECIMAL(38, 2),
+    paid_amount DECIMAL(38, 2),
+    pending_amount DECIMAL(38, 2),
+    interest_rate DECIMAL(5, 2),
+    PRIMARY KEY (id),
+    CONSTRAINT FKbmegisduy0ibu084cvj72x1cd FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT FKfshfkvp330i5rx4oroyrdcxq7 FOREIGN KEY (loan_manager_id) REFERENCES users (id),
+    CONSTRAINT FK3qw81kiqomv6b5x1c8jcdjmdt FOREIGN KEY (manager_id) REFERENCES users (id)
+);
+
+CREATE TABLE documents (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    loan_application_id BIGINT,
+    user_id BIGINT NOT NULL,
+    document_type VARCHAR(255) NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    file_path VARCHAR(255) NOT NULL,
+    content_type VARCHAR(255) NOT NULL,
+    file_size BIGINT NOT NULL,
+    status VARCHAR(32),
+    PRIMARY KEY (id),
+    CONSTRAINT FKe5y3mjfxufg2oir7rj4sr3hq1 FOREIGN KEY (loan_application_id) REFERENCES loan_applications (id),
+    CONSTRAINT FKkxttj4tp5le2uth212lu49vny FOREIGN KEY (user_id) REFERENCES users (id)
+);
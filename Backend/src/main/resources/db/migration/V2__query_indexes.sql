@@ -0,0 +1,18 @@
+-- One index per repository access path. RepositoryQueryPlanTests asserts each one is used.
+
+-- LoanApplicationRepository.findByStatus
+CREATE INDEX idx_loan_applications_status ON loan_applications (status, applied_date);
+
+-- LoanApplicationRepository.findByUser is served by the index behind its user_id foreign key
+
+-- DocumentRepository.findByUser, findByUser_IdAndLoanApplicationIsNull
+CREATE INDEX idx_documents_user_loan ON documents (user_id, loan_application_id);
+
+-- DocumentRepository.findByLoanApplication_Id, findByLoanApplication_IdAndStatus
+CREATE INDEX idx_documents_loan_status ON documents (loan_application_id, status);
+
+-- InterestRateRepository.findByPurpose
+CREATE INDEX idx_interest_rates_purpose ON interest_rates (purpose, rate);
+
+-- NotificationOutboxRepository pending scan (delivered_at IS NULL ORDER BY id) and purge
+CREATE INDEX idx_notification_outbox_pending ON notification_outbox (delivered_at, id, created_at);
@@ -0,0 +1,15 @@
+-- Table-backed pooled-lo id allocation (MySQL has no sequences). Each row holds the next unallocated id;
+-- Hibernate reserves 50 ids per round trip, which lets inserts be sent as JDBC batches.
+-- The AUTO_INCREMENT columns are left in place, but rows inserted outside the application must take
+-- their ids from here as well or they can collide with a block already handed out.
+
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val BIGINT NOT NULL,
+    PRIMARY KEY (sequence_name)
+);
+
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'users', COALESCE(MAX(id), 0) + 1 FROM users;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'interest_rates', COALESCE(MAX(id), 0) + 1 FROM interest_rates;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'loan_applications', COALESCE(MAX(id), 0) + 1 FROM loan_applications;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'documents', COALESCE(MAX(id), 0) + 1 FROM documents;
@@ -0,0 +1,44 @@
+-- Cold storage for closed loan applications and their documents' metadata. Rows are moved here by
+-- ArchivalService and keep their original ids; the hot tables only hold work that can still change.
+
+CREATE TABLE loan_applications_archive (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    loan_manager_id BIGINT,
+    manager_id BIGINT,
+    documents_verified BOOLEAN NOT NULL,
+    amount DECIMAL(38, 2) NOT NULL,
+    term INTEGER NOT NULL,
+    purpose VARCHAR(255) NOT NULL,
+    status VARCHAR(32),
+    credit_score INTEGER,
+    applied_date DATETIME(6),
+    decision_date DATETIME(6),
+    approved_amount DECIMAL(38, 2),
+    paid_amount DECIMAL(38, 2),
+    pending_amount DECIMAL(38, 2),
+    interest_rate DECIMAL(5, 2),
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_loan_applications_archive_user ON loan_applications_archive (user_id, decision_date);
+CREATE INDEX idx_loan_applications_archive_decision ON loan_applications_archive (decision_date);
+
+CREATE TABLE documents_archive (
+    id BIGINT NOT NULL,
+    loan_application_id BIGINT,
+    user_id BIGINT NOT NULL,
+    document_type VARCHAR(255) NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    file_path VARCHAR(255) NOT NULL,
+    content_type VARCHAR(255) NOT NULL,
+    file_size BIGINT NOT NULL,
+    storage_codec VARCHAR(16),
+    stored_size BIGINT,
+    status VARCHAR(32),
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_documents_archive_loan ON documents_archive (loan_application_id);
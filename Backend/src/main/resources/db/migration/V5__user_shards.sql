@@ -0,0 +1,14 @@
+-- Shard directory: which shard holds each user's rows. Only shard 0's copy is read; the table is
+-- created on every shard so all shards share one schema history. Staff accounts live on every shard
+-- (loans reference them) and are marked replicated.
+
+CREATE TABLE user_shards (
+    username VARCHAR(255) NOT NULL,
+    user_id BIGINT,
+    shard INTEGER NOT NULL,
+    replicated BOOLEAN NOT NULL,
+    moving BOOLEAN NOT NULL,
+    PRIMARY KEY (username)
+);
+
+CREATE INDEX idx_user_shards_shard ON user_shards (shard, username);
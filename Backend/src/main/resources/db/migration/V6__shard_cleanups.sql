@@ -0,0 +1,11 @@
+-- Source copies the rebalancer moved but could not delete; retried until they are gone. Only shard 0's
+-- copy is used, like user_shards.
+
+CREATE TABLE shard_cleanups (
+    username VARCHAR(255) NOT NULL,
+    user_id BIGINT NOT NULL,
+    shard INTEGER NOT NULL,
+    failed_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(1000),
+    PRIMARY KEY (username, shard)
+);
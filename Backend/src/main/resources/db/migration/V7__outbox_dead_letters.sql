@@ -0,0 +1,7 @@
+-- Outbox rows that kept failing are parked instead of being retried forever; the relay skips them and
+-- the purge keeps them for inspection
+
+ALTER TABLE notification_outbox ADD COLUMN dead_lettered_at DATETIME(6);
+
+DROP INDEX idx_notification_outbox_pending ON notification_outbox;
+CREATE INDEX idx_notification_outbox_pending ON notification_outbox (delivered_at, dead_lettered_at, id, created_at);
@@ -0,0 +1,4 @@
+-- NotificationOutboxRepository.findSettledPending checks each key for pending rows still inside the
+-- coalescing window
+
+CREATE INDEX idx_notification_outbox_key ON notification_outbox (message_key, delivered_at, dead_lettered_at, created_at);
@@ -0,0 +1,9 @@
+-- Version stamps behind the ETags of the customer loan/document lists and the rate table, bumped in the
+-- transaction that changes them so every instance hands out the same stamp. Each shard keeps the stamps of
+-- the rows it holds; the 'all' row is bumped on every shard by changes that reach into every listing.
+
+CREATE TABLE change_stamps (
+    scope VARCHAR(320) NOT NULL PRIMARY KEY,
+    version BIGINT NOT NULL,
+    last_modified BIGINT NOT NULL
+);
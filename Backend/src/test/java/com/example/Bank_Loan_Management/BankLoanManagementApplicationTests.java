@@ -1,13 +1,26 @@
 package com.example.Bank_Loan_Management;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 @SpringBootTest
 class BankLoanManagementApplicationTests {
 
+	@Autowired
+	private ThreadPoolTaskScheduler taskScheduler;
+
 	@Test
 	void contextLoads() {
 	}
 
+	// A single scheduling thread would let the nightly jobs hold up the relay and heartbeats
+	@Test
+	void scheduledJobsShareAPool() {
+		assertThat(taskScheduler.getScheduledThreadPoolExecutor().getCorePoolSize()).isGreaterThan(1);
+	}
+
 }
@@ -0,0 +1,74 @@
+package com.example.Bank_Loan_Management.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+// Runs against a private LoggerContext so the application's logging configuration is not involved
+class LogSamplingFilterTests {
+
+    private LoggerContext context;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        LogSamplingFilter filter = new LogSamplingFilter();
+        filter.setContext(context);
+        filter.addSample("com.example.chatty=10");
+        filter.addSample("com.example.chatty.quiet=1");
+        filter.addSample("not a rule");
+        filter.start();
+        context.addTurboFilter(filter);
+
+        appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.start();
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+    }
+
+    @Test
+    void keepsOneInNInfoEventsButEveryWarning() {
+        Logger chatty = context.getLogger("com.example.chatty.Service");
+        for (int i = 0; i < 100; i++) {
+            chatty.info("event {}", i);
+            chatty.warn("warning {}", i);
+        }
+
+        assertThat(appender.list).filteredOn(event -> event.getLevel() == Level.INFO).hasSize(10);
+        assertThat(appender.list).filteredOn(event -> event.getLevel() == Level.WARN).hasSize(100);
+    }
+
+    @Test
+    void longestPrefixWinsAndOtherCategoriesAreUntouched() {
+        Logger quiet = context.getLogger("com.example.chatty.quiet.Job");
+        Logger other = context.getLogger("com.example.Other");
+        for (int i = 0; i < 20; i++) {
+            quiet.info("quiet {}", i);
+            other.info("other {}", i);
+        }
+
+        assertThat(appender.list).hasSize(40);
+    }
+
+    @Test
+    void disabledLevelsAndEnabledChecksDoNotAdvanceTheSample() {
+        Logger chatty = context.getLogger("com.example.chatty.Service");
+        for (int i = 0; i < 25; i++) {
+            chatty.debug("below the logger level");
+            chatty.isInfoEnabled();
+        }
+        chatty.info("first");
+
+        assertThat(appender.list).extracting(ILoggingEvent::getMessage).containsExactly("first");
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.Bank_Loan_Management.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.Bank_Loan_Management.util.JwtUtil;
+
+// Drives a registration, login, upload and loan application over HTTP, then scrapes the Prometheus endpoint
+@SpringBootTest(properties = "document.storage.root=${java.io.tmpdir}/metrics-test-uploads")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void prometheusEndpointExposesWorkflowTimers() throws Exception {
+        mockMvc.perform(post("/auth/register").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"metrics-user\",\"password\":\"secret\",\"email\":\"metrics-user@example.com\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"metrics-user\",\"password\":\"secret\"}"))
+                .andExpect(status().isOk());
+        String customer = bearer("metrics-user", "USER");
+        mockMvc.perform(multipart("/api/user/documents/upload")
+                        .file(new MockMultipartFile("file", "id.pdf", "application/pdf", new byte[4096]))
+                        .param("documentType", "id-proof")
+                        .header(HttpHeaders.AUTHORIZATION, customer))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/user/loans/apply").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":3000,\"term\":12,\"purpose\":\"education\"}")
+                        .header(HttpHeaders.AUTHORIZATION, customer))
+                .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, bearer("testuser", "ADMIN")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket{")
+                .containsPattern("auth_jwt_seconds_count\\{[^}]*operation=\"parse\"")
+                .containsPattern("auth_login_seconds_count\\{[^}]*outcome=\"success\"")
+                .containsPattern("auth_password_hash_seconds_count\\{[^}]*operation=\"matches\"")
+                .containsPattern("loan_scoring_seconds_count\\{[^}]*step=\"score\"")
+                .containsPattern("loan_transition_seconds_bucket\\{[^}]*transition=\"apply\"")
+                .containsPattern("document_upload_size_bytes_sum\\{[^}]*codec=\"none\"[^}]*} 4096.0")
+                .contains("hikaricp_connections_pending{")
+                .contains("hikaricp_connections_acquire_seconds_count{")
+                .contains("events_bus_dropped_total ");
+    }
+
+    @Test
+    void metricsNeedAnAdminButHealthIsOpen() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, bearer("loanmanager", "LOAN_MANAGER")))
+                .andExpect(status().isForbidden());
+    }
+
+    private String bearer(String username, String role) {
+        return "Bearer " + jwtUtil.generateToken(username, role);
+    }
+}
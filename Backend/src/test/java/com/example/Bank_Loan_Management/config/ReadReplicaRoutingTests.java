@@ -0,0 +1,145 @@
+package com.example.Bank_Loan_Management.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.example.Bank_Loan_Management.entity.LoanApplication;
+import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.repository.UserRepository;
+import com.example.Bank_Loan_Management.service.EntityCacheService;
+import com.example.Bank_Loan_Management.service.LoanService;
+
+// Two H2 databases stand in for the primary and the replica. The replica holds a marker loan the
+// primary does not have, so the rows a read returns show which database served it.
+@SpringBootTest(properties = {
+        "datasource.replica.url=" + ReadReplicaRoutingTests.REPLICA_URL,
+        "datasource.replica.username=sa",
+        "datasource.replica.password=",
+        "datasource.replica.lag-query=SELECT lag_seconds FROM replication_lag",
+        "datasource.replica.max-lag-seconds=5",
+        "datasource.replica.lag-check-initial-delay-ms=3600000",
+        "datasource.replica.lag-check-ms=3600000"
+})
+class ReadReplicaRoutingTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final BigDecimal REPLICA_MARKER = new BigDecimal("12345.67");
+    private static final BigDecimal PRIMARY_MARKER = new BigDecimal("777.00");
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void seedReplica() {
+        DriverManagerDataSource replicaAdmin = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(replicaAdmin).load().migrate();
+        replica = new JdbcTemplate(replicaAdmin);
+        replica.execute("CREATE TABLE IF NOT EXISTS replication_lag (lag_seconds BIGINT)");
+        replica.update("DELETE FROM replication_lag");
+        replica.update("INSERT INTO replication_lag VALUES (0)");
+        replica.update("MERGE INTO users (id, username, password, email, role, created_at) KEY (id) "
+                + "VALUES (9001, 'replica-user', 'x', 'replica@example.com', 'USER', CURRENT_TIMESTAMP)");
+        replica.update("MERGE INTO loan_applications (id, user_id, documents_verified, amount, term, purpose, status, applied_date) "
+                + "KEY (id) VALUES (9001, 9001, FALSE, ?, 12, 'home', 'APPLIED', CURRENT_TIMESTAMP)", REPLICA_MARKER);
+        replicaLagMonitor.check();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        SecurityContextHolder.clearContext();
+        new JdbcTemplate(primaryDataSource).update("DELETE FROM loan_applications WHERE amount = ?", PRIMARY_MARKER);
+        entityCacheService.evictAll();
+    }
+
+    @Test
+    void readOnlyServiceReadsGoToReplica() {
+        assertThat(replicaLagMonitor.isReplicaUsable()).isTrue();
+
+        assertThat(amounts(loanService.getLoansByStatus(LoanApplication.Status.APPLIED))).contains(REPLICA_MARKER);
+        assertThat((Long) replicaRoutingDataSource.getRoutingStats().get("replicaConnections")).isPositive();
+    }
+
+    @Test
+    void writerReadsOwnWriteFromPrimaryUntilStickyWindowPasses() {
+        User manager = userRepository.findByUsername("manager").orElseThrow();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "manager", null, List.of(new SimpleGrantedAuthority("ROLE_MANAGER"))));
+
+        loanService.applyForLoan(manager, PRIMARY_MARKER, 12, "education");
+
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM loan_applications WHERE amount = ?",
+                Long.class, PRIMARY_MARKER)).isZero();
+        List<BigDecimal> ownView = amounts(loanService.getLoansByStatus(LoanApplication.Status.APPLIED));
+        assertThat(ownView).contains(PRIMARY_MARKER).doesNotContain(REPLICA_MARKER);
+
+        // Anyone else keeps reading from the replica
+        SecurityContextHolder.clearContext();
+        List<BigDecimal> otherView = amounts(loanService.getLoansByStatus(LoanApplication.Status.APPLIED));
+        assertThat(otherView).contains(REPLICA_MARKER).doesNotContain(PRIMARY_MARKER);
+    }
+
+    // The username lookup is read from the primary, but only a transaction that could write makes its user sticky
+    @Test
+    void userLookupReadsPrimaryWithoutMakingTheUserSticky() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "testuser", null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        entityCacheService.evictAll();
+        Object stickyBefore = replicaRoutingDataSource.getRoutingStats().get("stickyUsers");
+
+        assertThat(userRepository.findByUsername("testuser")).isPresent();
+        assertThat(userRepository.findByUsername("testuser")).isPresent();
+        assertThat(userRepository.findByUsername("replica-user")).isEmpty();
+
+        assertThat(replicaRoutingDataSource.getRoutingStats().get("stickyUsers")).isEqualTo(stickyBefore);
+        assertThat(amounts(loanService.getLoansByStatus(LoanApplication.Status.APPLIED))).contains(REPLICA_MARKER);
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        replica.update("UPDATE replication_lag SET lag_seconds = 60");
+        replicaLagMonitor.check();
+
+        assertThat(replicaLagMonitor.isReplicaUsable()).isFalse();
+        assertThat(amounts(loanService.getLoansByStatus(LoanApplication.Status.APPLIED))).doesNotContain(REPLICA_MARKER);
+    }
+
+    private static List<BigDecimal> amounts(List<LoanApplication> loans) {
+        return loans.stream().map(LoanApplication::getAmount).map(a -> a.setScale(2)).toList();
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.Bank_Loan_Management.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.Bank_Loan_Management.entity.LoanApplication;
+import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.repository.UserRepository;
+import com.example.Bank_Loan_Management.service.AuthService;
+import com.example.Bank_Loan_Management.service.LoanService;
+import com.example.Bank_Loan_Management.service.ShardDirectory;
+import com.example.Bank_Loan_Management.service.ShardRebalancer;
+import com.example.Bank_Loan_Management.service.ShardRouter;
+
+// Three in-memory H2 databases act as shards; assertions read each one directly over JDBC to see where
+// rows physically landed
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shard0;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "sharding.enabled=true",
+        "sharding.count=3",
+        "sharding.shards.1.url=jdbc:h2:mem:shard1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "sharding.shards.2.url=jdbc:h2:mem:shard2;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "sharding.directory-cache-ms=0",
+        "sharding.rebalance.move-pause-ms=0"
+})
+class ShardingTests {
+
+    private static final int CUSTOMERS = 12;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void customersAreSpreadByHashAndStaffListingsGatherEveryShard() {
+        String prefix = "c" + UUID.randomUUID().toString().substring(0, 8) + "-";
+        Set<Integer> usedShards = new HashSet<>();
+        List<Long> loanIds = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            String username = prefix + i;
+            User user = authService.register(username, "secret", username + "@example.com");
+            int shard = shardDirectory.placeNewUser(username);
+            usedShards.add(shard);
+
+            assertThat(countUsers(shard, username)).isEqualTo(1);
+            assertThat(countUsersEverywhere(username)).isEqualTo(1);
+            assertThat(ShardRouter.shardOfId(user.getId())).isEqualTo(shard);
+
+            LoanApplication loan = shardRouter.asUser(username,
+                    () -> loanService.applyForLoan(user, new BigDecimal("1000.00"), 12, "home"));
+            assertThat(ShardRouter.shardOfId(loan.getId())).isEqualTo(shard);
+            loanIds.add(loan.getId());
+        }
+        assertThat(usedShards).hasSizeGreaterThan(1);
+
+        List<Long> gathered = loanService.getAllLoans().stream().map(LoanApplication::getId).toList();
+        assertThat(gathered).containsAll(loanIds).isSorted();
+        assertThat(loanService.getLoansByStatus(LoanApplication.Status.APPLIED).stream().map(LoanApplication::getId))
+                .containsAll(loanIds);
+    }
+
+    @Test
+    void staffAreReplicatedAndActOnLoansOnAnyShard() {
+        for (int shard = 0; shard < shardDataSources.count(); shard++) {
+            assertThat(countUsers(shard, "loanmanager")).isEqualTo(1);
+        }
+
+        String username = customerOnShard(2);
+        User customer = authService.register(username, "secret", username + "@example.com");
+        LoanApplication loan = shardRouter.asUser(username,
+                () -> loanService.applyForLoan(customer, new BigDecimal("2500.00"), 24, "car"));
+        User loanManager = userRepository.findByUsername("loanmanager").orElseThrow();
+
+        LoanApplication verified = shardRouter.onShard(loanService.shardOfApplication(loan.getId()),
+                () -> loanService.verifyLoanApplication(loan.getId(), loanManager));
+
+        assertThat(verified.getStatus()).isEqualTo(LoanApplication.Status.VERIFIED);
+        assertThat(jdbc(2).queryForObject("SELECT loan_manager_id FROM loan_applications WHERE id = ?", Long.class, loan.getId()))
+                .isEqualTo(loanManager.getId());
+    }
+
+    @Test
+    void usernamesAndEmailsAreUniqueAcrossShards() {
+        String first = customerOnShard(1);
+        String second = customerOnShard(2);
+        authService.register(first, "secret", first + "@example.com");
+
+        assertThatThrownBy(() -> authService.register(first, "secret", "other-" + first + "@example.com"))
+                .hasMessage("Username already exists");
+        assertThatThrownBy(() -> authService.register(second, "secret", first + "@example.com"))
+                .hasMessage("Email already exists");
+        assertThat(shardDirectory.findFresh(second)).isNull();
+    }
+
+    @Test
+    void movedUserKeepsLoansAndIdsOnTheTargetShard() {
+        String username = customerOnShard(1);
+        User customer = authService.register(username, "secret", username + "@example.com");
+        LoanApplication loan = shardRouter.asUser(username,
+                () -> loanService.applyForLoan(customer, new BigDecimal("800.00"), 6, "education"));
+
+        ShardRebalancer.MoveResult result = shardRebalancer.moveUser(username, 2);
+
+        assertThat(result.rowsCopied()).isEqualTo(2);
+        assertThat(shardDirectory.findFresh(username).shard()).isEqualTo(2);
+        assertThat(countUsers(1, username)).isZero();
+        assertThat(countUsers(2, username)).isEqualTo(1);
+        assertThat(shardRouter.asUser(username, () -> loanService.getLoansByUser(customer)))
+                .extracting(LoanApplication::getId).containsExactly(loan.getId());
+        // The id still points at shard 1; lookups fall through to where the row lives now
+        assertThat(loanService.shardOfApplication(loan.getId())).isEqualTo(2);
+    }
+
+    @Test
+    void moveWaitsForALeftOverCopyOnTheTargetToBeRemoved() {
+        String username = customerOnShard(1);
+        User customer = authService.register(username, "secret", username + "@example.com");
+        jdbc(0).update("INSERT INTO shard_cleanups (username, user_id, shard, failed_at, last_error) VALUES (?, ?, 2, ?, ?)",
+                username, customer.getId(), LocalDateTime.now(), "connection reset");
+        assertThat(shardRebalancer.getStatus().get("pendingCleanups")).isEqualTo(1L);
+
+        assertThatThrownBy(() -> shardRebalancer.moveUser(username, 2)).hasMessageContaining("has not been removed yet");
+        assertThat(shardDirectory.findFresh(username).moving()).isFalse();
+
+        shardRebalancer.retryCleanups();
+
+        assertThat(shardRebalancer.getStatus().get("pendingCleanups")).isEqualTo(0L);
+        assertThat(shardRebalancer.moveUser(username, 2).rowsCopied()).isEqualTo(1);
+        assertThat(countUsers(1, username)).isZero();
+        assertThat(countUsers(2, username)).isEqualTo(1);
+    }
+
+    private String customerOnShard(int shard) {
+        while (true) {
+            String username = "s" + UUID.randomUUID().toString().substring(0, 12);
+            if (shardDirectory.placeNewUser(username) == shard) {
+                return username;
+            }
+        }
+    }
+
+    private JdbcTemplate jdbc(int shard) {
+        return new JdbcTemplate(shardDataSources.get(shard));
+    }
+
+    private int countUsers(int shard, String username) {
+        return jdbc(shard).queryForObject("SELECT COUNT(*) FROM users WHERE username = ?", Integer.class, username);
+    }
+
+    private int countUsersEverywhere(String username) {
+        int total = 0;
+        for (int shard = 0; shard < shardDataSources.count(); shard++) {
+            total += countUsers(shard, username);
+        }
+        return total;
+    }
+}
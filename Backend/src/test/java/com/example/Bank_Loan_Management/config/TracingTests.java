@@ -0,0 +1,111 @@
+package com.example.Bank_Loan_Management.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.Bank_Loan_Management.service.AuthService;
+import com.example.Bank_Loan_Management.util.JwtUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+
+// With a zero threshold every finished request is kept, so the upload's trace can be read back over HTTP
+@SpringBootTest(properties = {
+        "tracing.slow-traces.threshold-ms=0",
+        "document.storage.root=${java.io.tmpdir}/tracing-test-uploads"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class TracingTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private Tracer tracer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void uploadTraceSpansFilterControllerServiceRepositoryAndStorage() throws Exception {
+        authService.register("tracing-user", "secret", "tracing-user@example.com");
+        mockMvc.perform(multipart("/api/user/documents/upload")
+                        .file(new MockMultipartFile("file", "id.pdf", "application/pdf", new byte[2048]))
+                        .param("documentType", "id-proof")
+                        .header(HttpHeaders.AUTHORIZATION, bearer("tracing-user", "USER")))
+                .andExpect(status().isOk());
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+
+        String body = mockMvc.perform(get("/api/admin/traces/slow").param("limit", "50")
+                        .header(HttpHeaders.AUTHORIZATION, bearer("testuser", "ADMIN")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode upload = null;
+        for (JsonNode trace : objectMapper.readTree(body)) {
+            if (trace.get("name").asText().contains("/api/user/documents/upload")) {
+                upload = trace;
+                break;
+            }
+        }
+        assertThat(upload).as("trace of the upload request").isNotNull();
+        List<String> spanNames = new ArrayList<>();
+        upload.get("spans").forEach(span -> spanNames.add(span.get("name").asText()));
+        assertThat(spanNames).contains(
+                "JwtAuthenticationFilter.authenticate",
+                "LoanController.uploadDocument",
+                "DocumentService.uploadDocument",
+                "DocumentStorageService.store",
+                "DocumentRepository.save");
+
+        mockMvc.perform(get("/api/admin/traces/" + upload.get("traceId").asText())
+                        .header(HttpHeaders.AUTHORIZATION, bearer("testuser", "ADMIN")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void logContextCarriesTheCurrentTraceId() {
+        Span span = tracer.spanBuilder("log-correlation").startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            assertThat(MDC.get("traceId")).isEqualTo(span.getSpanContext().getTraceId());
+            assertThat(MDC.get("spanId")).isEqualTo(span.getSpanContext().getSpanId());
+        } finally {
+            span.end();
+        }
+        assertThat(MDC.get("traceId")).isNull();
+    }
+
+    private String bearer(String username, String role) {
+        return "Bearer " + jwtUtil.generateToken(username, role);
+    }
+}
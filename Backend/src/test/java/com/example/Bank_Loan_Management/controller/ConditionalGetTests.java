@@ -0,0 +1,232 @@
+package com.example.Bank_Loan_Management.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.example.Bank_Loan_Management.entity.LoanApplication;
+import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.repository.ChangeStampRepository;
+import com.example.Bank_Loan_Management.repository.DocumentRepository;
+import com.example.Bank_Loan_Management.repository.LoanApplicationRepository;
+import com.example.Bank_Loan_Management.repository.UserRepository;
+import com.example.Bank_Loan_Management.service.ChangeStampService;
+import com.example.Bank_Loan_Management.service.DocumentStorageService;
+import com.example.Bank_Loan_Management.service.EntityCacheService;
+import com.example.Bank_Loan_Management.service.ShardRouter;
+import com.example.Bank_Loan_Management.support.QueryCount;
+import com.example.Bank_Loan_Management.support.SeededDataset;
+import com.example.Bank_Loan_Management.support.SqlStatementCounter;
+import com.example.Bank_Loan_Management.util.JwtUtil;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:conditionalget;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        SqlStatementCounter.INSPECTOR_PROPERTY,
+        "document.storage.root=${java.io.tmpdir}/conditional-get-uploads"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ConditionalGetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentStorageService documentStorageService;
+
+    @Autowired
+    private ChangeStampRepository changeStampRepository;
+
+    @Autowired
+    private ChangeStampService changeStampService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    private SeededDataset dataset;
+
+    @BeforeAll
+    void seed() {
+        dataset = new SeededDataset(userRepository, loanApplicationRepository, documentRepository, documentStorageService)
+                .seedCustomers("conditional-", 5);
+    }
+
+    // What is left is the JWT filter's user lookup and the stamp lookup
+    @Test
+    void unchangedListsAreAnsweredWithoutQueries() throws Exception {
+        User customer = dataset.customers().get(0);
+        for (String path : new String[] {"/api/user/loans", "/api/user/documents", "/api/user/interest-rates"}) {
+            MvcResult first = mockMvc.perform(as(get(path), customer)).andExpect(status().isOk()).andReturn();
+            String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+            assertThat(etag).as("ETag of %s", path).isNotNull().doesNotStartWith("W/");
+            assertThat(first.getResponse().getHeader(HttpHeaders.CACHE_CONTROL)).contains("no-cache").doesNotContain("no-store");
+
+            entityCacheService.evictAll();
+            QueryCount count = SqlStatementCounter.measure(() -> mockMvc
+                    .perform(as(get(path), customer).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified()));
+            assertThat(count.total()).as("statements for a 304 from %s", path).isEqualTo(2);
+        }
+    }
+
+    // A list has no Last-Modified until something has changed, so the customer applies first
+    @Test
+    void lastModifiedIsHonouredToo() throws Exception {
+        User customer = dataset.customers().get(1);
+        mockMvc.perform(as(post("/api/user/loans/apply"), customer).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 1500, \"term\": 12, \"purpose\": \"personal\"}"))
+                .andExpect(status().isOk());
+
+        MvcResult first = mockMvc.perform(as(get("/api/user/loans"), customer)).andExpect(status().isOk()).andReturn();
+        String lastModified = first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        assertThat(lastModified).isNotNull();
+
+        mockMvc.perform(as(get("/api/user/loans"), customer).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void applyingAndUploadingChangeOnlyTheirOwnerStamps() throws Exception {
+        User customer = dataset.customers().get(2);
+        User other = dataset.customers().get(3);
+        String loans = etag(as(get("/api/user/loans"), customer));
+        String documents = etag(as(get("/api/user/documents"), customer));
+        String otherLoans = etag(as(get("/api/user/loans"), other));
+
+        mockMvc.perform(as(post("/api/user/loans/apply"), customer).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 2500, \"term\": 12, \"purpose\": \"education\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(as(multipart("/api/user/documents/upload")
+                        .file(new MockMultipartFile("file", "payslip.pdf", "application/pdf", "%PDF-1.4".getBytes()))
+                        .param("documentType", "income-proof"), customer))
+                .andExpect(status().isOk());
+
+        assertChanged(as(get("/api/user/loans"), customer), loans);
+        assertChanged(as(get("/api/user/documents"), customer), documents);
+        mockMvc.perform(as(get("/api/user/loans"), other).header(HttpHeaders.IF_NONE_MATCH, otherLoans))
+                .andExpect(status().isNotModified());
+    }
+
+    // Applying links the customer's loose documents to the new application, which changes their loanApplicationId
+    @Test
+    void applyingChangesTheDocumentsItLinks() throws Exception {
+        User customer = dataset.customers().get(4);
+        mockMvc.perform(as(multipart("/api/user/documents/upload")
+                        .file(new MockMultipartFile("file", "id.pdf", "application/pdf", "%PDF-1.4".getBytes()))
+                        .param("documentType", "id-proof"), customer))
+                .andExpect(status().isOk());
+        String documents = etag(as(get("/api/user/documents"), customer));
+
+        mockMvc.perform(as(post("/api/user/loans/apply"), customer).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 4000, \"term\": 24, \"purpose\": \"car\"}"))
+                .andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(as(get("/api/user/documents"), customer)
+                        .header(HttpHeaders.IF_NONE_MATCH, documents))
+                .andExpect(status().isOk()).andReturn();
+        assertThat(result.getResponse().getContentAsString()).doesNotContain("\"loanApplicationId\":null");
+    }
+
+    // Another instance reads the same rows, so it answers with the stamp of a change made through this one
+    @Test
+    void stampsAreSharedBetweenInstances() throws Exception {
+        User customer = dataset.customers().get(0);
+        ChangeStampService otherInstance = new ChangeStampService(changeStampRepository, shardRouter);
+        String before = otherInstance.documents(customer.getUsername()).etag();
+
+        mockMvc.perform(as(multipart("/api/user/documents/upload")
+                        .file(new MockMultipartFile("file", "bank.pdf", "application/pdf", "%PDF-1.4".getBytes()))
+                        .param("documentType", "bank-statement"), customer))
+                .andExpect(status().isOk());
+
+        String after = etag(as(get("/api/user/documents"), customer));
+        assertThat(after).isNotEqualTo(before).isEqualTo(otherInstance.documents(customer.getUsername()).etag());
+    }
+
+    // A staff account change reaches into every customer's loans
+    @Test
+    void staffChangesChangeEveryCustomersLoans() throws Exception {
+        User customer = dataset.customers().get(3);
+        String loans = etag(as(get("/api/user/loans"), customer));
+
+        changeStampService.userChanged(userRepository.findByUsername("manager").orElseThrow());
+
+        assertChanged(as(get("/api/user/loans"), customer), loans);
+    }
+
+    @Test
+    void staffDecisionsChangeTheCustomersLoans() throws Exception {
+        LoanApplication loan = dataset.loanInStatus(LoanApplication.Status.VERIFIED);
+        User customer = loan.getUser();
+        String loans = etag(as(get("/api/user/loans"), customer));
+
+        mockMvc.perform(as(post("/api/manager/loans/approve/" + loan.getId()), "manager", "MANAGER"))
+                .andExpect(status().isOk());
+
+        assertChanged(as(get("/api/user/loans"), customer), loans);
+    }
+
+    @Test
+    void rateUpdatesChangeTheRateTable() throws Exception {
+        String customerView = etag(as(get("/api/user/interest-rates"), dataset.customer()));
+        String managerView = etag(as(get("/api/manager/interest-rates"), "manager", "MANAGER"));
+        assertThat(managerView).isEqualTo(customerView);
+
+        mockMvc.perform(as(post("/api/manager/interest-rates"), "manager", "MANAGER")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"purpose\": \"car\", \"rate\": 6.75}"))
+                .andExpect(status().isOk());
+
+        assertChanged(as(get("/api/user/interest-rates"), dataset.customer()), customerView);
+        assertChanged(as(get("/api/manager/interest-rates"), "manager", "MANAGER"), managerView);
+    }
+
+    private String etag(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private void assertChanged(MockHttpServletRequestBuilder request, String previousEtag) throws Exception {
+        MvcResult result = mockMvc.perform(request.header(HttpHeaders.IF_NONE_MATCH, previousEtag))
+                .andExpect(status().isOk()).andReturn();
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(previousEtag);
+    }
+
+    private MockHttpServletRequestBuilder as(MockHttpServletRequestBuilder request, User user) {
+        return as(request, user.getUsername(), user.getRole().name());
+    }
+
+    private <B extends MockHttpServletRequestBuilder> B as(B request, String username, String role) {
+        request.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken(username, role));
+        return request;
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.Bank_Loan_Management.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.example.Bank_Loan_Management.entity.Document;
+import com.example.Bank_Loan_Management.entity.LoanApplication;
+import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.repository.DocumentRepository;
+import com.example.Bank_Loan_Management.repository.LoanApplicationRepository;
+import com.example.Bank_Loan_Management.repository.UserRepository;
+import com.example.Bank_Loan_Management.service.DashboardService;
+import com.example.Bank_Loan_Management.service.DocumentStorageService;
+import com.example.Bank_Loan_Management.service.EntityCacheService;
+import com.example.Bank_Loan_Management.support.SeededDataset;
+import com.example.Bank_Loan_Management.util.JwtUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:dashboards;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "document.storage.root=${java.io.tmpdir}/dashboard-uploads",
+        "dashboard.queue-size=3"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DashboardTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentStorageService documentStorageService;
+
+    private SeededDataset dataset;
+
+    @BeforeAll
+    void seed() {
+        dataset = new SeededDataset(userRepository, loanApplicationRepository, documentRepository, documentStorageService)
+                .seedCustomers("dashboard-", 8);
+    }
+
+    // Every context in the JVM shares one JCache manager, and the next context's startup would otherwise find
+    // this database's users in it
+    @AfterAll
+    void evictCaches() {
+        entityCacheService.evictAll();
+    }
+
+    @Test
+    void customerDashboardMatchesTheSeparateEndpoints() throws Exception {
+        User customer = dataset.customer();
+        JsonNode dashboard = read(as(get("/api/user/dashboard"), customer));
+
+        assertThat(dashboard.path("user").path("username").asText()).isEqualTo(customer.getUsername());
+        assertThat(dashboard.path("user").has("password")).isFalse();
+        assertThat(dashboard.get("loans")).isEqualTo(read(as(get("/api/user/loans"), customer)));
+        assertThat(dashboard.get("documents")).isEqualTo(read(as(get("/api/user/documents"), customer)));
+        assertThat(dashboard.get("interestRates")).isEqualTo(read(as(get("/api/user/interest-rates"), customer)));
+    }
+
+    @Test
+    void loanManagerDashboardCountsEverythingAndPagesTheQueues() throws Exception {
+        JsonNode dashboard = read(as(get("/api/loan-manager/dashboard"), "loanmanager", "LOAN_MANAGER"));
+
+        List<LoanApplication> loans = loanApplicationRepository.findAll();
+        for (LoanApplication.Status loanStatus : LoanApplication.Status.values()) {
+            assertThat(dashboard.path("loanCounts").path(loanStatus.name()).asLong()).as("%s loans", loanStatus)
+                    .isEqualTo(loans.stream().filter(loan -> loan.getStatus() == loanStatus).count());
+        }
+        List<Document> documents = documentRepository.findAll();
+        for (Document.Status documentStatus : Document.Status.values()) {
+            assertThat(dashboard.path("documentCounts").path(documentStatus.name()).asLong()).as("%s documents", documentStatus)
+                    .isEqualTo(documents.stream().filter(document -> document.getStatus() == documentStatus).count());
+        }
+
+        List<Long> expectedLoans = loans.stream()
+                .filter(loan -> loan.getStatus() == LoanApplication.Status.APPLIED)
+                .sorted(Comparator.comparing(LoanApplication::getAppliedDate).thenComparing(LoanApplication::getId))
+                .limit(3)
+                .map(LoanApplication::getId)
+                .toList();
+        assertThat(ids(dashboard.get("loanQueue"))).isNotEmpty().containsExactlyElementsOf(expectedLoans);
+        assertThat(dashboard.get("loanQueue").get(0).has("userEmail")).isTrue();
+
+        List<Long> expectedDocuments = documents.stream()
+                .filter(document -> document.getStatus() == Document.Status.UPLOADED)
+                .map(Document::getId)
+                .sorted()
+                .limit(3)
+                .toList();
+        assertThat(ids(dashboard.get("documentQueue"))).isNotEmpty().containsExactlyElementsOf(expectedDocuments);
+    }
+
+    @Test
+    void managerDashboardQueuesVerifiedApplications() throws Exception {
+        JsonNode dashboard = read(as(get("/api/manager/dashboard"), "manager", "MANAGER"));
+
+        assertThat(dashboard.path("user").path("role").asText()).isEqualTo("MANAGER");
+        assertThat(dashboard.get("loanQueue").size()).isPositive().isLessThanOrEqualTo(3);
+        dashboard.get("loanQueue").forEach(loan -> assertThat(loan.path("status").asText()).isEqualTo("VERIFIED"));
+        assertThat(dashboard.get("interestRates")).isEqualTo(read(as(get("/api/manager/interest-rates"), "manager", "MANAGER")));
+    }
+
+    @Test
+    void dashboardsFollowTheRoleOfTheirPath() throws Exception {
+        mockMvc.perform(as(get("/api/manager/dashboard"), dataset.customer())).andExpect(status().isForbidden());
+        mockMvc.perform(as(get("/api/loan-manager/dashboard"), "manager", "MANAGER")).andExpect(status().isForbidden());
+        mockMvc.perform(as(get("/api/manager/dashboard"), "testuser", "ADMIN")).andExpect(status().isOk());
+    }
+
+    // Both parts wait at the barrier, so this only finishes if they run at the same time
+    @Test
+    void partsRunConcurrently() throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        DashboardService.Part<String> first = dashboardService.fork(() -> await(barrier));
+        DashboardService.Part<String> second = dashboardService.fork(() -> await(barrier));
+
+        assertThat(first.get()).startsWith("dashboard-");
+        assertThat(second.get()).startsWith("dashboard-").isNotEqualTo(first.get());
+    }
+
+    // Replica routing reads the user from the security context, so parts on the pool must run as the caller
+    @Test
+    void partsRunAsTheCaller() {
+        String username = dataset.customer().getUsername();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(username, null, "ROLE_USER"));
+        try {
+            String[] seen = dashboardService.fork(() -> new String[] {
+                    Thread.currentThread().getName(),
+                    SecurityContextHolder.getContext().getAuthentication().getName()
+            }).get();
+
+            assertThat(seen[0]).startsWith("dashboard-");
+            assertThat(seen[1]).isEqualTo(username);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static String await(CyclicBarrier barrier) {
+        try {
+            barrier.await(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("Parts did not run concurrently", e);
+        }
+        return Thread.currentThread().getName();
+    }
+
+    private static List<Long> ids(JsonNode rows) {
+        List<Long> ids = new ArrayList<>();
+        rows.forEach(row -> ids.add(row.get("id").asLong()));
+        return ids;
+    }
+
+    private JsonNode read(MockHttpServletRequestBuilder request) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(request).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private MockHttpServletRequestBuilder as(MockHttpServletRequestBuilder request, User user) {
+        return as(request, user.getUsername(), user.getRole().name());
+    }
+
+    private MockHttpServletRequestBuilder as(MockHttpServletRequestBuilder request, String username, String role) {
+        request.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken(username, role));
+        return request;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.Bank_Loan_Management.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.Bank_Loan_Management.entity.Document;
+import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.repository.DocumentRepository;
+import com.example.Bank_Loan_Management.service.AuthService;
+import com.example.Bank_Loan_Management.service.EntityCacheService;
+import com.example.Bank_Loan_Management.util.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Uploads through the API with compression on and downloads as staff would
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:documentdownload;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "document.storage.root=${java.io.tmpdir}/document-download-uploads",
+        "document.storage.compression.enabled=true"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DocumentDownloadTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    // Every context in the JVM shares one JCache manager, and the next context's startup would otherwise find
+    // this database's users in it
+    @AfterAll
+    void evictCaches() {
+        entityCacheService.evictAll();
+    }
+
+    @Test
+    void gzippedDocumentDownloadsAsTheOriginalBytes() throws Exception {
+        User customer = authService.register("download-customer", "download-customer",
+                "download-customer@example.com", User.Role.USER);
+        byte[] original = "%PDF-1.4 salary slip line\n".repeat(400).getBytes(StandardCharsets.US_ASCII);
+
+        String uploaded = mockMvc.perform(multipart("/api/user/documents/upload")
+                        .file(new MockMultipartFile("file", "salary.pdf", "application/pdf", original))
+                        .param("documentType", "income-proof")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken(customer.getUsername(), "USER")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Long id = objectMapper.readTree(uploaded).get("id").asLong();
+
+        Document stored = documentRepository.findById(id).orElseThrow();
+        assertThat(stored.getStorageCodec()).isEqualTo(Document.StorageCodec.GZIP);
+        assertThat(stored.getStoredSize()).isLessThan(original.length);
+        assertThat(stored.getFileSize()).isEqualTo(original.length);
+
+        MockHttpServletResponse download = mockMvc.perform(get("/api/loan-manager/documents/view/{id}", id)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken("loanmanager", "LOAN_MANAGER")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertThat(download.getContentAsByteArray()).isEqualTo(original);
+        assertThat(download.getHeader(HttpHeaders.CONTENT_LENGTH)).isEqualTo(String.valueOf(original.length));
+        assertThat(download.getContentType()).isEqualTo("application/pdf");
+    }
+}
@@ -0,0 +1,378 @@
+package com.example.Bank_Loan_Management.controller;
+
+import static com.example.Bank_Loan_Management.support.QueryCountAssertions.assertIndependentOfRowCount;
+import static com.example.Bank_Loan_Management.support.QueryCountAssertions.assertWithinBudget;
+import static java.util.Map.entry;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import com.example.Bank_Loan_Management.entity.Document;
+import com.example.Bank_Loan_Management.entity.LoanApplication;
+import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.repository.DocumentRepository;
+import com.example.Bank_Loan_Management.repository.LoanApplicationRepository;
+import com.example.Bank_Loan_Management.repository.UserRepository;
+import com.example.Bank_Loan_Management.service.DocumentStorageService;
+import com.example.Bank_Loan_Management.service.EntityCacheService;
+import com.example.Bank_Loan_Management.support.QueryBudget;
+import com.example.Bank_Loan_Management.support.QueryCount;
+import com.example.Bank_Loan_Management.support.SeededDataset;
+import com.example.Bank_Loan_Management.support.SqlStatementCounter;
+import com.example.Bank_Loan_Management.util.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Every controller endpoint has a budget of SQL statements per call, measured through MockMvc against a seeded
+// dataset with the second-level cache emptied first, so the budgets are cold-cache upper bounds. A new endpoint fails the build until it gets a
+// budget here, and listings must issue the same statements however many rows they return.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querybudget;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        SqlStatementCounter.INSPECTOR_PROPERTY,
+        "document.storage.root=${java.io.tmpdir}/query-budget-uploads",
+        // The counter sees only the request thread, so dashboard parts run there instead of on the pool
+        "dashboard.threads=0"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointQueryBudgetTests {
+
+    // Authenticated calls include the JWT filter's user lookup. Archival, reconciliation and the shard
+    // directory work through JdbcTemplate, which Hibernate's inspector does not see.
+    private static final Map<String, QueryBudget> BUDGETS = Map.ofEntries(
+            entry("POST /auth/register", QueryBudget.selects(2).inserts(1)),
+            entry("POST /auth/login", QueryBudget.selects(1)),
+            entry("GET /auth/user", QueryBudget.selects(1)),
+            entry("GET /auth/admin/users", QueryBudget.selects(2)),
+            entry("POST /auth/admin/users", QueryBudget.selects(3).inserts(1)),
+            entry("PUT /auth/admin/users/{id}", QueryBudget.selects(2).inserts(1).updates(1)),
+            entry("DELETE /auth/admin/users/{id}", QueryBudget.selects(2).inserts(1).deletes(1)),
+
+            entry("POST /api/user/documents/upload", QueryBudget.selects(1).inserts(2)),
+            entry("GET /api/user/documents", QueryBudget.selects(3)),
+            entry("POST /api/user/loans/apply", QueryBudget.selects(5).inserts(4).updates(1)),
+            entry("GET /api/user/interest-rates", QueryBudget.selects(3)),
+            entry("GET /api/user/loans", QueryBudget.selects(3)),
+            entry("GET /api/user/loans/history", QueryBudget.selects(2)),
+            entry("GET /api/user/dashboard", QueryBudget.selects(4)),
+            entry("POST /api/stream/ticket", QueryBudget.selects(1)),
+            entry("GET /api/stream", QueryBudget.selects(1)),
+
+            entry("GET /api/admin/loans", QueryBudget.selects(2)),
+            entry("GET /api/admin/loans/status/{status}", QueryBudget.selects(2)),
+            entry("GET /api/admin/documents", QueryBudget.selects(2)),
+
+            entry("POST /api/loan-manager/documents/verify/{id}", QueryBudget.selects(3).inserts(1).updates(1)),
+            entry("POST /api/loan-manager/documents/reject/{id}", QueryBudget.selects(3).inserts(2).updates(2)),
+            entry("GET /api/loan-manager/documents", QueryBudget.selects(2)),
+            entry("GET /api/loan-manager/documents/view/{id}", QueryBudget.selects(3)),
+            entry("GET /api/loan-manager/loans", QueryBudget.selects(2)),
+            entry("POST /api/loan-manager/loans/verify/{id}", QueryBudget.selects(2).inserts(2).updates(1)),
+            entry("POST /api/loan-manager/loans/reject/{id}", QueryBudget.selects(2).inserts(2).updates(1)),
+            entry("GET /api/loan-manager/dashboard", QueryBudget.selects(5)),
+
+            entry("POST /api/manager/loans/approve/{id}", QueryBudget.selects(2).inserts(2).updates(1)),
+            entry("POST /api/manager/loans/reject/{id}", QueryBudget.selects(2).inserts(2).updates(1)),
+            entry("GET /api/manager/loans", QueryBudget.selects(2)),
+            entry("GET /api/manager/loans/status/{status}", QueryBudget.selects(2)),
+            entry("GET /api/manager/interest-rates", QueryBudget.selects(3)),
+            entry("POST /api/manager/interest-rates", QueryBudget.selects(2).inserts(2)),
+            entry("GET /api/manager/loans/history", QueryBudget.selects(2)),
+            entry("GET /api/manager/loans/history/{id}/documents", QueryBudget.selects(2)),
+            entry("GET /api/manager/dashboard", QueryBudget.selects(4)),
+
+            entry("GET /api/admin/archive", QueryBudget.selects(1)),
+            entry("POST /api/admin/archive", QueryBudget.selects(1)),
+            entry("GET /api/admin/cache", QueryBudget.selects(1)),
+            entry("DELETE /api/admin/cache", QueryBudget.selects(1)),
+            entry("GET /api/admin/datasource/routing", QueryBudget.selects(1)),
+            entry("GET /api/admin/events", QueryBudget.selects(1)),
+            entry("GET /api/admin/storage/reconciliation", QueryBudget.selects(1)),
+            entry("POST /api/admin/storage/reconciliation", QueryBudget.selects(4)),
+            entry("GET /api/admin/shards", QueryBudget.selects(1)),
+            entry("POST /api/admin/shards/move", QueryBudget.selects(1)),
+            entry("GET /api/admin/shards/rebalance", QueryBudget.selects(1)),
+            entry("POST /api/admin/shards/rebalance", QueryBudget.selects(1)),
+            entry("GET /api/admin/traces/slow", QueryBudget.selects(1)),
+            entry("GET /api/admin/traces/{traceId}", QueryBudget.selects(1)),
+            entry("GET /api/admin/sql/statements", QueryBudget.selects(1)),
+            entry("DELETE /api/admin/sql/statements", QueryBudget.selects(1)),
+            entry("GET /api/admin/profiling/recordings", QueryBudget.selects(1)),
+            entry("POST /api/admin/profiling/recordings", QueryBudget.selects(1)),
+            entry("POST /api/admin/profiling/recordings/{id}/stop", QueryBudget.selects(1)),
+            entry("GET /api/admin/profiling/recordings/{id}/file", QueryBudget.selects(1)),
+            entry("GET /api/admin/profiling/recordings/{id}/summary", QueryBudget.selects(1))
+    );
+
+    private static final String ADMIN = "testuser";
+    private static final String LOAN_MANAGER = "loanmanager";
+    private static final String MANAGER = "manager";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentStorageService documentStorageService;
+
+    private final Set<String> measured = ConcurrentHashMap.newKeySet();
+
+    private SeededDataset dataset;
+
+    @BeforeAll
+    void seed() {
+        dataset = new SeededDataset(userRepository, loanApplicationRepository, documentRepository, documentStorageService)
+                .seedCustomers("budget-", 6);
+    }
+
+    @AfterAll
+    void everyBudgetWasExercised() {
+        assertThat(measured).as("endpoints with a budget but no measured call").containsAll(BUDGETS.keySet());
+    }
+
+    @Test
+    void everyEndpointHasABudget() {
+        Set<String> endpoints = new TreeSet<>();
+        handlerMapping.getHandlerMethods().forEach((info, handler) -> {
+            if (!handler.getBeanType().getPackageName().startsWith("com.example.Bank_Loan_Management")) {
+                return;
+            }
+            for (var method : info.getMethodsCondition().getMethods()) {
+                for (String pattern : info.getPatternValues()) {
+                    endpoints.add(method + " " + pattern);
+                }
+            }
+        });
+        assertThat(BUDGETS.keySet()).as("declared budgets").containsExactlyInAnyOrderElementsOf(endpoints);
+    }
+
+    @Test
+    void authEndpoints() throws Exception {
+        call("POST /auth/register", post("/auth/register").contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("username", "budget-new", "password", "secret", "email", "budget-new@example.com"))),
+                status().isOk());
+        call("POST /auth/login", post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("username", ADMIN, "password", "testuser"))), status().isOk());
+        call("GET /auth/user", as(get("/auth/user"), dataset.customer()), status().isOk());
+        call("GET /auth/admin/users", as(get("/auth/admin/users"), ADMIN, "ADMIN"), status().isOk());
+        call("POST /auth/admin/users", as(post("/auth/admin/users"), ADMIN, "ADMIN").contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("username", "budget-created", "password", "secret",
+                        "email", "budget-created@example.com", "role", "USER"))), status().isOk());
+
+        User created = userRepository.findByUsername("budget-created").orElseThrow();
+        call("PUT /auth/admin/users/{id}", as(put("/auth/admin/users/" + created.getId()), ADMIN, "ADMIN")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("email", "budget-renamed@example.com"))), status().isOk());
+        call("DELETE /auth/admin/users/{id}", as(delete("/auth/admin/users/" + created.getId()), ADMIN, "ADMIN"),
+                status().isOk());
+    }
+
+    @Test
+    void customerEndpoints() throws Exception {
+        User customer = dataset.customers().get(1);
+        call("POST /api/user/documents/upload", as(multipart("/api/user/documents/upload")
+                .file(new MockMultipartFile("file", "payslip.pdf", "application/pdf", "%PDF-1.4".getBytes()))
+                .param("documentType", "income-proof"), customer), status().isOk());
+        call("GET /api/user/documents", as(get("/api/user/documents"), customer), status().isOk());
+        call("POST /api/user/loans/apply", as(post("/api/user/loans/apply"), customer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("amount", 2500, "term", 12, "purpose", "education"))), status().isOk());
+        call("GET /api/user/interest-rates", as(get("/api/user/interest-rates"), customer), status().isOk());
+        call("GET /api/user/loans", as(get("/api/user/loans"), customer), status().isOk());
+        call("GET /api/user/loans/history", as(get("/api/user/loans/history"), customer), status().isOk());
+        call("POST /api/stream/ticket", as(post("/api/stream/ticket"), customer), status().isOk());
+        call("GET /api/stream", as(get("/api/stream"), customer), status().isOk());
+        call("GET /api/user/dashboard", as(get("/api/user/dashboard"), customer), status().isOk());
+    }
+
+    @Test
+    void staffListings() throws Exception {
+        call("GET /api/admin/loans", as(get("/api/admin/loans"), ADMIN, "ADMIN"), status().isOk());
+        call("GET /api/admin/loans/status/{status}", as(get("/api/admin/loans/status/approved"), ADMIN, "ADMIN"),
+                status().isOk());
+        call("GET /api/admin/documents", as(get("/api/admin/documents"), ADMIN, "ADMIN"), status().isOk());
+        call("GET /api/loan-manager/documents", as(get("/api/loan-manager/documents"), LOAN_MANAGER, "LOAN_MANAGER"),
+                status().isOk());
+        call("GET /api/loan-manager/loans", as(get("/api/loan-manager/loans"), LOAN_MANAGER, "LOAN_MANAGER"),
+                status().isOk());
+        call("GET /api/manager/loans", as(get("/api/manager/loans"), MANAGER, "MANAGER"), status().isOk());
+        call("GET /api/manager/loans/status/{status}", as(get("/api/manager/loans/status/verified"), MANAGER, "MANAGER"),
+                status().isOk());
+        call("GET /api/manager/interest-rates", as(get("/api/manager/interest-rates"), MANAGER, "MANAGER"),
+                status().isOk());
+        call("GET /api/manager/loans/history", as(get("/api/manager/loans/history"), MANAGER, "MANAGER"),
+                status().isOk());
+        call("GET /api/manager/loans/history/{id}/documents",
+                as(get("/api/manager/loans/history/" + dataset.loanInStatus(LoanApplication.Status.APPROVED).getId()
+                        + "/documents"), MANAGER, "MANAGER"), status().isOk());
+    }
+
+    @Test
+    void staffActions() throws Exception {
+        List<Document> documents = dataset.documents();
+        call("POST /api/loan-manager/documents/verify/{id}",
+                as(post("/api/loan-manager/documents/verify/" + documents.get(0).getId()), LOAN_MANAGER, "LOAN_MANAGER"),
+                status().isOk());
+        call("POST /api/loan-manager/documents/reject/{id}",
+                as(post("/api/loan-manager/documents/reject/" + documents.get(3).getId()), LOAN_MANAGER, "LOAN_MANAGER"),
+                status().isOk());
+        call("GET /api/loan-manager/documents/view/{id}",
+                as(get("/api/loan-manager/documents/view/" + documents.get(1).getId()), LOAN_MANAGER, "LOAN_MANAGER"),
+                status().isOk());
+
+        List<LoanApplication> applied = loansInStatus(LoanApplication.Status.APPLIED);
+        List<LoanApplication> verified = loansInStatus(LoanApplication.Status.VERIFIED);
+        call("POST /api/loan-manager/loans/verify/{id}",
+                as(post("/api/loan-manager/loans/verify/" + applied.get(applied.size() - 1).getId()), LOAN_MANAGER, "LOAN_MANAGER"),
+                status().isOk());
+        call("POST /api/loan-manager/loans/reject/{id}",
+                as(post("/api/loan-manager/loans/reject/" + applied.get(applied.size() - 2).getId()), LOAN_MANAGER, "LOAN_MANAGER"),
+                status().isOk());
+        call("POST /api/manager/loans/approve/{id}",
+                as(post("/api/manager/loans/approve/" + verified.get(verified.size() - 1).getId()), MANAGER, "MANAGER"),
+                status().isOk());
+        call("POST /api/manager/loans/reject/{id}",
+                as(post("/api/manager/loans/reject/" + verified.get(verified.size() - 2).getId()), MANAGER, "MANAGER"),
+                status().isOk());
+        call("POST /api/manager/interest-rates", as(post("/api/manager/interest-rates"), MANAGER, "MANAGER")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("purpose", "home", "rate", 7.25))), status().isOk());
+    }
+
+    @Test
+    void adminJobs() throws Exception {
+        call("POST /api/admin/archive", as(post("/api/admin/archive"), ADMIN, "ADMIN"), status().isOk());
+        call("GET /api/admin/archive", as(get("/api/admin/archive"), ADMIN, "ADMIN"), status().isOk());
+        call("POST /api/admin/storage/reconciliation", as(post("/api/admin/storage/reconciliation"), ADMIN, "ADMIN"),
+                status().isOk());
+        call("GET /api/admin/storage/reconciliation", as(get("/api/admin/storage/reconciliation"), ADMIN, "ADMIN"),
+                status().isOk());
+        call("GET /api/admin/cache", as(get("/api/admin/cache"), ADMIN, "ADMIN"), status().isOk());
+        call("DELETE /api/admin/cache", as(delete("/api/admin/cache"), ADMIN, "ADMIN"), status().isOk());
+        call("GET /api/admin/datasource/routing", as(get("/api/admin/datasource/routing"), ADMIN, "ADMIN"), status().isOk());
+        call("GET /api/admin/events", as(get("/api/admin/events"), ADMIN, "ADMIN"), status().isOk());
+        call("GET /api/admin/shards", as(get("/api/admin/shards"), ADMIN, "ADMIN"), status().isOk());
+        // A single database has nowhere to move users to
+        call("POST /api/admin/shards/move", as(post("/api/admin/shards/move"), ADMIN, "ADMIN")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("username", dataset.customer().getUsername(), "shard", 1))), status().isBadRequest());
+        call("POST /api/admin/shards/rebalance", as(post("/api/admin/shards/rebalance"), ADMIN, "ADMIN"), status().isOk());
+        call("GET /api/admin/shards/rebalance", as(get("/api/admin/shards/rebalance"), ADMIN, "ADMIN"), status().isOk());
+        call("GET /api/admin/traces/slow", as(get("/api/admin/traces/slow"), ADMIN, "ADMIN"), status().isOk());
+        call("GET /api/admin/traces/{traceId}", as(get("/api/admin/traces/0af7651916cd43dd8448eb211c80319c"), ADMIN, "ADMIN"),
+                status().isNotFound());
+        call("GET /api/admin/sql/statements", as(get("/api/admin/sql/statements"), ADMIN, "ADMIN"), status().isOk());
+        call("DELETE /api/admin/sql/statements", as(delete("/api/admin/sql/statements"), ADMIN, "ADMIN"), status().isOk());
+        // Recording itself is covered by FlightRecorderServiceTests; here only the request handling is measured
+        call("GET /api/admin/profiling/recordings", as(get("/api/admin/profiling/recordings"), ADMIN, "ADMIN"), status().isOk());
+        call("POST /api/admin/profiling/recordings", as(post("/api/admin/profiling/recordings").param("preset", "heap"), ADMIN, "ADMIN"),
+                status().isBadRequest());
+        call("POST /api/admin/profiling/recordings/{id}/stop", as(post("/api/admin/profiling/recordings/999/stop"), ADMIN, "ADMIN"),
+                status().isNotFound());
+        call("GET /api/admin/profiling/recordings/{id}/file", as(get("/api/admin/profiling/recordings/999/file"), ADMIN, "ADMIN"),
+                status().isNotFound());
+        call("GET /api/admin/profiling/recordings/{id}/summary", as(get("/api/admin/profiling/recordings/999/summary"), ADMIN, "ADMIN"),
+                status().isNotFound());
+    }
+
+    // Measures each listing, doubles the customers behind it and measures again
+    @Test
+    void listingsDoNotScaleWithRows() throws Exception {
+        Map<String, MockHttpServletRequestBuilder> listings = Map.of(
+                "GET /api/admin/loans", as(get("/api/admin/loans"), ADMIN, "ADMIN"),
+                "GET /api/admin/documents", as(get("/api/admin/documents"), ADMIN, "ADMIN"),
+                "GET /api/loan-manager/documents", as(get("/api/loan-manager/documents"), LOAN_MANAGER, "LOAN_MANAGER"),
+                "GET /api/loan-manager/loans", as(get("/api/loan-manager/loans"), LOAN_MANAGER, "LOAN_MANAGER"),
+                "GET /api/manager/loans/status/{status}", as(get("/api/manager/loans/status/approved"), MANAGER, "MANAGER"),
+                "GET /api/loan-manager/dashboard", as(get("/api/loan-manager/dashboard"), LOAN_MANAGER, "LOAN_MANAGER"),
+                "GET /api/manager/dashboard", as(get("/api/manager/dashboard"), MANAGER, "MANAGER"),
+                "GET /auth/admin/users", as(get("/auth/admin/users"), ADMIN, "ADMIN"));
+
+        Map<String, QueryCount> before = new ConcurrentHashMap<>();
+        for (var listing : listings.entrySet()) {
+            before.put(listing.getKey(), call(listing.getKey(), listing.getValue(), status().isOk()));
+        }
+        dataset.seedCustomers("budget-more-", 6);
+        for (var listing : listings.entrySet()) {
+            QueryCount after = call(listing.getKey(), listing.getValue(), status().isOk());
+            assertIndependentOfRowCount(listing.getKey(), before.get(listing.getKey()), after);
+        }
+    }
+
+    private QueryCount call(String endpoint, MockHttpServletRequestBuilder request, ResultMatcher expectedStatus)
+            throws Exception {
+        QueryBudget budget = BUDGETS.get(endpoint);
+        assertThat(budget).as("budget for %s", endpoint).isNotNull();
+        // Cold second-level cache, so a budget holds right after a restart or an eviction
+        entityCacheService.evictAll();
+        QueryCount count = SqlStatementCounter.measure(() -> mockMvc.perform(request).andExpect(expectedStatus));
+        assertWithinBudget(endpoint, count, budget);
+        measured.add(endpoint);
+        return count;
+    }
+
+    private List<LoanApplication> loansInStatus(LoanApplication.Status status) {
+        return loanApplicationRepository.findByStatus(status).stream()
+                .filter(loan -> loan.getUser().getUsername().startsWith("budget-"))
+                .toList();
+    }
+
+    private MockHttpServletRequestBuilder as(MockHttpServletRequestBuilder request, User user) {
+        return as(request, user.getUsername(), user.getRole().name());
+    }
+
+    private <B extends MockHttpServletRequestBuilder> B as(B request, String username, String role) {
+        request.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken(username, role));
+        return request;
+    }
+
+    private String json(Object body) throws Exception {
+        return objectMapper.writeValueAsString(body);
+    }
+}
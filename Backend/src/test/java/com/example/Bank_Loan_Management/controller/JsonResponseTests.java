@@ -0,0 +1,132 @@
+package com.example.Bank_Loan_Management.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.example.Bank_Loan_Management.config.CachingJsonHttpMessageConverter;
+import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.repository.DocumentRepository;
+import com.example.Bank_Loan_Management.repository.LoanApplicationRepository;
+import com.example.Bank_Loan_Management.repository.UserRepository;
+import com.example.Bank_Loan_Management.service.DocumentStorageService;
+import com.example.Bank_Loan_Management.support.SeededDataset;
+import com.example.Bank_Loan_Management.util.JwtUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+// Runs against the embedded server, since response compression happens in Tomcat and MockMvc never sees it
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:jsonresponses;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "document.storage.root=${java.io.tmpdir}/json-response-uploads"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class JsonResponseTests {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jsonConverter;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentStorageService documentStorageService;
+
+    private SeededDataset dataset;
+
+    @BeforeAll
+    void seed() {
+        dataset = new SeededDataset(userRepository, loanApplicationRepository, documentRepository, documentStorageService)
+                .seedCustomers("json-", 30);
+    }
+
+    @Test
+    void serializationStackIsTuned() {
+        assertThat(objectMapper.getRegisteredModuleIds()).contains(new BlackbirdModule().getTypeId());
+        assertThat(jsonConverter).isInstanceOf(CachingJsonHttpMessageConverter.class);
+    }
+
+    @Test
+    void largeListsAreGzipped() throws Exception {
+        HttpResponse<InputStream> response = get("/auth/admin/users", "testuser", "ADMIN");
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+
+        JsonNode users = body(response);
+        assertThat(users.size()).isGreaterThanOrEqualTo(30);
+        assertThat(users.get(0).fieldNames()).toIterable()
+                .containsExactly("id", "username", "email", "role", "createdAt");
+    }
+
+    @Test
+    void smallResponsesAreSentAsIs() throws Exception {
+        User customer = dataset.customer();
+        HttpResponse<InputStream> response = get("/auth/user", customer.getUsername(), "USER");
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(body(response).has("password")).isFalse();
+    }
+
+    @Test
+    void loanSummariesLeaveOutPasswordHashes() throws Exception {
+        HttpResponse<InputStream> response = get("/api/admin/loans", "testuser", "ADMIN");
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        JsonNode loans = body(response);
+        assertThat(loans.size()).isPositive();
+        for (JsonNode loan : loans) {
+            assertThat(loan.path("user").path("username").asText()).isNotEmpty();
+            assertThat(loan.path("user").has("password")).isFalse();
+            assertThat(loan.path("loanManager").has("password")).isFalse();
+            assertThat(loan.path("manager").has("password")).isFalse();
+        }
+    }
+
+    private HttpResponse<InputStream> get(String path, String username, String role) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken(username, role))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private JsonNode body(HttpResponse<InputStream> response) throws IOException {
+        boolean gzipped = response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).filter("gzip"::equals).isPresent();
+        try (InputStream body = gzipped ? new GZIPInputStream(response.body()) : response.body()) {
+            return objectMapper.readTree(body);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.Bank_Loan_Management.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.repository.DocumentRepository;
+import com.example.Bank_Loan_Management.repository.LoanApplicationRepository;
+import com.example.Bank_Loan_Management.repository.UserRepository;
+import com.example.Bank_Loan_Management.service.DocumentStorageService;
+import com.example.Bank_Loan_Management.service.EntityCacheService;
+import com.example.Bank_Loan_Management.support.QueryCount;
+import com.example.Bank_Loan_Management.support.SeededDataset;
+import com.example.Bank_Loan_Management.support.SqlStatementCounter;
+import com.example.Bank_Loan_Management.util.JwtUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sparsefieldsets;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        SqlStatementCounter.INSPECTOR_PROPERTY,
+        "document.storage.root=${java.io.tmpdir}/sparse-fieldset-uploads"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SparseFieldsetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentStorageService documentStorageService;
+
+    private SeededDataset dataset;
+
+    @BeforeAll
+    void seed() {
+        dataset = new SeededDataset(userRepository, loanApplicationRepository, documentRepository, documentStorageService)
+                .seedCustomers("sparse-", 4);
+    }
+
+    // Every context in the JVM shares one JCache manager, and the next context's startup would otherwise find
+    // this database's users in it
+    @AfterAll
+    void evictCaches() {
+        entityCacheService.evictAll();
+    }
+
+    @Test
+    void customerLoansSelectOnlyTheRequestedColumns() throws Exception {
+        User customer = dataset.customer();
+        String[] body = new String[1];
+        QueryCount count = SqlStatementCounter.measure(() -> body[0] = mockMvc
+                .perform(as(get("/api/user/loans").param("fields", "status,amount"), customer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        JsonNode loans = objectMapper.readTree(body[0]);
+        assertThat(loans.size()).isPositive();
+        for (JsonNode loan : loans) {
+            // In the DTO's order, whatever order they were asked for in
+            assertThat(loan.fieldNames()).toIterable().containsExactly("id", "amount", "status");
+        }
+        String sql = loanQuery(count);
+        assertThat(sql).contains("amount", "status").doesNotContain("purpose", "credit_score", "join");
+    }
+
+    @Test
+    void staffListingsJoinUsersOnlyForUserFields() throws Exception {
+        QueryCount scalars = SqlStatementCounter.measure(() -> mockMvc
+                .perform(as(get("/api/manager/loans").param("fields", "status,userId"), "manager", "MANAGER"))
+                .andExpect(status().isOk()));
+        assertThat(loanQuery(scalars)).doesNotContain("join");
+
+        String[] body = new String[1];
+        QueryCount names = SqlStatementCounter.measure(() -> body[0] = mockMvc
+                .perform(as(get("/api/manager/loans/status/approved").param("fields", "username"), "manager", "MANAGER"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        assertThat(loanQuery(names)).contains("join users");
+
+        JsonNode loans = objectMapper.readTree(body[0]);
+        assertThat(loans.size()).isPositive();
+        for (JsonNode loan : loans) {
+            assertThat(loan.fieldNames()).toIterable().containsExactly("id", "username");
+            assertThat(loan.get("username").asText()).isNotEmpty();
+        }
+    }
+
+    @Test
+    void adminsCanAskForTheUsersBehindALoan() throws Exception {
+        String body = mockMvc.perform(as(get("/api/admin/loans").param("fields", "user,manager"), "testuser", "ADMIN"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode loans = objectMapper.readTree(body);
+        assertThat(loans.size()).isPositive();
+        for (JsonNode loan : loans) {
+            assertThat(loan.fieldNames()).toIterable().containsExactly("id", "user", "manager");
+            assertThat(loan.get("user").fieldNames()).toIterable()
+                    .containsExactly("id", "username", "email", "role", "createdAt");
+            assertThat(loan.get("manager").isNull() || !loan.get("manager").has("password")).isTrue();
+        }
+    }
+
+    @Test
+    void fieldsOutsideTheRolesWhitelistAreRejected() throws Exception {
+        User customer = dataset.customer();
+        mockMvc.perform(as(get("/api/user/loans").param("fields", "amount,loanManager"), customer))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(as(get("/api/loan-manager/loans").param("fields", "salary"), "loanmanager", "LOAN_MANAGER"))
+                .andExpect(status().isBadRequest());
+
+        String error = mockMvc.perform(as(get("/api/loan-manager/documents").param("fields", "fileName,filePath"),
+                        "loanmanager", "LOAN_MANAGER"))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(objectMapper.readTree(error).get("error").asText()).contains("filePath").doesNotContain("fileName");
+
+        String documents = mockMvc.perform(as(get("/api/loan-manager/documents").param("fields", "fileName"),
+                        "loanmanager", "LOAN_MANAGER"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode rows = objectMapper.readTree(documents);
+        assertThat(rows.size()).isPositive();
+        assertThat(rows.get(0).fieldNames()).toIterable().containsExactly("id", "fileName");
+    }
+
+    @Test
+    void unknownStatusIsRejected() throws Exception {
+        String error = mockMvc.perform(as(get("/api/manager/loans/status/archived").param("fields", "status"),
+                        "manager", "MANAGER"))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(objectMapper.readTree(error).get("error").asText()).isEqualTo("Unknown loan status: archived");
+    }
+
+    @Test
+    void withoutFieldsTheFullRowIsReturned() throws Exception {
+        String body = mockMvc.perform(as(get("/api/manager/loans"), "manager", "MANAGER"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode loans = objectMapper.readTree(body);
+        assertThat(loans.size()).isPositive();
+        assertThat(loans.get(0).fieldNames()).toIterable().containsExactly("id", "amount", "term", "purpose", "status",
+                "creditScore", "appliedDate", "decisionDate", "approvedAmount", "paidAmount", "pendingAmount",
+                "interestRate", "userId", "username", "userEmail");
+    }
+
+    // The listing's statement, lower-cased and without the comment Hibernate puts in front of it
+    private static String loanQuery(QueryCount count) {
+        List<String> queries = count.statements().stream()
+                .map(sql -> sql.replaceAll("(?s)/\\*.*?\\*/", "").toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.contains("from loan_applications"))
+                .toList();
+        assertThat(queries).hasSize(1);
+        return queries.get(0);
+    }
+
+    private MockHttpServletRequestBuilder as(MockHttpServletRequestBuilder request, User user) {
+        return as(request, user.getUsername(), user.getRole().name());
+    }
+
+    private MockHttpServletRequestBuilder as(MockHttpServletRequestBuilder request, String username, String role) {
+        request.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken(username, role));
+        return request;
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.Bank_Loan_Management.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.Bank_Loan_Management.entity.Document;
+import com.example.Bank_Loan_Management.entity.LoanApplication;
+import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.event.DocumentStatusEvent;
+import com.example.Bank_Loan_Management.event.LoanStatusEvent;
+import com.example.Bank_Loan_Management.repository.UserRepository;
+import com.example.Bank_Loan_Management.service.AuthService;
+import com.example.Bank_Loan_Management.service.EntityCacheService;
+import com.example.Bank_Loan_Management.service.StatusStreamService;
+import com.example.Bank_Loan_Management.util.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Opens real streams through MockMvc and feeds the service events directly, so each test sees exactly the
+// deltas it dispatched
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:statusstream;MODE=MySQL;DATABASE_TO_LOWER=TRUE")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StatusStreamTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StatusStreamService statusStreamService;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    private User alice;
+    private User bob;
+
+    @BeforeAll
+    void createCustomers() {
+        alice = authService.register("stream-alice", "stream-alice", "stream-alice@example.com", User.Role.USER);
+        bob = authService.register("stream-bob", "stream-bob", "stream-bob@example.com", User.Role.USER);
+    }
+
+    @AfterEach
+    void closeStreams() {
+        statusStreamService.shutdown();
+    }
+
+    // Every context in the JVM shares one JCache manager, and the next context's startup would otherwise find
+    // this database's users in it
+    @AfterAll
+    void evictCaches() {
+        entityCacheService.evictAll();
+    }
+
+    @Test
+    void customersReceiveOnlyTheirOwnDeltas() throws Exception {
+        MvcResult aliceStream = open(alice);
+        MvcResult bobStream = open(bob);
+
+        statusStreamService.onEvent(loanEvent(1001L, alice), true);
+        statusStreamService.onEvent(documentEvent(2002L, bob), true);
+
+        assertThat(body(aliceStream)).contains("event:loan", "\"loanId\":1001")
+                .doesNotContain("event:document", "2002");
+        assertThat(body(bobStream)).contains("event:document", "\"documentId\":2002")
+                .doesNotContain("event:loan", "1001");
+    }
+
+    @Test
+    void staffReceiveTheStreamsOfTheirRole() throws Exception {
+        MvcResult loanManagerStream = open(user("loanmanager"));
+        MvcResult managerStream = open(user("manager"));
+        MvcResult adminStream = open(user("testuser"));
+
+        statusStreamService.onEvent(loanEvent(3003L, alice), true);
+        statusStreamService.onEvent(documentEvent(4004L, bob), true);
+
+        assertThat(body(loanManagerStream)).contains("\"loanId\":3003", "\"documentId\":4004");
+        assertThat(body(managerStream)).contains("\"loanId\":3003").doesNotContain("4004");
+        assertThat(body(adminStream)).contains("\"loanId\":3003", "\"documentId\":4004");
+    }
+
+    @Test
+    void streamWithoutCredentialsIsRefused() throws Exception {
+        mockMvc.perform(get("/api/stream")).andExpect(status().is4xxClientError());
+        mockMvc.perform(post("/api/stream/ticket")).andExpect(status().is4xxClientError());
+    }
+
+    // The login token is long-lived, so it is never taken from a URL, where access logs would keep it
+    @Test
+    void loginTokenIsNotAcceptedInTheUrl() throws Exception {
+        String token = jwtUtil.generateToken(alice.getUsername(), "USER");
+
+        mockMvc.perform(get("/api/stream").param("ticket", token)).andExpect(status().is4xxClientError());
+        mockMvc.perform(get("/api/stream").param("access_token", token)).andExpect(status().is4xxClientError());
+    }
+
+    @Test
+    void streamTicketOpensNothingButTheStream() throws Exception {
+        String ticket = ticket(alice);
+        mockMvc.perform(get("/api/user/documents").header(HttpHeaders.AUTHORIZATION,
+                        "Bearer " + jwtUtil.generateToken(alice.getUsername(), "USER")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/user/documents").param("ticket", ticket)).andExpect(status().is4xxClientError());
+        mockMvc.perform(get("/api/user/documents").header(HttpHeaders.AUTHORIZATION, "Bearer " + ticket))
+                .andExpect(status().is4xxClientError());
+        mockMvc.perform(get("/api/stream").header(HttpHeaders.AUTHORIZATION, "Bearer " + ticket))
+                .andExpect(status().is4xxClientError());
+    }
+
+    private MvcResult open(User user) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/stream").param("ticket", ticket(user)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(body(result)).contains("event:ready");
+        return result;
+    }
+
+    private String ticket(User user) throws Exception {
+        String response = mockMvc.perform(post("/api/stream/ticket").header(HttpHeaders.AUTHORIZATION,
+                        "Bearer " + jwtUtil.generateToken(user.getUsername(), user.getRole().name())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return (String) objectMapper.readValue(response, Map.class).get("ticket");
+    }
+
+    private User user(String username) {
+        return userRepository.findByUsername(username).orElseThrow();
+    }
+
+    private static String body(MvcResult result) throws Exception {
+        return result.getResponse().getContentAsString();
+    }
+
+    private static LoanStatusEvent loanEvent(Long loanId, User owner) {
+        return new LoanStatusEvent(loanId, owner.getId(), LoanApplication.Status.APPLIED,
+                LoanApplication.Status.VERIFIED, new BigDecimal("1000.00"), null, null, System.currentTimeMillis());
+    }
+
+    private static DocumentStatusEvent documentEvent(Long documentId, User owner) {
+        return new DocumentStatusEvent(documentId, owner.getId(), null, "IDENTITY", Document.Status.UPLOADED,
+                Document.Status.VERIFIED, System.currentTimeMillis());
+    }
+}
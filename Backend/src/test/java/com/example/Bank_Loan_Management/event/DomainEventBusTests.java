@@ -0,0 +1,130 @@
+package com.example.Bank_Loan_Management.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class DomainEventBusTests {
+
+    // A ring of 8 slots with four producers wraps hundreds of times, so claims, slot reuse and gating all get hit
+    @Test
+    void everyHandlerSeesEveryEventInEachProducersOrder() throws Exception {
+        RecordingHandler first = new RecordingHandler("first");
+        RecordingHandler second = new RecordingHandler("second");
+        DomainEventBus bus = new DomainEventBus(8, 60_000, List.of(first, second));
+        bus.start();
+        try {
+            List<Thread> producers = new ArrayList<>();
+            for (int producer = 0; producer < 4; producer++) {
+                int id = producer;
+                producers.add(new Thread(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        bus.publish(new long[] {id, i});
+                    }
+                }));
+            }
+            producers.forEach(Thread::start);
+            for (Thread producer : producers) {
+                producer.join(TimeUnit.SECONDS.toMillis(10));
+            }
+            awaitBacklog(bus);
+
+            for (RecordingHandler handler : List.of(first, second)) {
+                assertThat(handler.events).hasSize(4000);
+                long[] next = new long[4];
+                for (long[] event : handler.events) {
+                    assertThat(event[1]).as("%s, producer %d", handler.name(), event[0]).isEqualTo(next[(int) event[0]]++);
+                }
+                assertThat(handler.lastEndOfBatch).isTrue();
+            }
+            assertThat(bus.getPublishedCount()).isEqualTo(4000);
+        } finally {
+            bus.stop();
+        }
+    }
+
+    // The handler holds on to the first event, so the ring fills up behind it
+    @Test
+    void publishingToAFullRingGivesUpAfterTheTimeout() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Object> handled = new CopyOnWriteArrayList<>();
+        DomainEventBus bus = new DomainEventBus(4, 50, List.of((event, endOfBatch) -> {
+            awaitQuietly(release);
+            handled.add(event);
+        }));
+        bus.start();
+        try {
+            for (int i = 0; i < 4; i++) {
+                assertThat(bus.publish(i)).isTrue();
+            }
+            long started = System.nanoTime();
+            assertThat(bus.publish(4)).isFalse();
+            assertThat(System.nanoTime() - started).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+            assertThat(bus.getDroppedCount()).isEqualTo(1);
+
+            // A dropped event never claimed a slot, so later events are not held up behind it
+            release.countDown();
+            assertThat(bus.publish(5)).isTrue();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (handled.size() < 5 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(handled).containsExactly(0, 1, 2, 3, 5);
+            assertThat(bus.getPublishedCount()).isEqualTo(5);
+        } finally {
+            release.countDown();
+            bus.stop();
+        }
+    }
+
+    @Test
+    void capacityMustBeAPowerOfTwo() {
+        assertThatThrownBy(() -> new DomainEventBus(12, 100, List.of())).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void awaitBacklog(DomainEventBus bus) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (bus.getBacklog().values().stream().anyMatch(backlog -> backlog > 0) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(bus.getBacklog()).allSatisfy((name, backlog) -> assertThat(backlog).isZero());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Only its consumer thread writes the fields; the backlog check happens-after through the consumer sequence
+    private static final class RecordingHandler implements DomainEventHandler {
+
+        private final String name;
+        private final List<long[]> events = new ArrayList<>();
+        private volatile boolean lastEndOfBatch;
+
+        RecordingHandler(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void onEvent(Object event, boolean endOfBatch) {
+            events.add((long[]) event);
+            lastEndOfBatch = endOfBatch;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.Bank_Loan_Management.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.Bank_Loan_Management.entity.Document;
+import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.service.EntityCacheService;
+import com.example.Bank_Loan_Management.service.SqlStatementStatistics;
+import com.example.Bank_Loan_Management.support.QueryCount;
+import com.example.Bank_Loan_Management.support.SqlStatementCounter;
+
+// Documents take their ids from pooled-lo blocks of 50 (V3 id_generators), so Hibernate does not have to
+// execute each insert to learn its id and can send them as JDBC batches of hibernate.jdbc.batch_size
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batchinsert;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        SqlStatementCounter.INSPECTOR_PROPERTY
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BatchInsertTests {
+
+    private static final int ROWS = 120;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlStatementStatistics sqlStatementStatistics;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    // Every context in the JVM shares one JCache manager, and the next context's startup would otherwise find
+    // this database's users in it
+    @AfterAll
+    void evictCaches() {
+        entityCacheService.evictAll();
+    }
+
+    // Hibernate prepares the insert once and reuses it for every batch, where unbatched rows would each
+    // prepare their own; the pool's statistics show the executions and the rows they carried
+    @Test
+    void multiDocumentSaveIsSentInBatches() throws Exception {
+        User user = userRepository.findByUsername("testuser").orElseThrow();
+        List<Document> documents = documents(user, "batched-");
+        sqlStatementStatistics.reset();
+
+        QueryCount count = SqlStatementCounter.measure(() -> documentRepository.saveAll(documents));
+
+        assertThat(count.statements().stream().filter(sql -> sql.contains("insert into documents"))).hasSize(1);
+        SqlStatementStatistics.StatementStats inserts = sqlStatementStatistics.top(50, "count").stream()
+                .filter(stats -> stats.fingerprint().startsWith("insert into documents"))
+                .findFirst().orElseThrow();
+        assertThat(inserts.count()).isEqualTo((ROWS + BATCH_SIZE - 1) / BATCH_SIZE);
+        assertThat(inserts.rows()).isEqualTo(ROWS);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM documents WHERE file_name LIKE 'batched-%'",
+                Integer.class)).isEqualTo(ROWS);
+    }
+
+    // A row written outside the application takes its id from the generator row too, and blocks fetched after
+    // it start above it. The context may still hold part of an earlier block, so only the ids after the first
+    // BATCH_SIZE are sure to come from new blocks.
+    @Test
+    void pooledLoIdsStayAboveTheSeededMax() {
+        User user = userRepository.findByUsername("testuser").orElseThrow();
+        long seededMax = nextVal() + 7;
+        jdbcTemplate.update("INSERT INTO documents (id, user_id, document_type, file_name, file_path, content_type, "
+                + "file_size, status) VALUES (?, ?, 'IDENTITY', 'seeded.pdf', '/seeded.pdf', 'application/pdf', 16, "
+                + "'UPLOADED')", seededMax, user.getId());
+        jdbcTemplate.update("UPDATE id_generators SET next_val = ? WHERE sequence_name = 'documents'", seededMax + 1);
+
+        List<Long> ids = documentRepository.saveAll(documents(user, "pooled-")).stream().map(Document::getId).toList();
+
+        assertThat(ids).doesNotHaveDuplicates().doesNotContain(seededMax);
+        assertThat(ids.subList(BATCH_SIZE, ROWS)).allMatch(id -> id > seededMax);
+        assertThat(nextVal()).isGreaterThan(ids.stream().mapToLong(Long::longValue).max().orElseThrow());
+    }
+
+    private long nextVal() {
+        return jdbcTemplate.queryForObject("SELECT next_val FROM id_generators WHERE sequence_name = 'documents'",
+                Long.class);
+    }
+
+    private static List<Document> documents(User user, String prefix) {
+        return IntStream.range(0, ROWS).mapToObj(i -> {
+            Document document = new Document();
+            document.setUser(user);
+            document.setDocumentType("IDENTITY");
+            document.setFileName(prefix + i + ".pdf");
+            document.setFilePath("/uploads/" + prefix + i + ".pdf");
+            document.setContentType("application/pdf");
+            document.setFileSize(16L);
+            document.setStatus(Document.Status.UPLOADED);
+            return document;
+        }).toList();
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.Bank_Loan_Management.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import com.example.Bank_Loan_Management.entity.Document;
+import com.example.Bank_Loan_Management.entity.LoanApplication;
+import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.service.EntityCacheService;
+import com.example.Bank_Loan_Management.support.SqlStatementCounter;
+
+// Runs every repository method, captures the SQL Hibernate issued and asserts H2's plan uses the
+// index the migrations created for that access path, so a schema or query change cannot drop it silently
+@SpringBootTest(properties = SqlStatementCounter.INSPECTOR_PROPERTY)
+class RepositoryQueryPlanTests {
+
+    // Constraint names Hibernate generated for the baseline schema, lower-cased by DATABASE_TO_LOWER
+    private static final String USERS_USERNAME = "uk_r43af9ap4edm43mmtq01oddj6";
+    private static final String USERS_EMAIL = "uk_6dotkott2kjsp8vw4d0m25fb7";
+    private static final String LOAN_APPLICATIONS_USER = "fkbmegisduy0ibu084cvj72x1cd";
+    private static final String DOCUMENTS_LOAN_APPLICATION = "fke5y3mjfxufg2oir7rj4sr3hq1";
+    private static final String DOCUMENTS_USER = "fkkxttj4tp5le2uth212lu49vny";
+
+    private static final Timestamp NOW = new Timestamp(System.currentTimeMillis());
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private InterestRateRepository interestRateRepository;
+
+    @Autowired
+    private NotificationOutboxRepository notificationOutboxRepository;
+
+    @Autowired
+    private ArchivedLoanApplicationRepository archivedLoanApplicationRepository;
+
+    @Autowired
+    private ArchivedDocumentRepository archivedDocumentRepository;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.findByUsername("testuser").orElseThrow();
+    }
+
+    @Test
+    void userLookupsUseUniqueIndexes() throws Exception {
+        assertPlan(() -> userRepository.findByUsername("testuser"), USERS_USERNAME, "testuser");
+        assertPlan(() -> userRepository.findByEmail("admin@example.com"), USERS_EMAIL, "admin@example.com");
+    }
+
+    @Test
+    void loanQueriesUseIndexes() throws Exception {
+        assertPlan(() -> loanApplicationRepository.findByStatus(LoanApplication.Status.APPLIED),
+                "idx_loan_applications_status", "APPLIED");
+        assertPlan(() -> loanApplicationRepository.findByUser(user), LOAN_APPLICATIONS_USER, 1L);
+    }
+
+    @Test
+    void documentQueriesUseIndexes() throws Exception {
+        assertPlan(() -> documentRepository.findByLoanApplication_Id(1L), DOCUMENTS_LOAN_APPLICATION, 1L);
+        assertPlan(() -> documentRepository.findByLoanApplication_IdAndStatus(1L, Document.Status.VERIFIED),
+                "idx_documents_loan_status", 1L, "VERIFIED");
+        assertPlan(() -> documentRepository.findByUser(user), DOCUMENTS_USER, 1L);
+        assertPlan(() -> documentRepository.findByUser_IdAndLoanApplicationIsNull(1L), "idx_documents_user_loan", 1L);
+        assertPlan(() -> documentRepository.findPathsAfter(0L, PageRequest.of(0, 100)), "primary_key", 0L, 100);
+    }
+
+    @Test
+    void archiveHistoryQueriesUseIndexes() throws Exception {
+        assertPlan(() -> archivedLoanApplicationRepository.findByUserIdOrderByDecisionDateDesc(1L),
+                "idx_loan_applications_archive_user", 1L);
+        assertPlan(() -> archivedDocumentRepository.findByLoanApplicationId(1L), "idx_documents_archive_loan", 1L);
+        assertPlan(() -> archivedDocumentRepository.findPathsAfter(0L, PageRequest.of(0, 100)), "primary_key", 0L, 100);
+    }
+
+    @Test
+    void interestRateLookupUsesIndex() throws Exception {
+        assertPlan(() -> interestRateRepository.findByPurpose("education"), "idx_interest_rates_purpose", "education");
+    }
+
+    @Test
+    void outboxQueriesUseIndex() throws Exception {
+        assertPlan(() -> notificationOutboxRepository.findSettledPending(NOW.toLocalDateTime(), NOW.toLocalDateTime(),
+                        Set.of("busy"), PageRequest.of(0, 100)),
+                "idx_notification_outbox_pending", "busy", NOW, NOW, 100);
+        assertPlan(() -> notificationOutboxRepository.findSettledPending(NOW.toLocalDateTime(), NOW.toLocalDateTime(),
+                        Set.of("busy"), PageRequest.of(0, 100)),
+                "idx_notification_outbox_key", "busy", NOW, NOW, 100);
+        assertPlan(() -> notificationOutboxRepository.deleteDeliveredBefore(NOW.toLocalDateTime()),
+                "idx_notification_outbox_pending", NOW);
+    }
+
+    private void assertPlan(Runnable repositoryCall, String expectedIndex, Object... parameters) throws Exception {
+        // Cached queries would otherwise be answered without touching the database
+        entityCacheService.evictAll();
+        SqlStatementCounter.reset();
+        repositoryCall.run();
+        List<String> statements = SqlStatementCounter.statements();
+        assertThat(statements).as("statements issued").hasSize(1);
+        String sql = statements.get(0);
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                explain.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet plan = explain.executeQuery()) {
+                plan.next();
+                assertThat(plan.getString(1).toLowerCase()).as("plan for %s", sql).contains(expectedIndex);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.Bank_Loan_Management.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+
+// Replays the two ways a database reaches the migrations: empty, or built by ddl-auto=update before
+// Flyway owned the schema and therefore baselined at V1 without running it
+class SchemaMigrationTests {
+
+    @Test
+    void emptyDatabaseRunsEveryMigration() throws Exception {
+        String url = "jdbc:h2:mem:migrationsfresh;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        MigrateResult result = flyway(url).migrate();
+
+        assertThat(result.success).isTrue();
+        assertThat(result.migrations.get(0).version).isEqualTo("1");
+        assertUpToDate(url);
+    }
+
+    @Test
+    void baselinedDatabaseGainsEverythingAddedSinceTheBaseline() throws Exception {
+        String url = "jdbc:h2:mem:migrationsbaselined;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute(baselineScript());
+        }
+
+        MigrateResult result = flyway(url).migrate();
+
+        assertThat(result.success).isTrue();
+        assertThat(result.migrations).extracting(migration -> migration.version).doesNotContain("1");
+        assertUpToDate(url);
+    }
+
+    // V3 moves ids to pooled-lo table generators, seeded so the first block starts above the existing rows
+    @Test
+    void idGeneratorsStartAboveExistingRows() throws Exception {
+        String url = "jdbc:h2:mem:migrationsseeded;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute(baselineScript());
+            statement.execute("INSERT INTO users (id, username, password, email, role, created_at) "
+                    + "VALUES (41, 'legacy', 'x', 'legacy@example.com', 'USER', CURRENT_TIMESTAMP)");
+            statement.execute("INSERT INTO documents (id, user_id, document_type, file_name, file_path, content_type, "
+                    + "file_size) VALUES (977, 41, 'IDENTITY', 'id.pdf', '/id.pdf', 'application/pdf', 16)");
+        }
+
+        assertThat(flyway(url).migrate().success).isTrue();
+
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT sequence_name, next_val FROM id_generators")) {
+            Map<String, Long> nextValues = new HashMap<>();
+            while (rows.next()) {
+                nextValues.put(rows.getString(1), rows.getLong(2));
+            }
+            assertThat(nextValues).containsEntry("users", 42L).containsEntry("documents", 978L)
+                    .containsEntry("loan_applications", 1L);
+        }
+    }
+
+    private Flyway flyway(String url) {
+        return Flyway.configure()
+                .dataSource(url, "sa", "")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+    }
+
+    private String baselineScript() throws IOException {
+        try (InputStream script = getClass().getResourceAsStream("/db/migration/V1__baseline.sql")) {
+            return new String(script.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private void assertUpToDate(String url) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            assertThat(hasColumn(connection, "documents", "storage_codec")).isTrue();
+            assertThat(hasColumn(connection, "documents", "stored_size")).isTrue();
+            assertThat(hasColumn(connection, "notification_outbox", "dead_lettered_at")).isTrue();
+        }
+    }
+
+    private boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        try (ResultSet columns = connection.getMetaData().getColumns(null, null, table, column)) {
+            return columns.next();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.Bank_Loan_Management.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.Bank_Loan_Management.entity.InterestRate;
+import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.service.EntityCacheService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class SecondLevelCacheTests {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InterestRateRepository interestRateRepository;
+
+    @Autowired
+    private ChangeStampRepository changeStampRepository;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityCacheService.evictAll();
+        statistics.clear();
+    }
+
+    @Test
+    void repeatedUsernameLookupIsServedFromCache() {
+        userRepository.findByUsername("testuser").orElseThrow();
+        long statementsAfterFirst = statistics.getPrepareStatementCount();
+
+        User cached = userRepository.findByUsername("testuser").orElseThrow();
+
+        assertThat(cached.getUsername()).isEqualTo("testuser");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirst);
+        assertThat(statistics.getQueryRegionStatistics(EntityCacheService.USERS_BY_USERNAME_REGION).getHitCount())
+                .isEqualTo(1);
+    }
+
+    // Writers bump a change stamp with a native statement, which without its query space would clear
+    // every region
+    @Test
+    void changeStampBumpKeepsOtherCachedResults() {
+        userRepository.findByUsername("testuser").orElseThrow();
+
+        changeStampRepository.bump("cache-test", System.currentTimeMillis());
+        userRepository.findByUsername("testuser").orElseThrow();
+
+        assertThat(statistics.getQueryRegionStatistics(EntityCacheService.USERS_BY_USERNAME_REGION).getHitCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void userUpdateIsVisibleThroughCachedLookup() {
+        User user = userRepository.findByUsername("manager").orElseThrow();
+        String originalEmail = user.getEmail();
+        try {
+            user.setEmail("manager-updated@example.com");
+            userRepository.save(user);
+            entityCacheService.evictUser(user.getId());
+
+            assertThat(userRepository.findByUsername("manager").orElseThrow().getEmail())
+                    .isEqualTo("manager-updated@example.com");
+        } finally {
+            user.setEmail(originalEmail);
+            userRepository.save(user);
+        }
+    }
+
+    @Test
+    void interestRateUpdateInvalidatesPurposeLookup() {
+        InterestRate rate = interestRateRepository.save(new InterestRate("cache-test", new BigDecimal("7.25")));
+        try {
+            interestRateRepository.findByPurpose("cache-test").orElseThrow();
+            interestRateRepository.findByPurpose("cache-test").orElseThrow();
+            assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+            rate.setRate(new BigDecimal("9.75"));
+            interestRateRepository.save(rate);
+
+            // No explicit eviction: the table update timestamp alone must invalidate the cached result
+            assertThat(interestRateRepository.findByPurpose("cache-test").orElseThrow().getRate())
+                    .isEqualByComparingTo("9.75");
+        } finally {
+            interestRateRepository.delete(rate);
+        }
+    }
+}
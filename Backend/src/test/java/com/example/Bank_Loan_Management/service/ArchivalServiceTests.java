@@ -0,0 +1,102 @@
+package com.example.Bank_Loan_Management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.Bank_Loan_Management.entity.ArchivedLoanApplication;
+import com.example.Bank_Loan_Management.entity.Document;
+import com.example.Bank_Loan_Management.entity.LoanApplication;
+import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.repository.DocumentRepository;
+import com.example.Bank_Loan_Management.repository.LoanApplicationRepository;
+import com.example.Bank_Loan_Management.repository.UserRepository;
+
+@SpringBootTest
+class ArchivalServiceTests {
+
+    @Autowired
+    private ArchivalService archivalService;
+
+    @Autowired
+    private LoanHistoryService loanHistoryService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM documents_archive");
+        jdbcTemplate.update("DELETE FROM loan_applications_archive");
+        jdbcTemplate.update("DELETE FROM documents WHERE file_name LIKE 'archive-test-%'");
+        jdbcTemplate.update("DELETE FROM loan_applications WHERE purpose = 'archive-test'");
+    }
+
+    @Test
+    void movesOnlyClosedAndAgedApplicationsWithTheirDocuments() {
+        User user = userRepository.findByUsername("manager").orElseThrow();
+        LocalDateTime old = LocalDateTime.now().minusDays(200);
+        LoanApplication oldRejected = loan(user, LoanApplication.Status.REJECTED, old, null);
+        LoanApplication oldApprovedUnpaid = loan(user, LoanApplication.Status.APPROVED, old, new BigDecimal("1000.00"));
+        LoanApplication recentRejected = loan(user, LoanApplication.Status.REJECTED, LocalDateTime.now().minusDays(1), null);
+        Document document = document(user, oldRejected);
+
+        ArchivalService.ArchivalReport report = archivalService.archive();
+
+        assertThat(report.loanApplicationsArchived()).isEqualTo(1);
+        assertThat(report.documentsArchived()).isEqualTo(1);
+        assertThat(loanApplicationRepository.findById(oldRejected.getId())).isEmpty();
+        assertThat(documentRepository.findById(document.getId())).isEmpty();
+        assertThat(loanApplicationRepository.findById(oldApprovedUnpaid.getId())).isPresent();
+        assertThat(loanApplicationRepository.findById(recentRejected.getId())).isPresent();
+
+        assertThat(loanHistoryService.getArchivedLoansByUser(user.getId()))
+                .extracting(ArchivedLoanApplication::getId).containsExactly(oldRejected.getId());
+        assertThat(loanHistoryService.getArchivedDocuments(oldRejected.getId()))
+                .singleElement()
+                .satisfies(archived -> assertThat(archived.getFileName()).isEqualTo("archive-test-id.pdf"));
+    }
+
+    private LoanApplication loan(User user, LoanApplication.Status status, LocalDateTime decisionDate,
+                                 BigDecimal pendingAmount) {
+        LoanApplication application = new LoanApplication();
+        application.setUser(user);
+        application.setAmount(new BigDecimal("1000.00"));
+        application.setTerm(12);
+        application.setPurpose("archive-test");
+        application.setStatus(status);
+        application.setAppliedDate(decisionDate.minusDays(7));
+        application.setDecisionDate(decisionDate);
+        application.setPendingAmount(pendingAmount);
+        return loanApplicationRepository.save(application);
+    }
+
+    private Document document(User user, LoanApplication application) {
+        Document document = new Document();
+        document.setUser(user);
+        document.setLoanApplication(application);
+        document.setDocumentType("IDENTITY");
+        document.setFileName("archive-test-id.pdf");
+        document.setFilePath("uploads/archive-test-id.pdf");
+        document.setContentType("application/pdf");
+        document.setFileSize(1024L);
+        document.setStatus(Document.Status.VERIFIED);
+        return documentRepository.save(document);
+    }
+}
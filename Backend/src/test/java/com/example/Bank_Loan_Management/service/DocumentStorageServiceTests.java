@@ -0,0 +1,97 @@
+package com.example.Bank_Loan_Management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.example.Bank_Loan_Management.entity.Document;
+
+class DocumentStorageServiceTests {
+
+    @TempDir
+    private Path root;
+
+    @Test
+    void compressibleFileIsStoredGzippedAndReadBackUnchanged() throws IOException {
+        byte[] original = "%PDF-1.4 monthly statement line\n".repeat(500).getBytes(StandardCharsets.US_ASCII);
+        DocumentStorageService storage = new DocumentStorageService(root.toString(), true);
+
+        DocumentStorageService.StoredFile stored = storage.store(file("statement.pdf", "application/pdf", original));
+
+        assertThat(stored.codec()).isEqualTo(Document.StorageCodec.GZIP);
+        assertThat(stored.storedSize()).isLessThan(original.length).isEqualTo(Files.size(stored.path()));
+        assertThat(read(storage, stored)).isEqualTo(original);
+    }
+
+    // Labelled as a compressible type, but the magic number shows the content is already compressed
+    @Test
+    void archivesAndImagesAreStoredAsIs() throws IOException {
+        DocumentStorageService storage = new DocumentStorageService(root.toString(), true);
+        byte[] zip = withHeader(new byte[] {0x50, 0x4B, 0x03, 0x04});
+        byte[] png = withHeader(new byte[] {(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A});
+
+        for (byte[] original : new byte[][] {zip, png}) {
+            DocumentStorageService.StoredFile stored = storage.store(file("scan.pdf", "application/pdf", original));
+
+            assertThat(stored.codec()).isEqualTo(Document.StorageCodec.NONE);
+            assertThat(Files.readAllBytes(stored.path())).isEqualTo(original);
+            assertThat(stored.storedSize()).isEqualTo(original.length);
+        }
+    }
+
+    // Random bytes carry no magic number but grow under gzip, so the raw copy replaces the compressed one
+    @Test
+    void fallsBackToRawBytesWhenCompressionDoesNotPayOff() throws IOException {
+        byte[] original = new byte[4096];
+        new Random(7).nextBytes(original);
+        original[0] = 'x';
+        DocumentStorageService storage = new DocumentStorageService(root.toString(), true);
+
+        DocumentStorageService.StoredFile stored = storage.store(file("noise.txt", "text/plain", original));
+
+        assertThat(stored.codec()).isEqualTo(Document.StorageCodec.NONE);
+        assertThat(stored.storedSize()).isEqualTo(original.length);
+        assertThat(read(storage, stored)).isEqualTo(original);
+    }
+
+    @Test
+    void storesAsIsWhenCompressionIsDisabled() throws IOException {
+        byte[] original = "plain text ".repeat(500).getBytes(StandardCharsets.US_ASCII);
+        DocumentStorageService storage = new DocumentStorageService(root.toString(), false);
+
+        DocumentStorageService.StoredFile stored = storage.store(file("notes.txt", "text/plain", original));
+
+        assertThat(stored.codec()).isEqualTo(Document.StorageCodec.NONE);
+        assertThat(Files.readAllBytes(stored.path())).isEqualTo(original);
+    }
+
+    private static MockMultipartFile file(String name, String contentType, byte[] content) {
+        return new MockMultipartFile("file", name, contentType, content);
+    }
+
+    private static byte[] withHeader(byte[] magic) {
+        byte[] content = Arrays.copyOf(magic, 2048);
+        Arrays.fill(content, magic.length, content.length, (byte) 'a');
+        return content;
+    }
+
+    private static byte[] read(DocumentStorageService storage, DocumentStorageService.StoredFile stored)
+            throws IOException {
+        Document document = new Document();
+        document.setFilePath(stored.path().toString());
+        document.setStorageCodec(stored.codec());
+        try (InputStream in = storage.open(document)) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.Bank_Loan_Management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FlightRecorderServiceTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void cpuRecordingIsWrittenAndSummarized() throws Exception {
+        FlightRecorderService service = new FlightRecorderService(directory.toString(), 60, 16, 2);
+        FlightRecorderService.RecordingInfo started = service.start("cpu", 30, 8);
+        assertThat(started.state()).isEqualTo("RUNNING");
+        assertThatThrownBy(() -> service.start("locks", 30, 8)).hasMessageContaining("still running");
+        assertThatThrownBy(() -> service.file(started.id())).hasMessageContaining("still running");
+
+        long sink = burnCpu(1500);
+        FlightRecorderService.RecordingInfo stopped = service.stop(started.id());
+
+        assertThat(sink).isNotZero();
+        // With a destination set, JFR closes the recording as soon as the file is written
+        assertThat(stopped.state()).isEqualTo("CLOSED");
+        assertThat(stopped.sizeBytes()).isPositive();
+        Path file = service.file(started.id());
+        assertThat(new String(Files.readAllBytes(file), 0, 3)).isEqualTo("FLR");
+
+        FlightRecorderService.Summary summary = service.summarize(started.id(), 5);
+        assertThat(summary.preset()).isEqualTo(FlightRecorderService.Preset.CPU);
+        assertThat(summary.hotMethods()).isNotEmpty().hasSizeLessThanOrEqualTo(5);
+        assertThat(summary.applicationMethods()).extracting(FlightRecorderService.Hotspot::name)
+                .anyMatch(name -> name.startsWith(FlightRecorderServiceTests.class.getName()));
+    }
+
+    @Test
+    void limitsAndRetentionAreEnforced() {
+        FlightRecorderService service = new FlightRecorderService(directory.toString(), 60, 16, 2);
+        assertThatThrownBy(() -> service.start("heap", 10, 8)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.start("cpu", 61, 8)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.start("cpu", 10, 17)).isInstanceOf(IllegalArgumentException.class);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            long id = service.start("io", 10, 1).id();
+            service.stop(id);
+            ids.add(id);
+        }
+        assertThat(service.list()).extracting(FlightRecorderService.RecordingInfo::id).containsExactly(ids.get(1), ids.get(2));
+        assertThat(service.file(ids.get(0))).isNull();
+    }
+
+    private static long burnCpu(long millis) {
+        long deadline = System.nanoTime() + millis * 1_000_000;
+        long value = 1;
+        while (System.nanoTime() < deadline) {
+            for (int i = 0; i < 10_000; i++) {
+                value = value * 31 + i;
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.Bank_Loan_Management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.Bank_Loan_Management.entity.NotificationOutbox;
+import com.example.Bank_Loan_Management.repository.NotificationOutboxRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// The context's own relay only runs once at startup; the ones under test are built here around their own sinks
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outboxrelay;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "notification.outbox.poll-interval-ms=3600000"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class NotificationOutboxRelayTests {
+
+    @Autowired
+    private NotificationOutboxRepository notificationOutboxRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    // Every context in the JVM shares one JCache manager, and the next context's startup would otherwise find
+    // this database's users in it
+    @AfterAll
+    void evictCaches() {
+        entityCacheService.evictAll();
+    }
+
+    @BeforeEach
+    void clearOutbox() {
+        notificationOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void messagesThatKeepFailingAreDeadLetteredAndSkipped() {
+        AtomicInteger sends = new AtomicInteger();
+        NotificationSink failing = (topic, key, payload) -> {
+            sends.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("broker unavailable"));
+        };
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        NotificationOutboxRelay relay = new NotificationOutboxRelay(notificationOutboxRepository, failing, List.of(),
+                shardRouter, meterRegistry, 200, 2, 1000, 0, 0, 72);
+        NotificationOutbox entry = notificationOutboxRepository.save(new NotificationOutbox(null, "loan-status",
+                "loan-1", "{}", LocalDateTime.now().minusMinutes(1), null, 0, null, null));
+
+        relay.relay();
+        assertThat(notificationOutboxRepository.findById(entry.getId()).orElseThrow().getDeadLetteredAt()).isNull();
+        relay.relay();
+        relay.relay();
+
+        NotificationOutbox parked = notificationOutboxRepository.findById(entry.getId()).orElseThrow();
+        assertThat(parked.getAttempts()).isEqualTo(2);
+        assertThat(parked.getDeadLetteredAt()).isNotNull();
+        assertThat(parked.getDeliveredAt()).isNull();
+        assertThat(sends.get()).isEqualTo(2);
+        assertThat(meterRegistry.counter("notification.dead.lettered").count()).isEqualTo(1.0);
+    }
+
+    // Rows already older than the window wait with the rest of their key until the burst is over
+    @Test
+    void burstInsideTheWindowGoesOutAsOneMessage() {
+        List<String> sent = new CopyOnWriteArrayList<>();
+        NotificationOutboxRelay relay = relay(sent, 1000, 60_000);
+        LocalDateTime now = LocalDateTime.now();
+        save("digest", "user-7", "a", now.minusSeconds(3));
+        save("digest", "user-7", "b", now.minusSeconds(2));
+        save("digest", "user-7", "c", now);
+
+        relay.relay();
+        assertThat(sent).isEmpty();
+
+        settle();
+        relay.relay();
+
+        assertThat(sent).containsExactly("digest:user-7:a,b,c");
+        assertThat(notificationOutboxRepository.findAll()).allSatisfy(entry -> assertThat(entry.getDeliveredAt()).isNotNull());
+    }
+
+    @Test
+    void orderingAcrossTheWindowIsKept() {
+        List<String> sent = new CopyOnWriteArrayList<>();
+        NotificationOutboxRelay relay = relay(sent, 1000, 60_000);
+        LocalDateTime earlier = LocalDateTime.now().minusSeconds(5);
+        save("digest", "user-8", "a", earlier);
+        save("digest", "user-8", "b", earlier);
+        relay.relay();
+
+        LocalDateTime now = LocalDateTime.now();
+        save("digest", "user-8", "c", now);
+        save("plain", "user-8", "x", now);
+        save("digest", "user-8", "d", now);
+        relay.relay();
+        assertThat(sent).containsExactly("digest:user-8:a,b");
+
+        settle();
+        relay.relay();
+
+        assertThat(sent).containsExactly("digest:user-8:a,b", "digest:user-8:c", "plain:user-8:x", "digest:user-8:d");
+    }
+
+    @Test
+    void keyThatNeverGoesQuietIsSentAfterTheMaxWait() {
+        List<String> sent = new CopyOnWriteArrayList<>();
+        NotificationOutboxRelay relay = relay(sent, 1000, 5000);
+        LocalDateTime now = LocalDateTime.now();
+        save("digest", "user-9", "a", now.minusSeconds(6));
+        save("digest", "user-9", "b", now);
+
+        relay.relay();
+
+        assertThat(sent).containsExactly("digest:user-9:a,b");
+    }
+
+    // A send that outlives the batch timeout keeps its key out of later polls instead of being sent again,
+    // while other keys carry on
+    @Test
+    void keyWithASendInFlightIsNotPolledAgain() {
+        List<String> sent = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> slowAck = new CompletableFuture<>();
+        NotificationSink sink = (topic, key, payload) -> {
+            sent.add(key + ":" + payload);
+            return key.equals("slow") ? slowAck : CompletableFuture.completedFuture(null);
+        };
+        NotificationOutboxRelay relay = new NotificationOutboxRelay(notificationOutboxRepository, sink, List.of(),
+                shardRouter, new SimpleMeterRegistry(), 200, 10, 50, 0, 0, 72);
+        LocalDateTime earlier = LocalDateTime.now().minusSeconds(1);
+        NotificationOutbox slow = save("plain", "slow", "a", earlier);
+        save("plain", "fast", "b", earlier);
+
+        relay.relay();
+        save("plain", "fast", "c", earlier);
+        relay.relay();
+
+        assertThat(sent).containsExactlyInAnyOrder("slow:a", "fast:b", "fast:c");
+        assertThat(notificationOutboxRepository.findById(slow.getId()).orElseThrow().getDeliveredAt()).isNull();
+
+        slowAck.complete(null);
+        relay.relay();
+
+        assertThat(notificationOutboxRepository.findById(slow.getId()).orElseThrow().getDeliveredAt()).isNotNull();
+        assertThat(sent).containsExactlyInAnyOrder("slow:a", "fast:b", "fast:c");
+    }
+
+    private NotificationOutboxRelay relay(List<String> sent, long coalesceWindowMillis, long coalesceMaxWaitMillis) {
+        NotificationSink recording = (topic, key, payload) -> {
+            sent.add(topic + ":" + key + ":" + payload);
+            return CompletableFuture.completedFuture(null);
+        };
+        NotificationCoalescer joining = new NotificationCoalescer() {
+            @Override
+            public String topic() {
+                return "digest";
+            }
+
+            @Override
+            public String coalesce(String key, List<String> payloads) {
+                return String.join(",", payloads);
+            }
+        };
+        return new NotificationOutboxRelay(notificationOutboxRepository, recording, List.of(joining), shardRouter,
+                new SimpleMeterRegistry(), 200, 10, 1000, coalesceWindowMillis, coalesceMaxWaitMillis, 72);
+    }
+
+    private NotificationOutbox save(String topic, String key, String payload, LocalDateTime createdAt) {
+        return notificationOutboxRepository.save(
+                new NotificationOutbox(null, topic, key, payload, createdAt, null, 0, null, null));
+    }
+
+    // Stands in for the window passing with no further rows
+    private void settle() {
+        for (NotificationOutbox entry : notificationOutboxRepository.findAll()) {
+            if (entry.getDeliveredAt() == null) {
+                entry.setCreatedAt(entry.getCreatedAt().minusSeconds(2));
+                notificationOutboxRepository.save(entry);
+            }
+        }
+    }
+}
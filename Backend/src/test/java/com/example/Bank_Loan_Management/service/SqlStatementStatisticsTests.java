@@ -0,0 +1,75 @@
+package com.example.Bank_Loan_Management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.repository.LoanApplicationRepository;
+
+@SpringBootTest
+class SqlStatementStatisticsTests {
+
+    @Autowired
+    private SqlStatementStatistics sqlStatementStatistics;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Test
+    void repositoryCallsAreGroupedByFingerprintWithRowCounts() {
+        String username = "sql-" + UUID.randomUUID().toString().substring(0, 8);
+        User customer = authService.register(username, "secret", username + "@example.com");
+        for (int i = 0; i < 3; i++) {
+            loanService.applyForLoan(customer, new BigDecimal("1500.00"), 12, "home");
+        }
+        sqlStatementStatistics.reset();
+
+        loanApplicationRepository.findByUser(customer);
+        loanApplicationRepository.findByUser(customer);
+
+        List<SqlStatementStatistics.StatementStats> top = sqlStatementStatistics.top(50, "count");
+        SqlStatementStatistics.StatementStats byUser = top.stream()
+                .filter(stats -> stats.fingerprint().startsWith("select") && stats.fingerprint().contains("from loan_applications")
+                        && stats.fingerprint().contains("user_id=?"))
+                .findFirst().orElseThrow();
+        assertThat(byUser.count()).isEqualTo(2);
+        assertThat(byUser.rows()).isEqualTo(6);
+        assertThat(byUser.p99Ms()).isLessThanOrEqualTo(byUser.maxMs());
+        assertThat(byUser.totalMs()).isGreaterThan(0);
+    }
+
+    @Test
+    void fingerprintsFoldLiteralsAndInLists() {
+        assertThat(SqlStatementStatistics.fingerprint(
+                "select * from users  where id in (?, ?,?) and username = 'bob''s' and role_id=42"))
+                .isEqualTo("select * from users where id in (?...) and username = ? and role_id=?");
+        assertThat(SqlStatementStatistics.fingerprint("select u1_0.id from users u1_0 where u1_0.id in (?)"))
+                .isEqualTo("select u1_0.id from users u1_0 where u1_0.id in (?...)");
+    }
+
+    @Test
+    void histogramBucketsBoundTheirLatencies() {
+        for (long nanos : new long[]{500, 1_000, 7_000, 123_456, 3_000_000, 999_000_000}) {
+            int bucket = SqlStatementStatistics.bucket(nanos);
+            assertThat(SqlStatementStatistics.bucketUpperBoundNanos(bucket)).isGreaterThan(nanos);
+            if (bucket > 0) {
+                assertThat(SqlStatementStatistics.bucketUpperBoundNanos(bucket - 1)).isLessThanOrEqualTo(Math.max(nanos, 1_000));
+            }
+        }
+        assertThatThrownBy(() -> sqlStatementStatistics.top(5, "slowest")).hasMessageContaining("Unknown sort");
+    }
+}
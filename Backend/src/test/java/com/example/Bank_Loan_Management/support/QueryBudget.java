@@ -0,0 +1,35 @@
+package com.example.Bank_Loan_Management.support;
+
+// Upper bound on the statements one call may issue, per kind
+public record QueryBudget(int selects, int inserts, int updates, int deletes) {
+
+    public static QueryBudget none() {
+        return new QueryBudget(0, 0, 0, 0);
+    }
+
+    public static QueryBudget selects(int selects) {
+        return new QueryBudget(selects, 0, 0, 0);
+    }
+
+    public QueryBudget inserts(int inserts) {
+        return new QueryBudget(selects, inserts, updates, deletes);
+    }
+
+    public QueryBudget updates(int updates) {
+        return new QueryBudget(selects, inserts, updates, deletes);
+    }
+
+    public QueryBudget deletes(int deletes) {
+        return new QueryBudget(selects, inserts, updates, deletes);
+    }
+
+    public boolean allows(QueryCount count) {
+        return count.selects() <= selects && count.inserts() <= inserts
+                && count.updates() <= updates && count.deletes() <= deletes;
+    }
+
+    @Override
+    public String toString() {
+        return "%d selects, %d inserts, %d updates, %d deletes".formatted(selects, inserts, updates, deletes);
+    }
+}
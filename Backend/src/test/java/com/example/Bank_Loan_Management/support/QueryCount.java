@@ -0,0 +1,47 @@
+package com.example.Bank_Loan_Management.support;
+
+import java.util.List;
+import java.util.Locale;
+
+public record QueryCount(List<String> statements) {
+
+    public int selects() {
+        return count("select");
+    }
+
+    public int inserts() {
+        return count("insert");
+    }
+
+    public int updates() {
+        return count("update");
+    }
+
+    public int deletes() {
+        return count("delete");
+    }
+
+    public int total() {
+        return statements.size();
+    }
+
+    private int count(String verb) {
+        return (int) statements.stream().filter(sql -> verbOf(sql).equals(verb)).count();
+    }
+
+    // Skips the /* comments */ use_sql_comments puts in front of each statement
+    private static String verbOf(String sql) {
+        String trimmed = sql.stripLeading();
+        while (trimmed.startsWith("/*")) {
+            int end = trimmed.indexOf("*/");
+            trimmed = end < 0 ? "" : trimmed.substring(end + 2).stripLeading();
+        }
+        int space = trimmed.indexOf(' ');
+        return (space < 0 ? trimmed : trimmed.substring(0, space)).toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String toString() {
+        return "%d selects, %d inserts, %d updates, %d deletes".formatted(selects(), inserts(), updates(), deletes());
+    }
+}
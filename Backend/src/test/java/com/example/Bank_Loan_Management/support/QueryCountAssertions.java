@@ -0,0 +1,31 @@
+package com.example.Bank_Loan_Management.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.Collectors;
+
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static void assertWithinBudget(String label, QueryCount count, QueryBudget budget) {
+        assertThat(budget.allows(count))
+                .as("%s issued %s, budget is %s:%n%s", label, count, budget, listing(count))
+                .isTrue();
+    }
+
+    // The same call against more rows must not issue more statements
+    public static void assertIndependentOfRowCount(String label, QueryCount smaller, QueryCount larger) {
+        assertThat(larger.total())
+                .as("%s went from %d to %d statements as rows were added (N+1?):%n%s",
+                        label, smaller.total(), larger.total(), listing(larger))
+                .isLessThanOrEqualTo(smaller.total());
+    }
+
+    private static String listing(QueryCount count) {
+        return count.statements().stream()
+                .map(sql -> "  " + sql.replaceAll("\\s+", " ").trim())
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.Bank_Loan_Management.support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.example.Bank_Loan_Management.entity.Document;
+import com.example.Bank_Loan_Management.entity.LoanApplication;
+import com.example.Bank_Loan_Management.entity.User;
+import com.example.Bank_Loan_Management.repository.DocumentRepository;
+import com.example.Bank_Loan_Management.repository.LoanApplicationRepository;
+import com.example.Bank_Loan_Management.repository.UserRepository;
+import com.example.Bank_Loan_Management.service.DocumentStorageService;
+
+// Customers with loans in every active status and documents backed by real files, handled by the seeded
+// staff accounts, so listings have several distinct users to resolve. Call seedCustomers again to grow the
+// dataset and check that a listing's statement count does not follow it.
+public class SeededDataset {
+
+    public static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z4dTMOcdhXkGRGDJN1ZcG1xm";
+
+    private static final LoanApplication.Status[] LOAN_STATUSES = {
+            LoanApplication.Status.APPLIED, LoanApplication.Status.VERIFIED, LoanApplication.Status.APPROVED
+    };
+    private static final String[] DOCUMENT_TYPES = {"id-proof", "income-proof"};
+
+    private final UserRepository userRepository;
+    private final LoanApplicationRepository loanApplicationRepository;
+    private final DocumentRepository documentRepository;
+    private final DocumentStorageService documentStorageService;
+
+    private final List<User> customers = new ArrayList<>();
+    private final List<LoanApplication> loans = new ArrayList<>();
+    private final List<Document> documents = new ArrayList<>();
+
+    public SeededDataset(UserRepository userRepository, LoanApplicationRepository loanApplicationRepository,
+                         DocumentRepository documentRepository, DocumentStorageService documentStorageService) {
+        this.userRepository = userRepository;
+        this.loanApplicationRepository = loanApplicationRepository;
+        this.documentRepository = documentRepository;
+        this.documentStorageService = documentStorageService;
+    }
+
+    public SeededDataset seedCustomers(String prefix, int count) {
+        User loanManager = userRepository.findByUsername("loanmanager").orElseThrow();
+        User manager = userRepository.findByUsername("manager").orElseThrow();
+
+        List<User> newCustomers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User customer = new User();
+            customer.setUsername(prefix + i);
+            customer.setEmail(prefix + i + "@example.com");
+            customer.setPassword(PASSWORD_HASH);
+            customer.setRole(User.Role.USER);
+            customer.setCreatedAt(LocalDateTime.now());
+            newCustomers.add(customer);
+        }
+        newCustomers = userRepository.saveAll(newCustomers);
+
+        List<LoanApplication> newLoans = new ArrayList<>();
+        for (User customer : newCustomers) {
+            for (LoanApplication.Status status : LOAN_STATUSES) {
+                newLoans.add(loan(customer, status, loanManager, manager));
+            }
+        }
+        newLoans = loanApplicationRepository.saveAll(newLoans);
+
+        List<Document> newDocuments = new ArrayList<>();
+        for (int i = 0; i < newCustomers.size(); i++) {
+            User customer = newCustomers.get(i);
+            LoanApplication firstLoan = newLoans.get(i * LOAN_STATUSES.length);
+            for (String type : DOCUMENT_TYPES) {
+                newDocuments.add(document(customer, firstLoan, type));
+            }
+            // Uploaded but not yet attached to an application
+            newDocuments.add(document(customer, null, "address-proof"));
+        }
+        newDocuments = documentRepository.saveAll(newDocuments);
+
+        customers.addAll(newCustomers);
+        loans.addAll(newLoans);
+        documents.addAll(newDocuments);
+        return this;
+    }
+
+    public List<User> customers() {
+        return customers;
+    }
+
+    public User customer() {
+        return customers.get(0);
+    }
+
+    public LoanApplication loanInStatus(LoanApplication.Status status) {
+        return loans.stream().filter(loan -> loan.getStatus() == status).findFirst().orElseThrow();
+    }
+
+    public List<Document> documents() {
+        return documents;
+    }
+
+    private static LoanApplication loan(User customer, LoanApplication.Status status, User loanManager, User manager) {
+        LoanApplication loan = new LoanApplication();
+        loan.setUser(customer);
+        loan.setAmount(new BigDecimal("5000.00"));
+        loan.setTerm(24);
+        loan.setPurpose("home");
+        loan.setStatus(status);
+        loan.setCreditScore(700);
+        loan.setInterestRate(new BigDecimal("7.50"));
+        loan.setAppliedDate(LocalDateTime.now().minusDays(3));
+        if (status != LoanApplication.Status.APPLIED) {
+            loan.setLoanManager(loanManager);
+            loan.setDocumentsVerified(true);
+        }
+        if (status == LoanApplication.Status.APPROVED) {
+            loan.setManager(manager);
+            loan.setDecisionDate(LocalDateTime.now().minusDays(1));
+            loan.setApprovedAmount(loan.getAmount());
+            loan.setPaidAmount(BigDecimal.ZERO);
+            loan.setPendingAmount(new BigDecimal("5375.00"));
+        }
+        return loan;
+    }
+
+    private Document document(User customer, LoanApplication loan, String type) {
+        String fileName = customer.getUsername() + "-" + type + ".pdf";
+        MockMultipartFile file = new MockMultipartFile("file", fileName, "application/pdf",
+                ("%PDF-1.4 " + fileName).getBytes());
+        DocumentStorageService.StoredFile stored;
+        try {
+            stored = documentStorageService.store(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Document document = new Document();
+        document.setUser(customer);
+        document.setLoanApplication(loan);
+        document.setDocumentType(type);
+        document.setFileName(fileName);
+        document.setFilePath(stored.path().toString());
+        document.setContentType(file.getContentType());
+        document.setFileSize(file.getSize());
+        document.setStorageCodec(stored.codec());
+        document.setStoredSize(stored.storedSize());
+        document.setStatus(Document.Status.UPLOADED);
+        return document;
+    }
+}
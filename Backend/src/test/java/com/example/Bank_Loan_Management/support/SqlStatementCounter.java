@@ -0,0 +1,42 @@
+package com.example.Bank_Loan_Management.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Records every statement Hibernate prepares on the calling thread. Per thread, so the scheduled outbox
+// relay and other background work never leak into a measurement; Hibernate's own Statistics are global.
+// Register it through INSPECTOR_PROPERTY on the test's @SpringBootTest.
+public class SqlStatementCounter implements StatementInspector {
+
+    public static final String INSPECTOR_PROPERTY = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.example.Bank_Loan_Management.support.SqlStatementCounter";
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+
+    public static QueryCount measure(ThrowingRunnable work) throws Exception {
+        reset();
+        work.run();
+        return new QueryCount(statements());
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.Bank_Loan_Management.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class LongHashSetTests {
+
+    // Starts at the minimum capacity so the table is rehashed several times along the way
+    @Test
+    void agreesWithHashSetAcrossGrowth() {
+        LongHashSet set = new LongHashSet(1);
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            // A narrow range makes repeats, and so rejected adds, common
+            long value = random.nextInt(15_000) - 5_000L;
+            assertThat(set.add(value)).isEqualTo(expected.add(value));
+        }
+
+        assertThat(set.size()).isEqualTo(expected.size());
+        for (long value = -5_000; value < 10_000; value++) {
+            assertThat(set.contains(value)).as("contains %d", value).isEqualTo(expected.contains(value));
+        }
+    }
+
+    // Zero marks a free slot in the table, so it is tracked on the side
+    @Test
+    void holdsZero() {
+        LongHashSet set = new LongHashSet(16);
+
+        assertThat(set.contains(0L)).isFalse();
+        assertThat(set.add(0L)).isTrue();
+        assertThat(set.add(0L)).isFalse();
+
+        assertThat(set.contains(0L)).isTrue();
+        assertThat(set.size()).isEqualTo(1);
+    }
+
+    // Values whose low bits agree land on the same slot and have to probe past each other
+    @Test
+    void findsCollidingValues() {
+        LongHashSet set = new LongHashSet(16);
+        for (long i = 1; i <= 100; i++) {
+            set.add(i << 40);
+        }
+
+        for (long i = 1; i <= 100; i++) {
+            assertThat(set.contains(i << 40)).isTrue();
+        }
+        assertThat(set.contains(101L << 40)).isFalse();
+    }
+
+    @Test
+    void clearEmptiesTheSet() {
+        LongHashSet set = new LongHashSet(16);
+        set.add(0L);
+        set.add(7L);
+        set.add(Long.MIN_VALUE);
+
+        set.clear();
+
+        assertThat(set.size()).isZero();
+        assertThat(set.contains(0L)).isFalse();
+        assertThat(set.contains(7L)).isFalse();
+        assertThat(set.contains(Long.MIN_VALUE)).isFalse();
+        assertThat(set.add(7L)).isTrue();
+    }
+}
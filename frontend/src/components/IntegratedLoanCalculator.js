@@ -5,7 +5,36 @@ import { Chart as ChartJS, ArcElement, Tooltip, Legend } from 'chart.js';
 
 ChartJS.register(ArcElement, Tooltip, Legend);
 
-function IntegratedLoanCalculator({ formData, onFormDataChange }) {
+// Default rates
+const DEFAULT_RATES = {
+  'Home Purchase': 8.5,
+  'Car Purchase': 9.5,
+  'Education': 7.5,
+  'Business': 10.5,
+  'Personal': 12.0,
+  'Health': 8.0,
+  'Travel': 11.0,
+  'Wedding': 9.0,
+  'Home Renovation': 8.75,
+  'Debt Consolidation': 11.5
+};
+
+// Start with default rates and update them with the backend's
+const toRatesObject = (rates) => {
+  const ratesObject = { ...DEFAULT_RATES };
+  rates.forEach(rate => {
+    // Convert purpose to match frontend format (e.g., 'home purchase' -> 'Home Purchase')
+    const displayPurpose = rate.purpose.split(' ').map(word =>
+      word.charAt(0).toUpperCase() + word.slice(1)
+    ).join(' ');
+    ratesObject[displayPurpose] = parseFloat(rate.rate);
+  });
+  return ratesObject;
+};
+
+// rates: the rate table when the parent already loaded it, null while the parent is still loading it;
+// without the prop the calculator fetches the rates itself
+function IntegratedLoanCalculator({ formData, onFormDataChange, rates }) {
   const [emi, setEmi] = useState(0);
   const [totalPayment, setTotalPayment] = useState(0);
   const [totalInterest, setTotalInterest] = useState(0);
@@ -13,43 +42,25 @@ function IntegratedLoanCalculator({ formData, onFormDataChange }) {
 
   // Fetch interest rates from backend
   useEffect(() => {
-    const fetchInterestRates = async () => {
-      // Default rates
-      const defaultRates = {
-        'Home Purchase': 8.5,
-        'Car Purchase': 9.5,
-        'Education': 7.5,
-        'Business': 10.5,
-        'Personal': 12.0,
-        'Health': 8.0,
-        'Travel': 11.0,
-        'Wedding': 9.0,
-        'Home Renovation': 8.75,
-        'Debt Consolidation': 11.5
-      };
+    if (rates === null) return;
+    if (Array.isArray(rates)) {
+      setInterestRates(toRatesObject(rates));
+      return;
+    }
 
+    const fetchInterestRates = async () => {
       try {
         const response = await api.get('/api/user/interest-rates');
-        // Start with default rates
-        const ratesObject = { ...defaultRates };
-        // Update with fetched rates
-        response.data.forEach(rate => {
-          // Convert purpose to match frontend format (e.g., 'home purchase' -> 'Home Purchase')
-          const displayPurpose = rate.purpose.split(' ').map(word =>
-            word.charAt(0).toUpperCase() + word.slice(1)
-          ).join(' ');
-          ratesObject[displayPurpose] = parseFloat(rate.rate);
-        });
-        setInterestRates(ratesObject);
+        setInterestRates(toRatesObject(response.data));
       } catch (error) {
         console.error('Error fetching interest rates:', error);
         // Fallback to default rates if fetch fails
-        setInterestRates(defaultRates);
+        setInterestRates(DEFAULT_RATES);
       }
     };
 
     fetchInterestRates();
-  }, []);
+  }, [rates]);
 
   useEffect(() => {
     // Auto-set interest rate based on selected purpose
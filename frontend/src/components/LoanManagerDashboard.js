@@ -1,5 +1,6 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import api from '../api';
+import { subscribeToStatusUpdates, applyLoanDelta, applyDocumentDelta } from '../statusStream';
 
 function LoanManagerDashboard({ user, addNotification }) {
   const [loans, setLoans] = useState([]);
@@ -13,6 +14,30 @@ function LoanManagerDashboard({ user, addNotification }) {
     fetchDocuments();
   }, []); // eslint-disable-line react-hooks/exhaustive-deps
 
+  // Latest lists for the stream handlers, which decide outside the state updaters whether to re-fetch
+  const loansRef = useRef(loans);
+  loansRef.current = loans;
+  const documentsRef = useRef(documents);
+  documentsRef.current = documents;
+
+  // Apply pushed deltas in place; only unknown ids trigger a re-fetch
+  useEffect(() => subscribeToStatusUpdates({
+    onLoan: (delta) => {
+      if (applyLoanDelta(loansRef.current, delta)) {
+        setLoans((current) => applyLoanDelta(current, delta) || current);
+      } else {
+        fetchLoans();
+      }
+    },
+    onDocument: (delta) => {
+      if (applyDocumentDelta(documentsRef.current, delta)) {
+        setDocuments((current) => applyDocumentDelta(current, delta) || current);
+      } else {
+        fetchDocuments();
+      }
+    },
+  }), []); // eslint-disable-line react-hooks/exhaustive-deps
+
   const fetchLoans = async () => {
     try {
       const response = await api.get('/api/loan-manager/loans');
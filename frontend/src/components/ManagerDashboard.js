@@ -1,5 +1,6 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import api from '../api';
+import { subscribeToStatusUpdates, applyLoanDelta } from '../statusStream';
 
 function ManagerDashboard({ user, addNotification }) {
   const [loans, setLoans] = useState([]);
@@ -15,6 +16,21 @@ function ManagerDashboard({ user, addNotification }) {
     fetchInterestRates();
   }, []); // eslint-disable-line react-hooks/exhaustive-deps
 
+  // Latest lists for the stream handlers, which decide outside the state updaters whether to re-fetch
+  const loansRef = useRef(loans);
+  loansRef.current = loans;
+
+  // Apply pushed deltas in place; only unknown ids trigger a re-fetch
+  useEffect(() => subscribeToStatusUpdates({
+    onLoan: (delta) => {
+      if (applyLoanDelta(loansRef.current, delta)) {
+        setLoans((current) => applyLoanDelta(current, delta) || current);
+      } else {
+        fetchLoans();
+      }
+    },
+  }), []); // eslint-disable-line react-hooks/exhaustive-deps
+
   const fetchLoans = async () => {
     try {
       const response = await api.get('/api/manager/loans');
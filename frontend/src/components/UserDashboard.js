@@ -1,5 +1,6 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import api from '../api';
+import { subscribeToStatusUpdates, applyLoanDelta, applyDocumentDelta } from '../statusStream';
 import IntegratedLoanCalculator from './IntegratedLoanCalculator';
 
 function UserDashboard({ user }) {
@@ -17,6 +18,7 @@ function UserDashboard({ user }) {
 
   // Document upload state
   const [documents, setDocuments] = useState([]);
+  const [interestRates, setInterestRates] = useState(null);
   const [documentType, setDocumentType] = useState('');
   const [selectedFile, setSelectedFile] = useState(null);
   const [uploading, setUploading] = useState(false);
@@ -24,9 +26,32 @@ function UserDashboard({ user }) {
   const [sortOrder, setSortOrder] = useState('desc'); // 'desc' for newest first, 'asc' for oldest first
 
   useEffect(() => {
-    fetchLoans();
-    fetchDocuments();
-  }, []);
+    fetchDashboard();
+  }, []); // eslint-disable-line react-hooks/exhaustive-deps
+
+  // Latest lists for the stream handlers, which decide outside the state updaters whether to re-fetch
+  const loansRef = useRef(loans);
+  loansRef.current = loans;
+  const documentsRef = useRef(documents);
+  documentsRef.current = documents;
+
+  // Apply pushed deltas in place; only unknown ids trigger a re-fetch
+  useEffect(() => subscribeToStatusUpdates({
+    onLoan: (delta) => {
+      if (applyLoanDelta(loansRef.current, delta)) {
+        setLoans((current) => applyLoanDelta(current, delta) || current);
+      } else {
+        fetchLoans();
+      }
+    },
+    onDocument: (delta) => {
+      if (applyDocumentDelta(documentsRef.current, delta)) {
+        setDocuments((current) => applyDocumentDelta(current, delta) || current);
+      } else {
+        fetchDocuments();
+      }
+    },
+  }), []); // eslint-disable-line react-hooks/exhaustive-deps
 
   const calculateEMI = (principal, annualRate, tenureYears) => {
     if (!principal || !annualRate || !tenureYears) return 0;
@@ -41,6 +66,26 @@ function UserDashboard({ user }) {
 
 
 
+  // First render needs loans, documents and rates: one request instead of one per list.
+  // fetchLoans and fetchDocuments refresh the lists after that.
+  const fetchDashboard = async () => {
+    setLoading(true);
+    try {
+      const { data } = await api.get('/api/user/dashboard');
+      setLoans(Array.isArray(data.loans) ? data.loans : []);
+      setDocuments(Array.isArray(data.documents) ? data.documents : []);
+      setInterestRates(Array.isArray(data.interestRates) ? data.interestRates : []);
+    } catch (error) {
+      console.error('Error fetching dashboard:', error);
+      // Fall back to the separate endpoints; the calculator fetches its own rates
+      setInterestRates(undefined);
+      fetchLoans();
+      fetchDocuments();
+    } finally {
+      setLoading(false);
+    }
+  };
+
   const fetchLoans = async () => {
     setLoading(true);
     try {
@@ -309,6 +354,7 @@ function UserDashboard({ user }) {
         <IntegratedLoanCalculator
           formData={formData}
           onFormDataChange={setFormData}
+          rates={interestRates}
         />
 
         {/* Document Upload Section - Always visible but show guidance when no purpose selected */}
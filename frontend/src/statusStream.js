@@ -0,0 +1,84 @@
+import api from './api';
+
+const RECONNECT_DELAY_MS = 3000;
+
+// Opens the server push channel; returns a function that closes it.
+// Handlers receive deltas: { loan: LoanStatusEvent, document: DocumentStatusEvent }.
+// EventSource cannot send headers, so each connection trades the login token for a short-lived
+// stream ticket that goes in the URL instead. A dropped connection reconnects with a fresh ticket.
+export function subscribeToStatusUpdates({ onLoan, onDocument }) {
+  if (!localStorage.getItem('token') || typeof EventSource === 'undefined') {
+    return () => {};
+  }
+
+  let source = null;
+  let retry = null;
+  let closed = false;
+
+  const reconnect = () => {
+    if (!closed) {
+      retry = setTimeout(open, RECONNECT_DELAY_MS);
+    }
+  };
+
+  async function open() {
+    let ticket;
+    try {
+      ({ data: { ticket } } = await api.post('/api/stream/ticket'));
+    } catch (error) {
+      reconnect();
+      return;
+    }
+    if (closed) {
+      return;
+    }
+    source = new EventSource(`${api.defaults.baseURL}/api/stream?ticket=${encodeURIComponent(ticket)}`);
+    if (onLoan) {
+      source.addEventListener('loan', (event) => onLoan(JSON.parse(event.data)));
+    }
+    if (onDocument) {
+      source.addEventListener('document', (event) => onDocument(JSON.parse(event.data)));
+    }
+    // The browser's own retry would reuse the expired ticket
+    source.onerror = () => {
+      source.close();
+      reconnect();
+    };
+  }
+
+  open();
+
+  return () => {
+    closed = true;
+    clearTimeout(retry);
+    if (source) {
+      source.close();
+    }
+  };
+}
+
+// Applies a loan delta to a list of loans, returning null when the loan is not in the list yet
+export function applyLoanDelta(loans, delta) {
+  if (!loans.some((loan) => loan.id === delta.loanId)) {
+    return null;
+  }
+  return loans.map((loan) => (loan.id === delta.loanId
+    ? {
+      ...loan,
+      status: delta.newStatus,
+      amount: delta.amount ?? loan.amount,
+      approvedAmount: delta.approvedAmount ?? loan.approvedAmount,
+      pendingAmount: delta.pendingAmount ?? loan.pendingAmount,
+    }
+    : loan));
+}
+
+// Applies a document delta to a list of documents, returning null when the document is new
+export function applyDocumentDelta(documents, delta) {
+  if (!documents.some((doc) => doc.id === delta.documentId)) {
+    return null;
+  }
+  return documents.map((doc) => (doc.id === delta.documentId
+    ? { ...doc, status: delta.newStatus, loanApplicationId: delta.loanApplicationId ?? doc.loanApplicationId }
+    : doc));
+}